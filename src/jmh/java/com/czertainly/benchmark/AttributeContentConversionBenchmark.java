@@ -0,0 +1,71 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.client.attribute.RequestAttributeV2;
+import com.czertainly.api.model.common.NameAndUuidDto;
+import com.czertainly.api.model.common.attribute.common.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContentV2;
+import com.czertainly.api.model.common.attribute.v2.content.ObjectAttributeContentV2;
+import com.czertainly.core.util.AttributeDefinitionUtils;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of map shaped attribute content, i.e. data of object attributes as deserialized from JSON,
+ * to the typed objects. The object mapper benchmark is the baseline of the conversion by
+ * {@link ObjectMapper#convertValue(Object, Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeContentConversionBenchmark {
+
+    private static final String ATTRIBUTE_NAME = "objects";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Param({"10", "100", "1000"})
+    private int itemCount;
+
+    private List<RequestAttribute> attributes;
+
+    private List<LinkedHashMap<String, String>> data;
+
+    @Setup
+    public void setup() {
+        data = new ArrayList<>(itemCount);
+        List<BaseAttributeContentV2<?>> content = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            LinkedHashMap<String, String> item = new LinkedHashMap<>();
+            item.put("uuid", AttributePayloads.uuid(i));
+            item.put("name", AttributePayloads.name(i));
+            data.add(item);
+            content.add(new ObjectAttributeContentV2(item));
+        }
+        attributes = List.of(new RequestAttributeV2(UUID.fromString(AttributePayloads.uuid(0)), ATTRIBUTE_NAME, AttributeContentType.OBJECT, content));
+    }
+
+    @Benchmark
+    public List<NameAndUuidDto> getObjectAttributeContentData() {
+        return AttributeDefinitionUtils.getObjectAttributeContentData(ATTRIBUTE_NAME, attributes, NameAndUuidDto.class);
+    }
+
+    @Benchmark
+    public void objectMapperConvertValue(Blackhole blackhole) {
+        for (LinkedHashMap<String, String> item : data) {
+            blackhole.consume(OBJECT_MAPPER.convertValue(item, NameAndUuidDto.class));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.core.util.V2AttributeMigrationUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Migration of the stored attributes of version 1 to attributes of version 2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeMigrationBenchmark {
+
+    private static final String TABLE_NAME = "connector";
+
+    private static final String COLUMN_NAME = "attributes";
+
+    private static final String ROW_IDENTIFIER = "uuid";
+
+    private static final int ROW_COUNT = 10;
+
+    @Param({"10", "100", "1000", "10000"})
+    private int attributeCount;
+
+    private String legacyAttributes;
+
+    @Setup
+    public void setup() {
+        legacyAttributes = AttributePayloads.legacyAttributesJson(attributeCount);
+    }
+
+    @Benchmark
+    public List<String> getMigrationCommands() throws SQLException, JsonProcessingException {
+        return V2AttributeMigrationUtils.getMigrationCommands(
+                AttributePayloads.resultSet(COLUMN_NAME, ROW_IDENTIFIER, ROW_COUNT, legacyAttributes), TABLE_NAME, COLUMN_NAME, ROW_IDENTIFIER);
+    }
+}
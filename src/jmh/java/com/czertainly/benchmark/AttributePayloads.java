@@ -0,0 +1,145 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.client.attribute.RequestAttributeV3;
+import com.czertainly.api.model.common.attribute.common.constraint.RangeAttributeConstraint;
+import com.czertainly.api.model.common.attribute.common.constraint.RegexpAttributeConstraint;
+import com.czertainly.api.model.common.attribute.common.constraint.data.RangeAttributeConstraintData;
+import com.czertainly.api.model.common.attribute.common.content.AttributeContentType;
+import com.czertainly.api.model.common.attribute.common.properties.DataAttributeProperties;
+import com.czertainly.api.model.common.attribute.v1.AttributeDefinition;
+import com.czertainly.api.model.common.attribute.v1.AttributeType;
+import com.czertainly.api.model.common.attribute.v1.content.BaseAttributeContent;
+import com.czertainly.api.model.common.attribute.v3.DataAttributeV3;
+import com.czertainly.api.model.common.attribute.v3.content.BaseAttributeContentV3;
+import com.czertainly.api.model.common.attribute.v3.content.BooleanAttributeContentV3;
+import com.czertainly.api.model.common.attribute.v3.content.IntegerAttributeContentV3;
+import com.czertainly.api.model.common.attribute.v3.content.StringAttributeContentV3;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Attribute payloads used by the benchmarks, resembling the attributes of connector functions.
+ * Attributes alternate between string attributes with regexp constraint, integer attributes with range
+ * constraint and boolean attributes. Payloads are deterministic, so the results of the runs are comparable.
+ */
+final class AttributePayloads {
+
+    static final String HOSTNAME_REGEX = "^(([a-zA-Z0-9]|[a-zA-Z0-9][a-zA-Z0-9\\-]*[a-zA-Z0-9])\\.)*([A-Za-z0-9]|[A-Za-z0-9][A-Za-z0-9\\-]*[A-Za-z0-9])$";
+
+    private static final RangeAttributeConstraintData PORT_RANGE = new RangeAttributeConstraintData();
+
+    static {
+        PORT_RANGE.setFrom(1);
+        PORT_RANGE.setTo(65535);
+    }
+
+    private AttributePayloads() {
+    }
+
+    static String name(int i) {
+        return "attribute" + i;
+    }
+
+    static String uuid(int i) {
+        return new UUID(0x5a7e1d2c3b4a5968L, i).toString();
+    }
+
+    static List<DataAttributeV3> dataAttributes(int count) {
+        List<DataAttributeV3> attributes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DataAttributeV3 attribute = new DataAttributeV3();
+            attribute.setUuid(uuid(i));
+            attribute.setName(name(i));
+            attribute.setDescription("Attribute number " + i + " of the connector function");
+
+            DataAttributeProperties properties = new DataAttributeProperties();
+            properties.setLabel("Attribute " + i);
+            properties.setRequired(true);
+            properties.setVisible(true);
+            properties.setGroup("Group " + (i % 10));
+            attribute.setProperties(properties);
+
+            switch (i % 3) {
+                case 0 -> {
+                    attribute.setContentType(AttributeContentType.STRING);
+                    attribute.setConstraints(List.of(new RegexpAttributeConstraint("Hostname", "Invalid hostname", HOSTNAME_REGEX)));
+                    attribute.setContent(List.of(new StringAttributeContentV3("host-" + i + ".example.com")));
+                }
+                case 1 -> {
+                    attribute.setContentType(AttributeContentType.INTEGER);
+                    attribute.setConstraints(List.of(new RangeAttributeConstraint("Port", "Invalid port", PORT_RANGE)));
+                    attribute.setContent(List.of(new IntegerAttributeContentV3(1024 + i)));
+                }
+                default -> {
+                    attribute.setContentType(AttributeContentType.BOOLEAN);
+                    attribute.setContent(List.of(new BooleanAttributeContentV3(i % 2 == 0)));
+                }
+            }
+            attributes.add(attribute);
+        }
+        return attributes;
+    }
+
+    static List<RequestAttribute> requestAttributes(List<DataAttributeV3> definitions) {
+        List<RequestAttribute> attributes = new ArrayList<>(definitions.size());
+        for (DataAttributeV3 definition : definitions) {
+            List<BaseAttributeContentV3<?>> content = new ArrayList<>(definition.getContent());
+            attributes.add(new RequestAttributeV3(UUID.fromString(definition.getUuid()), definition.getName(), definition.getContentType(), content));
+        }
+        return attributes;
+    }
+
+    /**
+     * Serialized attribute definitions of version 1 as they are stored in the database before migration.
+     */
+    static String legacyAttributesJson(int count) {
+        List<AttributeDefinition> attributes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AttributeDefinition attribute = new AttributeDefinition();
+            attribute.setUuid(uuid(i));
+            attribute.setName(name(i));
+            attribute.setLabel("Attribute " + i);
+            attribute.setRequired(true);
+            attribute.setDescription("Attribute number " + i + " of the connector function");
+            if (i % 2 == 0) {
+                attribute.setType(AttributeType.STRING);
+                attribute.setValidationRegex(HOSTNAME_REGEX);
+                attribute.setContent(new BaseAttributeContent<>("host-" + i + ".example.com"));
+            } else {
+                attribute.setType(AttributeType.INTEGER);
+                attribute.setContent(new BaseAttributeContent<>(1024 + i));
+            }
+            attributes.add(attribute);
+        }
+        return com.czertainly.core.deprecated.AttributeDefinitionUtils.serialize(attributes);
+    }
+
+    /**
+     * Result set of the rows of the table migrated by {@link com.czertainly.core.util.V2AttributeMigrationUtils}.
+     * Only the methods used by the migration are implemented.
+     *
+     * @param columnName    Column with the serialized attributes
+     * @param rowIdentifier Column with the identifier of the row
+     * @param rowCount      Number of rows
+     * @param attributes    Serialized attributes of each row
+     * @return Result set positioned before the first row
+     */
+    static ResultSet resultSet(String columnName, String rowIdentifier, int rowCount, String attributes) {
+        int[] row = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> ++row[0] < rowCount;
+            case "getString" -> {
+                if (columnName.equals(args[0])) yield attributes;
+                if (rowIdentifier.equals(args[0])) yield uuid(row[0]);
+                yield null;
+            }
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.common.attribute.v3.DataAttributeV3;
+import com.czertainly.core.util.AttributeDefinitionUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of attribute definitions and their polymorphic deserialization
+ * by {@link com.czertainly.api.config.serializer.BaseAttributeDeserializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int attributeCount;
+
+    private List<DataAttributeV3> attributes;
+
+    private String serializedAttributes;
+
+    @Setup
+    public void setup() {
+        attributes = AttributePayloads.dataAttributes(attributeCount);
+        serializedAttributes = AttributeDefinitionUtils.serialize(attributes);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return AttributeDefinitionUtils.serialize(attributes);
+    }
+
+    @Benchmark
+    public List<BaseAttribute> deserialize() {
+        return AttributeDefinitionUtils.deserialize(serializedAttributes, BaseAttribute.class);
+    }
+}
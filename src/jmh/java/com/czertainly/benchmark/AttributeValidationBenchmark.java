@@ -0,0 +1,56 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.common.attribute.v3.DataAttributeV3;
+import com.czertainly.api.model.common.attribute.v3.content.StringAttributeContentV3;
+import com.czertainly.core.util.AttributeDefinitionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of request attributes against their definitions, merging of request attributes with the definitions
+ * and lookup of the typed attribute content.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeValidationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int attributeCount;
+
+    private List<DataAttributeV3> definitions;
+
+    private List<RequestAttribute> attributes;
+
+    @Setup
+    public void setup() {
+        definitions = AttributePayloads.dataAttributes(attributeCount);
+        attributes = AttributePayloads.requestAttributes(definitions);
+    }
+
+    @Benchmark
+    public void validateAttributes() throws ValidationException {
+        AttributeDefinitionUtils.validateAttributes(definitions, attributes);
+    }
+
+    @Benchmark
+    public List<BaseAttribute> mergeAttributes() throws ValidationException {
+        return AttributeDefinitionUtils.mergeAttributes(definitions, attributes);
+    }
+
+    @Benchmark
+    public void getAttributeContent(Blackhole blackhole) {
+        for (int i = 0; i < attributeCount; i += 3) {
+            blackhole.consume(AttributeDefinitionUtils.getAttributeContent(AttributePayloads.name(i), attributes, StringAttributeContentV3.class));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.api.model.common.enums.BitMaskEnum;
+import com.czertainly.api.model.core.certificate.CertificateKeyUsage;
+import com.czertainly.api.model.core.cryptography.key.KeyUsage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions of key usages between sets and bit masks, as done for every stored key and certificate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BitMaskEnumBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int itemCount;
+
+    private List<EnumSet<KeyUsage>> keyUsages;
+
+    private int[] keyUsageBitMasks;
+
+    private int[] certificateKeyUsageBitMasks;
+
+    @Setup
+    public void setup() {
+        KeyUsage[] keyUsageValues = KeyUsage.values();
+        CertificateKeyUsage[] certificateKeyUsageValues = CertificateKeyUsage.values();
+        keyUsages = new ArrayList<>(itemCount);
+        keyUsageBitMasks = new int[itemCount];
+        certificateKeyUsageBitMasks = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            EnumSet<KeyUsage> usages = EnumSet.noneOf(KeyUsage.class);
+            for (int j = 0; j < keyUsageValues.length; j++) {
+                if ((i >> j & 1) != 0) {
+                    usages.add(keyUsageValues[j]);
+                }
+            }
+            keyUsages.add(usages);
+            keyUsageBitMasks[i] = BitMaskEnum.convertSetToBitMask(usages);
+
+            EnumSet<CertificateKeyUsage> certificateUsages = EnumSet.noneOf(CertificateKeyUsage.class);
+            for (int j = 0; j < certificateKeyUsageValues.length; j++) {
+                if ((i >> j & 1) != 0) {
+                    certificateUsages.add(certificateKeyUsageValues[j]);
+                }
+            }
+            certificateKeyUsageBitMasks[i] = BitMaskEnum.convertSetToBitMask(certificateUsages);
+        }
+    }
+
+    @Benchmark
+    public void convertSetToBitMask(Blackhole blackhole) {
+        for (EnumSet<KeyUsage> usages : keyUsages) {
+            blackhole.consume(BitMaskEnum.convertSetToBitMask(usages));
+        }
+    }
+
+    @Benchmark
+    public void convertKeyUsageBitMaskToSet(Blackhole blackhole) {
+        for (int bitMask : keyUsageBitMasks) {
+            blackhole.consume(KeyUsage.convertBitMaskToSet(bitMask));
+        }
+    }
+
+    @Benchmark
+    public void convertCertificateKeyUsageBitMaskToSet(Blackhole blackhole) {
+        for (int bitMask : certificateKeyUsageBitMasks) {
+            blackhole.consume(CertificateKeyUsage.convertBitMaskToSet(bitMask));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.czertainly.benchmark;
+
+import com.czertainly.api.clients.mq.DefaultProxyClient;
+import com.czertainly.api.clients.mq.InMemoryProxyTransport;
+import com.czertainly.api.clients.mq.model.ConnectorResponse;
+import com.czertainly.api.model.common.HealthDto;
+import com.czertainly.api.model.core.connector.AuthType;
+import com.czertainly.api.model.core.connector.ConnectorDto;
+import com.czertainly.api.model.core.proxy.ProxyDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link DefaultProxyClient} correlation and timeout handling with many requests in flight,
+ * the proxy is simulated by {@link InMemoryProxyTransport}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyClientBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int inFlightCount;
+
+    private ExecutorService executor;
+
+    private DefaultProxyClient client;
+
+    private ConnectorDto connector;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        ConnectorResponse response = ConnectorResponse.builder().statusCode(200).body(Map.of("status", "ok")).build();
+        client = new DefaultProxyClient(new InMemoryProxyTransport(message -> response, executor));
+
+        ProxyDto proxy = new ProxyDto();
+        proxy.setCode("proxy-001");
+        connector = new ConnectorDto();
+        connector.setName("benchmark");
+        connector.setUrl("http://connector:8080");
+        connector.setAuthType(AuthType.NONE);
+        connector.setProxy(proxy);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void sendRequestsInFlight() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[inFlightCount];
+        for (int i = 0; i < inFlightCount; i++) {
+            futures[i] = client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
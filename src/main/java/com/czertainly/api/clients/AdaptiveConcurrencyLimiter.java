@@ -0,0 +1,240 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.exception.ConnectorCommunicationException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adaptive limit of the concurrent requests to each connector, identified by its UUID.
+ *
+ * <p>The limit follows the round trip times of the requests in the way of TCP Vegas. The number of requests queued
+ * by the connector is estimated as {@code limit * (1 - minRtt / rtt)}. The limit is increased when the estimate
+ * is below alpha and decreased when it is above beta. Requests failing on communication or timeout decrease the
+ * limit multiplicatively by the backoff ratio. Requests exceeding the limit wait in the bounded queue of the connector
+ * until a permit is released. Requests that do not fit in the queue or do not get the permit within the queue timeout
+ * fail with {@link ConnectorCommunicationException}, so the callers of a slow connector do not pile up.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConnectorRequestGuardSettings settings;
+
+    private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(ConnectorRequestGuardSettings settings) {
+        if (settings.getMinLimit() < 1 || settings.getMaxLimit() < settings.getMinLimit()) {
+            throw new IllegalArgumentException("Concurrency limits must be positive and minimal limit must not exceed maximal limit.");
+        }
+        if (settings.getBackoffRatio() <= 0 || settings.getBackoffRatio() >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1.");
+        }
+        if (settings.getMaxQueuedRequests() < 0 || settings.getQueueTimeout() == null || settings.getQueueTimeout().isNegative()) {
+            throw new IllegalArgumentException("Maximal number of queued requests and queue timeout must not be negative.");
+        }
+        this.settings = settings;
+    }
+
+    /**
+     * Acquire the permit to send the request, the request is queued when the concurrency limit of the connector is reached.
+     * Cancelling the returned future removes the request from the queue.
+     *
+     * @param connector Connector the request is sent to
+     * @return Future of the permit that must be completed when the request completes, failing with
+     * {@link ConnectorCommunicationException} when the queue of the connector is full or the queue timeout elapses
+     */
+    public CompletableFuture<Permit> acquire(ApiClientConnectorInfo connector) {
+        Limit limit = limits.computeIfAbsent(connector.getUuid(), k -> new Limit());
+        CompletableFuture<Permit> permit = new CompletableFuture<>();
+        int inFlight = limit.tryAcquire(permit);
+        if (inFlight > 0) {
+            permit.complete(new Permit(limit, inFlight));
+        } else if (inFlight < 0) {
+            permit.completeExceptionally(new ConnectorCommunicationException("Concurrency limit %d of connector %s reached and %d requests are queued, request was not sent. URL: %s"
+                    .formatted(limit.getLimit(), connector.getName(), settings.getMaxQueuedRequests(), connector.getUrl()), connector));
+        } else {
+            CompletableFuture.delayedExecutor(settings.getQueueTimeout().toNanos(), TimeUnit.NANOSECONDS).execute(() ->
+                    permit.completeExceptionally(new ConnectorCommunicationException("Concurrency limit %d of connector %s reached, request was not sent within %d ms. URL: %s"
+                            .formatted(limit.getLimit(), connector.getName(), settings.getQueueTimeout().toMillis(), connector.getUrl()), connector)));
+        }
+        return permit;
+    }
+
+    public int getLimit(String connectorUuid) {
+        Limit limit = limits.get(connectorUuid);
+        return limit == null ? settings.getInitialLimit() : limit.getLimit();
+    }
+
+    public int getInFlight(String connectorUuid) {
+        Limit limit = limits.get(connectorUuid);
+        return limit == null ? 0 : limit.getInFlight();
+    }
+
+    public int getQueued(String connectorUuid) {
+        Limit limit = limits.get(connectorUuid);
+        return limit == null ? 0 : limit.getQueued();
+    }
+
+    /**
+     * Forget the adapted limit of the connector, requests in flight are released to the previous limit.
+     */
+    public void reset(String connectorUuid) {
+        limits.remove(connectorUuid);
+    }
+
+    /**
+     * Permit of a single request in flight, completing the permit more than once has no effect.
+     */
+    public static final class Permit {
+
+        private final Limit limit;
+
+        private final int inFlight;
+
+        private final long startTime = System.nanoTime();
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Limit limit, int inFlight) {
+            this.limit = limit;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Release the permit of the request that completed, its round trip time adapts the limit.
+         */
+        public void onSuccess() {
+            if (released.compareAndSet(false, true)) {
+                limit.onSample(System.nanoTime() - startTime, inFlight);
+            }
+        }
+
+        /**
+         * Release the permit of the request that failed on communication or timeout, the limit is decreased.
+         */
+        public void onDropped() {
+            if (released.compareAndSet(false, true)) {
+                limit.onDropped();
+            }
+        }
+
+        /**
+         * Release the permit of the request whose round trip time is not relevant, e.g. it was cancelled.
+         */
+        public void onIgnore() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+    }
+
+    private final class Limit {
+
+        private double limit = settings.getInitialLimit();
+
+        private int inFlight;
+
+        private long minRtt = Long.MAX_VALUE;
+
+        private int samples;
+
+        private final Deque<CompletableFuture<Permit>> queue = new ArrayDeque<>();
+
+        /**
+         * @param permit Future of the permit queued when the limit is reached
+         * @return Number of requests in flight including the acquired one, 0 when the request is queued, -1 when the queue is full
+         */
+        private synchronized int tryAcquire(CompletableFuture<Permit> permit) {
+            queue.removeIf(CompletableFuture::isDone);
+            if (inFlight < (int) limit && queue.isEmpty()) {
+                return ++inFlight;
+            }
+            if (queue.size() >= settings.getMaxQueuedRequests()) {
+                return -1;
+            }
+            queue.add(permit);
+            return 0;
+        }
+
+        private void release() {
+            synchronized (this) {
+                inFlight--;
+            }
+            grantQueued();
+        }
+
+        /**
+         * Hand the free permits over to the queued requests. The futures are completed outside the lock,
+         * permits of the requests that were cancelled or timed out meanwhile are released again.
+         */
+        private void grantQueued() {
+            List<CompletableFuture<Permit>> granted = new ArrayList<>();
+            List<Permit> permits = new ArrayList<>();
+            synchronized (this) {
+                while (inFlight < (int) limit && !queue.isEmpty()) {
+                    CompletableFuture<Permit> queued = queue.poll();
+                    if (!queued.isDone()) {
+                        granted.add(queued);
+                        permits.add(new Permit(this, ++inFlight));
+                    }
+                }
+            }
+            for (int i = 0; i < granted.size(); i++) {
+                if (!granted.get(i).complete(permits.get(i))) {
+                    permits.get(i).onIgnore();
+                }
+            }
+        }
+
+        private void onSample(long rtt, int sampleInFlight) {
+            synchronized (this) {
+                updateLimit(rtt, sampleInFlight);
+            }
+            grantQueued();
+        }
+
+        private void updateLimit(long rtt, int sampleInFlight) {
+            inFlight--;
+            if (++samples >= settings.getMinRttResetSamples()) {
+                samples = 0;
+                minRtt = Long.MAX_VALUE;
+            }
+            rtt = Math.max(rtt, 1);
+            minRtt = Math.min(minRtt, rtt);
+            double queued = limit * (1 - (double) minRtt / rtt);
+            if (queued > settings.getBeta()) {
+                limit = Math.max(settings.getMinLimit(), limit - 1);
+            } else if (queued < settings.getAlpha() && sampleInFlight * 2 >= (int) limit) {
+                // the limit is increased only when it is used, not when the connector is idle
+                limit = Math.min(settings.getMaxLimit(), limit + 1);
+            }
+        }
+
+        private void onDropped() {
+            synchronized (this) {
+                inFlight--;
+                limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+            }
+            grantQueued();
+        }
+
+        private synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        private synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        private synchronized int getQueued() {
+            queue.removeIf(CompletableFuture::isDone);
+            return queue.size();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.czertainly.api.clients;
+
+import io.netty.channel.ChannelOption;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Connection settings of the web clients used to communicate with connectors.
+ *
+ * <p>Connection pools are kept per remote address, so the pool limits apply to each connector separately
+ * and a slow connector cannot exhaust connections of other connectors. Unset (null) values
+ * fall back to the Reactor Netty defaults.</p>
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+public class ApiClientConnectionSettings {
+
+    public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Maximum number of connections per connector
+     */
+    @Builder.Default
+    private int maxConnections = ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS;
+
+    /**
+     * Maximum number of requests waiting for a connection per connector, -1 for no limit
+     */
+    private Integer pendingAcquireMaxCount;
+
+    /**
+     * Maximum time to wait for a connection from the pool
+     */
+    @Builder.Default
+    private Duration pendingAcquireTimeout = Duration.ofMillis(ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT);
+
+    /**
+     * Time after which an idle connection is closed
+     */
+    @Builder.Default
+    private Duration maxIdleTime = Duration.ofSeconds(60);
+
+    /**
+     * Maximum lifetime of a connection
+     */
+    private Duration maxLifeTime;
+
+    /**
+     * Interval of the background eviction of idle and expired connections
+     */
+    @Builder.Default
+    private Duration evictInBackground = Duration.ofSeconds(120);
+
+    /**
+     * Grace period of the connections in use when the connection pool of a connector is retired,
+     * e.g. after the authentication attributes of the connector changed
+     */
+    @Builder.Default
+    private Duration disposeTimeout = Duration.ofSeconds(30);
+
+    @Builder.Default
+    private Duration connectTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum time to wait for the response after the request was sent, no timeout when not set
+     */
+    private Duration responseTimeout;
+
+    /**
+     * HTTP protocols to negotiate, {@link HttpProtocol#H2} is negotiated using ALPN over TLS
+     * and {@link HttpProtocol#H2C} using upgrade over plain connections
+     */
+    @Builder.Default
+    private Set<HttpProtocol> protocols = Set.of(HttpProtocol.HTTP11);
+
+    @Builder.Default
+    private int maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE;
+
+    /**
+     * Registry the connection pool metrics are registered in, metrics are disabled when not set
+     */
+    private ConnectionPoolMetricsRegistry metricsRegistry;
+
+    public boolean isHttp2Enabled() {
+        return protocols.contains(HttpProtocol.H2);
+    }
+
+    public ConnectionProvider createConnectionProvider(String name) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(name)
+                .maxConnections(maxConnections);
+
+        if (pendingAcquireMaxCount != null) builder.pendingAcquireMaxCount(pendingAcquireMaxCount);
+        if (pendingAcquireTimeout != null) builder.pendingAcquireTimeout(pendingAcquireTimeout);
+        if (maxIdleTime != null) builder.maxIdleTime(maxIdleTime);
+        if (maxLifeTime != null) builder.maxLifeTime(maxLifeTime);
+        if (evictInBackground != null) builder.evictInBackground(evictInBackground);
+        if (disposeTimeout != null) builder.disposeTimeout(disposeTimeout);
+        if (metricsRegistry != null) builder.metrics(true, () -> metricsRegistry);
+
+        return builder.build();
+    }
+
+    public HttpClient createHttpClient(ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(protocols.toArray(new HttpProtocol[0]));
+
+        if (connectTimeout != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()));
+        }
+        if (responseTimeout != null) {
+            httpClient = httpClient.responseTimeout(responseTimeout);
+        }
+        return httpClient;
+    }
+}
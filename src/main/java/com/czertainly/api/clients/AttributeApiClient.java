@@ -3,6 +3,7 @@ package com.czertainly.api.clients;
 import com.czertainly.api.interfaces.client.v1.AttributeSyncApiClient;
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.interfaces.client.v1.AttributeAsyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.common.attribute.common.callback.AttributeCallback;
@@ -13,6 +14,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
@@ -22,7 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class AttributeApiClient extends BaseApiClient implements AttributeSyncApiClient {
+public class AttributeApiClient extends BaseApiClient implements AttributeSyncApiClient, AttributeAsyncApiClient {
 
     private static final String ATTRIBUTE_BASE_CONTEXT = "/v1/{functionGroup}/{kind}/attributes";
     private static final String ATTRIBUTE_VALIDATION_CONTEXT = ATTRIBUTE_BASE_CONTEXT + "/validate";
@@ -35,32 +37,37 @@ public class AttributeApiClient extends BaseApiClient implements AttributeSyncAp
         this.defaultTrustManagers = defaultTrustManagers;
     }
 
+    @Override
     public List<BaseAttribute> listAttributeDefinitions(ApiClientConnectorInfo connector, FunctionGroupCode functionGroupCode, String kind) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, false);
+        return blockRequest(listAttributeDefinitionsAsync(connector, functionGroupCode, kind).collectList());
+    }
 
-        return processRequest(r -> r
-                .uri(connector.getUrl() + ATTRIBUTE_BASE_CONTEXT, functionGroupCode.getCode(), kind)
-                .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
-                connector);
+    @Override
+    public Flux<BaseAttribute> listAttributeDefinitionsAsync(ApiClientConnectorInfo connector, FunctionGroupCode functionGroupCode, String kind) {
+        return processAttributeDefinitionsRequest(connector, functionGroupCode, kind, false, ATTRIBUTE_BASE_CONTEXT, functionGroupCode.getCode(), kind);
     }
 
+    @Override
     public Void validateAttributes(ApiClientConnectorInfo connector, FunctionGroupCode functionGroupCode, List<RequestAttribute> attributes, String functionGroupType) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(validateAttributesAsync(connector, functionGroupCode, attributes, functionGroupType));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<Void> validateAttributesAsync(ApiClientConnectorInfo connector, FunctionGroupCode functionGroupCode, List<RequestAttribute> attributes, String functionGroupType) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + ATTRIBUTE_VALIDATION_CONTEXT, functionGroupCode.getCode(), functionGroupType)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     public Object attributeCallback(ApiClientConnectorInfo connector, AttributeCallback callback, RequestAttributeCallback callbackRequest) throws ConnectorException {
+        return blockRequest(attributeCallbackAsync(connector, callback, callbackRequest));
+    }
+
+    @Override
+    public Mono<Object> attributeCallbackAsync(ApiClientConnectorInfo connector, AttributeCallback callback, RequestAttributeCallback callbackRequest) {
         HttpMethod method = HttpMethod.valueOf(callback.getCallbackMethod());
 
         URI uri;
@@ -87,19 +94,14 @@ public class AttributeApiClient extends BaseApiClient implements AttributeSyncAp
             uri = uriBuilder.build();
         }
 
-        WebClient.RequestBodySpec request =
-                prepareRequest(method, connector, true)
-                        .uri(uri);
-
-        if (callbackRequest.getBody() != null) {
-            request.bodyValue(callbackRequest.getBody());
-        }
-
-        return processRequest(r -> r
-                .retrieve()
-                .toEntity(Object.class)
-                .block().getBody(),
-                request,
-                connector);
+        return processRequestAsync(() -> {
+            WebClient.RequestBodySpec request = prepareRequest(method, connector, true).uri(uri);
+            if (callbackRequest.getBody() != null) {
+                request.bodyValue(callbackRequest.getBody());
+            }
+            return request
+                    .retrieve()
+                    .bodyToMono(Object.class);
+        }, connector);
     }
 }
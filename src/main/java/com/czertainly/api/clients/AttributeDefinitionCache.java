@@ -0,0 +1,122 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Cache of the attribute definitions of the connectors, revalidated by {@code If-None-Match} requests.
+ *
+ * <p>Definitions are cached with the {@code ETag} of the response they were received in, responses without
+ * {@code ETag} are not cached. Cached definitions are sent as {@code If-None-Match} and the connector responds
+ * with {@code 304 Not Modified} without body when the definitions did not change, so revalidation
+ * costs a round trip only. Definitions are kept as the received JSON and deserialized for every caller,
+ * so callers get their own instances they can modify. Hits count the requests answered by
+ * {@code 304 Not Modified}, misses the requests answered with the definitions.</p>
+ *
+ * <p>Entries of a connector are removed when the version of the connector changes, see
+ * {@link #updateConnectorVersion(String, com.czertainly.api.model.core.connector.v2.ConnectInfo)}, or when
+ * the connector is invalidated explicitly. The least recently used entries are removed when the cache is full.</p>
+ */
+public class AttributeDefinitionCache extends ConnectorVersionedCache<AttributeDefinitionCache.Key, AttributeDefinitionCache.Entry> {
+
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final TypeReference<List<BaseAttribute>> ATTRIBUTE_LIST_TYPE_REF = new TypeReference<>() {
+    };
+
+    public AttributeDefinitionCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries Maximum number of cached attribute definition lists
+     */
+    public AttributeDefinitionCache(int maxEntries) {
+        super("attribute definitions", maxEntries, null);
+    }
+
+    /**
+     * Get the cached definitions to be revalidated.
+     *
+     * @param key Key of the definitions
+     * @return Cached definitions, null when not cached or the cache is disabled
+     */
+    public Entry get(Key key) {
+        return getEntry(key);
+    }
+
+    /**
+     * Store the received definitions. Definitions without entity tag are not stored.
+     *
+     * @param key  Key of the definitions
+     * @param etag Entity tag of the response, can be null
+     * @param body Received JSON of the definitions
+     * @return JSON of the definitions
+     */
+    public byte[] put(Key key, String etag, byte[] body) {
+        recordMiss();
+        if (etag != null && !etag.isEmpty()) {
+            putEntry(key, new Entry(etag, body));
+        } else {
+            removeEntry(key);
+        }
+        return body;
+    }
+
+    /**
+     * Get the definitions of the entry confirmed by the connector as not modified.
+     *
+     * @param entry Revalidated entry
+     * @return JSON of the definitions
+     */
+    public byte[] revalidated(Entry entry) {
+        recordHit();
+        return entry.body();
+    }
+
+    /**
+     * Deserialize the definitions, each caller gets its own instances.
+     *
+     * @param body JSON of the definitions
+     * @return Definitions
+     */
+    public static List<BaseAttribute> decode(byte[] body) {
+        if (body.length == 0) {
+            return List.of();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(body, ATTRIBUTE_LIST_TYPE_REF);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read attribute definitions: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Key of the cached definitions.
+     *
+     * @param connector     UUID of the connector, URL for connectors without UUID
+     * @param functionGroup Function group the definitions belong to, null for endpoints outside of function groups
+     * @param kind          Kind of the function group or the operation, e.g. {@code issue}
+     * @param path          Path the definitions are requested from
+     */
+    public record Key(String connector, FunctionGroupCode functionGroup, String kind, String path) implements ConnectorKey {
+
+        public static Key of(ApiClientConnectorInfo connector, FunctionGroupCode functionGroup, String kind, String path) {
+            return new Key(connector.getUuid() != null ? connector.getUuid() : connector.getUrl(), functionGroup, kind, path);
+        }
+    }
+
+    /**
+     * Cached definitions.
+     *
+     * @param etag Entity tag of the definitions
+     * @param body JSON of the definitions
+     */
+    public record Entry(String etag, byte[] body) {
+    }
+}
@@ -2,6 +2,7 @@ package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.interfaces.client.v1.AuthorityInstanceAsyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.connector.authority.AuthorityProviderInstanceDto;
@@ -10,18 +11,19 @@ import com.czertainly.api.model.connector.authority.CertificateRevocationListReq
 import com.czertainly.api.model.connector.authority.CertificateRevocationListResponseDto;
 import com.czertainly.api.model.connector.authority.CaCertificatesRequestDto;
 import com.czertainly.api.model.connector.authority.CaCertificatesResponseDto;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.czertainly.api.interfaces.client.v1.AuthorityInstanceSyncApiClient;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
-import java.util.Objects;
 
-public class AuthorityInstanceApiClient extends BaseApiClient implements AuthorityInstanceSyncApiClient {
+public class AuthorityInstanceApiClient extends BaseApiClient implements AuthorityInstanceSyncApiClient, AuthorityInstanceAsyncApiClient {
 
     private static final String AUTHORITY_INSTANCE_BASE_CONTEXT = "/v1/authorityProvider/authorities";
     private static final String AUTHORITY_INSTANCE_IDENTIFIED_CONTEXT = AUTHORITY_INSTANCE_BASE_CONTEXT + "/{uuid}";
@@ -40,125 +42,130 @@ public class AuthorityInstanceApiClient extends BaseApiClient implements Authori
 
     @Override
     public List<AuthorityProviderInstanceDto> listAuthorityInstances(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listAuthorityInstancesAsync(connector).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<AuthorityProviderInstanceDto> listAuthorityInstancesAsync(ApiClientConnectorInfo connector) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_BASE_CONTEXT)
                 .retrieve()
-                .toEntityList(AuthorityProviderInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(AuthorityProviderInstanceDto.class),
                 connector);
     }
 
     @Override
     public AuthorityProviderInstanceDto getAuthorityInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getAuthorityInstanceAsync(connector, uuid));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<AuthorityProviderInstanceDto> getAuthorityInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(AuthorityProviderInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(AuthorityProviderInstanceDto.class),
                 connector);
     }
 
     @Override
     public AuthorityProviderInstanceDto createAuthorityInstance(ApiClientConnectorInfo connector, AuthorityProviderInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(createAuthorityInstanceAsync(connector, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<AuthorityProviderInstanceDto> createAuthorityInstanceAsync(ApiClientConnectorInfo connector, AuthorityProviderInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_BASE_CONTEXT)
                 .body(Mono.just(requestDto), AuthorityProviderInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(AuthorityProviderInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(AuthorityProviderInstanceDto.class),
                 connector);
     }
 
 
     @Override
     public AuthorityProviderInstanceDto updateAuthorityInstance(ApiClientConnectorInfo connector, String uuid, AuthorityProviderInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(updateAuthorityInstanceAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<AuthorityProviderInstanceDto> updateAuthorityInstanceAsync(ApiClientConnectorInfo connector, String uuid, AuthorityProviderInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .body(Mono.just(requestDto), AuthorityProviderInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(AuthorityProviderInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(AuthorityProviderInstanceDto.class),
                 connector);
     }
 
     @Override
     public void removeAuthorityInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
+        blockRequest(removeAuthorityInstanceAsync(connector, uuid));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> removeAuthorityInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
 
     @Override
     public List<BaseAttribute> listRAProfileAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listRAProfileAttributesAsync(connector, uuid).collectList());
+    }
 
-        return processRequest(r -> r
-                .uri(connector.getUrl() + AUTHORITY_INSTANCE_RA_ATTRS_CONTEXT, uuid)
-                .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
-                connector);
+    @Override
+    public Flux<BaseAttribute> listRAProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processAttributeDefinitionsRequest(connector, FunctionGroupCode.LEGACY_AUTHORITY_PROVIDER, "raProfile", true, AUTHORITY_INSTANCE_RA_ATTRS_CONTEXT, uuid);
     }
 
     @Override
     public Boolean validateRAProfileAttributes(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(validateRAProfileAttributesAsync(connector, uuid, attributes));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<Boolean> validateRAProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_RA_ATTRS_VALIDATE_CONTEXT, uuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Boolean.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Boolean.class),
                 connector);
     }
 
     @Override
     public CertificateRevocationListResponseDto getCrl(ApiClientConnectorInfo connector, String uuid, CertificateRevocationListRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(getCrlAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> Objects.requireNonNull(r
+    @Override
+    public Mono<CertificateRevocationListResponseDto> getCrlAsync(ApiClientConnectorInfo connector, String uuid, CertificateRevocationListRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_CRL_CONTEXT, uuid)
                 .body(Mono.just(requestDto), CertificateRevocationListRequestDto.class)
                 .retrieve()
-                .toEntity(CertificateRevocationListResponseDto.class)
-                .block()).getBody(),
-                request,
+                .bodyToMono(CertificateRevocationListResponseDto.class),
                 connector);
     }
 
     @Override
     public CaCertificatesResponseDto getCaCertificates(ApiClientConnectorInfo connector, String uuid, CaCertificatesRequestDto requestDto) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(getCaCertificatesAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> Objects.requireNonNull(r
+    @Override
+    public Mono<CaCertificatesResponseDto> getCaCertificatesAsync(ApiClientConnectorInfo connector, String uuid, CaCertificatesRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + AUTHORITY_INSTANCE_CERT_CONTEXT, uuid)
                 .body(Mono.just(requestDto), CaCertificatesRequestDto.class)
                 .retrieve()
-                .toEntity(CaCertificatesResponseDto.class)
-                .block()).getBody(),
-                request,
+                .bodyToMono(CaCertificatesResponseDto.class),
                 connector);
     }
 }
\ No newline at end of file
@@ -2,23 +2,32 @@ package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.*;
 import com.czertainly.api.model.client.attribute.ResponseAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.common.attribute.common.AttributeContent;
 import com.czertainly.api.model.common.attribute.v2.content.FileAttributeContentV2;
+import com.czertainly.api.model.common.error.ErrorCode;
 import com.czertainly.api.model.common.error.ProblemDetailExtended;
 import com.czertainly.api.model.core.connector.ConnectorStatus;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
 import com.czertainly.core.util.AttributeDefinitionUtils;
 import com.czertainly.core.util.KeyStoreUtils;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.*;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 
@@ -29,7 +38,9 @@ import javax.net.ssl.TrustManagerFactory;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class BaseApiClient {
     private static final Logger logger = LoggerFactory.getLogger(BaseApiClient.class);
@@ -50,6 +61,31 @@ public abstract class BaseApiClient {
     public static final String ATTRIBUTE_API_KEY_HEADER = "apiKeyHeader";
     public static final String ATTRIBUTE_API_KEY = "apiKey";
 
+    private static final String CONNECTION_PROVIDER_NAME = "connectors";
+
+    // mTLS clients are shared by all API clients, keystore parsing and TLS handshakes are done once per connector
+    private static final ConnectorWebClientCache CERTIFICATE_AUTH_WEB_CLIENT_CACHE = new ConnectorWebClientCache();
+
+    // identical idempotent requests in flight are coalesced across all API clients
+    private static final RequestCoalescer REQUEST_COALESCER = new RequestCoalescer();
+
+    private static final AttributeDefinitionCache ATTRIBUTE_DEFINITION_CACHE = new AttributeDefinitionCache();
+
+    // shared by the REST and MQ compliance clients
+    private static final ComplianceRuleSetCache COMPLIANCE_RULE_SET_CACHE = new ComplianceRuleSetCache();
+
+    // requests of all API clients to the same connector share its circuit and concurrency limit, see ConnectorRequestGuard#setSettings
+    private static final ConnectorRequestGuard REQUEST_GUARD = new ConnectorRequestGuard();
+
+    // meters are registered in the global registry, which includes the registries of Spring Boot
+    private static final ConnectorClientMetrics CLIENT_METRICS = new ConnectorClientMetrics(Metrics.globalRegistry);
+
+    static {
+        CLIENT_METRICS.bindRequestCoalescer(REQUEST_COALESCER);
+        CLIENT_METRICS.bindAttributeDefinitionCache(ATTRIBUTE_DEFINITION_CACHE);
+        CLIENT_METRICS.bindComplianceRuleSetCache(COMPLIANCE_RULE_SET_CACHE);
+    }
+
     protected WebClient webClient;
 
     protected TrustManager[] defaultTrustManagers;
@@ -71,7 +107,7 @@ public abstract class BaseApiClient {
 
         // for backward compatibility
         if (connector.getAuthType() == null) {
-            request = webClient.method(method);
+            request = webClient.method(method).attribute(ConnectorClientMetrics.CONNECTOR_ATTRIBUTE, connector);
             return (WebClient.RequestBodyUriSpec) request;
         }
 
@@ -93,11 +129,7 @@ public abstract class BaseApiClient {
                         .headers(h -> h.setBasicAuth(username.getData(), password.getData()));
                 break;
             case CERTIFICATE:
-                SslContext sslContext = createSslContext(authAttributes);
-                HttpClient httpClient = HttpClient.create().secure(t -> t.sslContext(sslContext));
-                webClient.mutate().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
-
-                request = webClient.method(method);
+                request = getCertificateAuthWebClient(connector).method(method);
                 break;
             case API_KEY:
                 AttributeContent apiKeyHeader = AttributeDefinitionUtils.getAttributeContent(ATTRIBUTE_API_KEY_HEADER, authAttributes, false);
@@ -116,7 +148,7 @@ public abstract class BaseApiClient {
                 throw new IllegalArgumentException("Unknown auth type " + connector.getAuthType());
         }
 
-        return (WebClient.RequestBodyUriSpec) request;
+        return (WebClient.RequestBodyUriSpec) request.attribute(ConnectorClientMetrics.CONNECTOR_ATTRIBUTE, connector);
     }
 
     public void validateConnectorStatus(ConnectorStatus connectorStatus) throws ValidationException {
@@ -125,7 +157,79 @@ public abstract class BaseApiClient {
         }
     }
 
-    private SslContext createSslContext(List<ResponseAttribute> attributes) {
+    public static ConnectorWebClientCache getCertificateAuthWebClientCache() {
+        return CERTIFICATE_AUTH_WEB_CLIENT_CACHE;
+    }
+
+    public static RequestCoalescer getRequestCoalescer() {
+        return REQUEST_COALESCER;
+    }
+
+    public static AttributeDefinitionCache getAttributeDefinitionCache() {
+        return ATTRIBUTE_DEFINITION_CACHE;
+    }
+
+    public static ComplianceRuleSetCache getComplianceRuleSetCache() {
+        return COMPLIANCE_RULE_SET_CACHE;
+    }
+
+    public static ConnectorRequestGuard getRequestGuard() {
+        return REQUEST_GUARD;
+    }
+
+    public static ConnectorClientMetrics getClientMetrics() {
+        return CLIENT_METRICS;
+    }
+
+    /**
+     * Request the attribute definitions, definitions cached by {@link AttributeDefinitionCache} are revalidated
+     * by {@code If-None-Match} request. Identical requests in flight are coalesced.
+     *
+     * @param connector               Connector the request is sent to
+     * @param functionGroup           Function group the definitions belong to, null for endpoints outside of function groups
+     * @param kind                    Kind of the function group or the operation the definitions are used for
+     * @param validateConnectorStatus Validate status of the connector before the request is sent
+     * @param uriTemplate             Path template of the attribute definitions endpoint
+     * @param uriVariables            Values of the path template variables
+     * @return Attribute definitions publisher
+     */
+    protected Flux<BaseAttribute> processAttributeDefinitionsRequest(ApiClientConnectorInfo connector, FunctionGroupCode functionGroup, String kind,
+                                                                     boolean validateConnectorStatus, String uriTemplate, Object... uriVariables) {
+        String path = UriComponentsBuilder.fromPath(uriTemplate).buildAndExpand(uriVariables).toUriString();
+        AttributeDefinitionCache.Key key = AttributeDefinitionCache.Key.of(connector, functionGroup, kind, path);
+        RequestCoalescer.RequestKey requestKey = RequestCoalescer.RequestKey.of(connector, HttpMethod.GET.name(), path, null, null, BaseAttribute.class);
+        return REQUEST_COALESCER.coalesce(requestKey, () -> processRequestAsync(() -> {
+                    AttributeDefinitionCache.Entry cached = ATTRIBUTE_DEFINITION_CACHE.get(key);
+                    WebClient.RequestHeadersSpec<?> request = prepareRequest(HttpMethod.GET, connector, validateConnectorStatus)
+                            .uri(connector.getUrl() + uriTemplate, uriVariables);
+                    if (cached != null) {
+                        request = request.header(HttpHeaders.IF_NONE_MATCH, cached.etag());
+                    }
+                    return request.exchangeToMono(response -> {
+                        if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            return response.releaseBody().then(Mono.fromCallable(() -> ATTRIBUTE_DEFINITION_CACHE.revalidated(cached)));
+                        }
+                        if (response.statusCode().is2xxSuccessful()) {
+                            String etag = response.headers().asHttpHeaders().getETag();
+                            return response.bodyToMono(byte[].class)
+                                    .defaultIfEmpty(new byte[0])
+                                    .map(body -> ATTRIBUTE_DEFINITION_CACHE.put(key, etag, body));
+                        }
+                        return response.createError();
+                    });
+                }, connector))
+                .flatMapIterable(AttributeDefinitionCache::decode);
+    }
+
+    private WebClient getCertificateAuthWebClient(ApiClientConnectorInfo connector) {
+        boolean http2Enabled = CERTIFICATE_AUTH_WEB_CLIENT_CACHE.getConnectionSettings().isHttp2Enabled();
+        return CERTIFICATE_AUTH_WEB_CLIENT_CACHE.getOrCreate(connector, httpClient -> {
+            SslContext sslContext = createSslContext(connector.getAuthAttributes(), http2Enabled);
+            return webClient.mutate().clientConnector(new ReactorClientHttpConnector(httpClient.secure(t -> t.sslContext(sslContext)))).build();
+        });
+    }
+
+    private SslContext createSslContext(List<ResponseAttribute> attributes, boolean http2Enabled) {
         try {
             SslContextBuilder sslContextBuilder = SslContextBuilder.forClient();
 
@@ -162,6 +266,15 @@ public abstract class BaseApiClient {
 
             sslContextBuilder.trustManager(tm);
 
+            if (http2Enabled) {
+                sslContextBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                        ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2,
+                        ApplicationProtocolNames.HTTP_1_1));
+            }
+
             return sslContextBuilder.protocols("TLSv1.2").build();
         } catch (Exception e) {
             throw new IllegalStateException("Failed to initialize SslContext.", e);
@@ -172,34 +285,180 @@ public abstract class BaseApiClient {
     };
 
     public static WebClient prepareWebClient() {
-        final int size = 16 * 1024 * 1024;
+        return prepareWebClient(ApiClientConnectionSettings.builder().build());
+    }
+
+    /**
+     * Prepare web client for connector communication with dedicated connection pool.
+     *
+     * @param settings Connection pool, timeout and protocol settings
+     * @return Web client
+     */
+    public static WebClient prepareWebClient(ApiClientConnectionSettings settings) {
         final ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(size))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(settings.getMaxInMemorySize()))
                 .build();
+        final HttpClient httpClient = settings.createHttpClient(settings.createConnectionProvider(CONNECTION_PROVIDER_NAME));
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(CLIENT_METRICS.filter())
                 .filter(ExchangeFilterFunction.ofResponseProcessor(BaseApiClient::handleHttpExceptions))
                 .exchangeStrategies(strategies)
                 .build();
     }
 
     public static <T, R> R processRequest(Function<T, R> func, T request, ApiClientConnectorInfo connector) throws ConnectorException {
+        ConnectorRequestGuard.Permit permit = REQUEST_GUARD.acquire(connector);
         try {
-            return func.apply(request);
+            R response = func.apply(request);
+            permit.complete(null);
+            return response;
         } catch (Exception e) {
-            Throwable unwrapped = Exceptions.unwrap(e);
-            if (unwrapped instanceof ConnectorProblemException pde) {
-                pde.setConnector(connector);
-                throw pde;
-            } else if (unwrapped instanceof IOException || unwrapped instanceof WebClientRequestException) {
-                logger.error(unwrapped.getMessage());
-                throw new ConnectorCommunicationException("Error in connector %s communication. URL: %s".formatted(connector.getName(), connector.getUrl()), unwrapped, connector);
-            } else if (unwrapped instanceof ConnectorException ce) {
-                ce.setConnector(connector);
+            Throwable mapped = mapConnectorException(Exceptions.unwrap(e), connector);
+            permit.complete(mapped);
+            if (mapped instanceof ConnectorException ce) {
                 throw ce;
-            } else {
-                logger.error(unwrapped.getMessage(), unwrapped);
-                throw e;
             }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #processRequest(Function, Object, ApiClientConnectorInfo)}.
+     * The request is prepared lazily on subscription and errors are mapped to the same connector exceptions.
+     * Requests are guarded by the {@link ConnectorRequestGuard} of the connector.
+     *
+     * @param request   Supplier of the request publisher
+     * @param connector Connector the request is sent to
+     * @param <R>       Response type
+     * @return Response publisher
+     */
+    public static <R> Mono<R> processRequestAsync(Supplier<Mono<R>> request, ApiClientConnectorInfo connector) {
+        return REQUEST_GUARD.guard(() -> Mono.defer(request).onErrorMap(e -> mapConnectorException(e, connector)), connector);
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #processRequest(Function, Object, ApiClientConnectorInfo)} for list responses.
+     *
+     * @param request   Supplier of the request publisher
+     * @param connector Connector the request is sent to
+     * @param <R>       Response item type
+     * @return Response item publisher
+     */
+    public static <R> Flux<R> processRequestFlux(Supplier<Flux<R>> request, ApiClientConnectorInfo connector) {
+        return REQUEST_GUARD.guardFlux(() -> Flux.defer(request).onErrorMap(e -> mapConnectorException(e, connector)), connector);
+    }
+
+    /**
+     * Counterpart of {@link #processRequestAsync(Supplier, ApiClientConnectorInfo)} for idempotent requests,
+     * identical requests in flight share a single call of the connector, see {@link RequestCoalescer}.
+     *
+     * @param method        HTTP method of the request
+     * @param path          Path template of the request
+     * @param pathVariables Values of the path template variables and other parameters of the request
+     * @param responseType  Type of the response
+     * @param request       Supplier of the request publisher
+     * @param connector     Connector the request is sent to
+     * @param <R>           Response type
+     * @return Response publisher
+     */
+    public static <R> Mono<R> processIdempotentRequestAsync(HttpMethod method, String path, Map<String, ?> pathVariables, Class<R> responseType,
+                                                            Supplier<Mono<R>> request, ApiClientConnectorInfo connector) {
+        RequestCoalescer.RequestKey key = RequestCoalescer.RequestKey.of(connector, method.name(), path, pathVariables, null, responseType);
+        return REQUEST_COALESCER.coalesce(key, () -> processRequestAsync(request, connector));
+    }
+
+    /**
+     * Counterpart of {@link #processRequestFlux(Supplier, ApiClientConnectorInfo)} for idempotent requests,
+     * identical requests in flight share a single call of the connector, see {@link RequestCoalescer}.
+     *
+     * @param method        HTTP method of the request
+     * @param path          Path template of the request
+     * @param pathVariables Values of the path template variables and other parameters of the request
+     * @param responseType  Type of the response items
+     * @param request       Supplier of the request publisher
+     * @param connector     Connector the request is sent to
+     * @param <R>           Response item type
+     * @return Response item publisher
+     */
+    public static <R> Flux<R> processIdempotentRequestFlux(HttpMethod method, String path, Map<String, ?> pathVariables, Class<R> responseType,
+                                                           Supplier<Flux<R>> request, ApiClientConnectorInfo connector) {
+        RequestCoalescer.RequestKey key = RequestCoalescer.RequestKey.of(connector, method.name(), path, pathVariables, null, responseType);
+        return REQUEST_COALESCER.coalesceFlux(key, () -> processRequestFlux(request, connector));
+    }
+
+    /**
+     * Block on the response of the request prepared by {@link #processRequestAsync(Supplier, ApiClientConnectorInfo)}
+     * and rethrow the connector exception it failed with.
+     *
+     * @param response Response publisher
+     * @param <R>      Response type
+     * @return Response
+     * @throws ConnectorException If request fails
+     */
+    protected static <R> R blockRequest(Mono<R> response) throws ConnectorException {
+        try {
+            return response.block();
+        } catch (RuntimeException e) {
+            if (Exceptions.unwrap(e) instanceof ConnectorException ce) {
+                throw ce;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Convert the error of a failed request to problem detail, so the failure of a single item of a batch
+     * can be reported together with the results of the other items.
+     *
+     * @param error Error the request failed with
+     * @return Problem detail describing the error
+     */
+    public static ProblemDetailExtended toProblemDetail(Throwable error) {
+        Throwable unwrapped = Exceptions.unwrap(error);
+        if (unwrapped instanceof ConnectorProblemException pde) {
+            return pde.getProblemDetail();
+        }
+
+        ErrorCode errorCode;
+        if (unwrapped instanceof ConnectorEntityNotFoundException) {
+            errorCode = ErrorCode.RESOURCE_NOT_FOUND;
+        } else if (unwrapped instanceof ConnectorCommunicationException) {
+            errorCode = ErrorCode.SERVICE_UNAVAILABLE;
+        } else if (unwrapped instanceof ConnectorClientException cce) {
+            errorCode = findErrorCode(cce.getHttpStatus(), ErrorCode.BAD_REQUEST);
+        } else if (unwrapped instanceof ConnectorServerException cse) {
+            errorCode = findErrorCode(cse.getHttpStatus(), ErrorCode.INTERNAL_SERVER_ERROR);
+        } else if (unwrapped instanceof ValidationException) {
+            errorCode = ErrorCode.VALIDATION_FAILED;
+        } else {
+            errorCode = ErrorCode.INTERNAL_SERVER_ERROR;
+        }
+        return ProblemDetailExtended.fromErrorCode(errorCode, unwrapped.getMessage(), null, null);
+    }
+
+    private static ErrorCode findErrorCode(HttpStatus httpStatus, ErrorCode defaultErrorCode) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            if (errorCode.getStatus() == httpStatus) {
+                return errorCode;
+            }
+        }
+        return defaultErrorCode;
+    }
+
+    private static Throwable mapConnectorException(Throwable unwrapped, ApiClientConnectorInfo connector) {
+        if (unwrapped instanceof ConnectorProblemException pde) {
+            pde.setConnector(connector);
+            return pde;
+        } else if (unwrapped instanceof IOException || unwrapped instanceof WebClientRequestException) {
+            logger.error(unwrapped.getMessage());
+            return new ConnectorCommunicationException("Error in connector %s communication. URL: %s".formatted(connector.getName(), connector.getUrl()), unwrapped, connector);
+        } else if (unwrapped instanceof ConnectorException ce) {
+            ce.setConnector(connector);
+            return ce;
+        } else {
+            logger.error(unwrapped.getMessage(), unwrapped);
+            return unwrapped;
         }
     }
 
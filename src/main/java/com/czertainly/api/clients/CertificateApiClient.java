@@ -1,6 +1,7 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.CertificateAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.CertificateSyncApiClient;
 import com.czertainly.api.model.core.authority.CertRevocationDto;
 import com.czertainly.api.model.core.authority.CertificateSignRequestDto;
@@ -11,7 +12,7 @@ import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 
-public class CertificateApiClient extends BaseApiClient implements CertificateSyncApiClient {
+public class CertificateApiClient extends BaseApiClient implements CertificateSyncApiClient, CertificateAsyncApiClient {
 
     private static final String CERTIFICATE_BASE_CONTEXT = "/v1/authorityProvider/authorities/{uuid}/endEntityProfiles/{endEntityProfileName}/certificates";
     private static final String CERTIFICATE_ISSUE_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/issue";
@@ -24,29 +25,31 @@ public class CertificateApiClient extends BaseApiClient implements CertificateSy
 
     @Override
     public CertificateSignResponseDto issueCertificate(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, CertificateSignRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(issueCertificateAsync(connector, authorityUuid, endEntityProfileName, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<CertificateSignResponseDto> issueCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, CertificateSignRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_ISSUE_CONTEXT, authorityUuid, endEntityProfileName)
                 .body(Mono.just(requestDto), CertificateSignRequestDto.class)
                 .retrieve()
-                .toEntity(CertificateSignResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(CertificateSignResponseDto.class),
                 connector);
     }
 
     @Override
     public void revokeCertificate(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, CertRevocationDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(revokeCertificateAsync(connector, authorityUuid, endEntityProfileName, requestDto));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> revokeCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, CertRevocationDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_REVOKE_CONTEXT, authorityUuid, endEntityProfileName)
                 .body(Mono.just(requestDto), CertRevocationDto.class)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 }
@@ -1,6 +1,7 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.ComplianceAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.ComplianceSyncApiClient;
 import com.czertainly.api.model.connector.compliance.ComplianceGroupsResponseDto;
 import com.czertainly.api.model.connector.compliance.ComplianceRequestDto;
@@ -10,13 +11,15 @@ import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
-public class ComplianceApiClient extends BaseApiClient implements ComplianceSyncApiClient {
+public class ComplianceApiClient extends BaseApiClient implements ComplianceSyncApiClient, ComplianceAsyncApiClient {
 
     private static final String COMPLIANCE_BASE_CONTEXT = "/v1/complianceProvider/{kind}";
     private static final String COMPLIANCE_RULE_GET_CONTEXT = COMPLIANCE_BASE_CONTEXT + "/rules";
@@ -34,6 +37,11 @@ public class ComplianceApiClient extends BaseApiClient implements ComplianceSync
 
     @Override
     public List<ComplianceRulesResponseDto> getComplianceRules(ApiClientConnectorInfo connector, String kind, List<String> certificateType) throws ConnectorException {
+        return blockRequest(getComplianceRulesAsync(connector, kind, certificateType).collectList());
+    }
+
+    @Override
+    public Flux<ComplianceRulesResponseDto> getComplianceRulesAsync(ApiClientConnectorInfo connector, String kind, List<String> certificateType) {
         URI uri;
         UriBuilder uriBuilder = UriComponentsBuilder.fromUriString(connector.getUrl());
         uriBuilder.path(COMPLIANCE_RULE_GET_CONTEXT.replace("{kind}", kind));
@@ -44,55 +52,58 @@ public class ComplianceApiClient extends BaseApiClient implements ComplianceSync
                     .forEach(q -> uriBuilder.queryParam(CERTIFICATE_TYPE_QUERY_HEADER, q));
         }
         uri = uriBuilder.build();
-        WebClient.RequestBodySpec request = prepareRequest(HttpMethod.GET, connector, true).uri(uri);
 
-        return processRequest(r -> r
-                .retrieve()
-                .toEntityList(ComplianceRulesResponseDto.class)
-                .block().getBody(),
-                request,
+        return processIdempotentRequestFlux(HttpMethod.GET, COMPLIANCE_RULE_GET_CONTEXT, Map.of("kind", kind, CERTIFICATE_TYPE_QUERY_HEADER, String.valueOf(certificateType)), ComplianceRulesResponseDto.class,
+                () -> prepareRequest(HttpMethod.GET, connector, true).uri(uri)
+                        .retrieve()
+                        .bodyToFlux(ComplianceRulesResponseDto.class),
                 connector);
     }
 
 
     @Override
     public List<ComplianceGroupsResponseDto> getComplianceGroups(ApiClientConnectorInfo connector, String kind) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getComplianceGroupsAsync(connector, kind).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<ComplianceGroupsResponseDto> getComplianceGroupsAsync(ApiClientConnectorInfo connector, String kind) {
+        return processIdempotentRequestFlux(HttpMethod.GET, COMPLIANCE_GROUP_GET_CONTEXT, Map.of("kind", kind), ComplianceGroupsResponseDto.class,
+                () -> prepareRequest(HttpMethod.GET, connector, true)
                         .uri(connector.getUrl() + COMPLIANCE_GROUP_GET_CONTEXT, kind)
                         .retrieve()
-                        .toEntityList(ComplianceGroupsResponseDto.class)
-                        .block().getBody(),
-                request,
+                        .bodyToFlux(ComplianceGroupsResponseDto.class),
                 connector);
     }
 
 
     @Override
     public List<ComplianceRulesResponseDto> getComplianceGroupRules(ApiClientConnectorInfo connector, String kind, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getComplianceGroupRulesAsync(connector, kind, uuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<ComplianceRulesResponseDto> getComplianceGroupRulesAsync(ApiClientConnectorInfo connector, String kind, String uuid) {
+        return processIdempotentRequestFlux(HttpMethod.GET, COMPLIANCE_GROUP_RULE_CONTEXT, Map.of("kind", kind, "uuid", uuid), ComplianceRulesResponseDto.class,
+                () -> prepareRequest(HttpMethod.GET, connector, true)
                         .uri(connector.getUrl() + COMPLIANCE_GROUP_RULE_CONTEXT, kind, uuid)
                         .retrieve()
-                        .toEntityList(ComplianceRulesResponseDto.class)
-                        .block().getBody(),
-                request,
+                        .bodyToFlux(ComplianceRulesResponseDto.class),
                 connector);
     }
 
     @Override
     public ComplianceResponseDto checkCompliance(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(checkComplianceAsync(connector, kind, requestDto));
+    }
 
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + COMPLIANCE_CONTEXT, kind)
-                        .body(Mono.just(requestDto), ComplianceRequestDto.class)
-                        .retrieve()
-                        .toEntity(ComplianceResponseDto.class)
-                        .block().getBody(),
-                request,
+    @Override
+    public Mono<ComplianceResponseDto> checkComplianceAsync(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_CONTEXT, kind)
+                .body(Mono.just(requestDto), ComplianceRequestDto.class)
+                .retrieve()
+                .bodyToMono(ComplianceResponseDto.class),
                 connector);
     }
 }
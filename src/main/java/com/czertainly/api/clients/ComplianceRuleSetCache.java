@@ -0,0 +1,191 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.model.connector.compliance.v2.ComplianceGroupBatchResponseDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceRuleResponseDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceRulesBatchRequestDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceRulesBatchResponseDto;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Cache of the compliance rule sets of the v2 compliance providers, resolved from the rules and groups
+ * selected for the compliance check.
+ *
+ * <p>Rule set is resolved by a single batch request with the rules of the groups included, so repeated
+ * compliance checks with the same selection do not send requests to the connector. Rule sets are keyed
+ * by the connector, the kind and the sorted UUIDs of the selected rules and groups, so the order of the
+ * selection does not matter. Rule sets are compiled into lookup maps once and shared by all callers, so the rule sets,
+ * the rules of the groups and the attributes of the rules are unmodifiable. Hits count the rule sets found in the cache,
+ * misses the rule sets resolved by the connector.</p>
+ *
+ * <p>Rule sets of a connector are removed when the version of the connector changes, see
+ * {@link #updateConnectorVersion(String, com.czertainly.api.model.core.connector.v2.ConnectInfo)}, or when
+ * the connector is invalidated explicitly. Rule sets expire after the time to live, so changes of the rules
+ * not reflected in the connector version are picked up eventually. The least recently used rule sets are
+ * removed when the cache is full.</p>
+ */
+public class ComplianceRuleSetCache extends ConnectorVersionedCache<ComplianceRuleSetCache.Key, ComplianceRuleSetCache.RuleSet> {
+
+    private static final int DEFAULT_MAX_ENTRIES = 1_000;
+
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(1);
+
+    public ComplianceRuleSetCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maxEntries Maximum number of cached rule sets
+     * @param timeToLive Time the rule set is cached for after it was resolved
+     */
+    public ComplianceRuleSetCache(int maxEntries, Duration timeToLive) {
+        super("compliance rule sets", maxEntries, requireTimeToLive(timeToLive));
+    }
+
+    private static Duration requireTimeToLive(Duration timeToLive) {
+        if (timeToLive == null) {
+            throw new IllegalArgumentException("Time to live must be positive.");
+        }
+        return timeToLive;
+    }
+
+    /**
+     * Get the cached rule set.
+     *
+     * @param key Key of the rule set
+     * @return Shared rule set, null when not cached, expired or the cache is disabled
+     */
+    public RuleSet get(Key key) {
+        RuleSet ruleSet = getEntry(key);
+        if (ruleSet != null) {
+            recordHit();
+        }
+        return ruleSet;
+    }
+
+    /**
+     * Compile and store the rule set resolved by the connector.
+     *
+     * @param key      Key of the rule set
+     * @param response Response of the batch request of the key, see {@link Key#toRequest()}, it is not modified
+     * @return Compiled rule set
+     */
+    public RuleSet put(Key key, ComplianceRulesBatchResponseDto response) {
+        recordMiss();
+        // compiled from a copy, so the rule set does not share the instances of the caller
+        RuleSet ruleSet = RuleSet.compile(OBJECT_MAPPER.convertValue(response, ComplianceRulesBatchResponseDto.class));
+        putEntry(key, ruleSet);
+        return ruleSet;
+    }
+
+    /**
+     * Key of the cached rule set.
+     *
+     * @param connector  UUID of the connector, URL for connectors without UUID
+     * @param kind       Kind of the compliance provider
+     * @param ruleUuids  Sorted UUIDs of the selected rules
+     * @param groupUuids Sorted UUIDs of the selected groups
+     */
+    public record Key(String connector, String kind, List<UUID> ruleUuids, List<UUID> groupUuids) implements ConnectorKey {
+
+        public static Key of(ApiClientConnectorInfo connector, String kind, Collection<UUID> ruleUuids, Collection<UUID> groupUuids) {
+            return new Key(connector.getUuid() != null ? connector.getUuid() : connector.getUrl(), kind, sorted(ruleUuids), sorted(groupUuids));
+        }
+
+        /**
+         * Create the batch request resolving the rule set, rules of the groups are included.
+         */
+        public ComplianceRulesBatchRequestDto toRequest() {
+            ComplianceRulesBatchRequestDto request = new ComplianceRulesBatchRequestDto();
+            // sorted sets keep the serialized request stable, so identical requests in flight can be coalesced
+            request.setRuleUuids(new TreeSet<>(ruleUuids));
+            request.setGroupUuids(new TreeSet<>(groupUuids));
+            request.setWithGroupRules(true);
+            return request;
+        }
+
+        private static List<UUID> sorted(Collection<UUID> uuids) {
+            if (uuids == null) {
+                return List.of();
+            }
+            return List.copyOf(new TreeSet<>(uuids.stream().filter(Objects::nonNull).toList()));
+        }
+    }
+
+    /**
+     * Compiled rule set, shared by the callers. Maps and lists of the rule set are unmodifiable, rules and groups
+     * must be treated as read-only.
+     *
+     * @param rules      Selected rules and the rules of the selected groups by their UUID
+     * @param groups     Selected groups by their UUID
+     * @param groupRules Rules of the selected groups by the UUID of the group
+     */
+    public record RuleSet(Map<UUID, ComplianceRuleResponseDto> rules,
+                          Map<UUID, ComplianceGroupBatchResponseDto> groups,
+                          Map<UUID, List<ComplianceRuleResponseDto>> groupRules) {
+
+        public RuleSet {
+            rules = Collections.unmodifiableMap(new LinkedHashMap<>(rules));
+            groups = Collections.unmodifiableMap(new LinkedHashMap<>(groups));
+            groupRules = Collections.unmodifiableMap(new LinkedHashMap<>(groupRules));
+        }
+
+        /**
+         * Compile the rule set, lists of the rules and groups of the response are replaced by unmodifiable lists.
+         *
+         * @param response Response of the batch request of the rule set
+         * @return Compiled rule set
+         */
+        public static RuleSet compile(ComplianceRulesBatchResponseDto response) {
+            Map<UUID, ComplianceRuleResponseDto> rules = new LinkedHashMap<>();
+            Map<UUID, ComplianceGroupBatchResponseDto> groups = new LinkedHashMap<>();
+            Map<UUID, List<ComplianceRuleResponseDto>> groupRules = new LinkedHashMap<>();
+            if (response != null) {
+                if (response.getRules() != null) {
+                    for (ComplianceRuleResponseDto rule : response.getRules()) {
+                        rules.put(rule.getUuid(), readOnly(rule));
+                    }
+                }
+                if (response.getGroups() != null) {
+                    for (ComplianceGroupBatchResponseDto group : response.getGroups()) {
+                        groups.put(group.getUuid(), group);
+                        List<ComplianceRuleResponseDto> members = group.getRules() != null ? group.getRules().stream().map(RuleSet::readOnly).toList() : List.of();
+                        group.setRules(members);
+                        groupRules.put(group.getUuid(), members);
+                        for (ComplianceRuleResponseDto rule : members) {
+                            rules.putIfAbsent(rule.getUuid(), rule);
+                        }
+                    }
+                }
+            }
+            return new RuleSet(rules, groups, groupRules);
+        }
+
+        private static ComplianceRuleResponseDto readOnly(ComplianceRuleResponseDto rule) {
+            rule.setAttributes(rule.getAttributes() != null ? Collections.unmodifiableList(rule.getAttributes()) : List.of());
+            return rule;
+        }
+
+        /**
+         * @return Rule of the set, null when the rule is not part of the set
+         */
+        public ComplianceRuleResponseDto getRule(UUID ruleUuid) {
+            return rules.get(ruleUuid);
+        }
+
+        /**
+         * @return Rules of the group, empty when the group is not part of the set
+         */
+        public List<ComplianceRuleResponseDto> getGroupRules(UUID groupUuid) {
+            return groupRules.getOrDefault(groupUuid, List.of());
+        }
+    }
+}
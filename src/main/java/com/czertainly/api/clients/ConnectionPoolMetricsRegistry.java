@@ -0,0 +1,65 @@
+package com.czertainly.api.clients;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects metrics of the connection pools created for connector API clients.
+ * Reactor Netty registers every pool (one per connection provider and remote address) when it is created,
+ * so the registry exposes the current state of the pools without the need for Micrometer.
+ */
+public class ConnectionPoolMetricsRegistry implements ConnectionProvider.MeterRegistrar {
+
+    private final ConcurrentMap<String, RegisteredPool> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(id, new RegisteredPool(poolName, remoteAddress, metrics));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(id);
+    }
+
+    /**
+     * Get the snapshot of the state of all registered connection pools.
+     *
+     * @return List of connection pool statistics
+     */
+    public List<ConnectionPoolStats> getPoolStats() {
+        return pools.values().stream()
+                .map(RegisteredPool::toStats)
+                .toList();
+    }
+
+    /**
+     * Snapshot of the connection pool state.
+     *
+     * @param poolName          Name of the connection provider
+     * @param remoteAddress     Remote address the pool connects to
+     * @param acquired          Number of connections currently in use
+     * @param allocated         Number of allocated connections (in use and idle)
+     * @param idle              Number of idle connections
+     * @param pendingAcquire    Number of requests waiting for a connection
+     * @param maxAllocated      Maximum number of connections in the pool
+     * @param maxPendingAcquire Maximum number of requests that can wait for a connection
+     */
+    public record ConnectionPoolStats(String poolName, String remoteAddress, int acquired, int allocated, int idle,
+                                      int pendingAcquire, int maxAllocated, int maxPendingAcquire) {
+    }
+
+    private record RegisteredPool(String poolName, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+
+        ConnectionPoolStats toStats() {
+            return new ConnectionPoolStats(poolName, String.valueOf(remoteAddress), metrics.acquiredSize(),
+                    metrics.allocatedSize(), metrics.idleSize(), metrics.pendingAcquireSize(),
+                    metrics.maxAllocatedSize(), metrics.maxPendingAcquireSize());
+        }
+    }
+}
@@ -2,21 +2,19 @@ package com.czertainly.api.clients;
 
 import com.czertainly.api.interfaces.client.v1.ConnectorSyncApiClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.ConnectorAsyncApiClient;
 import com.czertainly.api.model.client.connector.InfoResponse;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
+import reactor.core.publisher.Flux;
 
-public class ConnectorApiClient extends BaseApiClient implements ConnectorSyncApiClient {
+public class ConnectorApiClient extends BaseApiClient implements ConnectorSyncApiClient, ConnectorAsyncApiClient {
 
     private static final String CONNECTOR_BASE_CONTEXT = "/v1";
 
-    private static final ParameterizedTypeReference<List<InfoResponse>> MAP_TYPE_REF = new ParameterizedTypeReference<>() {
-    };
-
     public ConnectorApiClient(WebClient webClient, TrustManager[] defaultTrustManagers) {
         this.webClient = webClient;
         this.defaultTrustManagers = defaultTrustManagers;
@@ -24,14 +22,15 @@ public class ConnectorApiClient extends BaseApiClient implements ConnectorSyncAp
 
     @Override
     public List<InfoResponse> listSupportedFunctions(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, false);
+        return blockRequest(listSupportedFunctionsAsync(connector).collectList());
+    }
 
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + CONNECTOR_BASE_CONTEXT)
-                        .retrieve()
-                        .toEntity(MAP_TYPE_REF)
-                        .block().getBody(),
-                request,
+    @Override
+    public Flux<InfoResponse> listSupportedFunctionsAsync(ApiClientConnectorInfo connector) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, false)
+                .uri(connector.getUrl() + CONNECTOR_BASE_CONTEXT)
+                .retrieve()
+                .bodyToFlux(InfoResponse.class),
                 connector);
     }
 }
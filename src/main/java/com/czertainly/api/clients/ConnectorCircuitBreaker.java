@@ -0,0 +1,188 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.exception.ConnectorCommunicationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of the requests to the connectors, the circuit of each connector is identified by its UUID.
+ *
+ * <p>The circuit opens when the number of consecutive failed requests of the connector reaches the threshold.
+ * Requests to the connector with open circuit fail fast with {@link ConnectorCommunicationException} without
+ * calling the connector. After the open duration elapses, the circuit is half-open and a limited number of probe
+ * requests is let through. A successful probe closes the circuit, a failed probe opens it again.</p>
+ */
+public class ConnectorCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectorCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openDurationNanos;
+
+    private final int halfOpenProbes;
+
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public ConnectorCircuitBreaker(ConnectorRequestGuardSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    /**
+     * @param settings Settings of the circuit breaker
+     * @param nanoTime Source of the time the open duration is measured by, in nanoseconds
+     */
+    public ConnectorCircuitBreaker(ConnectorRequestGuardSettings settings, LongSupplier nanoTime) {
+        this(settings.getFailureThreshold(), settings.getOpenDuration(), settings.getHalfOpenProbes(), nanoTime);
+    }
+
+    /**
+     * @param failureThreshold Number of consecutive failed requests that opens the circuit
+     * @param openDuration     Time the circuit stays open before probe requests are let through
+     * @param halfOpenProbes   Number of probe requests let through concurrently when the circuit is half-open
+     */
+    public ConnectorCircuitBreaker(int failureThreshold, Duration openDuration, int halfOpenProbes) {
+        this(failureThreshold, openDuration, halfOpenProbes, System::nanoTime);
+    }
+
+    private ConnectorCircuitBreaker(int failureThreshold, Duration openDuration, int halfOpenProbes, LongSupplier nanoTime) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive.");
+        }
+        if (openDuration == null || openDuration.isNegative()) {
+            throw new IllegalArgumentException("Open duration must not be negative.");
+        }
+        if (halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Number of half-open probes must be positive.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Acquire permission to send the request. Every acquired permission must be followed by exactly one call of
+     * {@link #onSuccess(String)}, {@link #onFailure(String)} or {@link #onIgnore(String)}.
+     *
+     * @param connector Connector the request is sent to
+     * @throws ConnectorCommunicationException When the circuit of the connector is open
+     */
+    public void acquirePermission(ApiClientConnectorInfo connector) throws ConnectorCommunicationException {
+        Circuit circuit = circuits.computeIfAbsent(connector.getUuid(), k -> new Circuit());
+        if (!circuit.tryAcquire(connector.getUuid())) {
+            throw new ConnectorCommunicationException("Circuit of connector %s is open, request was not sent. URL: %s".formatted(connector.getName(), connector.getUrl()), connector);
+        }
+    }
+
+    /**
+     * Record the request that completed without connector failure.
+     */
+    public void onSuccess(String connectorUuid) {
+        Circuit circuit = circuits.get(connectorUuid);
+        if (circuit != null) {
+            circuit.onSuccess(connectorUuid);
+        }
+    }
+
+    /**
+     * Record the request that failed because the connector is unreachable, timed out or unavailable.
+     */
+    public void onFailure(String connectorUuid) {
+        Circuit circuit = circuits.get(connectorUuid);
+        if (circuit != null) {
+            circuit.onFailure(connectorUuid);
+        }
+    }
+
+    /**
+     * Record the request that did not reveal the health of the connector, e.g. it was cancelled.
+     */
+    public void onIgnore(String connectorUuid) {
+        Circuit circuit = circuits.get(connectorUuid);
+        if (circuit != null) {
+            circuit.onIgnore();
+        }
+    }
+
+    public State getState(String connectorUuid) {
+        Circuit circuit = circuits.get(connectorUuid);
+        return circuit == null ? State.CLOSED : circuit.getState();
+    }
+
+    /**
+     * Close the circuit of the connector, e.g. when the connector was reconnected.
+     */
+    public void reset(String connectorUuid) {
+        circuits.remove(connectorUuid);
+    }
+
+    private final class Circuit {
+
+        private State state = State.CLOSED;
+
+        private int consecutiveFailures;
+
+        private int probesInFlight;
+
+        private long openedAt;
+
+        private synchronized boolean tryAcquire(String connectorUuid) {
+            if (state == State.OPEN) {
+                if (nanoTime.getAsLong() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                logger.debug("Circuit of connector {} is half-open", connectorUuid);
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight >= halfOpenProbes) {
+                    return false;
+                }
+                probesInFlight++;
+            }
+            return true;
+        }
+
+        private synchronized void onSuccess(String connectorUuid) {
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN) {
+                logger.info("Circuit of connector {} is closed", connectorUuid);
+                state = State.CLOSED;
+            }
+        }
+
+        private synchronized void onFailure(String connectorUuid) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                logger.warn("Circuit of connector {} is open after {} consecutive failed requests", connectorUuid, consecutiveFailures);
+                state = State.OPEN;
+                openedAt = nanoTime.getAsLong();
+            }
+        }
+
+        private synchronized void onIgnore() {
+            if (state == State.HALF_OPEN && probesInFlight > 0) {
+                probesInFlight--;
+            }
+        }
+
+        private synchronized State getState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.clients.mq.DefaultProxyClient;
+import com.czertainly.api.clients.mq.ProxyCreditLimiter;
+import com.czertainly.api.exception.ConnectorCommunicationException;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Micrometer metrics of the requests to the connectors sent by the REST and MQ API clients.
+ *
+ * <p>Requests are timed by the {@value #REQUESTS} timer and the sizes of the request and response bodies are
+ * recorded by the {@value #REQUEST_SIZE} and {@value #RESPONSE_SIZE} distribution summaries. Meters are tagged
+ * by the connector UUID and name, the function group, the HTTP method, the path template, the transport and,
+ * in case of the timer, the outcome, i.e. {@value #OUTCOME_SUCCESS} or the simple name of the connector exception
+ * the request failed with. Path templates are used instead of paths, so the number of meters does not grow
+ * with the identifiers of the requested objects.</p>
+ */
+public class ConnectorClientMetrics {
+
+    public static final String REQUESTS = "czertainly.connector.client.requests";
+    public static final String REQUEST_SIZE = "czertainly.connector.client.request.size";
+    public static final String RESPONSE_SIZE = "czertainly.connector.client.response.size";
+
+    public static final String TAG_CONNECTOR_UUID = "connector.uuid";
+    public static final String TAG_CONNECTOR_NAME = "connector.name";
+    public static final String TAG_FUNCTION_GROUP = "function.group";
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_URI = "uri";
+    public static final String TAG_TRANSPORT = "transport";
+    public static final String TAG_OUTCOME = "outcome";
+
+    public static final String TRANSPORT_REST = "REST";
+    public static final String TRANSPORT_MQ = "MQ";
+
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    public static final String OUTCOME_CANCELLED = "CANCELLED";
+
+    /**
+     * Attribute of the {@link ClientRequest} holding the connector the request is sent to.
+     */
+    public static final String CONNECTOR_ATTRIBUTE = ConnectorClientMetrics.class.getName() + ".connector";
+
+    // set by WebClient when the URI is given by template and variables
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private static final String NONE = "none";
+
+    private static final Set<String> FUNCTION_GROUP_CODES = Arrays.stream(FunctionGroupCode.values())
+            .map(FunctionGroupCode::getCode)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final MeterRegistry registry;
+
+    public ConnectorClientMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Record the completed request.
+     *
+     * @param connector     Connector the request was sent to
+     * @param method        HTTP method of the request
+     * @param pathTemplate  Path template of the request
+     * @param transport     {@link #TRANSPORT_REST} or {@link #TRANSPORT_MQ}
+     * @param durationNanos Duration of the request in nanoseconds
+     * @param outcome       Outcome of the request, see {@link #outcome(Throwable)}
+     */
+    public void recordRequest(ApiClientConnectorInfo connector, String method, String pathTemplate, String transport, long durationNanos, String outcome) {
+        record(tags(connector, method, pathTemplate, pathTemplate, transport), outcome, durationNanos);
+    }
+
+    /**
+     * Record the size of the request body.
+     */
+    public void recordRequestSize(ApiClientConnectorInfo connector, String method, String pathTemplate, String transport, long bytes) {
+        requestSize(tags(connector, method, pathTemplate, pathTemplate, transport)).record(bytes);
+    }
+
+    /**
+     * Record the size of the response body.
+     */
+    public void recordResponseSize(ApiClientConnectorInfo connector, String method, String pathTemplate, String transport, long bytes) {
+        responseSize(tags(connector, method, pathTemplate, pathTemplate, transport)).record(bytes);
+    }
+
+    /**
+     * Filter of the {@link WebClient} recording the requests with the {@link #CONNECTOR_ATTRIBUTE} set.
+     * The filter must precede the filter mapping the error responses to exceptions, so the outcome of the request
+     * is known. Duration of the request is measured until the response status and headers are received.
+     *
+     * @return Exchange filter function
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (!(request.attribute(CONNECTOR_ATTRIBUTE).orElse(null) instanceof ApiClientConnectorInfo connector)) {
+                return next.exchange(request);
+            }
+            String method = request.method().name();
+            String pathTemplate = pathTemplate(request, connector);
+            Tags tags = tags(connector, method, pathTemplate, request.url().getPath(), TRANSPORT_REST);
+            ClientRequest counted = ClientRequest.from(request)
+                    .body(countingInserter(request.body(), bytes -> requestSize(tags).record(bytes)))
+                    .build();
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return next.exchange(counted)
+                    .doOnSuccess(response -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(tags, OUTCOME_SUCCESS, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(tags, outcome(e), System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            record(tags, OUTCOME_CANCELLED, System.nanoTime() - start);
+                        }
+                    })
+                    .map(response -> {
+                        AtomicLong size = new AtomicLong();
+                        AtomicBoolean sizeRecorded = new AtomicBoolean();
+                        return response.mutate()
+                                .body(body -> body
+                                        .doOnNext(buffer -> size.addAndGet(buffer.readableByteCount()))
+                                        .doOnComplete(() -> {
+                                            // body can be subscribed again when the response is released
+                                            if (sizeRecorded.compareAndSet(false, true)) {
+                                                responseSize(tags).record(size.get());
+                                            }
+                                        }))
+                                .build();
+                    });
+        };
+    }
+
+    /**
+     * Register the in flight and coalesced request meters of the coalescer.
+     */
+    public void bindRequestCoalescer(RequestCoalescer coalescer) {
+        Gauge.builder("czertainly.connector.client.coalescer.in.flight", coalescer, RequestCoalescer::getInFlightCount)
+                .description("Distinct idempotent requests in flight")
+                .register(registry);
+        FunctionCounter.builder("czertainly.connector.client.coalescer.coalesced", coalescer, RequestCoalescer::getCoalescedCount)
+                .description("Requests that joined an identical request in flight")
+                .register(registry);
+    }
+
+    /**
+     * Register the hit, miss and size meters of the attribute definition cache.
+     */
+    public void bindAttributeDefinitionCache(AttributeDefinitionCache cache) {
+        FunctionCounter.builder("czertainly.connector.client.attribute.cache.requests", cache, AttributeDefinitionCache::getHitCount)
+                .description("Attribute definition requests by the result of the cache lookup")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("czertainly.connector.client.attribute.cache.requests", cache, AttributeDefinitionCache::getMissCount)
+                .description("Attribute definition requests by the result of the cache lookup")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("czertainly.connector.client.attribute.cache.size", cache, AttributeDefinitionCache::size)
+                .description("Cached attribute definition lists")
+                .register(registry);
+    }
+
+    /**
+     * Register the hit, miss and size meters of the compliance rule set cache.
+     */
+    public void bindComplianceRuleSetCache(ComplianceRuleSetCache cache) {
+        FunctionCounter.builder("czertainly.connector.client.compliance.cache.requests", cache, ComplianceRuleSetCache::getHitCount)
+                .description("Compliance rule set lookups by the result of the cache lookup")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("czertainly.connector.client.compliance.cache.requests", cache, ComplianceRuleSetCache::getMissCount)
+                .description("Compliance rule set lookups by the result of the cache lookup")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("czertainly.connector.client.compliance.cache.size", cache, ComplianceRuleSetCache::size)
+                .description("Cached compliance rule sets")
+                .register(registry);
+    }
+
+    /**
+     * Register the credit meters of the proxy credit limiter, summed over all proxies.
+     */
+    public void bindProxyCreditLimiter(ProxyCreditLimiter limiter) {
+        Gauge.builder("czertainly.connector.client.proxy.in.flight", limiter, l -> l.getProxyIds().stream().mapToInt(l::getInFlightCount).sum())
+                .description("Requests in flight holding a credit of a proxy")
+                .register(registry);
+        Gauge.builder("czertainly.connector.client.proxy.queued", limiter, l -> l.getProxyIds().stream().mapToInt(l::getQueuedCount).sum())
+                .description("Requests waiting for a credit of a proxy")
+                .register(registry);
+    }
+
+    /**
+     * Record the sizes of the encoded messages of the proxy client with the {@link #TRANSPORT_MQ} transport.
+     * Each message is recorded separately, chunks of the bodies transferred in chunks are recorded per chunk.
+     */
+    public void bindProxyClient(DefaultProxyClient client) {
+        client.setPayloadSizeListener(new DefaultProxyClient.PayloadSizeListener() {
+            @Override
+            public void requestSent(ApiClientConnectorInfo connector, String method, String path, long bytes) {
+                recordRequestSize(connector, method, path, TRANSPORT_MQ, bytes);
+            }
+
+            @Override
+            public void responseReceived(ApiClientConnectorInfo connector, String method, String path, long bytes) {
+                recordResponseSize(connector, method, path, TRANSPORT_MQ, bytes);
+            }
+        });
+    }
+
+    /**
+     * Get the outcome tag of the request.
+     *
+     * @param error Error the request failed with, null when it succeeded
+     * @return {@link #OUTCOME_SUCCESS} or the simple name of the connector exception the error is mapped to
+     */
+    public static String outcome(Throwable error) {
+        if (error == null) {
+            return OUTCOME_SUCCESS;
+        }
+        Throwable unwrapped = Exceptions.unwrap(error);
+        while ((unwrapped instanceof CompletionException || unwrapped instanceof ExecutionException) && unwrapped.getCause() != null) {
+            unwrapped = unwrapped.getCause();
+        }
+        // communication errors are mapped to ConnectorCommunicationException by the clients
+        if (unwrapped instanceof IOException || unwrapped instanceof WebClientRequestException || unwrapped instanceof TimeoutException) {
+            return ConnectorCommunicationException.class.getSimpleName();
+        }
+        return unwrapped.getClass().getSimpleName();
+    }
+
+    /**
+     * Get the function group of the request from the first segment of its path after the API version,
+     * e.g. {@code authorityProvider} for {@code /v2/authorityProvider/authorities/{uuid}/certificates}.
+     *
+     * @param path Path of the request
+     * @return Code of the function group or {@code none} when the path does not belong to a function group
+     */
+    public static String functionGroup(String path) {
+        if (path == null) {
+            return NONE;
+        }
+        String[] segments = path.split("/", 4);
+        return segments.length > 2 && FUNCTION_GROUP_CODES.contains(segments[2]) ? segments[2] : NONE;
+    }
+
+    private void record(Tags tags, String outcome, long durationNanos) {
+        Timer.builder(REQUESTS)
+                .description("Requests sent to the connectors")
+                .tags(tags)
+                .tag(TAG_OUTCOME, outcome)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary requestSize(Tags tags) {
+        return DistributionSummary.builder(REQUEST_SIZE)
+                .description("Sizes of the request bodies sent to the connectors")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private DistributionSummary responseSize(Tags tags) {
+        return DistributionSummary.builder(RESPONSE_SIZE)
+                .description("Sizes of the response bodies received from the connectors")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static Tags tags(ApiClientConnectorInfo connector, String method, String pathTemplate, String path, String transport) {
+        return Tags.of(
+                TAG_CONNECTOR_UUID, valueOrNone(connector == null ? null : connector.getUuid()),
+                TAG_CONNECTOR_NAME, valueOrNone(connector == null ? null : connector.getName()),
+                TAG_FUNCTION_GROUP, functionGroup(path),
+                TAG_METHOD, valueOrNone(method),
+                TAG_URI, valueOrNone(pathTemplate),
+                TAG_TRANSPORT, transport);
+    }
+
+    private static String pathTemplate(ClientRequest request, ApiClientConnectorInfo connector) {
+        if (!(request.attribute(URI_TEMPLATE_ATTRIBUTE).orElse(null) instanceof String template)) {
+            return NONE;
+        }
+        // templates of the clients are prefixed by the URL of the connector
+        String url = connector.getUrl();
+        if (url != null && template.startsWith(url)) {
+            return template.substring(url.length());
+        }
+        return template.startsWith("/") ? template : NONE;
+    }
+
+    private static String valueOrNone(String value) {
+        return value == null || value.isEmpty() ? NONE : value;
+    }
+
+    private static BodyInserter<?, ? super ClientHttpRequest> countingInserter(BodyInserter<?, ? super ClientHttpRequest> inserter, LongConsumer recorder) {
+        return (BodyInserter<Object, ClientHttpRequest>) (outputMessage, context) -> inserter.insert(new ClientHttpRequestDecorator(outputMessage) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                AtomicLong size = new AtomicLong();
+                return super.writeWith(Flux.from(body)
+                        .doOnNext(buffer -> size.addAndGet(buffer.readableByteCount()))
+                        .doOnComplete(() -> recorder.accept(size.get())));
+            }
+        }, context);
+    }
+}
@@ -0,0 +1,305 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.exception.ConnectorCommunicationException;
+import com.czertainly.api.exception.ConnectorProblemException;
+import com.czertainly.api.exception.ConnectorServerException;
+import org.springframework.http.HttpStatus;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Guard of the requests to the connectors combining the {@link ConnectorCircuitBreaker} and the
+ * {@link AdaptiveConcurrencyLimiter}, so a connector that hangs or is down does not hold the threads
+ * and the latency budget of the callers.
+ *
+ * <p>Requests are guarded per connector UUID, requests to connectors without UUID are not guarded.
+ * Requests failing on communication, on timeout or with status 502, 503 or 504 count as connector failures.
+ * Other errors, e.g. validation errors reported by the connector, mean the connector is responsive.
+ * Requests exceeding the concurrency limit wait for a permit, see {@link AdaptiveConcurrencyLimiter}.</p>
+ */
+public class ConnectorRequestGuard {
+
+    private final LongSupplier nanoTime;
+
+    private volatile ConnectorRequestGuardSettings settings;
+
+    private volatile ConnectorCircuitBreaker circuitBreaker;
+
+    private volatile AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private volatile boolean enabled = true;
+
+    public ConnectorRequestGuard() {
+        this(ConnectorRequestGuardSettings.builder().build());
+    }
+
+    public ConnectorRequestGuard(ConnectorRequestGuardSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    /**
+     * @param settings Settings of the guard
+     * @param nanoTime Source of the time the open duration of the circuits is measured by, in nanoseconds
+     */
+    public ConnectorRequestGuard(ConnectorRequestGuardSettings settings, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        setSettings(settings);
+    }
+
+    public ConnectorRequestGuardSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Change the settings. Circuits and adapted limits of the connectors are reset,
+     * requests already in flight release the permits of the previous settings.
+     *
+     * @param settings Settings of the guard
+     */
+    public void setSettings(ConnectorRequestGuardSettings settings) {
+        ConnectorCircuitBreaker newCircuitBreaker = new ConnectorCircuitBreaker(settings, nanoTime);
+        AdaptiveConcurrencyLimiter newConcurrencyLimiter = new AdaptiveConcurrencyLimiter(settings);
+        this.settings = settings;
+        this.circuitBreaker = newCircuitBreaker;
+        this.concurrencyLimiter = newConcurrencyLimiter;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the guard, requests already in flight are not affected.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public ConnectorCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Acquire the permit to send the request, the calling thread waits for the permit when the concurrency limit is reached.
+     *
+     * @param connector Connector the request is sent to
+     * @return Permit that must be completed when the request completes
+     * @throws ConnectorCommunicationException When the circuit of the connector is open or the request does not get the permit in time
+     */
+    public Permit acquire(ApiClientConnectorInfo connector) throws ConnectorCommunicationException {
+        Permit permit = acquirePermit(connector);
+        try {
+            permit.limiterPermit.get();
+            return permit;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permit.cancel();
+            throw new ConnectorCommunicationException("Waiting for the permit of connector %s was interrupted, request was not sent. URL: %s".formatted(connector.getName(), connector.getUrl()), connector);
+        } catch (ExecutionException e) {
+            permit.cancel();
+            throw (ConnectorCommunicationException) e.getCause();
+        }
+    }
+
+    /**
+     * Guard the request publisher, the permit is acquired on subscription and the request is subscribed when it is granted.
+     *
+     * @param request   Supplier of the request publisher
+     * @param connector Connector the request is sent to
+     * @param <R>       Response type
+     * @return Response publisher failing with {@link ConnectorCommunicationException} when the request is rejected
+     */
+    public <R> Mono<R> guard(Supplier<Mono<R>> request, ApiClientConnectorInfo connector) {
+        return Mono.defer(() -> {
+            Permit permit;
+            try {
+                permit = acquirePermit(connector);
+            } catch (ConnectorCommunicationException e) {
+                return Mono.error(e);
+            }
+            return permit.granted().then(Mono.defer(request)
+                    .doOnSuccess(r -> permit.complete(null))
+                    .doOnError(permit::complete)
+                    .doOnCancel(permit::cancel));
+        });
+    }
+
+    /**
+     * Counterpart of {@link #guard(Supplier, ApiClientConnectorInfo)} for list responses.
+     */
+    public <R> Flux<R> guardFlux(Supplier<Flux<R>> request, ApiClientConnectorInfo connector) {
+        return Flux.defer(() -> {
+            Permit permit;
+            try {
+                permit = acquirePermit(connector);
+            } catch (ConnectorCommunicationException e) {
+                return Flux.error(e);
+            }
+            return permit.granted().thenMany(Flux.defer(request)
+                    .doOnComplete(() -> permit.complete(null))
+                    .doOnError(permit::complete)
+                    .doOnCancel(permit::cancel));
+        });
+    }
+
+    /**
+     * Counterpart of {@link #guard(Supplier, ApiClientConnectorInfo)} for requests completing a future.
+     * Cancelling the returned future cancels the request when the permit was granted without waiting.
+     */
+    public <R> CompletableFuture<R> guardAsync(Supplier<CompletableFuture<R>> request, ApiClientConnectorInfo connector) {
+        Permit permit;
+        try {
+            permit = acquirePermit(connector);
+        } catch (ConnectorCommunicationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (permit.limiterPermit.isDone() && !permit.limiterPermit.isCompletedExceptionally()) {
+            return send(request, permit);
+        }
+        return permit.limiterPermit
+                .whenComplete((p, e) -> {
+                    if (e != null) {
+                        permit.cancel();
+                    }
+                })
+                .thenCompose(p -> send(request, permit));
+    }
+
+    private <R> CompletableFuture<R> send(Supplier<CompletableFuture<R>> request, Permit permit) {
+        CompletableFuture<R> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            permit.complete(e);
+            throw e;
+        }
+        future.whenComplete((r, e) -> {
+            if (e instanceof CancellationException) {
+                permit.cancel();
+            } else {
+                permit.complete(e);
+            }
+        });
+        return future;
+    }
+
+    private Permit acquirePermit(ApiClientConnectorInfo connector) throws ConnectorCommunicationException {
+        if (!enabled || connector == null || connector.getUuid() == null) {
+            return Permit.NONE;
+        }
+        ConnectorCircuitBreaker breaker = circuitBreaker;
+        breaker.acquirePermission(connector);
+        return new Permit(breaker, connector.getUuid(), concurrencyLimiter.acquire(connector));
+    }
+
+    /**
+     * Decide whether the error means the connector is unreachable, hangs or is unavailable.
+     *
+     * @param error Error the request failed with
+     * @return True for connector failures counted by the circuit breaker and the concurrency limiter
+     */
+    public static boolean isConnectorFailure(Throwable error) {
+        Throwable unwrapped = Exceptions.unwrap(error);
+        while ((unwrapped instanceof CompletionException || unwrapped instanceof ExecutionException) && unwrapped.getCause() != null) {
+            unwrapped = unwrapped.getCause();
+        }
+        if (unwrapped instanceof ConnectorCommunicationException || unwrapped instanceof TimeoutException) {
+            return true;
+        }
+        if (unwrapped instanceof ConnectorServerException cse) {
+            return isUnavailable(cse.getHttpStatus());
+        }
+        if (unwrapped instanceof ConnectorProblemException pde) {
+            return isUnavailable(HttpStatus.resolve(pde.getProblemDetail().getStatus()));
+        }
+        return false;
+    }
+
+    private static boolean isUnavailable(HttpStatus status) {
+        return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE || status == HttpStatus.GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Permit of a single request in flight, completing the permit more than once has no effect.
+     */
+    public static final class Permit {
+
+        private static final Permit NONE = new Permit(null, null, CompletableFuture.completedFuture(null));
+
+        private final ConnectorCircuitBreaker circuitBreaker;
+
+        private final String connectorUuid;
+
+        private final CompletableFuture<AdaptiveConcurrencyLimiter.Permit> limiterPermit;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ConnectorCircuitBreaker circuitBreaker, String connectorUuid, CompletableFuture<AdaptiveConcurrencyLimiter.Permit> limiterPermit) {
+            this.circuitBreaker = circuitBreaker;
+            this.connectorUuid = connectorUuid;
+            this.limiterPermit = limiterPermit;
+        }
+
+        /**
+         * @return Publisher completing when the concurrency limiter grants the permit, the permit is cancelled when waiting fails or is cancelled
+         */
+        private Mono<Void> granted() {
+            if (limiterPermit.isDone() && !limiterPermit.isCompletedExceptionally()) {
+                return Mono.empty();
+            }
+            return Mono.fromFuture(limiterPermit, true)
+                    .doOnError(e -> cancel())
+                    .doOnCancel(this::cancel)
+                    .then();
+        }
+
+        /**
+         * Release the permit of the completed request.
+         *
+         * @param error Error the request failed with, null when it succeeded
+         */
+        public void complete(Throwable error) {
+            if (!release()) {
+                return;
+            }
+            if (error != null && isConnectorFailure(error)) {
+                limiterPermit.thenAccept(AdaptiveConcurrencyLimiter.Permit::onDropped);
+                circuitBreaker.onFailure(connectorUuid);
+            } else {
+                limiterPermit.thenAccept(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+                circuitBreaker.onSuccess(connectorUuid);
+            }
+        }
+
+        /**
+         * Release the permit of the cancelled request or of the request that did not get the permit of the concurrency limiter.
+         */
+        public void cancel() {
+            if (!release()) {
+                return;
+            }
+            if (!limiterPermit.cancel(false)) {
+                limiterPermit.thenAccept(AdaptiveConcurrencyLimiter.Permit::onIgnore);
+            }
+            circuitBreaker.onIgnore(connectorUuid);
+        }
+
+        private boolean release() {
+            return circuitBreaker != null && released.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.czertainly.api.clients;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link ConnectorRequestGuard}, its {@link ConnectorCircuitBreaker} and {@link AdaptiveConcurrencyLimiter}.
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+public class ConnectorRequestGuardSettings {
+
+    /**
+     * Number of consecutive failed requests of a connector that opens its circuit
+     */
+    @Builder.Default
+    private int failureThreshold = 5;
+
+    /**
+     * Time the circuit stays open before probe requests are let through
+     */
+    @Builder.Default
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Number of probe requests let through concurrently when the circuit is half-open
+     */
+    @Builder.Default
+    private int halfOpenProbes = 1;
+
+    /**
+     * Concurrency limit of a connector before it is adapted by the measured round trip times
+     */
+    @Builder.Default
+    private int initialLimit = 20;
+
+    /**
+     * Lower bound of the concurrency limit
+     */
+    @Builder.Default
+    private int minLimit = 1;
+
+    /**
+     * Upper bound of the concurrency limit
+     */
+    @Builder.Default
+    private int maxLimit = 200;
+
+    /**
+     * Estimated number of requests queued by the connector below which the limit is increased
+     */
+    @Builder.Default
+    private int alpha = 3;
+
+    /**
+     * Estimated number of requests queued by the connector above which the limit is decreased
+     */
+    @Builder.Default
+    private int beta = 6;
+
+    /**
+     * Factor the limit is multiplied by when a request fails on communication or timeout
+     */
+    @Builder.Default
+    private double backoffRatio = 0.9;
+
+    /**
+     * Number of samples after which the minimal round trip time is measured again, so the limit follows connectors that become permanently slower
+     */
+    @Builder.Default
+    private int minRttResetSamples = 1000;
+
+    /**
+     * Number of requests of a connector waiting for a permit when the concurrency limit is reached, requests beyond it are rejected
+     */
+    @Builder.Default
+    private int maxQueuedRequests = 1000;
+
+    /**
+     * Time a request waits for a permit when the concurrency limit is reached before it is rejected
+     */
+    @Builder.Default
+    private Duration queueTimeout = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,251 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.model.core.connector.v2.ConnectInfo;
+import com.czertainly.api.model.core.connector.v2.ConnectorInterfaceDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base of the caches of data received from the connectors, bound to the version of the connector.
+ *
+ * <p>Entries of a connector are removed when the version of the connector changes, see
+ * {@link #updateConnectorVersion(String, ConnectInfo)}, or when the connector is invalidated explicitly.
+ * Entries expire after the optional time to live and the least recently used entries are removed
+ * when the cache is full.</p>
+ *
+ * @param <K> Key of the entries
+ * @param <V> Cached value
+ */
+public abstract class ConnectorVersionedCache<K extends ConnectorVersionedCache.ConnectorKey, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectorVersionedCache.class);
+
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final String name;
+
+    private final int maxEntries;
+
+    // 0 when entries do not expire
+    private final long timeToLiveNanos;
+
+    // guarded by itself, in access order
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+
+    private final ConcurrentMap<String, String> connectorVersions = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private volatile boolean enabled = true;
+
+    /**
+     * @param name       Name of the cached data used in the log messages
+     * @param maxEntries Maximum number of entries
+     * @param timeToLive Time the entry is cached for after it was stored, null when entries do not expire
+     */
+    protected ConnectorVersionedCache(String name, int maxEntries, Duration timeToLive) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of entries must be positive.");
+        }
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("Time to live must be positive.");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : 0;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the cache. Disabling the cache removes all entries.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * @return Cached value, null when not cached, expired or the cache is disabled
+     */
+    protected V getEntry(K key) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (entries) {
+            CachedValue<V> cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (timeToLiveNanos == 0 || cached.expiresAt() - System.nanoTime() > 0) {
+                return cached.value();
+            }
+            entries.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Store the value, the least recently used entry is removed when the cache is full. Nothing is stored
+     * when the cache is disabled.
+     */
+    protected void putEntry(K key, V value) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new CachedValue<>(value, System.nanoTime() + timeToLiveNanos));
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    protected void removeEntry(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Record the request answered by the cached value.
+     */
+    protected void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    /**
+     * Record the request answered by the value loaded from the connector, subclasses record it when the loaded value is stored.
+     */
+    protected void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    /**
+     * Record the version of the connector, the entries of the connector are removed when the version changed.
+     *
+     * @param connectorUuid UUID of the connector
+     * @param version       Version of the connector, e.g. computed by {@link #computeVersion(Object)}
+     */
+    public void updateConnectorVersion(String connectorUuid, String version) {
+        String previous = connectorVersions.put(connectorUuid, version);
+        if (previous != null && !previous.equals(version)) {
+            logger.debug("Version of connector {} changed, removing cached {}", connectorUuid, name);
+            removeEntries(connectorUuid);
+        }
+    }
+
+    /**
+     * Record the version of the connector from its connect information, e.g. after connector is reconnected.
+     *
+     * @param connectorUuid UUID of the connector
+     * @param connectInfo   Connect information of the connector
+     */
+    public void updateConnectorVersion(String connectorUuid, ConnectInfo connectInfo) {
+        updateConnectorVersion(connectorUuid, computeVersion(connectInfo));
+    }
+
+    /**
+     * Record the version of the connector from the versions of its interfaces.
+     *
+     * @param connectorUuid UUID of the connector
+     * @param interfaces    Interfaces implemented by the connector
+     */
+    public void updateConnectorVersion(String connectorUuid, Collection<ConnectorInterfaceDto> interfaces) {
+        updateConnectorVersion(connectorUuid, computeVersion(interfaces));
+    }
+
+    /**
+     * Remove the entries and the version of the connector, e.g. when the connector is updated or deleted.
+     *
+     * @param connectorUuid UUID of the connector
+     */
+    public void invalidate(String connectorUuid) {
+        connectorVersions.remove(connectorUuid);
+        removeEntries(connectorUuid);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        connectorVersions.clear();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Compute the version of the connector information as a hash of its JSON, so any change of the information
+     * changes the version.
+     *
+     * @param info Connect information or interfaces of the connector
+     * @return Version of the information
+     */
+    public static String computeVersion(Object info) {
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(info);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Connector information cannot be serialized: " + e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+        }
+    }
+
+    private void removeEntries(String connectorUuid) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.connector().equals(connectorUuid));
+        }
+    }
+
+    /**
+     * Key of the entries of a connector.
+     */
+    public interface ConnectorKey {
+
+        /**
+         * @return UUID of the connector, URL for connectors without UUID
+         */
+        String connector();
+    }
+
+    private record CachedValue<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,217 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.model.client.attribute.ResponseAttribute;
+import com.czertainly.api.model.common.attribute.common.AttributeContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Cache of fully built {@link WebClient} instances keyed by connector.
+ *
+ * <p>Each cached client owns a dedicated {@link ConnectionProvider}, so TLS sessions and pooled connections
+ * are reused between requests to the same connector. Entries are bound to a fingerprint of the connector
+ * authentication attributes. When the attributes change, the entry is rebuilt and the previous entry is retired.
+ * Connection pool of a retired entry is disposed when the requests sent through its client have received
+ * the response, connections still reading the response body are closed after the dispose timeout
+ * of {@link ApiClientConnectionSettings}. Connection pools and HTTP clients are configured by
+ * {@link ApiClientConnectionSettings}.</p>
+ */
+public class ConnectorWebClientCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectorWebClientCache.class);
+
+    private static final String CONNECTION_PROVIDER_NAME_PREFIX = "connector-";
+
+    private final ConcurrentMap<String, CachedWebClient> cache = new ConcurrentHashMap<>();
+
+    private volatile ApiClientConnectionSettings connectionSettings;
+
+    public ConnectorWebClientCache() {
+        this(ApiClientConnectionSettings.builder().build());
+    }
+
+    public ConnectorWebClientCache(ApiClientConnectionSettings connectionSettings) {
+        this.connectionSettings = connectionSettings;
+    }
+
+    public ApiClientConnectionSettings getConnectionSettings() {
+        return connectionSettings;
+    }
+
+    /**
+     * Change the connection settings. Cached clients are retired and rebuilt with the new settings on next use.
+     *
+     * @param connectionSettings Connection settings
+     */
+    public void setConnectionSettings(ApiClientConnectionSettings connectionSettings) {
+        this.connectionSettings = connectionSettings;
+        clear();
+    }
+
+    /**
+     * Get the cached client for the connector or build a new one when the connector is not cached yet
+     * or its authentication attributes have changed since the client was built.
+     *
+     * @param connector Connector the client is used for
+     * @param factory   Factory building the client on top of the provided HTTP client with dedicated connection pool
+     * @return Web client for the connector
+     */
+    public WebClient getOrCreate(ApiClientConnectorInfo connector, Function<HttpClient, WebClient> factory) {
+        String key = getCacheKey(connector);
+        String fingerprint = computeFingerprint(connector.getAuthAttributes());
+
+        CachedWebClient cached = cache.get(key);
+        if (cached != null && cached.fingerprint().equals(fingerprint)) {
+            return cached.webClient();
+        }
+
+        return cache.compute(key, (k, existing) -> {
+            if (existing != null) {
+                if (existing.fingerprint().equals(fingerprint)) {
+                    return existing;
+                }
+                logger.debug("Authentication attributes of connector {} changed, rebuilding web client", k);
+                existing.retire();
+            }
+            ApiClientConnectionSettings settings = connectionSettings;
+            ConnectionProvider connectionProvider = settings.createConnectionProvider(CONNECTION_PROVIDER_NAME_PREFIX + k);
+            try {
+                return new CachedWebClient(fingerprint, factory.apply(settings.createHttpClient(connectionProvider)), connectionProvider);
+            } catch (RuntimeException e) {
+                connectionProvider.disposeLater().subscribe();
+                throw e;
+            }
+        }).webClient();
+    }
+
+    /**
+     * Remove the cached client of the connector and retire its connection pool.
+     * Should be called when the connector is updated or deleted.
+     *
+     * @param connectorUuid UUID of the connector
+     */
+    public void invalidate(String connectorUuid) {
+        CachedWebClient removed = cache.remove(connectorUuid);
+        if (removed != null) {
+            removed.retire();
+        }
+    }
+
+    /**
+     * Remove all cached clients and retire their connection pools.
+     */
+    public void clear() {
+        cache.keySet().forEach(this::invalidate);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static String getCacheKey(ApiClientConnectorInfo connector) {
+        // connectors that are not persisted yet (e.g. during connect) do not have UUID
+        return connector.getUuid() != null ? connector.getUuid() : connector.getUrl();
+    }
+
+    static String computeFingerprint(List<ResponseAttribute> attributes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+        }
+        if (attributes != null) {
+            for (ResponseAttribute attribute : attributes) {
+                update(digest, attribute.getName());
+                List<? extends AttributeContent> content = attribute.getContent();
+                if (content != null) {
+                    for (AttributeContent item : content) {
+                        // typed as Object, the generic getData() would otherwise resolve to String.valueOf(char[])
+                        Object data = item.getData();
+                        update(digest, String.valueOf(data));
+                    }
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static final class CachedWebClient {
+
+        private final String fingerprint;
+        private final WebClient webClient;
+        private final ConnectionProvider connectionProvider;
+
+        // requests sent through the client that have not received the response yet
+        private final AtomicInteger requestsInFlight = new AtomicInteger();
+        private final AtomicBoolean disposed = new AtomicBoolean();
+        private volatile boolean retired;
+
+        CachedWebClient(String fingerprint, WebClient webClient, ConnectionProvider connectionProvider) {
+            this.fingerprint = fingerprint;
+            this.webClient = webClient.mutate().filter(this::track).build();
+            this.connectionProvider = connectionProvider;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        WebClient webClient() {
+            return webClient;
+        }
+
+        /**
+         * Dispose the connection pool once the requests in flight have received the response.
+         */
+        void retire() {
+            retired = true;
+            if (requestsInFlight.get() == 0) {
+                dispose();
+            }
+        }
+
+        private Mono<ClientResponse> track(ClientRequest request, ExchangeFunction next) {
+            return Mono.defer(() -> {
+                requestsInFlight.incrementAndGet();
+                return next.exchange(request).doFinally(signal -> {
+                    if (requestsInFlight.decrementAndGet() == 0 && retired) {
+                        dispose();
+                    }
+                });
+            });
+        }
+
+        private void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                // graceful, connections in use are closed when released or after the dispose timeout
+                connectionProvider.disposeLater().subscribe();
+            }
+        }
+    }
+}
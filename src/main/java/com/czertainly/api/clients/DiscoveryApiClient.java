@@ -1,20 +1,27 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.DiscoveryAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.DiscoverySyncApiClient;
 import com.czertainly.api.model.connector.discovery.DiscoveryDataRequestDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
 import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
 import com.czertainly.api.model.connector.discovery.DiscoveryRequestDto;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
+import java.util.HashSet;
+import java.util.Set;
 
-public class DiscoveryApiClient extends BaseApiClient implements DiscoverySyncApiClient {
+public class DiscoveryApiClient extends BaseApiClient implements DiscoverySyncApiClient, DiscoveryAsyncApiClient {
 
     private static final String DISCOVERY_BASE_CONTEXT = "/v1/discoveryProvider/discover";
     private static final String DISCOVERY_GET_CONTEXT = DISCOVERY_BASE_CONTEXT + "/{uuid}";
+    private static final String DISCOVERY_STREAM_CONTEXT = DISCOVERY_GET_CONTEXT + "/certificates";
 
     public DiscoveryApiClient(WebClient webClient, TrustManager[] defaultTrustManagers) {
         this.webClient = webClient;
@@ -24,42 +31,88 @@ public class DiscoveryApiClient extends BaseApiClient implements DiscoverySyncAp
 
     @Override
     public DiscoveryProviderDto discoverCertificates(ApiClientConnectorInfo connector, DiscoveryRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(discoverCertificatesAsync(connector, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<DiscoveryProviderDto> discoverCertificatesAsync(ApiClientConnectorInfo connector, DiscoveryRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + DISCOVERY_BASE_CONTEXT)
                 .body(Mono.just(requestDto), DiscoveryRequestDto.class)
                 .retrieve()
-                .toEntity(DiscoveryProviderDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(DiscoveryProviderDto.class),
                 connector);
     }
 
     @Override
     public DiscoveryProviderDto getDiscoveryData(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(getDiscoveryDataAsync(connector, requestDto, uuid));
+    }
+
+    @Override
+    public Mono<DiscoveryProviderDto> getDiscoveryDataAsync(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + DISCOVERY_GET_CONTEXT, uuid)
+                .body(Mono.just(requestDto), DiscoveryDataRequestDto.class)
+                .retrieve()
+                .bodyToMono(DiscoveryProviderDto.class),
+                connector);
+    }
+
+    @Override
+    public Flux<DiscoveryProviderDto> getDiscoveryDataPagesAsync(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid) {
+        return Flux.defer(() -> {
+            // pages are requested one after another, so the tokens are never accessed concurrently
+            Set<String> continuationTokens = new HashSet<>();
+            if (requestDto.getContinuationToken() != null) {
+                continuationTokens.add(requestDto.getContinuationToken());
+            }
+            return getDiscoveryDataAsync(connector, requestDto, uuid)
+                    .expand(page -> {
+                        String continuationToken = page.getNextContinuationToken();
+                        if (continuationToken == null) {
+                            return Mono.empty();
+                        }
+                        if (!continuationTokens.add(continuationToken)) {
+                            return Mono.error(new ConnectorException("Discovery " + uuid + " returned repeated continuation token " + continuationToken, connector));
+                        }
+                        return getDiscoveryDataAsync(connector, nextPageRequest(requestDto, continuationToken), uuid);
+                    });
+        });
+    }
 
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + DISCOVERY_GET_CONTEXT, uuid)
-                        .body(Mono.just(requestDto), DiscoveryDataRequestDto.class)
-                        .retrieve()
-                        .toEntity(DiscoveryProviderDto.class)
-                        .block().getBody(),
-                request,
+    @Override
+    public Flux<DiscoveryProviderCertificateDataDto> streamDiscoveryCertificates(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + DISCOVERY_STREAM_CONTEXT, uuid)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(Mono.just(requestDto), DiscoveryDataRequestDto.class)
+                .retrieve()
+                .bodyToFlux(DiscoveryProviderCertificateDataDto.class),
                 connector);
     }
 
     @Override
     public void removeDiscovery(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
+        blockRequest(removeDiscoveryAsync(connector, uuid));
+    }
 
-        processRequest(r -> r
-                        .uri(connector.getUrl() + DISCOVERY_GET_CONTEXT, uuid)
-                        .retrieve()
-                        .toEntity(Void.class)
-                        .block().getBody(),
-                request,
+    @Override
+    public Mono<Void> removeDiscoveryAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
+                .uri(connector.getUrl() + DISCOVERY_GET_CONTEXT, uuid)
+                .retrieve()
+                .bodyToMono(Void.class),
                 connector);
     }
+
+    private static DiscoveryDataRequestDto nextPageRequest(DiscoveryDataRequestDto requestDto, String continuationToken) {
+        DiscoveryDataRequestDto nextPageRequest = new DiscoveryDataRequestDto();
+        nextPageRequest.setName(requestDto.getName());
+        nextPageRequest.setKind(requestDto.getKind());
+        nextPageRequest.setPageNumber(requestDto.getPageNumber());
+        nextPageRequest.setItemsPerPage(requestDto.getItemsPerPage());
+        nextPageRequest.setContinuationToken(continuationToken);
+        return nextPageRequest;
+    }
 }
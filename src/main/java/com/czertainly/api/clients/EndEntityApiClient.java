@@ -1,18 +1,20 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.EndEntityAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.EndEntitySyncApiClient;
 import com.czertainly.api.model.core.authority.AddEndEntityRequestDto;
 import com.czertainly.api.model.core.authority.EditEndEntityRequestDto;
 import com.czertainly.api.model.core.authority.EndEntityDto;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
 
-public class EndEntityApiClient extends BaseApiClient implements EndEntitySyncApiClient {
+public class EndEntityApiClient extends BaseApiClient implements EndEntitySyncApiClient, EndEntityAsyncApiClient {
 
     private static final String END_ENTITY_BASE_CONTEXT = "/v1/authorityProvider/authorities/{uuid}/endEntityProfiles/{endEntityProfileName}/endEntities";
     private static final String END_ENTITY_IDENTIFIED_CONTEXT = END_ENTITY_BASE_CONTEXT + "/{endEntityName}";
@@ -25,81 +27,87 @@ public class EndEntityApiClient extends BaseApiClient implements EndEntitySyncAp
 
     @Override
     public List<EndEntityDto> listEntities(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listEntitiesAsync(connector, authorityUuid, endEntityProfileName).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<EndEntityDto> listEntitiesAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_BASE_CONTEXT, authorityUuid, endEntityProfileName)
                 .retrieve()
-                .toEntityList(EndEntityDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(EndEntityDto.class),
                 connector);
     }
 
     @Override
     public EndEntityDto getEndEntity(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getEndEntityAsync(connector, authorityUuid, endEntityProfileName, endEntityName));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<EndEntityDto> getEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_IDENTIFIED_CONTEXT, authorityUuid, endEntityProfileName, endEntityName)
                 .retrieve()
-                .toEntity(EndEntityDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(EndEntityDto.class),
                 connector);
     }
 
     @Override
     public void createEndEntity(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, AddEndEntityRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(createEndEntityAsync(connector, authorityUuid, endEntityProfileName, requestDto));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> createEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, AddEndEntityRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_BASE_CONTEXT, authorityUuid, endEntityProfileName)
                 .body(Mono.just(requestDto), AddEndEntityRequestDto.class)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public void updateEndEntity(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName, EditEndEntityRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(updateEndEntityAsync(connector, authorityUuid, endEntityProfileName, endEntityName, requestDto));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> updateEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName, EditEndEntityRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_IDENTIFIED_CONTEXT, authorityUuid, endEntityProfileName, endEntityName)
                 .body(Mono.just(requestDto), EditEndEntityRequestDto.class)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public void revokeAndDeleteEndEntity(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
+        blockRequest(revokeAndDeleteEndEntityAsync(connector, authorityUuid, endEntityProfileName, endEntityName));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> revokeAndDeleteEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_IDENTIFIED_CONTEXT, authorityUuid, endEntityProfileName, endEntityName)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public void resetPassword(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.PUT, connector, true);
+        blockRequest(resetPasswordAsync(connector, authorityUuid, endEntityProfileName, endEntityName));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> resetPasswordAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.PUT, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_RESET_PASSWORD_CONTEXT, authorityUuid, endEntityProfileName, endEntityName)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 }
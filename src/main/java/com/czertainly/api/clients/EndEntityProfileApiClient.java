@@ -1,6 +1,7 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.EndEntityProfileAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.EndEntityProfileSyncApiClient;
 import com.czertainly.api.model.common.NameAndIdDto;
 import org.springframework.http.HttpMethod;
@@ -8,8 +9,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
+import reactor.core.publisher.Flux;
 
-public class EndEntityProfileApiClient extends BaseApiClient implements EndEntityProfileSyncApiClient {
+public class EndEntityProfileApiClient extends BaseApiClient implements EndEntityProfileSyncApiClient, EndEntityProfileAsyncApiClient {
 
     private static final String END_ENTITY_PROFILE_BASE_CONTEXT = "/v1/authorityProvider/authorities/{uuid}/endEntityProfiles";
     private static final String END_ENTITY_PROFILE_IDENTIFIED_CONTEXT = END_ENTITY_PROFILE_BASE_CONTEXT + "/{endEntityProfileId}";
@@ -23,40 +25,43 @@ public class EndEntityProfileApiClient extends BaseApiClient implements EndEntit
 
     @Override
     public List<NameAndIdDto> listEndEntityProfiles(ApiClientConnectorInfo connector, String authorityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listEndEntityProfilesAsync(connector, authorityUuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<NameAndIdDto> listEndEntityProfilesAsync(ApiClientConnectorInfo connector, String authorityUuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_PROFILE_BASE_CONTEXT, authorityUuid)
                 .retrieve()
-                .toEntityList(NameAndIdDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(NameAndIdDto.class),
                 connector);
     }
 
     @Override
     public List<NameAndIdDto> listCertificateProfiles(ApiClientConnectorInfo connector, String authorityUuid, int endEntityProfileId) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listCertificateProfilesAsync(connector, authorityUuid, endEntityProfileId).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<NameAndIdDto> listCertificateProfilesAsync(ApiClientConnectorInfo connector, String authorityUuid, int endEntityProfileId) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_PROFILE_CERT_PROFILE_CONTEXT, authorityUuid, endEntityProfileId)
                 .retrieve()
-                .toEntityList(NameAndIdDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(NameAndIdDto.class),
                 connector);
     }
 
     @Override
     public List<NameAndIdDto> listCAsInProfile(ApiClientConnectorInfo connector, String authorityUuid, int endEntityProfileId) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listCAsInProfileAsync(connector, authorityUuid, endEntityProfileId).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<NameAndIdDto> listCAsInProfileAsync(ApiClientConnectorInfo connector, String authorityUuid, int endEntityProfileId) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + END_ENTITY_PROFILE_CAS_IN_PROFILE_CONTEXT, authorityUuid, endEntityProfileId)
                 .retrieve()
-                .toEntityList(NameAndIdDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(NameAndIdDto.class),
                 connector);
     }
 }
@@ -2,6 +2,7 @@ package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.interfaces.client.v1.EntityInstanceAsyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.connector.entity.EntityInstanceDto;
@@ -9,6 +10,7 @@ import com.czertainly.api.model.connector.entity.EntityInstanceRequestDto;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.czertainly.api.interfaces.client.v1.EntityInstanceSyncApiClient;
@@ -16,7 +18,7 @@ import com.czertainly.api.interfaces.client.v1.EntityInstanceSyncApiClient;
 import javax.net.ssl.TrustManager;
 import java.util.List;
 
-public class EntityInstanceApiClient extends BaseApiClient implements EntityInstanceSyncApiClient {
+public class EntityInstanceApiClient extends BaseApiClient implements EntityInstanceSyncApiClient, EntityInstanceAsyncApiClient {
 
     private static final String ENTITY_INSTANCE_BASE_CONTEXT = "/v1/entityProvider/entities";
     private static final String ENTITY_INSTANCE_IDENTIFIED_CONTEXT = ENTITY_INSTANCE_BASE_CONTEXT + "/{entityUuid}";
@@ -33,96 +35,103 @@ public class EntityInstanceApiClient extends BaseApiClient implements EntityInst
 
     @Override
     public List<EntityInstanceDto> listEntityInstances(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listEntityInstancesAsync(connector).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<EntityInstanceDto> listEntityInstancesAsync(ApiClientConnectorInfo connector) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_BASE_CONTEXT)
                 .retrieve()
-                .toEntityList(EntityInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(EntityInstanceDto.class),
                 connector);
     }
 
     @Override
     public EntityInstanceDto getEntityInstance(ApiClientConnectorInfo connector, String entityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getEntityInstanceAsync(connector, entityUuid));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<EntityInstanceDto> getEntityInstanceAsync(ApiClientConnectorInfo connector, String entityUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_IDENTIFIED_CONTEXT, entityUuid)
                 .retrieve()
-                .toEntity(EntityInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(EntityInstanceDto.class),
                 connector);
     }
 
     @Override
     public EntityInstanceDto createEntityInstance(ApiClientConnectorInfo connector, EntityInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(createEntityInstanceAsync(connector, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<EntityInstanceDto> createEntityInstanceAsync(ApiClientConnectorInfo connector, EntityInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_BASE_CONTEXT)
                 .body(Mono.just(requestDto), EntityInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(EntityInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(EntityInstanceDto.class),
                 connector);
     }
 
     @Override
     public EntityInstanceDto updateEntityInstance(ApiClientConnectorInfo connector, String entityUuid, EntityInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.PUT, connector, true);
+        return blockRequest(updateEntityInstanceAsync(connector, entityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<EntityInstanceDto> updateEntityInstanceAsync(ApiClientConnectorInfo connector, String entityUuid, EntityInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.PUT, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_IDENTIFIED_CONTEXT, entityUuid)
                 .body(Mono.just(requestDto), EntityInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(EntityInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(EntityInstanceDto.class),
                 connector);
     }
 
     @Override
     public void removeEntityInstance(ApiClientConnectorInfo connector, String entityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
+        blockRequest(removeEntityInstanceAsync(connector, entityUuid));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> removeEntityInstanceAsync(ApiClientConnectorInfo connector, String entityUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_IDENTIFIED_CONTEXT, entityUuid)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
 
     @Override
     public List<BaseAttribute> listLocationAttributes(ApiClientConnectorInfo connector, String entityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listLocationAttributesAsync(connector, entityUuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<BaseAttribute> listLocationAttributesAsync(ApiClientConnectorInfo connector, String entityUuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_LOCATION_ATTRS_CONTEXT, entityUuid)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(BaseAttribute.class),
                 connector);
     }
 
     @Override
     public void validateLocationAttributes(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validateLocationAttributesAsync(connector, entityUuid, attributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validateLocationAttributesAsync(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + ENTITY_INSTANCE_LOCATION_ATTRS_VALIDATE_CONTEXT, entityUuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 }
\ No newline at end of file
@@ -2,13 +2,15 @@ package com.czertainly.api.clients;
 
 import com.czertainly.api.interfaces.client.v1.HealthSyncApiClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.HealthAsyncApiClient;
 import com.czertainly.api.model.common.HealthDto;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.net.ssl.TrustManager;
+import reactor.core.publisher.Mono;
 
-public class HealthApiClient extends BaseApiClient implements HealthSyncApiClient {
+public class HealthApiClient extends BaseApiClient implements HealthSyncApiClient, HealthAsyncApiClient {
 
     private static final String HEALTH_BASE_CONTEXT = "/v1/health";
 
@@ -19,14 +21,16 @@ public class HealthApiClient extends BaseApiClient implements HealthSyncApiClien
 
     @Override
     public HealthDto checkHealth(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, false);
+        return blockRequest(checkHealthAsync(connector));
+    }
 
-        return processRequest(r -> r
-                .uri(connector.getUrl() + HEALTH_BASE_CONTEXT)
-                .retrieve()
-                .toEntity(HealthDto.class)
-                .block().getBody(),
-                request,
+    @Override
+    public Mono<HealthDto> checkHealthAsync(ApiClientConnectorInfo connector) {
+        return processIdempotentRequestAsync(HttpMethod.GET, HEALTH_BASE_CONTEXT, null, HealthDto.class,
+                () -> prepareRequest(HttpMethod.GET, connector, false)
+                        .uri(connector.getUrl() + HEALTH_BASE_CONTEXT)
+                        .retrieve()
+                        .bodyToMono(HealthDto.class),
                 connector);
     }
 }
@@ -1,12 +1,14 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.LocationAsyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.connector.entity.*;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.czertainly.api.interfaces.client.v1.LocationSyncApiClient;
@@ -14,7 +16,7 @@ import com.czertainly.api.interfaces.client.v1.LocationSyncApiClient;
 import javax.net.ssl.TrustManager;
 import java.util.List;
 
-public class LocationApiClient extends BaseApiClient implements LocationSyncApiClient {
+public class LocationApiClient extends BaseApiClient implements LocationSyncApiClient, LocationAsyncApiClient {
 
     private static final String LOCATION_BASE_CONTEXT = "/v1/entityProvider/entities/{entityUuid}/locations";
     private static final String LOCATION_PUSH_CONTEXT = LOCATION_BASE_CONTEXT + "/push";
@@ -35,111 +37,119 @@ public class LocationApiClient extends BaseApiClient implements LocationSyncApiC
 
     @Override
     public LocationDetailResponseDto getLocationDetail(ApiClientConnectorInfo connector, String entityUuid, LocationDetailRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(getLocationDetailAsync(connector, entityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<LocationDetailResponseDto> getLocationDetailAsync(ApiClientConnectorInfo connector, String entityUuid, LocationDetailRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + LOCATION_BASE_CONTEXT, entityUuid)
                 .body(Mono.just(requestDto), LocationDetailRequestDto.class)
                 .retrieve()
-                .toEntity(LocationDetailResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(LocationDetailResponseDto.class),
                 connector);
     }
 
     @Override
     public PushCertificateResponseDto pushCertificateToLocation(ApiClientConnectorInfo connector, String entityUuid, PushCertificateRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(pushCertificateToLocationAsync(connector, entityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<PushCertificateResponseDto> pushCertificateToLocationAsync(ApiClientConnectorInfo connector, String entityUuid, PushCertificateRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + LOCATION_PUSH_CONTEXT, entityUuid)
                 .body(Mono.just(requestDto), PushCertificateRequestDto.class)
                 .retrieve()
-                .toEntity(PushCertificateResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(PushCertificateResponseDto.class),
                 connector);
     }
 
     @Override
     public List<BaseAttribute> listPushCertificateAttributes(ApiClientConnectorInfo connector, String entityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listPushCertificateAttributesAsync(connector, entityUuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<BaseAttribute> listPushCertificateAttributesAsync(ApiClientConnectorInfo connector, String entityUuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + LOCATION_PUSH_ATTRS_CONTEXT, entityUuid)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(BaseAttribute.class),
                 connector);
     }
 
     @Override
     public void validatePushCertificateAttributes(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> pushAttributes) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validatePushCertificateAttributesAsync(connector, entityUuid, pushAttributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validatePushCertificateAttributesAsync(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> pushAttributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + LOCATION_PUSH_ATTRS_VALIDATE_CONTEXT, entityUuid)
                 .body(Mono.just(pushAttributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public RemoveCertificateResponseDto removeCertificateFromLocation(ApiClientConnectorInfo connector, String entityUuid, RemoveCertificateRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(removeCertificateFromLocationAsync(connector, entityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<RemoveCertificateResponseDto> removeCertificateFromLocationAsync(ApiClientConnectorInfo connector, String entityUuid, RemoveCertificateRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + LOCATION_REMOVE_CONTEXT, entityUuid)
                 .body(Mono.just(requestDto), RemoveCertificateRequestDto.class)
                 .retrieve()
-                .toEntity(RemoveCertificateResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(RemoveCertificateResponseDto.class),
                 connector);
     }
 
     @Override
     public GenerateCsrResponseDto generateCsrLocation(ApiClientConnectorInfo connector, String entityUuid, GenerateCsrRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(generateCsrLocationAsync(connector, entityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<GenerateCsrResponseDto> generateCsrLocationAsync(ApiClientConnectorInfo connector, String entityUuid, GenerateCsrRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + LOCATION_CSR_CONTEXT, entityUuid)
                 .body(Mono.just(requestDto), GenerateCsrRequestDto.class)
                 .retrieve()
-                .toEntity(GenerateCsrResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(GenerateCsrResponseDto.class),
                 connector);
     }
 
     @Override
     public List<BaseAttribute> listGenerateCsrAttributes(ApiClientConnectorInfo connector, String entityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listGenerateCsrAttributesAsync(connector, entityUuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<BaseAttribute> listGenerateCsrAttributesAsync(ApiClientConnectorInfo connector, String entityUuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + LOCATION_CSR_ATTRS_CONTEXT, entityUuid)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(BaseAttribute.class),
                 connector);
     }
 
     @Override
     public void validateGenerateCsrAttributes(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> pushAttributes) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validateGenerateCsrAttributesAsync(connector, entityUuid, pushAttributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validateGenerateCsrAttributesAsync(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> pushAttributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + LOCATION_CSR_ATTRS_VALIDATE_CONTEXT, entityUuid)
                 .body(Mono.just(pushAttributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
@@ -1,21 +1,21 @@
 package com.czertainly.api.clients;
 
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.NotificationInstanceAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.NotificationInstanceSyncApiClient;
 import com.czertainly.api.model.common.attribute.common.DataAttribute;
 import com.czertainly.api.model.connector.notification.NotificationProviderInstanceDto;
 import com.czertainly.api.model.connector.notification.NotificationProviderInstanceRequestDto;
 import com.czertainly.api.model.connector.notification.NotificationProviderNotifyRequestDto;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
-import java.util.Objects;
 
-public class NotificationInstanceApiClient extends BaseApiClient implements NotificationInstanceSyncApiClient {
+public class NotificationInstanceApiClient extends BaseApiClient implements NotificationInstanceSyncApiClient, NotificationInstanceAsyncApiClient {
 
     private static final String NOTIFICATION_INSTANCE_BASE_CONTEXT = "/v1/notificationProvider/notifications";
     private static final String NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT = NOTIFICATION_INSTANCE_BASE_CONTEXT + "/{uuid}";
@@ -30,85 +30,105 @@ public class NotificationInstanceApiClient extends BaseApiClient implements Noti
 
     @Override
     public List<NotificationProviderInstanceDto> listNotificationInstances(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listNotificationInstancesAsync(connector).collectList());
+    }
 
-        return processRequest(r -> r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_BASE_CONTEXT)
+    @Override
+    public Flux<NotificationProviderInstanceDto> listNotificationInstancesAsync(ApiClientConnectorInfo connector) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_BASE_CONTEXT)
                 .retrieve()
-                .toEntityList(NotificationProviderInstanceDto.class)
-                .block()
-                .getBody(), request, connector);
+                .bodyToFlux(NotificationProviderInstanceDto.class),
+                connector);
     }
 
     @Override
     public NotificationProviderInstanceDto getNotificationInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getNotificationInstanceAsync(connector, uuid));
+    }
 
-        return processRequest(r -> r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT, uuid)
+    @Override
+    public Mono<NotificationProviderInstanceDto> getNotificationInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(NotificationProviderInstanceDto.class)
-                .block()
-                .getBody(), request, connector);
+                .bodyToMono(NotificationProviderInstanceDto.class),
+                connector);
     }
 
     @Override
     public NotificationProviderInstanceDto createNotificationInstance(ApiClientConnectorInfo connector, NotificationProviderInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(createNotificationInstanceAsync(connector, requestDto));
+    }
 
-        return processRequest(r -> r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_BASE_CONTEXT)
+    @Override
+    public Mono<NotificationProviderInstanceDto> createNotificationInstanceAsync(ApiClientConnectorInfo connector, NotificationProviderInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_BASE_CONTEXT)
                 .body(Mono.just(requestDto), NotificationProviderInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(NotificationProviderInstanceDto.class)
-                .block()
-                .getBody(), request, connector);
+                .bodyToMono(NotificationProviderInstanceDto.class),
+                connector);
     }
 
 
     @Override
     public NotificationProviderInstanceDto updateNotificationInstance(ApiClientConnectorInfo connector, String uuid, NotificationProviderInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.PUT, connector, true);
+        return blockRequest(updateNotificationInstanceAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT, uuid)
+    @Override
+    public Mono<NotificationProviderInstanceDto> updateNotificationInstanceAsync(ApiClientConnectorInfo connector, String uuid, NotificationProviderInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.PUT, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .body(Mono.just(requestDto), NotificationProviderInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(NotificationProviderInstanceDto.class)
-                .block()
-                .getBody(), request, connector);
+                .bodyToMono(NotificationProviderInstanceDto.class),
+                connector);
     }
 
     @Override
     public void removeNotificationInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
+        blockRequest(removeNotificationInstanceAsync(connector, uuid));
+    }
 
-        processRequest(r -> r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT, uuid)
+    @Override
+    public Mono<Void> removeNotificationInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(Void.class)
-                .block()
-                .getBody(), request, connector);
+                .bodyToMono(Void.class),
+                connector);
     }
 
 
     @Override
     public void sendNotification(ApiClientConnectorInfo connector, String uuid, NotificationProviderNotifyRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(sendNotificationAsync(connector, uuid, requestDto));
+    }
 
-        processRequest(r -> r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_SEND_CONTEXT, uuid)
+    @Override
+    public Mono<Void> sendNotificationAsync(ApiClientConnectorInfo connector, String uuid, NotificationProviderNotifyRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_IDENTIFIED_SEND_CONTEXT, uuid)
                 .body(Mono.just(requestDto), NotificationProviderNotifyRequestDto.class)
                 .retrieve()
-                .toEntity(Void.class)
-                .block()
-                .getBody(), request, connector);
+                .bodyToMono(Void.class),
+                connector);
     }
 
     @Override
     public List<DataAttribute> listMappingAttributes(ApiClientConnectorInfo connector, String kind) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-
-        return processRequest(r -> Objects.requireNonNull(r.uri(connector.getUrl() + NOTIFICATION_INSTANCE_MAPPING_ATTRIBUTES_CONTEXT, kind)
-                        .retrieve()
-                        .toEntity(new ParameterizedTypeReference<List<DataAttribute>>() {
-                        })
-                        .block())
-                .getBody(), request, connector);
+        return blockRequest(listMappingAttributesAsync(connector, kind).collectList());
+    }
+
+    @Override
+    public Flux<DataAttribute> listMappingAttributesAsync(ApiClientConnectorInfo connector, String kind) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + NOTIFICATION_INSTANCE_MAPPING_ATTRIBUTES_CONTEXT, kind)
+                .retrieve()
+                .bodyToFlux(DataAttribute.class),
+                connector);
     }
 
 
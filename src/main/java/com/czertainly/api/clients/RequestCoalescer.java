@@ -0,0 +1,287 @@
+package com.czertainly.api.clients;
+
+import com.czertainly.api.clients.mq.MessagePriority;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical idempotent requests to the connectors.
+ *
+ * <p>While a request is in flight, identical requests, i.e. requests with equal {@link RequestKey}, do not call
+ * the connector again and get the result or the error of the request in flight. Once the request completes,
+ * the next identical request calls the connector again, so results are never cached beyond the duration
+ * of the call. Results are shared by all callers of the flight and must not be modified.</p>
+ *
+ * <p>Only requests without side effects should be coalesced, e.g. listing of attribute definitions,
+ * health checks or listing of compliance rules. Requests are coalesced only when they are sent with the same
+ * timeout and priority, so a caller never gets a response limited by the timeout or delayed by the priority of another
+ * caller. Requests are authenticated by the credentials of the connector, not of the caller, so the response of
+ * a coalesced request does not depend on the caller.</p>
+ */
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private static final ObjectMapper BODY_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final ConcurrentMap<RequestKey, Object> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    private volatile boolean enabled = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable coalescing, requests already in flight are not affected.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the number of requests in flight that can be joined by identical requests.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Get the number of requests that joined a request in flight instead of calling the connector.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Join the identical request in flight or send the request. The request is sent when the first caller
+     * of the flight subscribes and it is not cancelled when the callers cancel their subscriptions.
+     *
+     * @param key     Key of the request, request is not coalesced when null
+     * @param request Supplier of the request publisher
+     * @param <R>     Response type
+     * @return Response publisher
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Mono<R> coalesce(RequestKey key, Supplier<Mono<R>> request) {
+        if (key == null || !enabled) {
+            return Mono.defer(request);
+        }
+        AtomicReference<Mono<R>> flight = new AtomicReference<>();
+        flight.set(Mono.defer(request)
+                // removed before the result is propagated, so callers arriving after the result do not join the finished flight
+                .doOnEach(s -> inFlight.remove(key, flight.get()))
+                .doOnCancel(() -> inFlight.remove(key, flight.get()))
+                .share());
+        Object existing = inFlight.putIfAbsent(key, flight.get());
+        if (existing instanceof Mono<?> joined) {
+            coalescedCount.incrementAndGet();
+            return (Mono<R>) joined;
+        }
+        return flight.get();
+    }
+
+    /**
+     * Join the identical request in flight or send the request with list response.
+     * Items are collected and shared when the response completes.
+     *
+     * @param key     Key of the request, request is not coalesced when null
+     * @param request Supplier of the request publisher
+     * @param <R>     Response item type
+     * @return Response item publisher
+     */
+    public <R> Flux<R> coalesceFlux(RequestKey key, Supplier<Flux<R>> request) {
+        if (key == null || !enabled) {
+            return Flux.defer(request);
+        }
+        return coalesce(key, () -> request.get().collectList()).flatMapIterable(items -> items);
+    }
+
+    /**
+     * Join the identical request in flight or send the request.
+     *
+     * @param key     Key of the request, request is not coalesced when null
+     * @param request Supplier sending the request
+     * @param <R>     Response type
+     * @return Future of the response, completing or cancelling it does not affect the other callers of the flight
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> coalesceAsync(RequestKey key, Supplier<CompletableFuture<R>> request) {
+        if (key == null || !enabled) {
+            return request.get();
+        }
+        CompletableFuture<R> flight = new CompletableFuture<>();
+        Object existing = inFlight.putIfAbsent(key, flight);
+        if (existing instanceof CompletableFuture<?> joined) {
+            coalescedCount.incrementAndGet();
+            return ((CompletableFuture<R>) joined).copy();
+        }
+        // the request is sent outside of the map, so it can complete synchronously
+        flight.whenComplete((r, e) -> inFlight.remove(key, flight));
+        try {
+            request.get().whenComplete((r, e) -> {
+                if (e != null) {
+                    flight.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                } else {
+                    flight.complete(r);
+                }
+            });
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+        }
+        return flight.copy();
+    }
+
+    /**
+     * Join the identical request in flight or send the request, blocking until the response is received.
+     *
+     * @param key     Key of the request, request is not coalesced when null
+     * @param request Request sent on the calling thread
+     * @param <R>     Response type
+     * @param <E>     Checked exception of the request
+     * @return Response
+     * @throws E When the request or the joined request fails
+     */
+    @SuppressWarnings("unchecked")
+    public <R, E extends Exception> R coalesceBlocking(RequestKey key, BlockingRequest<R, E> request) throws E {
+        if (key == null || !enabled) {
+            return request.send();
+        }
+        CompletableFuture<R> flight = new CompletableFuture<>();
+        Object existing = inFlight.putIfAbsent(key, flight);
+        if (existing instanceof CompletableFuture<?> joined) {
+            coalescedCount.incrementAndGet();
+            return await((CompletableFuture<R>) joined);
+        }
+        try {
+            R response = request.send();
+            flight.complete(response);
+            return response;
+        } catch (Exception e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, E extends Exception> R await(CompletableFuture<R> flight) throws E {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the coalesced request.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // the flight failed with the checked exception of the request
+            throw (E) cause;
+        }
+    }
+
+    /**
+     * Request sent on the calling thread.
+     *
+     * @param <R> Response type
+     * @param <E> Checked exception of the request
+     */
+    @FunctionalInterface
+    public interface BlockingRequest<R, E extends Exception> {
+        R send() throws E;
+    }
+
+    /**
+     * Key identifying identical requests.
+     *
+     * @param connector     UUID of the connector, URL for connectors without UUID
+     * @param method        HTTP method
+     * @param path          Path of the request, template or expanded
+     * @param pathVariables Path variables sorted by name
+     * @param bodyHash      SHA-256 hash of the JSON serialized body, null for requests without body
+     * @param responseType  Type the response is converted to
+     * @param timeout       Timeout of the request, null for the default timeout of the client
+     * @param priority      Priority of the request, null for the default priority of the client
+     */
+    public record RequestKey(String connector, String method, String path, Map<String, String> pathVariables,
+                             String bodyHash, Class<?> responseType, Duration timeout, MessagePriority priority) {
+
+        /**
+         * Create the key of the request sent with the default timeout and priority of the client.
+         *
+         * @return Key of the request, null when the body cannot be serialized and the request must not be coalesced
+         */
+        public static RequestKey of(ApiClientConnectorInfo connector, String method, String path, Map<String, ?> pathVariables,
+                                    Object body, Class<?> responseType) {
+            return of(connector, method, path, pathVariables, body, responseType, null, null);
+        }
+
+        /**
+         * Create the key of the request.
+         *
+         * @param timeout  Timeout of the request, null for the default timeout of the client
+         * @param priority Priority of the request, null for the default priority of the client
+         * @return Key of the request, null when the body cannot be serialized and the request must not be coalesced
+         */
+        public static RequestKey of(ApiClientConnectorInfo connector, String method, String path, Map<String, ?> pathVariables,
+                                    Object body, Class<?> responseType, Duration timeout, MessagePriority priority) {
+            String bodyHash = null;
+            if (body != null) {
+                try {
+                    bodyHash = hash(BODY_MAPPER.writeValueAsBytes(body));
+                } catch (JsonProcessingException e) {
+                    logger.debug("Request body of type {} cannot be serialized, request is not coalesced: {}", body.getClass().getName(), e.getMessage());
+                    return null;
+                }
+            }
+            Map<String, String> variables = null;
+            if (pathVariables != null && !pathVariables.isEmpty()) {
+                variables = new TreeMap<>();
+                for (Map.Entry<String, ?> entry : pathVariables.entrySet()) {
+                    variables.put(entry.getKey(), String.valueOf(entry.getValue()));
+                }
+            }
+            String connectorKey = connector.getUuid() != null ? connector.getUuid() : connector.getUrl();
+            return new RequestKey(connectorKey, method, path, variables, bodyHash, responseType, timeout, priority);
+        }
+
+        private static String hash(byte[] body) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.exception.ValidationError;
+import com.czertainly.api.interfaces.client.v1.CryptographicOperationsAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.CryptographicOperationsSyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
@@ -11,18 +13,20 @@ import com.czertainly.api.model.connector.cryptography.operations.*;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
 
-public class CryptographicOperationsApiClient extends BaseApiClient implements CryptographicOperationsSyncApiClient {
+public class CryptographicOperationsApiClient extends BaseApiClient implements CryptographicOperationsSyncApiClient, CryptographicOperationsAsyncApiClient {
 
     private static final String CRYPTOP_BASE_CONTEXT = "/v1/cryptographyProvider/tokens/{uuid}/keys";
     private static final String CRYPTOP_ENCRYPT_CONTEXT = CRYPTOP_BASE_CONTEXT + "/{keyUuid}/encrypt";
     private static final String CRYPTOP_DECRYPT_CONTEXT = CRYPTOP_BASE_CONTEXT + "/{keyUuid}/decrypt";
     private static final String CRYPTOP_SIGN_CONTEXT = CRYPTOP_BASE_CONTEXT + "/{keyUuid}/sign";
     private static final String CRYPTOP_VERIFY_CONTEXT = CRYPTOP_BASE_CONTEXT + "/{keyUuid}/verify";
+    private static final String CRYPTOP_BATCH_CONTEXT = CRYPTOP_BASE_CONTEXT + "/batch";
     private static final String CRYPTOP_RANDOM_CONTEXT = CRYPTOP_BASE_CONTEXT + "/random";
     private static final String CRYPTOP_RANDOM_ATTRS_CONTEXT = CRYPTOP_RANDOM_CONTEXT + "/attributes";
     private static final String CRYPTOP_RANDOM_ATTRS_VALIDATE_CONTEXT = CRYPTOP_RANDOM_ATTRS_CONTEXT + "/validate";
@@ -37,99 +41,154 @@ public class CryptographicOperationsApiClient extends BaseApiClient implements C
 
     @Override
     public EncryptDataResponseDto encryptData(ApiClientConnectorInfo connector, String uuid, String keyUuid, CipherDataRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(encryptDataAsync(connector, uuid, keyUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<EncryptDataResponseDto> encryptDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, CipherDataRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_ENCRYPT_CONTEXT, uuid, keyUuid)
                 .body(Mono.just(requestDto), CipherDataRequestDto.class)
                 .retrieve()
-                .toEntity(EncryptDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(EncryptDataResponseDto.class),
                 connector);
     }
 
     @Override
     public DecryptDataResponseDto decryptData(ApiClientConnectorInfo connector, String uuid, String keyUuid, CipherDataRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(decryptDataAsync(connector, uuid, keyUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<DecryptDataResponseDto> decryptDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, CipherDataRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_DECRYPT_CONTEXT, uuid, keyUuid)
                 .body(Mono.just(requestDto), CipherDataRequestDto.class)
                 .retrieve()
-                .toEntity(DecryptDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(DecryptDataResponseDto.class),
                 connector);
     }
 
 
     @Override
     public SignDataResponseDto signData(ApiClientConnectorInfo connector, String uuid, String keyUuid, SignDataRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(signDataAsync(connector, uuid, keyUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<SignDataResponseDto> signDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, SignDataRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_SIGN_CONTEXT, uuid, keyUuid)
                 .body(Mono.just(requestDto), SignDataRequestDto.class)
                 .retrieve()
-                .toEntity(SignDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(SignDataResponseDto.class),
                 connector);
     }
 
     @Override
     public VerifyDataResponseDto verifyData(ApiClientConnectorInfo connector, String uuid, String keyUuid, VerifyDataRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(verifyDataAsync(connector, uuid, keyUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<VerifyDataResponseDto> verifyDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, VerifyDataRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_VERIFY_CONTEXT, uuid, keyUuid)
                 .body(Mono.just(requestDto), VerifyDataRequestDto.class)
                 .retrieve()
-                .toEntity(VerifyDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(VerifyDataResponseDto.class),
                 connector);
     }
 
+    @Override
+    public BatchOperationResponseDto batchOperations(ApiClientConnectorInfo connector, String uuid, BatchOperationRequestDto requestDto) throws ConnectorException {
+        return blockRequest(batchOperationsAsync(connector, uuid, requestDto));
+    }
+
+    @Override
+    public Mono<BatchOperationResponseDto> batchOperationsAsync(ApiClientConnectorInfo connector, String uuid, BatchOperationRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + CRYPTOP_BATCH_CONTEXT, uuid)
+                .body(Mono.just(requestDto), BatchOperationRequestDto.class)
+                .retrieve()
+                .bodyToMono(BatchOperationResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public Flux<BatchOperationResponseItemDto> pipelineOperations(ApiClientConnectorInfo connector, String uuid, Flux<BatchOperationRequestItemDto> operations, int maxInFlight) {
+        return operations.flatMap(operation -> executeOperation(connector, uuid, operation), maxInFlight);
+    }
+
+    private Mono<BatchOperationResponseItemDto> executeOperation(ApiClientConnectorInfo connector, String uuid, BatchOperationRequestItemDto operation) {
+        BatchOperationResponseItemDto result = new BatchOperationResponseItemDto();
+        result.setId(operation.getId());
+        result.setKeyUuid(operation.getKeyUuid());
+        result.setOperation(operation.getOperation());
+
+        // deferred so that an invalid item fails only its own result and not the whole pipeline
+        Mono<BatchOperationResponseItemDto> response = Mono.defer(() -> {
+            if (operation.getOperation() == null) {
+                return Mono.error(new ValidationException(ValidationError.create("Operation of batch item {} is not specified", operation.getId())));
+            }
+            return switch (operation.getOperation()) {
+                case ENCRYPT -> encryptDataAsync(connector, uuid, operation.getKeyUuid(), operation.getCipherRequest())
+                        .map(r -> { result.setEncryptResponse(r); return result; });
+                case DECRYPT -> decryptDataAsync(connector, uuid, operation.getKeyUuid(), operation.getCipherRequest())
+                        .map(r -> { result.setDecryptResponse(r); return result; });
+                case SIGN -> signDataAsync(connector, uuid, operation.getKeyUuid(), operation.getSignRequest())
+                        .map(r -> { result.setSignResponse(r); return result; });
+                case VERIFY -> verifyDataAsync(connector, uuid, operation.getKeyUuid(), operation.getVerifyRequest())
+                        .map(r -> { result.setVerifyResponse(r); return result; });
+            };
+        });
+        return response.onErrorResume(e -> {
+            result.setError(toProblemDetail(e));
+            return Mono.just(result);
+        });
+    }
+
     @Override
     public List<BaseAttribute> listRandomAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listRandomAttributesAsync(connector, uuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<BaseAttribute> listRandomAttributesAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_RANDOM_ATTRS_CONTEXT, uuid)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(BaseAttribute.class),
                 connector);
     }
 
     @Override
     public void validateRandomAttributes(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validateRandomAttributesAsync(connector, uuid, attributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validateRandomAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_RANDOM_ATTRS_VALIDATE_CONTEXT, uuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public RandomDataResponseDto randomData(ApiClientConnectorInfo connector, String uuid, RandomDataRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(randomDataAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<RandomDataResponseDto> randomDataAsync(ApiClientConnectorInfo connector, String uuid, RandomDataRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CRYPTOP_RANDOM_CONTEXT, uuid)
                 .body(Mono.just(requestDto), RandomDataRequestDto.class)
                 .retrieve()
-                .toEntity(RandomDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(RandomDataResponseDto.class),
                 connector);
     }
 
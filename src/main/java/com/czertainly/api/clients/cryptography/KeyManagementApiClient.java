@@ -4,21 +4,24 @@ import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.interfaces.client.v1.KeyManagementAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.KeyManagementSyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.connector.cryptography.key.CreateKeyRequestDto;
 import com.czertainly.api.model.connector.cryptography.key.KeyDataResponseDto;
 import com.czertainly.api.model.connector.cryptography.key.KeyPairDataResponseDto;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
 
-public class KeyManagementApiClient extends BaseApiClient implements KeyManagementSyncApiClient {
+public class KeyManagementApiClient extends BaseApiClient implements KeyManagementSyncApiClient, KeyManagementAsyncApiClient {
 
     private static final String KEY_BASE_CONTEXT = "/v1/cryptographyProvider/tokens/{uuid}/keys";
     private static final String KEY_CREATE_SECRET_KEY_CONTEXT = KEY_BASE_CONTEXT + "/secret";
@@ -40,122 +43,123 @@ public class KeyManagementApiClient extends BaseApiClient implements KeyManageme
 
     @Override
     public List<BaseAttribute> listCreateSecretKeyAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listCreateSecretKeyAttributesAsync(connector, uuid).collectList());
+    }
 
-        return processRequest(r -> r
-                .uri(connector.getUrl() + KEY_CREATE_SECRET_KEY_ATTRIBUTES_CONTEXT, uuid)
-                .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
-                connector);
+    @Override
+    public Flux<BaseAttribute> listCreateSecretKeyAttributesAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processAttributeDefinitionsRequest(connector, FunctionGroupCode.CRYPTOGRAPHY_PROVIDER, "secretKey", true, KEY_CREATE_SECRET_KEY_ATTRIBUTES_CONTEXT, uuid);
     }
 
     @Override
     public void validateCreateSecretKeyAttributes(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validateCreateSecretKeyAttributesAsync(connector, uuid, attributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validateCreateSecretKeyAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + KEY_CREATE_SECRET_KEY_ATTRIBUTES_VALIDATE_CONTEXT, uuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public KeyDataResponseDto createSecretKey(ApiClientConnectorInfo connector, String uuid, CreateKeyRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(createSecretKeyAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<KeyDataResponseDto> createSecretKeyAsync(ApiClientConnectorInfo connector, String uuid, CreateKeyRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + KEY_CREATE_SECRET_KEY_CONTEXT, uuid)
                 .body(Mono.just(requestDto), CreateKeyRequestDto.class)
                 .retrieve()
-                .toEntity(KeyDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(KeyDataResponseDto.class),
                 connector);
     }
 
     @Override
     public List<BaseAttribute> listCreateKeyPairAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + KEY_CREATE_KEY_PAIR_ATTRIBUTES_CONTEXT, uuid)
-                        .retrieve()
-                        .toEntityList(BaseAttribute.class)
-                        .block().getBody(),
-                request,
-                connector);
+        return blockRequest(listCreateKeyPairAttributesAsync(connector, uuid).collectList());
+    }
+
+    @Override
+    public Flux<BaseAttribute> listCreateKeyPairAttributesAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processAttributeDefinitionsRequest(connector, FunctionGroupCode.CRYPTOGRAPHY_PROVIDER, "keyPair", true, KEY_CREATE_KEY_PAIR_ATTRIBUTES_CONTEXT, uuid);
     }
 
     @Override
     public void validateCreateKeyPairAttributes(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
-
-        processRequest(r -> r
-                        .uri(connector.getUrl() + KEY_CREATE_KEY_PAIR_ATTRIBUTES_VALIDATE_CONTEXT, uuid)
-                        .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
-                        .retrieve()
-                        .toEntity(Void.class)
-                        .block().getBody(),
-                request,
+        blockRequest(validateCreateKeyPairAttributesAsync(connector, uuid, attributes));
+    }
+
+    @Override
+    public Mono<Void> validateCreateKeyPairAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + KEY_CREATE_KEY_PAIR_ATTRIBUTES_VALIDATE_CONTEXT, uuid)
+                .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
+                .retrieve()
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public KeyPairDataResponseDto createKeyPair(ApiClientConnectorInfo connector, String uuid, CreateKeyRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(createKeyPairAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<KeyPairDataResponseDto> createKeyPairAsync(ApiClientConnectorInfo connector, String uuid, CreateKeyRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + KEY_CREATE_KEY_PAIR_CONTEXT, uuid)
                 .body(Mono.just(requestDto), CreateKeyRequestDto.class)
                 .retrieve()
-                .toEntity(KeyPairDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(KeyPairDataResponseDto.class),
                 connector);
     }
 
     @Override
     public List<KeyDataResponseDto> listKeys(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listKeysAsync(connector, uuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<KeyDataResponseDto> listKeysAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + KEY_LIST_CONTEXT, uuid)
                 .retrieve()
-                .toEntityList(KeyDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(KeyDataResponseDto.class),
                 connector);
     }
 
     @Override
     public KeyDataResponseDto getKey(ApiClientConnectorInfo connector, String uuid, String keyUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getKeyAsync(connector, uuid, keyUuid));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<KeyDataResponseDto> getKeyAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + KEY_DETAILS_CONTEXT, uuid, keyUuid)
                 .retrieve()
-                .toEntity(KeyDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(KeyDataResponseDto.class),
                 connector);
     }
 
     @Override
     public void destroyKey(ApiClientConnectorInfo connector, String uuid, String keyUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
-
-        processRequest(r -> r
-                        .uri(connector.getUrl() + KEY_DETAILS_CONTEXT, uuid, keyUuid)
-                        .retrieve()
-                        .toEntity(Void.class)
-                        .block().getBody(),
-                request,
+        blockRequest(destroyKeyAsync(connector, uuid, keyUuid));
+    }
+
+    @Override
+    public Mono<Void> destroyKeyAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
+                .uri(connector.getUrl() + KEY_DETAILS_CONTEXT, uuid, keyUuid)
+                .retrieve()
+                .bodyToMono(Void.class),
                 connector);
     }
 
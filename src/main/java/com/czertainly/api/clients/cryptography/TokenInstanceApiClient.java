@@ -4,6 +4,7 @@ import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.interfaces.client.v1.TokenInstanceAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.TokenInstanceSyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
@@ -13,12 +14,13 @@ import com.czertainly.api.model.connector.cryptography.token.TokenInstanceStatus
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
 
-public class TokenInstanceApiClient extends BaseApiClient implements TokenInstanceSyncApiClient {
+public class TokenInstanceApiClient extends BaseApiClient implements TokenInstanceSyncApiClient, TokenInstanceAsyncApiClient {
 
     private static final String TOKEN_INSTANCE_BASE_CONTEXT = "/v1/cryptographyProvider/tokens";
     private static final String TOKEN_INSTANCE_IDENTIFIED_CONTEXT = TOKEN_INSTANCE_BASE_CONTEXT + "/{uuid}";
@@ -40,163 +42,175 @@ public class TokenInstanceApiClient extends BaseApiClient implements TokenInstan
 
     @Override
     public List<TokenInstanceDto> listTokenInstances(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listTokenInstancesAsync(connector).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<TokenInstanceDto> listTokenInstancesAsync(ApiClientConnectorInfo connector) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_BASE_CONTEXT)
                 .retrieve()
-                .toEntityList(TokenInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(TokenInstanceDto.class),
                 connector);
     }
 
     @Override
     public TokenInstanceDto getTokenInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getTokenInstanceAsync(connector, uuid));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<TokenInstanceDto> getTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(TokenInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(TokenInstanceDto.class),
                 connector);
     }
 
     @Override
     public TokenInstanceDto createTokenInstance(ApiClientConnectorInfo connector, TokenInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(createTokenInstanceAsync(connector, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<TokenInstanceDto> createTokenInstanceAsync(ApiClientConnectorInfo connector, TokenInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_BASE_CONTEXT)
                 .body(Mono.just(requestDto), TokenInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(TokenInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(TokenInstanceDto.class),
                 connector);
     }
 
 
     @Override
     public TokenInstanceDto updateTokenInstance(ApiClientConnectorInfo connector, String uuid, TokenInstanceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(updateTokenInstanceAsync(connector, uuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<TokenInstanceDto> updateTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid, TokenInstanceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .body(Mono.just(requestDto), TokenInstanceRequestDto.class)
                 .retrieve()
-                .toEntity(TokenInstanceDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(TokenInstanceDto.class),
                 connector);
     }
 
     @Override
     public void removeTokenInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.DELETE, connector, true);
+        blockRequest(removeTokenInstanceAsync(connector, uuid));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> removeTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.DELETE, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_IDENTIFIED_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public TokenInstanceStatusDto getTokenInstanceStatus(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(getTokenInstanceStatusAsync(connector, uuid));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<TokenInstanceStatusDto> getTokenInstanceStatusAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_STATUS_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(TokenInstanceStatusDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(TokenInstanceStatusDto.class),
                 connector);
     }
 
     @Override
     public List<BaseAttribute> listTokenProfileAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listTokenProfileAttributesAsync(connector, uuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<BaseAttribute> listTokenProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_PROFILE_ATTRS_CONTEXT, uuid)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(BaseAttribute.class),
                 connector);
     }
 
     @Override
     public void validateTokenProfileAttributes(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validateTokenProfileAttributesAsync(connector, uuid, attributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validateTokenProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_PROFILE_ATTRS_VALIDATE_CONTEXT, uuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public List<BaseAttribute> listTokenInstanceActivationAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listTokenInstanceActivationAttributesAsync(connector, uuid).collectList());
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Flux<BaseAttribute> listTokenInstanceActivationAttributesAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_ACTIVATE_ATTRS_CONTEXT, uuid)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToFlux(BaseAttribute.class),
                 connector);
     }
 
     @Override
     public void validateTokenInstanceActivationAttributes(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(validateTokenInstanceActivationAttributesAsync(connector, uuid, attributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> validateTokenInstanceActivationAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_ACTIVATE_ATTRS_VALIDATE_CONTEXT, uuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public void activateTokenInstance(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.PATCH, connector, true);
+        blockRequest(activateTokenInstanceAsync(connector, uuid, attributes));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> activateTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.PATCH, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_ACTIVATE_CONTEXT, uuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
     @Override
     public void deactivateTokenInstance(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.PATCH, connector, true);
+        blockRequest(deactivateTokenInstanceAsync(connector, uuid));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> deactivateTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.PATCH, connector, true)
                 .uri(connector.getUrl() + TOKEN_INSTANCE_DEACTIVATE_CONTEXT, uuid)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
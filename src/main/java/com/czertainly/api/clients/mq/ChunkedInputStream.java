@@ -0,0 +1,275 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.mq.model.MessageChunk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.TreeMap;
+
+/**
+ * Stream of a body reassembled from {@link MessageChunk}s as they are received.
+ *
+ * <p>Chunks are accepted by the thread receiving the messages and read by the consumer of the body. The sender
+ * may send at most the configured number of chunks ahead of the reader, the window is advanced by granting
+ * credits to the sender as the chunks are read, see {@link CreditGrant}. Accepting a chunk never waits, the transfer
+ * fails when the sender exceeds the window, so the memory used by the transfer is bounded regardless of the size
+ * of the body and a slow reader does not block the receiving thread. Chunks received out of order are buffered
+ * until the missing chunks arrive, duplicate chunks are ignored.</p>
+ *
+ * <p>The size and the checksum of the body are verified when the last chunk is read, the stream fails with
+ * {@link IOException} when they do not match, when the next chunk does not arrive in time or when the transfer
+ * is aborted.</p>
+ */
+public class ChunkedInputStream extends InputStream {
+
+    private final String transferId;
+
+    private final int maxBufferedChunks;
+
+    private final long idleTimeoutNanos;
+
+    private final CreditGrant creditGrant;
+
+    // number of read chunks after which the credits are granted
+    private final int grantThreshold;
+
+    private final MessageDigest digest = MessageChunker.createDigest();
+
+    // guarded by this
+    private final TreeMap<Integer, byte[]> chunks = new TreeMap<>();
+
+    // guarded by this
+    private int nextSequenceNumber;
+
+    // guarded by this
+    private MessageChunk lastChunk;
+
+    // guarded by this
+    private long readSize;
+
+    // guarded by this
+    private IOException failure;
+
+    // guarded by this
+    private boolean closed;
+
+    // accessed by reading thread only
+    private byte[] current;
+    private int position;
+    private boolean verified;
+    private int ungrantedChunks;
+
+    /**
+     * @param transferId        ID of the transfer, correlation ID of the messages
+     * @param maxBufferedChunks Maximum number of chunks received and not yet read, the initial credits of the sender
+     * @param idleTimeout       Maximum time the reader waits for the next chunk
+     * @param creditGrant       Grant of the credits for further chunks to the sender, called by the reading thread
+     */
+    public ChunkedInputStream(String transferId, int maxBufferedChunks, Duration idleTimeout, CreditGrant creditGrant) {
+        if (maxBufferedChunks < 1) {
+            throw new IllegalArgumentException("Maximum number of buffered chunks must be positive.");
+        }
+        this.transferId = transferId;
+        this.maxBufferedChunks = maxBufferedChunks;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.creditGrant = creditGrant;
+        this.grantThreshold = Math.max(1, maxBufferedChunks / 2);
+    }
+
+    public String getTransferId() {
+        return transferId;
+    }
+
+    /**
+     * Accept the received chunk without waiting.
+     *
+     * @param chunk Received chunk
+     * @return True when all chunks of the body were accepted
+     * @throws IOException When the buffer is full because the sender exceeded its credits, or the chunk does not belong to the transfer
+     */
+    public synchronized boolean accept(MessageChunk chunk) throws IOException {
+        if (closed || failure != null) {
+            return true;
+        }
+        int sequenceNumber = chunk.getSequenceNumber();
+        if (sequenceNumber < 0 || sequenceNumber >= chunk.getTotalChunks() || chunk.getData() == null) {
+            throw abort(new IOException("Invalid chunk %d of %d of transfer %s.".formatted(sequenceNumber, chunk.getTotalChunks(), transferId)));
+        }
+        if (lastChunk != null && (chunk.getTotalChunks() != lastChunk.getTotalChunks() || chunk.getTotalSize() != lastChunk.getTotalSize())) {
+            throw abort(new IOException("Chunk %d of transfer %s does not match the previous chunks.".formatted(sequenceNumber, transferId)));
+        }
+        if (sequenceNumber < nextSequenceNumber || chunks.containsKey(sequenceNumber)) {
+            return isComplete();
+        }
+        if (chunks.size() >= maxBufferedChunks) {
+            throw abort(new IOException("Chunk %d of transfer %s exceeds the %d chunks granted to the sender.".formatted(sequenceNumber, transferId, maxBufferedChunks)));
+        }
+        chunks.put(sequenceNumber, chunk.getData());
+        if (chunk.isLast() || lastChunk == null) {
+            lastChunk = chunk;
+        }
+        notifyAll();
+        return isComplete();
+    }
+
+    /**
+     * Abort the transfer, the reader fails with the exception.
+     *
+     * @param exception Cause of the failure
+     * @return The exception
+     */
+    public synchronized IOException abort(IOException exception) {
+        if (failure == null) {
+            failure = exception;
+            chunks.clear();
+            notifyAll();
+        }
+        return exception;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        int read = read(buffer, 0, 1);
+        return read < 0 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (current == null || position >= current.length) {
+            if (!nextChunk()) {
+                return -1;
+            }
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current != null ? current.length - position : 0;
+    }
+
+    /**
+     * Close the stream, the remaining chunks of the transfer are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        chunks.clear();
+        notifyAll();
+    }
+
+    private boolean nextChunk() throws IOException {
+        byte[] data;
+        synchronized (this) {
+            long deadline = System.nanoTime() + idleTimeoutNanos;
+            while (true) {
+                if (closed) {
+                    throw new IOException("Stream of transfer %s is closed.".formatted(transferId));
+                }
+                if (failure != null) {
+                    throw new IOException(failure.getMessage(), failure);
+                }
+                if (lastChunk != null && lastChunk.isLast() && nextSequenceNumber == lastChunk.getTotalChunks()) {
+                    verify();
+                    return false;
+                }
+                data = chunks.remove(nextSequenceNumber);
+                if (data != null) {
+                    nextSequenceNumber++;
+                    readSize += data.length;
+                    notifyAll();
+                    break;
+                }
+                long waitNanos = deadline - System.nanoTime();
+                if (waitNanos <= 0) {
+                    throw abort(new IOException("Chunk %d of transfer %s was not received in time.".formatted(nextSequenceNumber, transferId)));
+                }
+                awaitNanos(waitNanos);
+            }
+        }
+        digest.update(data);
+        current = data;
+        position = 0;
+        grantCredits();
+        return true;
+    }
+
+    /**
+     * Grant the credits for the read chunks to the sender once enough chunks were read, so the sender
+     * is not acknowledged for every chunk. Nothing is granted after the last chunk is read.
+     */
+    private void grantCredits() throws IOException {
+        ungrantedChunks++;
+        if (ungrantedChunks < grantThreshold || creditGrant == null) {
+            return;
+        }
+        synchronized (this) {
+            if (lastChunk != null && nextSequenceNumber >= lastChunk.getTotalChunks()) {
+                return;
+            }
+        }
+        int credits = ungrantedChunks;
+        ungrantedChunks = 0;
+        try {
+            creditGrant.grant(credits);
+        } catch (IOException e) {
+            throw abort(new IOException("Failed to grant credits of transfer %s: %s".formatted(transferId, e.getMessage()), e));
+        }
+    }
+
+    // must be called holding the lock
+    private void verify() throws IOException {
+        if (verified) {
+            return;
+        }
+        if (readSize != lastChunk.getTotalSize()) {
+            throw abort(new IOException("Size of transfer %s is %d bytes, expected %d bytes.".formatted(transferId, readSize, lastChunk.getTotalSize())));
+        }
+        if (lastChunk.getChecksum() != null) {
+            if (lastChunk.getChecksumAlgorithm() != null && !MessageChunker.CHECKSUM_ALGORITHM.equalsIgnoreCase(lastChunk.getChecksumAlgorithm())) {
+                throw abort(new IOException("Unsupported checksum algorithm %s of transfer %s.".formatted(lastChunk.getChecksumAlgorithm(), transferId)));
+            }
+            if (!MessageChunker.toChecksum(digest).equalsIgnoreCase(lastChunk.getChecksum())) {
+                throw abort(new IOException("Checksum of transfer %s does not match.".formatted(transferId)));
+            }
+        }
+        verified = true;
+    }
+
+    // must be called holding the lock
+    private boolean isComplete() {
+        return lastChunk != null && lastChunk.isLast() && nextSequenceNumber + chunks.size() == lastChunk.getTotalChunks();
+    }
+
+    // must be called holding the lock
+    private void awaitNanos(long nanos) throws IOException {
+        try {
+            wait(Math.max(1, nanos / 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw abort(new IOException("Interrupted while waiting for chunks of transfer %s.".formatted(transferId), e));
+        }
+    }
+
+    /**
+     * Grant of the credits for further chunks to the sender of the transfer.
+     */
+    @FunctionalInterface
+    public interface CreditGrant {
+
+        /**
+         * @param credits Number of chunks the sender may send in addition to the previous credits
+         * @throws IOException When the credits cannot be granted
+         */
+        void grant(int credits) throws IOException;
+    }
+}
@@ -0,0 +1,123 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.RequestCoalescer;
+import com.czertainly.api.exception.ConnectorException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ProxyClient} coalescing identical idempotent requests in flight, see {@link RequestCoalescer}.
+ *
+ * <p>Concurrent {@code GET} and {@code HEAD} requests with the same connector, path, path variables, body,
+ * response type, timeout and priority share a single request sent by the delegate client. Other requests are passed
+ * to the delegate unchanged.</p>
+ */
+public class CoalescingProxyClient implements ProxyClient {
+
+    private final ProxyClient delegate;
+
+    private final RequestCoalescer coalescer;
+
+    public CoalescingProxyClient(ProxyClient delegate) {
+        this(delegate, new RequestCoalescer());
+    }
+
+    /**
+     * @param delegate  Client sending the requests
+     * @param coalescer Coalescer of the requests, can be shared by multiple clients
+     */
+    public CoalescingProxyClient(ProxyClient delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    public RequestCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) throws ConnectorException {
+        return coalescer.coalesceBlocking(createKey(connector, path, method, null, body, responseType, null, null),
+                () -> delegate.sendRequest(connector, path, method, body, responseType));
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) throws ConnectorException {
+        return coalescer.coalesceBlocking(createKey(connector, path, method, null, body, responseType, timeout, null),
+                () -> delegate.sendRequest(connector, path, method, body, responseType, timeout));
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) throws ConnectorException {
+        return coalescer.coalesceBlocking(createKey(connector, path, method, null, body, responseType, null, priority),
+                () -> delegate.sendRequest(connector, path, method, body, responseType, priority));
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType) throws ConnectorException {
+        return coalescer.coalesceBlocking(createKey(connector, path, method, pathVariables, body, responseType, null, null),
+                () -> delegate.sendRequest(connector, path, method, pathVariables, body, responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) {
+        return coalescer.coalesceAsync(createKey(connector, path, method, null, body, responseType, null, null),
+                () -> delegate.sendRequestAsync(connector, path, method, body, responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) {
+        return coalescer.coalesceAsync(createKey(connector, path, method, null, body, responseType, null, priority),
+                () -> delegate.sendRequestAsync(connector, path, method, body, responseType, priority));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) {
+        return coalescer.coalesceAsync(createKey(connector, path, method, null, body, responseType, timeout, null),
+                () -> delegate.sendRequestAsync(connector, path, method, body, responseType, timeout));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout) {
+        return coalescer.coalesceAsync(createKey(connector, path, method, pathVariables, body, responseType, timeout, null),
+                () -> delegate.sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout, MessagePriority priority) {
+        return coalescer.coalesceAsync(createKey(connector, path, method, pathVariables, body, responseType, timeout, priority),
+                () -> delegate.sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout, priority));
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body) {
+        delegate.sendFireAndForget(connector, path, method, body);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType) {
+        delegate.sendFireAndForget(connector, path, method, body, messageType);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType, MessagePriority priority) {
+        delegate.sendFireAndForget(connector, path, method, body, messageType, priority);
+    }
+
+    /**
+     * Create the key of the request, null for requests that are not idempotent and must not be coalesced.
+     *
+     * @param timeout  Timeout of the request, null for the default timeout
+     * @param priority Priority of the request, null for the default priority
+     */
+    private static RequestCoalescer.RequestKey createKey(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<?> responseType,
+                                                         Duration timeout, MessagePriority priority) {
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            return null;
+        }
+        return RequestCoalescer.RequestKey.of(connector, method.toUpperCase(), path, pathVariables, body, responseType, timeout, priority);
+    }
+}
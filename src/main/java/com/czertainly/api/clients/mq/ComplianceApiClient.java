@@ -10,6 +10,7 @@ import com.czertainly.api.model.connector.compliance.ComplianceRulesResponseDto;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -71,4 +72,10 @@ public class ComplianceApiClient implements ComplianceSyncApiClient {
         String path = BASE_PATH + "/" + kind + "/compliance";
         return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, ComplianceResponseDto.class);
     }
+
+    // Async variant with priority, e.g. bulk for compliance checks of the inventory
+    public CompletableFuture<ComplianceResponseDto> checkComplianceAsync(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto, MessagePriority priority, Duration timeout) {
+        String path = BASE_PATH + "/" + kind + "/compliance";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, null, requestDto, ComplianceResponseDto.class, timeout, priority);
+    }
 }
@@ -0,0 +1,200 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.mq.model.CoreMessage;
+import com.czertainly.api.clients.mq.model.CoreMessageBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Client-side batcher packing {@link CoreMessage}s into {@link CoreMessageBatch}es, used by {@link ProxyClient}
+ * implementations that opt in to message batching.
+ *
+ * <p>Messages are collected per proxy and {@link MessagePriority}, so a batch never mixes the priorities
+ * and is published to the lane of its priority. A batch is sent when it reaches the maximum batch size,
+ * or when the linger time elapses since the first message was added to the batch, whichever comes first.
+ * Batches are sent by the provided sender on the thread that filled the batch or on the linger thread.
+ * Batches of a single message are sent as well, the proxy is expected to handle them the same way.</p>
+ */
+public class CoreMessageBatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoreMessageBatcher.class);
+
+    private final int maxBatchSize;
+
+    private final Duration linger;
+
+    private final BiConsumer<String, CoreMessageBatch> sender;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final boolean ownScheduler;
+
+    // guarded by this
+    private final Map<BatchKey, PendingBatch> pending = new HashMap<>();
+
+    // guarded by this
+    private boolean closed;
+
+    /**
+     * Create the batcher with its own linger thread.
+     *
+     * @param maxBatchSize Maximum number of messages in a batch
+     * @param linger       Maximum time a message waits for other messages before its batch is sent
+     * @param sender       Sender of the batches, accepts the proxy ID and the batch
+     */
+    public CoreMessageBatcher(int maxBatchSize, Duration linger, BiConsumer<String, CoreMessageBatch> sender) {
+        this(maxBatchSize, linger, sender, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "core-message-batcher");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * Create the batcher using the provided scheduler for the linger timeouts.
+     *
+     * @param maxBatchSize Maximum number of messages in a batch
+     * @param linger       Maximum time a message waits for other messages before its batch is sent
+     * @param sender       Sender of the batches, accepts the proxy ID and the batch
+     * @param scheduler    Scheduler of the linger timeouts, not shut down when the batcher is closed
+     */
+    public CoreMessageBatcher(int maxBatchSize, Duration linger, BiConsumer<String, CoreMessageBatch> sender, ScheduledExecutorService scheduler) {
+        this(maxBatchSize, linger, sender, scheduler, false);
+    }
+
+    private CoreMessageBatcher(int maxBatchSize, Duration linger, BiConsumer<String, CoreMessageBatch> sender, ScheduledExecutorService scheduler, boolean ownScheduler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive.");
+        }
+        if (linger == null || linger.isNegative()) {
+            throw new IllegalArgumentException("Linger time must not be negative.");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.linger = linger;
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.ownScheduler = ownScheduler;
+    }
+
+    /**
+     * Add the message to the batch of the proxy and the priority of the message. When the batch is full,
+     * it is sent before the method returns.
+     *
+     * @param proxyId ID of the proxy the message is sent to
+     * @param message Message to be sent
+     * @throws IllegalStateException When the batcher is closed
+     */
+    public void add(String proxyId, CoreMessage message) {
+        BatchKey key = new BatchKey(proxyId, MessagePriority.findByCode(message.getPriority()));
+        List<CoreMessage> ready = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Message batcher is closed.");
+            }
+            PendingBatch batch = pending.get(key);
+            if (batch == null) {
+                batch = new PendingBatch(maxBatchSize);
+                pending.put(key, batch);
+            }
+            batch.messages.add(message);
+            if (batch.messages.size() >= maxBatchSize || linger.isZero()) {
+                ready = remove(key);
+            } else if (batch.lingerTask == null) {
+                batch.lingerTask = scheduler.schedule(() -> flushOnLinger(key), linger.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (ready != null) {
+            send(key, ready);
+        }
+    }
+
+    /**
+     * Send the pending batches of all proxies immediately.
+     */
+    public void flush() {
+        Map<BatchKey, List<CoreMessage>> ready = new HashMap<>();
+        synchronized (this) {
+            for (BatchKey key : new ArrayList<>(pending.keySet())) {
+                ready.put(key, remove(key));
+            }
+        }
+        ready.forEach(this::send);
+    }
+
+    /**
+     * Get the number of messages waiting to be sent.
+     */
+    public synchronized int getPendingCount() {
+        return pending.values().stream().mapToInt(b -> b.messages.size()).sum();
+    }
+
+    /**
+     * Send the pending batches and stop accepting new messages.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        if (ownScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void flushOnLinger(BatchKey key) {
+        List<CoreMessage> ready;
+        synchronized (this) {
+            ready = remove(key);
+        }
+        if (ready != null) {
+            try {
+                send(key, ready);
+            } catch (RuntimeException e) {
+                logger.error("Failed to send batch of {} {} messages to proxy {}: {}", ready.size(), key.priority().getCode(), key.proxyId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void send(BatchKey key, List<CoreMessage> messages) {
+        sender.accept(key.proxyId(), CoreMessageBatch.of(messages, key.priority().getCode()));
+    }
+
+    // must be called holding the lock
+    private List<CoreMessage> remove(BatchKey key) {
+        PendingBatch batch = pending.remove(key);
+        if (batch == null) {
+            return null;
+        }
+        if (batch.lingerTask != null) {
+            batch.lingerTask.cancel(false);
+        }
+        return batch.messages;
+    }
+
+    private record BatchKey(String proxyId, MessagePriority priority) {
+    }
+
+    private static final class PendingBatch {
+
+        private final List<CoreMessage> messages;
+
+        private ScheduledFuture<?> lingerTask;
+
+        private PendingBatch(int maxBatchSize) {
+            this.messages = new ArrayList<>(Math.min(maxBatchSize, 64));
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.czertainly.api.clients.mq;
+
+/**
+ * Behavior of {@link DefaultProxyClient} when the proxy has no credits for another request in flight.
+ */
+public enum CreditExhaustedPolicy {
+
+    /**
+     * Request fails immediately with {@link com.czertainly.api.exception.ConnectorCommunicationException}.
+     */
+    REJECT,
+
+    /**
+     * Request waits without blocking the caller until a credit is released or the request times out.
+     */
+    WAIT
+
+}
@@ -48,6 +48,12 @@ public class CryptographicOperationsApiClient implements CryptographicOperations
         return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, VerifyDataResponseDto.class);
     }
 
+    @Override
+    public BatchOperationResponseDto batchOperations(ApiClientConnectorInfo connector, String uuid, BatchOperationRequestDto requestDto) throws ConnectorException {
+        String path = BASE_PATH + "/" + uuid + "/keys/batch";
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, BatchOperationResponseDto.class);
+    }
+
     @Override
     public List<BaseAttribute> listRandomAttributes(ApiClientConnectorInfo connector, String uuid) throws ConnectorException {
         String path = BASE_PATH + "/" + uuid + "/keys/random/attributes";
@@ -87,4 +93,9 @@ public class CryptographicOperationsApiClient implements CryptographicOperations
         String path = BASE_PATH + "/" + uuid + "/keys/" + keyUuid + "/verify";
         return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, VerifyDataResponseDto.class);
     }
+
+    public CompletableFuture<BatchOperationResponseDto> batchOperationsAsync(ApiClientConnectorInfo connector, String uuid, BatchOperationRequestDto requestDto) {
+        String path = BASE_PATH + "/" + uuid + "/keys/batch";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, BatchOperationResponseDto.class);
+    }
 }
@@ -0,0 +1,842 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.mq.model.ConnectorAuth;
+import com.czertainly.api.clients.mq.model.ConnectorRequest;
+import com.czertainly.api.clients.mq.model.ConnectorResponse;
+import com.czertainly.api.clients.mq.model.CoreMessage;
+import com.czertainly.api.clients.mq.model.CoreMessageBatch;
+import com.czertainly.api.clients.mq.model.MessageChunk;
+import com.czertainly.api.clients.mq.model.ProxyMessage;
+import com.czertainly.api.exception.*;
+import com.czertainly.api.model.client.attribute.ResponseAttribute;
+import com.czertainly.api.model.common.attribute.common.AttributeContent;
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reference implementation of {@link ProxyClient} on top of a {@link ProxyTransport}.
+ *
+ * <p>Requests waiting for a response are kept in a concurrent correlation table keyed by the correlation ID.
+ * The table does not lock on reads and locks only single bins on updates, so requests can be sent and
+ * responses completed from many threads at once. Timeouts of the requests are scheduled on
+ * a {@link HashedWheelTimer}, which keeps the cost of a timeout constant even with hundreds of thousands
+ * of requests in flight. Futures of the requests are completed on the thread delivering the response,
+ * or on the timer thread when the request times out, so dependent stages should not block.</p>
+ *
+ * <p>Requests in flight are limited per proxy by the credits the proxy advertises in its health check messages,
+ * see {@link ProxyCreditLimiter}. The in-flight and queued request counts are available from the limiter.
+ * Requests that had to wait for a credit are sent on the worker threads of the client, not on the thread
+ * that released the credit by completing another request.</p>
+ *
+ * <p>Requests are sent with a {@link MessagePriority} in the envelope, transports route them through the lane
+ * of the priority. Requests waiting for credits are dequeued by weighted fair queuing across the priorities,
+ * and so are the received responses when {@link ProxyClientSettings#getResponseDispatchThreads()} is set,
+ * so interactive requests are not stuck behind bulk traffic saturating the proxy.</p>
+ *
+ * <p>Messages are encoded in the {@link ProxyClientSettings#getContentEncoding()} when the proxy advertised support
+ * for it in its last health check message, in JSON otherwise. The negotiated encoding is set as the content
+ * encoding of every core message sent to the proxy, so the transport encodes the message and the proxy
+ * encodes the response in it.</p>
+ *
+ * <p>When {@link ProxyClientSettings#getMaxBatchSize()} is greater than 1, requests to the same proxy are packed
+ * into {@link CoreMessageBatch}es by a {@link CoreMessageBatcher} and sent by {@link ProxyTransport#sendBatch}.
+ * Responses received in batch messages are unpacked and correlated separately.</p>
+ *
+ * <p>Bodies that do not fit into a single message are transferred in chunks, see {@link MessageChunk}.
+ * Chunked request bodies are sent by {@link #sendStreamingRequestAsync}, chunked response bodies are reassembled
+ * into a {@link ChunkedInputStream} with bounded buffer. Requests grant the proxy credits for
+ * {@link ProxyClientSettings#getMaxBufferedChunks()} chunks of the response body, further credits are granted as
+ * the chunks are read, and a transfer whose proxy exceeds the credits fails instead of blocking the transport.
+ * Requests with {@link InputStream} response type
+ * receive the stream as soon as the first chunk arrives, responses of other types are read from the stream
+ * on a separate thread, so the whole body is never buffered as bytes.</p>
+ *
+ * <p>Sizes of the encoded messages reported by the transport are attributed to the requests by the correlation ID
+ * and passed to the {@link PayloadSizeListener}, see {@link com.czertainly.api.clients.ConnectorClientMetrics#bindProxyClient}.</p>
+ *
+ * <p>Connector errors received in the responses are mapped to the same exceptions as errors of the REST
+ * clients, timeouts and failures of the transport are reported as {@link ConnectorCommunicationException}.</p>
+ */
+public class DefaultProxyClient implements ProxyClient, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultProxyClient.class);
+
+    private static final Duration TIMER_TICK_DURATION = Duration.ofMillis(10);
+
+    private static final int TIMER_WHEEL_SIZE = 1024;
+
+    private static final int INITIAL_CORRELATION_TABLE_CAPACITY = 1024;
+
+    private final ProxyTransport transport;
+
+    private final ObjectMapper objectMapper;
+
+    private final ProxyClientSettings settings;
+
+    private final Duration defaultTimeout;
+
+    private final ProxyCreditLimiter creditLimiter;
+
+    private final Function<ApiClientConnectorInfo, ConnectorAuth> authResolver;
+
+    private final HashedWheelTimer timer;
+
+    private final WeightedFairExecutor responseDispatcher;
+
+    // null when requests are not batched
+    private final CoreMessageBatcher batcher;
+
+    private volatile PayloadSizeListener payloadSizeListener;
+
+    private final ConcurrentMap<String, PendingRequest<?>> pendingRequests = new ConcurrentHashMap<>(INITIAL_CORRELATION_TABLE_CAPACITY);
+
+    private final ConcurrentMap<String, ResponseTransfer> transfers = new ConcurrentHashMap<>();
+
+    // encodings negotiated with the proxies, JSON for proxies missing in the map
+    private final ConcurrentMap<String, MessageContentEncoding> contentEncodings = new ConcurrentHashMap<>();
+
+    // sends queued requests and chunked bodies, reads chunked response bodies
+    private final ExecutorService workerExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "proxy-client-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DefaultProxyClient(ProxyTransport transport) {
+        this(transport, ProxyClientSettings.builder().build());
+    }
+
+    public DefaultProxyClient(ProxyTransport transport, ProxyClientSettings settings) {
+        this(transport, new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), settings, DefaultProxyClient::resolveConnectorAuth);
+    }
+
+    /**
+     * Create the client and start receiving responses from the transport.
+     *
+     * @param transport    Transport of the messages
+     * @param objectMapper Object mapper converting the response bodies to the response types
+     * @param settings     Timeout and backpressure settings
+     * @param authResolver Resolver of the authentication of the connector forwarded to the proxy
+     */
+    public DefaultProxyClient(ProxyTransport transport, ObjectMapper objectMapper, ProxyClientSettings settings, Function<ApiClientConnectorInfo, ConnectorAuth> authResolver) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.defaultTimeout = settings.getDefaultTimeout();
+        this.authResolver = authResolver;
+        this.creditLimiter = new ProxyCreditLimiter(settings.getDefaultCredits(), settings.getMaxQueuedRequests(), settings.getPriorityWeights());
+        this.timer = new HashedWheelTimer(TIMER_TICK_DURATION, TIMER_WHEEL_SIZE, "proxy-client-timer");
+        this.responseDispatcher = settings.getResponseDispatchThreads() > 0
+                ? new WeightedFairExecutor(settings.getResponseDispatchThreads(), settings.getPriorityWeights(), "proxy-client-response")
+                : null;
+        this.batcher = settings.getMaxBatchSize() > 1
+                ? new CoreMessageBatcher(settings.getMaxBatchSize(), settings.getBatchLinger(), this::sendBatch)
+                : null;
+        transport.setMessageSizeListener(new ProxyTransport.MessageSizeListener() {
+            @Override
+            public void messageSent(String proxyId, String correlationId, long bytes) {
+                PayloadSizeListener listener = payloadSizeListener;
+                PendingRequest<?> pending = correlationId != null ? pendingRequests.get(correlationId) : null;
+                if (listener != null && pending != null) {
+                    listener.requestSent(pending.connector, pending.method, pending.path, bytes);
+                }
+            }
+
+            @Override
+            public void messageReceived(String proxyId, String correlationId, long bytes) {
+                PayloadSizeListener listener = payloadSizeListener;
+                PendingRequest<?> pending = findRequest(correlationId);
+                if (listener != null && pending != null) {
+                    listener.responseReceived(pending.connector, pending.method, pending.path, bytes);
+                }
+            }
+        });
+        transport.start(this::onMessage);
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) throws ConnectorException {
+        return await(sendRequestAsync(connector, path, method, null, body, responseType, defaultTimeout), connector);
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) throws ConnectorException {
+        return await(sendRequestAsync(connector, path, method, null, body, responseType, timeout), connector);
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) throws ConnectorException {
+        return await(sendRequestAsync(connector, path, method, null, body, responseType, defaultTimeout, priority), connector);
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType) throws ConnectorException {
+        return await(sendRequestAsync(connector, path, method, pathVariables, body, responseType, defaultTimeout), connector);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) {
+        return sendRequestAsync(connector, path, method, null, body, responseType, defaultTimeout);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) {
+        return sendRequestAsync(connector, path, method, null, body, responseType, defaultTimeout, priority);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) {
+        return sendRequestAsync(connector, path, method, null, body, responseType, timeout);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout) {
+        return sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout, settings.getDefaultPriority());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the proxy has no credits left, the request waits for a credit in the lane of its priority
+     * or fails according to the {@link CreditExhaustedPolicy} of the settings.</p>
+     */
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout, MessagePriority priority) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        String proxyId;
+        CoreMessage message;
+        try {
+            proxyId = getProxyId(connector);
+            message = createMessage(connector, path, method, pathVariables, body, timeout, toMessageType(method, path), priority);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        PendingRequest<T> pending = new PendingRequest<>(future, responseType, connector, method, path, priority);
+        send(proxyId, message, null, pending, timeout);
+        return future;
+    }
+
+    /**
+     * Send the request with the body read from the stream in chunks of {@link ProxyClientSettings#getChunkSize()} bytes.
+     * The body must be the JSON document of the request body. The chunks are sent on a separate thread once the request
+     * gets a credit of the proxy, the timeout covers sending of the whole body and receiving the response.
+     *
+     * @param connector     Connector to send the request to
+     * @param path          Path of the request
+     * @param method        HTTP method of the request
+     * @param pathVariables Path variables of the request
+     * @param body          Stream of the request body, closed when the body is sent or the request fails
+     * @param bodySize      Size of the request body in bytes
+     * @param responseType  Type of the response, {@link InputStream} to read the response body as stream
+     * @param timeout       Timeout of the request
+     * @param <T>           Type of the response
+     * @return CompletableFuture that completes with the response
+     */
+    public <T> CompletableFuture<T> sendStreamingRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, InputStream body, long bodySize, Class<T> responseType, Duration timeout) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        String proxyId;
+        CoreMessage message;
+        Iterator<MessageChunk> chunks;
+        try {
+            proxyId = getProxyId(connector);
+            message = createMessage(connector, path, method, pathVariables, null, timeout, toMessageType(method, path), settings.getDefaultPriority());
+            chunks = MessageChunker.split(body, bodySize, settings.getChunkSize());
+        } catch (RuntimeException e) {
+            closeQuietly(body);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        PendingRequest<T> pending = new PendingRequest<>(future, responseType, connector, method, path, settings.getDefaultPriority());
+        future.whenComplete((r, e) -> closeQuietly(body));
+        send(proxyId, message, chunks, pending, timeout);
+        return future;
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body) {
+        sendFireAndForget(connector, path, method, body, toMessageType(method, path));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Fire-and-forget requests consume a credit of the proxy until the response arrives or the default timeout
+     * elapses, so bursts of them cannot flood the proxy.</p>
+     *
+     * @throws RejectedExecutionException When the proxy has no credits left and the policy is {@link CreditExhaustedPolicy#REJECT}
+     */
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType) {
+        sendFireAndForget(connector, path, method, body, messageType, settings.getDefaultPriority());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws RejectedExecutionException When the proxy has no credits left and the policy is {@link CreditExhaustedPolicy#REJECT}
+     */
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType, MessagePriority priority) {
+        String proxyId = getProxyId(connector);
+        CoreMessage message = createMessage(connector, path, method, null, body, defaultTimeout, messageType, priority);
+        PendingRequest<Void> pending = new PendingRequest<>(new CompletableFuture<>(), Void.class, connector, method, path, priority);
+        pending.future.whenComplete((r, e) -> {
+            if (e != null) {
+                logger.debug("Fire-and-forget request {} to connector {} via proxy {} did not succeed: {}", messageType, connector.getName(), proxyId, e.getMessage());
+            }
+        });
+        CompletableFuture<Void> credit = send(proxyId, message, null, pending, defaultTimeout);
+        if (credit.isCompletedExceptionally() && !credit.isCancelled()) {
+            throw new RejectedExecutionException("No credits available for proxy %s, request %s to connector %s was rejected.".formatted(proxyId, messageType, connector.getName()));
+        }
+    }
+
+    /**
+     * Set the listener of the sizes of the encoded messages of the requests, reported when the transport supports it,
+     * see {@link ProxyTransport#setMessageSizeListener}.
+     *
+     * @param listener Listener of the payload sizes, null to stop reporting the sizes
+     */
+    public void setPayloadSizeListener(PayloadSizeListener listener) {
+        this.payloadSizeListener = listener;
+    }
+
+    /**
+     * Get the encoding of the messages negotiated with the proxy.
+     *
+     * @param proxyId ID of the proxy
+     * @return Encoding supported by the proxy, JSON until the proxy sends its health check message
+     */
+    public MessageContentEncoding getContentEncoding(String proxyId) {
+        return contentEncodings.getOrDefault(proxyId, MessageContentEncoding.JSON);
+    }
+
+    /**
+     * Get the limiter of the requests in flight per proxy with the in-flight and queued request counts.
+     */
+    public ProxyCreditLimiter getCreditLimiter() {
+        return creditLimiter;
+    }
+
+    /**
+     * Get the number of requests waiting for a response.
+     */
+    public int getPendingCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Stop the client. Requests waiting for a response are completed with {@link ConnectorCommunicationException},
+     * transfers of chunked responses are aborted.
+     */
+    @Override
+    public void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        transport.close();
+        timer.close();
+        if (responseDispatcher != null) {
+            responseDispatcher.close();
+        }
+        workerExecutor.shutdownNow();
+        for (ChunkedInputStream stream : transfers.values()) {
+            stream.abort(new IOException("Proxy client was closed before the response body was received."));
+        }
+        transfers.clear();
+        for (String correlationId : pendingRequests.keySet()) {
+            PendingRequest<?> pending = pendingRequests.remove(correlationId);
+            if (pending != null) {
+                pending.future.completeExceptionally(new ConnectorCommunicationException("Proxy client was closed before response was received.", pending.connector));
+            }
+        }
+    }
+
+    private void onMessage(ProxyMessage message) {
+        if (message.isBatch()) {
+            if (message.getMessages() != null) {
+                message.getMessages().forEach(this::onMessage);
+            }
+            return;
+        }
+        if (message.isHealthCheck()) {
+            creditLimiter.updateCredits(message.getProxyId(), message.getCredits());
+            contentEncodings.put(message.getProxyId(), MessageCodec.negotiate(settings.getContentEncoding(), message.getContentEncodings()));
+            return;
+        }
+        String correlationId = message.getCorrelationId();
+        if (correlationId == null || correlationId.isEmpty()) {
+            logger.debug("Ignoring proxy message {} without correlation ID from proxy {}", message.getMessageType(), message.getProxyId());
+            return;
+        }
+        if (message.getChunk() != null) {
+            onChunk(message);
+            return;
+        }
+        if (responseDispatcher == null) {
+            onResponse(message);
+            return;
+        }
+        PendingRequest<?> waiting = pendingRequests.get(correlationId);
+        MessagePriority priority = waiting != null ? waiting.priority : MessagePriority.findByCode(message.getPriority());
+        try {
+            responseDispatcher.execute(priority, () -> onResponse(message));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Ignoring response {} to request {} received after the client was closed", message.getMessageType(), correlationId);
+        }
+    }
+
+    private void onResponse(ProxyMessage message) {
+        String correlationId = message.getCorrelationId();
+        PendingRequest<?> pending = pendingRequests.remove(correlationId);
+        if (pending == null) {
+            logger.debug("Ignoring response {} to unknown or timed out request {}", message.getMessageType(), correlationId);
+            return;
+        }
+        if (pending.timeout != null) {
+            pending.timeout.cancel();
+        }
+        complete(pending, message.getConnectorResponse());
+    }
+
+    /**
+     * Pass the chunk of the response body to the stream of the transfer. The stream is created and the request
+     * is completed when the first received chunk of the transfer arrives. Does not wait, the transfer fails
+     * when the proxy sent more chunks than it was granted.
+     */
+    private void onChunk(ProxyMessage message) {
+        String correlationId = message.getCorrelationId();
+        ResponseTransfer stream = transfers.get(correlationId);
+        if (stream == null) {
+            PendingRequest<?> pending = pendingRequests.remove(correlationId);
+            if (pending == null) {
+                logger.debug("Ignoring chunk {} of response to unknown, completed or timed out request {}", message.getChunk().getSequenceNumber(), correlationId);
+                return;
+            }
+            if (pending.timeout != null) {
+                pending.timeout.cancel();
+            }
+            ConnectorResponse response = message.getConnectorResponse();
+            if (response != null && !response.isSuccess()) {
+                pending.future.completeExceptionally(mapErrorResponse(response, pending.connector));
+                return;
+            }
+            String proxyId = message.getProxyId();
+            String messageType = message.getMessageType();
+            MessagePriority priority = pending.priority;
+            stream = new ResponseTransfer(correlationId, pending, credits -> transport.send(proxyId, CoreMessage.builder()
+                    .correlationId(correlationId)
+                    .messageType(messageType)
+                    .timestamp(Instant.now())
+                    .priority(priority.getCode())
+                    .contentEncoding(getContentEncoding(proxyId).getCode())
+                    .chunkCredits(credits)
+                    .build()));
+            transfers.put(correlationId, stream);
+            completeWithStream(pending, stream);
+        }
+        try {
+            if (stream.accept(message.getChunk())) {
+                transfers.remove(correlationId, stream);
+            }
+        } catch (IOException e) {
+            transfers.remove(correlationId, stream);
+            logger.debug("Transfer of response body of request {} failed: {}", correlationId, e.getMessage());
+        }
+    }
+
+    private <T> void completeWithStream(PendingRequest<T> pending, ChunkedInputStream stream) {
+        if (pending.responseType == InputStream.class) {
+            pending.future.complete(pending.responseType.cast(stream));
+            return;
+        }
+        try {
+            workerExecutor.execute(() -> {
+                try (stream) {
+                    T body = pending.responseType == null || pending.responseType == Void.class
+                            ? null
+                            : objectMapper.readValue(stream, pending.responseType);
+                    pending.future.complete(body);
+                } catch (IOException e) {
+                    pending.future.completeExceptionally(new ConnectorCommunicationException(
+                            "Failed to read response body of connector %s: %s".formatted(pending.connector.getName(), e.getMessage()), e, pending.connector));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stream.close();
+            pending.future.completeExceptionally(new ConnectorCommunicationException("Proxy client was closed before response was received.", pending.connector));
+        }
+    }
+
+    /**
+     * Find the request waiting for the response or receiving the chunked response body.
+     */
+    private PendingRequest<?> findRequest(String correlationId) {
+        if (correlationId == null) {
+            return null;
+        }
+        PendingRequest<?> pending = pendingRequests.get(correlationId);
+        if (pending != null) {
+            return pending;
+        }
+        ResponseTransfer transfer = transfers.get(correlationId);
+        return transfer != null ? transfer.request : null;
+    }
+
+    private void onTimeout(String correlationId, Duration timeout) {
+        PendingRequest<?> pending = pendingRequests.remove(correlationId);
+        if (pending != null) {
+            pending.future.completeExceptionally(new ConnectorCommunicationException(
+                    "Request %s to connector %s timed out after %d ms.".formatted(correlationId, pending.connector.getName(), timeout.toMillis()), pending.connector));
+        }
+    }
+
+    private <T> void complete(PendingRequest<T> pending, ConnectorResponse response) {
+        try {
+            if (response == null) {
+                throw new ConnectorCommunicationException("Proxy message does not contain connector response.", pending.connector);
+            }
+            if (!response.isSuccess()) {
+                throw mapErrorResponse(response, pending.connector);
+            }
+            pending.future.complete(convertBody(response.getBody(), pending.responseType));
+        } catch (Exception e) {
+            pending.future.completeExceptionally(e);
+        }
+    }
+
+    private <T> T convertBody(Object body, Class<T> responseType) throws IOException {
+        if (body == null || responseType == null || responseType == Void.class) {
+            return null;
+        }
+        if (responseType.isInstance(body)) {
+            return responseType.cast(body);
+        }
+        if (responseType == InputStream.class) {
+            return responseType.cast(new ByteArrayInputStream(objectMapper.writeValueAsBytes(body)));
+        }
+        return objectMapper.convertValue(body, responseType);
+    }
+
+    private Exception mapErrorResponse(ConnectorResponse response, ApiClientConnectorInfo connector) {
+        int statusCode = response.getStatusCode();
+        String message = response.hasError() ? response.getError() : String.valueOf(response.getBody());
+        if (statusCode == 0) {
+            return new ConnectorCommunicationException("Error in connector %s communication via proxy: %s".formatted(connector.getName(), message), connector);
+        }
+
+        ConnectorException exception;
+        if (isProblemDetail(response)) {
+            try {
+                exception = new ConnectorProblemException(objectMapper.convertValue(response.getBody(), ProblemDetailExtended.class));
+            } catch (IllegalArgumentException e) {
+                logger.debug("Failed to read problem detail of the connector response: {}", e.getMessage());
+                exception = new ConnectorServerException(message, HttpStatus.valueOf(statusCode));
+            }
+        } else if (statusCode == HttpStatus.UNPROCESSABLE_ENTITY.value() && response.getBody() instanceof List<?> errors) {
+            return new ValidationException(errors.stream().map(e -> ValidationError.create(String.valueOf(e))).toList());
+        } else if (statusCode == HttpStatus.NOT_FOUND.value()) {
+            exception = new ConnectorEntityNotFoundException(message);
+        } else if (statusCode >= 400 && statusCode < 500) {
+            exception = new ConnectorClientException(message, HttpStatus.valueOf(statusCode));
+        } else {
+            HttpStatus status = HttpStatus.resolve(statusCode);
+            exception = new ConnectorServerException(message, status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        exception.setConnector(connector);
+        return exception;
+    }
+
+    private static boolean isProblemDetail(ConnectorResponse response) {
+        if (response.getHeaders() == null) {
+            return false;
+        }
+        return response.getHeaders().entrySet().stream()
+                .anyMatch(h -> h.getKey().equalsIgnoreCase("Content-Type") && h.getValue() != null
+                        && h.getValue().toLowerCase().contains(MediaType.APPLICATION_PROBLEM_JSON_VALUE));
+    }
+
+    /**
+     * Register the request in the correlation table, acquire a credit of the proxy and send the request.
+     * The request times out after the timeout even when it is still waiting for the credit.
+     *
+     * @param chunks Chunks of the request body sent after the request, null when the body is in the request
+     * @return Credit of the request
+     */
+    private CompletableFuture<Void> send(String proxyId, CoreMessage message, Iterator<MessageChunk> chunks, PendingRequest<?> pending, Duration timeout) {
+        String correlationId = message.getCorrelationId();
+        pendingRequests.put(correlationId, pending);
+        pending.timeout = timer.schedule(() -> onTimeout(correlationId, timeout), timeout);
+
+        CompletableFuture<Void> credit = creditLimiter.acquire(proxyId, settings.getCreditExhaustedPolicy(), pending.priority);
+        // credit is released when the request completes, or is removed from the queue when the request completes before it gets the credit
+        pending.future.whenComplete((r, e) -> {
+            if (!credit.cancel(false) && !credit.isCompletedExceptionally()) {
+                creditLimiter.release(proxyId);
+            }
+        });
+        BiConsumer<Void, Throwable> onCredit = (v, e) -> {
+            if (e instanceof CancellationException) {
+                return;
+            }
+            if (e != null) {
+                fail(correlationId, pending, new ConnectorCommunicationException("Request to connector %s rejected: %s".formatted(pending.connector.getName(), e.getMessage()), e, pending.connector));
+                return;
+            }
+            if (chunks == null) {
+                sendMessage(proxyId, message, pending);
+                return;
+            }
+            try {
+                workerExecutor.execute(() -> sendChunks(proxyId, message, chunks, pending));
+            } catch (RejectedExecutionException ex) {
+                fail(correlationId, pending, new ConnectorCommunicationException("Proxy client was closed before request was sent.", pending.connector));
+            }
+        };
+        if (credit.isDone()) {
+            credit.whenComplete(onCredit);
+        } else {
+            // credit is granted by the thread completing another request of the proxy, e.g. the transport consumer or the timer
+            credit.whenCompleteAsync(onCredit, workerExecutor);
+        }
+        return credit;
+    }
+
+    private void sendChunks(String proxyId, CoreMessage message, Iterator<MessageChunk> chunks, PendingRequest<?> pending) {
+        CoreMessage chunkMessage = message;
+        try {
+            while (chunks.hasNext() && !pending.future.isDone()) {
+                if (chunkMessage == null) {
+                    chunkMessage = CoreMessage.builder()
+                            .correlationId(message.getCorrelationId())
+                            .messageType(message.getMessageType())
+                            .timestamp(Instant.now())
+                            .priority(message.getPriority())
+                            .build();
+                }
+                chunkMessage.setChunk(chunks.next());
+                if (!sendMessage(proxyId, chunkMessage, pending)) {
+                    return;
+                }
+                chunkMessage = null;
+            }
+        } catch (UncheckedIOException e) {
+            fail(message.getCorrelationId(), pending, new ConnectorCommunicationException("Failed to read request body for connector %s: %s".formatted(pending.connector.getName(), e.getMessage()), e, pending.connector));
+        }
+    }
+
+    private boolean sendMessage(String proxyId, CoreMessage message, PendingRequest<?> pending) {
+        message.setContentEncoding(getContentEncoding(proxyId).getCode());
+        try {
+            // chunks of the body are sent separately, they must not be delayed or reordered with other chunks
+            if (batcher != null && message.getChunk() == null) {
+                batcher.add(proxyId, message);
+            } else {
+                transport.send(proxyId, message);
+            }
+            return true;
+        } catch (Exception e) {
+            fail(message.getCorrelationId(), pending, new ConnectorCommunicationException("Failed to send request to connector %s via proxy %s: %s".formatted(pending.connector.getName(), proxyId, e.getMessage()), e, pending.connector));
+            return false;
+        }
+    }
+
+    private void sendBatch(String proxyId, CoreMessageBatch batch) {
+        try {
+            transport.sendBatch(proxyId, batch);
+        } catch (Exception e) {
+            for (CoreMessage message : batch.getMessages()) {
+                PendingRequest<?> pending = pendingRequests.get(message.getCorrelationId());
+                if (pending != null) {
+                    fail(message.getCorrelationId(), pending, new ConnectorCommunicationException("Failed to send request to connector %s via proxy %s: %s".formatted(pending.connector.getName(), proxyId, e.getMessage()), e, pending.connector));
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close request body stream: {}", e.getMessage());
+        }
+    }
+
+    private void fail(String correlationId, PendingRequest<?> pending, Exception exception) {
+        if (pendingRequests.remove(correlationId, pending)) {
+            pending.timeout.cancel();
+            pending.future.completeExceptionally(exception);
+        }
+    }
+
+    private CoreMessage createMessage(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Duration timeout, String messageType, MessagePriority priority) {
+        return CoreMessage.builder()
+                .correlationId(UUID.randomUUID().toString())
+                .messageType(messageType)
+                .timestamp(Instant.now())
+                .priority(priority.getCode())
+                .connectorRequest(ConnectorRequest.builder()
+                        .connectorUrl(connector.getUrl())
+                        .method(method)
+                        .path(path)
+                        .connectorAuth(authResolver.apply(connector))
+                        .pathVariables(pathVariables)
+                        .body(body)
+                        .timeout(timeout.toMillis() + "ms")
+                        .build())
+                .chunkCredits(settings.getMaxBufferedChunks())
+                .build();
+    }
+
+    private static <T> T await(CompletableFuture<T> future, ApiClientConnectorInfo connector) throws ConnectorException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorCommunicationException("Interrupted while waiting for response of connector %s.".formatted(connector.getName()), e, connector);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectorException ce) {
+                throw ce;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new ConnectorException(cause.getMessage(), cause, connector);
+        }
+    }
+
+    private static String getProxyId(ApiClientConnectorInfo connector) {
+        if (connector.getProxy() == null || connector.getProxy().getCode() == null) {
+            throw new IllegalArgumentException("Connector %s is not connected through proxy.".formatted(connector.getName()));
+        }
+        return connector.getProxy().getCode();
+    }
+
+    /**
+     * Create the message type from the request, e.g. {@code GET.v1.health} for {@code GET /v1/health}.
+     */
+    static String toMessageType(String method, String path) {
+        StringBuilder messageType = new StringBuilder(method);
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                messageType.append('.').append(segment.replace("{", "").replace("}", ""));
+            }
+        }
+        return messageType.toString();
+    }
+
+    /**
+     * Default resolver of the connector authentication, passes the data of the authentication attributes by name.
+     */
+    public static ConnectorAuth resolveConnectorAuth(ApiClientConnectorInfo connector) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (connector.getAuthAttributes() != null) {
+            for (ResponseAttribute attribute : connector.getAuthAttributes()) {
+                List<? extends AttributeContent> content = attribute.getContent();
+                if (content != null && !content.isEmpty()) {
+                    attributes.put(attribute.getName(), content.get(0).getData());
+                }
+            }
+        }
+        String type = connector.getAuthType() != null ? connector.getAuthType().name() : "NONE";
+        return ConnectorAuth.builder().type(type).attributes(attributes).build();
+    }
+
+    /**
+     * Listener of the sizes of the encoded messages exchanged with the proxies for the requests. Each message
+     * is reported separately, so the bodies transferred in chunks are reported per chunk.
+     */
+    public interface PayloadSizeListener {
+
+        /**
+         * @param connector Connector the request was sent to
+         * @param method    HTTP method of the request
+         * @param path      Path template of the request
+         * @param bytes     Size of the sent message in bytes
+         */
+        void requestSent(ApiClientConnectorInfo connector, String method, String path, long bytes);
+
+        /**
+         * @param connector Connector the request was sent to
+         * @param method    HTTP method of the request
+         * @param path      Path template of the request
+         * @param bytes     Size of the received message in bytes
+         */
+        void responseReceived(ApiClientConnectorInfo connector, String method, String path, long bytes);
+    }
+
+    private static final class PendingRequest<T> {
+
+        private final CompletableFuture<T> future;
+
+        private final Class<T> responseType;
+
+        private final ApiClientConnectorInfo connector;
+
+        private final String method;
+
+        private final String path;
+
+        private final MessagePriority priority;
+
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private PendingRequest(CompletableFuture<T> future, Class<T> responseType, ApiClientConnectorInfo connector, String method, String path, MessagePriority priority) {
+            this.future = future;
+            this.responseType = responseType;
+            this.connector = connector;
+            this.method = method;
+            this.path = path;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Stream of the chunked response body of the request, removed from the transfers when closed.
+     */
+    private final class ResponseTransfer extends ChunkedInputStream {
+
+        private final PendingRequest<?> request;
+
+        private ResponseTransfer(String correlationId, PendingRequest<?> request, CreditGrant creditGrant) {
+            super(correlationId, settings.getMaxBufferedChunks(), settings.getChunkIdleTimeout(), creditGrant);
+            this.request = request;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            transfers.remove(getTransferId(), this);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.ConnectorRequestGuard;
+import com.czertainly.api.exception.ConnectorException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ProxyClient} guarding the requests by the circuit breaker and the adaptive concurrency limit
+ * of the connector, see {@link ConnectorRequestGuard}.
+ *
+ * <p>Requests to a connector with open circuit fail fast with {@link com.czertainly.api.exception.ConnectorCommunicationException}
+ * without being sent to the proxy, requests exceeding the concurrency limit of the connector wait for a permit.
+ * Fire-and-forget messages have no response to be measured and are passed to the delegate unchanged.</p>
+ */
+public class GuardedProxyClient implements ProxyClient {
+
+    private final ProxyClient delegate;
+
+    private final ConnectorRequestGuard guard;
+
+    public GuardedProxyClient(ProxyClient delegate) {
+        this(delegate, new ConnectorRequestGuard());
+    }
+
+    /**
+     * @param delegate Client sending the requests
+     * @param guard    Guard of the requests, can be shared with the REST clients, so both transports share the circuit and the limit of the connector
+     */
+    public GuardedProxyClient(ProxyClient delegate, ConnectorRequestGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    public ConnectorRequestGuard getGuard() {
+        return guard;
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) throws ConnectorException {
+        ConnectorRequestGuard.Permit permit = guard.acquire(connector);
+        try {
+            T response = delegate.sendRequest(connector, path, method, body, responseType);
+            permit.complete(null);
+            return response;
+        } catch (ConnectorException | RuntimeException e) {
+            permit.complete(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) throws ConnectorException {
+        ConnectorRequestGuard.Permit permit = guard.acquire(connector);
+        try {
+            T response = delegate.sendRequest(connector, path, method, body, responseType, timeout);
+            permit.complete(null);
+            return response;
+        } catch (ConnectorException | RuntimeException e) {
+            permit.complete(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) throws ConnectorException {
+        ConnectorRequestGuard.Permit permit = guard.acquire(connector);
+        try {
+            T response = delegate.sendRequest(connector, path, method, body, responseType, priority);
+            permit.complete(null);
+            return response;
+        } catch (ConnectorException | RuntimeException e) {
+            permit.complete(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType) throws ConnectorException {
+        ConnectorRequestGuard.Permit permit = guard.acquire(connector);
+        try {
+            T response = delegate.sendRequest(connector, path, method, pathVariables, body, responseType);
+            permit.complete(null);
+            return response;
+        } catch (ConnectorException | RuntimeException e) {
+            permit.complete(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) {
+        return guard.guardAsync(() -> delegate.sendRequestAsync(connector, path, method, body, responseType), connector);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) {
+        return guard.guardAsync(() -> delegate.sendRequestAsync(connector, path, method, body, responseType, priority), connector);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) {
+        return guard.guardAsync(() -> delegate.sendRequestAsync(connector, path, method, body, responseType, timeout), connector);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout) {
+        return guard.guardAsync(() -> delegate.sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout), connector);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout, MessagePriority priority) {
+        return guard.guardAsync(() -> delegate.sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout, priority), connector);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body) {
+        delegate.sendFireAndForget(connector, path, method, body);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType) {
+        delegate.sendFireAndForget(connector, path, method, body, messageType);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType, MessagePriority priority) {
+        delegate.sendFireAndForget(connector, path, method, body, messageType, priority);
+    }
+}
@@ -0,0 +1,283 @@
+package com.czertainly.api.clients.mq;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer for large numbers of short-lived timeouts, such as timeouts of requests waiting for a response.
+ *
+ * <p>Timeouts are kept in a wheel of buckets, each bucket covering one tick. Scheduling and cancelling
+ * a timeout is a constant-time, lock-free operation. The timeouts are moved to and removed from the wheel
+ * by a single worker thread once per tick, so the tasks expire with the precision of the tick duration.
+ * Expired tasks are executed on the worker thread and must not block.</p>
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Queue<Timeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final long startTime;
+
+    private final Thread worker;
+
+    private volatile boolean stopped;
+
+    // accessed by worker thread only
+    private long tick;
+
+    /**
+     * Create and start the timer.
+     *
+     * @param tickDuration Duration of one tick, precision of the timeouts
+     * @param wheelSize    Number of buckets of the wheel, rounded up to power of two
+     * @param threadName   Name of the worker thread
+     */
+    public HashedWheelTimer(Duration tickDuration, int wheelSize, String threadName) {
+        if (tickDuration.toNanos() <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30.");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedule the task to be executed after the delay.
+     *
+     * @param task  Task executed on the timer thread when the timeout expires
+     * @param delay Delay after which the timeout expires
+     * @return Timeout that can be cancelled
+     * @throws IllegalStateException When the timer is stopped
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (stopped) {
+            throw new IllegalStateException("Timer is stopped.");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(delay.toNanos(), 0);
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingCount.incrementAndGet();
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Get the number of timeouts that are scheduled and not yet expired or cancelled.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stop the timer. Pending timeouts are not executed.
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        if (Thread.currentThread() != worker) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (!stopped) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos;
+            while (!stopped && (sleepNanos = deadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (stopped) {
+                break;
+            }
+            removeCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduledTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // timeouts that should have already expired are expired in the current tick
+            wheel[(int) (Math.max(expirationTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Scheduled timeout of a task.
+     */
+    public static final class Timeout {
+
+        private static final int STATE_SCHEDULED = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private final AtomicInteger state = new AtomicInteger(STATE_SCHEDULED);
+
+        // accessed by worker thread only
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout previous;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout, the task is not executed.
+         *
+         * @return True when the timeout was cancelled, false when it was already expired or cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_SCHEDULED, STATE_CANCELLED)) {
+                return false;
+            }
+            timer.pendingCount.decrementAndGet();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_SCHEDULED, STATE_EXPIRED)) {
+                return;
+            }
+            timer.pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Timeout task failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts expiring in the same tick of the wheel.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
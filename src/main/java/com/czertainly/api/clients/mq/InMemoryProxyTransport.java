@@ -0,0 +1,211 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.mq.model.ConnectorResponse;
+import com.czertainly.api.clients.mq.model.CoreMessage;
+import com.czertainly.api.clients.mq.model.CoreMessageBatch;
+import com.czertainly.api.clients.mq.model.ProxyMessage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+/**
+ * Transport that passes the messages to an in-memory stand-in of the proxy instead of a message broker.
+ * Used to test and benchmark {@link ProxyClient} implementations without a running broker and proxy.
+ *
+ * <p>The handler simulates the proxy and the connector, it gets the core message and returns the connector
+ * response. When the handler returns null, no response is sent, which simulates a lost message.
+ * Handlers are executed by the executor, responses are delivered on the thread of the handler.
+ * Responses to the messages of a batch are delivered together in a batch proxy message.</p>
+ *
+ * <p>When the transport has a {@link MessageCodec}, the messages are encoded and decoded as they would be by a message
+ * broker transport, in the content encoding of the core message, and the proxy responds in the same encoding.
+ * The sizes of the encoded messages are reported to the {@link MessageSizeListener}.
+ * Without codec the message objects are passed as they are.</p>
+ */
+public class InMemoryProxyTransport implements ProxyTransport {
+
+    private final Function<CoreMessage, ConnectorResponse> handler;
+
+    private final Executor executor;
+
+    // null when the messages are not encoded
+    private final MessageCodec codec;
+
+    private final AtomicLong sentCount = new AtomicLong();
+
+    private final AtomicLong sentBatchCount = new AtomicLong();
+
+    private volatile Consumer<ProxyMessage> consumer;
+
+    private volatile MessageSizeListener sizeListener;
+
+    /**
+     * Create the transport.
+     *
+     * @param handler  Handler of the messages simulating the proxy
+     * @param executor Executor the handler is executed by, e.g. {@code Runnable::run} to respond on the sending thread
+     */
+    public InMemoryProxyTransport(Function<CoreMessage, ConnectorResponse> handler, Executor executor) {
+        this(handler, executor, null);
+    }
+
+    /**
+     * Create the transport encoding the messages.
+     *
+     * @param handler  Handler of the messages simulating the proxy
+     * @param executor Executor the handler is executed by, e.g. {@code Runnable::run} to respond on the sending thread
+     * @param codec    Codec the messages are encoded and decoded with, null to pass the message objects as they are
+     */
+    public InMemoryProxyTransport(Function<CoreMessage, ConnectorResponse> handler, Executor executor, MessageCodec codec) {
+        this.handler = handler;
+        this.executor = executor;
+        this.codec = codec;
+    }
+
+    @Override
+    public void start(Consumer<ProxyMessage> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void send(String proxyId, CoreMessage message) throws IOException {
+        MessageContentEncoding encoding = getEncoding(message);
+        CoreMessage received = transfer(message, encoding, CoreMessage.class, bytes -> {
+            MessageSizeListener listener = sizeListener;
+            if (listener != null) {
+                listener.messageSent(proxyId, message.getCorrelationId(), bytes);
+            }
+        });
+        sentCount.incrementAndGet();
+        executor.execute(() -> deliver(handle(proxyId, received), encoding));
+    }
+
+    @Override
+    public void sendBatch(String proxyId, CoreMessageBatch batch) throws IOException {
+        MessageContentEncoding encoding = batch.size() > 0 ? getEncoding(batch.getMessages().get(0)) : MessageContentEncoding.JSON;
+        CoreMessageBatch received = transfer(batch, encoding, CoreMessageBatch.class, bytes -> {
+            MessageSizeListener listener = sizeListener;
+            if (listener != null) {
+                batch.getMessages().forEach(message -> listener.messageSent(proxyId, message.getCorrelationId(), bytes / batch.size()));
+            }
+        });
+        sentCount.addAndGet(batch.size());
+        sentBatchCount.incrementAndGet();
+        executor.execute(() -> {
+            List<ProxyMessage> responses = new ArrayList<>(received.size());
+            for (CoreMessage message : received.getMessages()) {
+                ProxyMessage response = handle(proxyId, message);
+                if (response != null) {
+                    responses.add(response);
+                }
+            }
+            if (!responses.isEmpty()) {
+                deliver(ProxyMessage.builder()
+                        .proxyId(proxyId)
+                        .messageType(CoreMessageBatch.MESSAGE_TYPE)
+                        .timestamp(Instant.now())
+                        .messages(responses)
+                        .build(), encoding);
+            }
+        });
+    }
+
+    /**
+     * Deliver the message from the proxy to the client, e.g. a health check message.
+     *
+     * @param message Proxy message
+     */
+    public void publish(ProxyMessage message) {
+        Consumer<ProxyMessage> current = consumer;
+        if (current != null) {
+            current.accept(message);
+        }
+    }
+
+    /**
+     * Get the number of messages sent through the transport, including the messages sent in batches.
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * Get the number of batches sent through the transport.
+     */
+    public long getSentBatchCount() {
+        return sentBatchCount.get();
+    }
+
+    @Override
+    public void setMessageSizeListener(MessageSizeListener listener) {
+        this.sizeListener = listener;
+    }
+
+    @Override
+    public void close() {
+        consumer = null;
+    }
+
+    private void deliver(ProxyMessage response, MessageContentEncoding encoding) {
+        Consumer<ProxyMessage> current = consumer;
+        if (response == null || current == null) {
+            return;
+        }
+        try {
+            current.accept(transfer(response, encoding, ProxyMessage.class, bytes -> {
+                MessageSizeListener listener = sizeListener;
+                if (listener == null) {
+                    return;
+                }
+                if (response.isBatch()) {
+                    response.getMessages().forEach(message -> listener.messageReceived(response.getProxyId(), message.getCorrelationId(), bytes / response.getMessages().size()));
+                } else {
+                    listener.messageReceived(response.getProxyId(), response.getCorrelationId(), bytes);
+                }
+            }));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode response %s: %s".formatted(response.getCorrelationId(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Pass the message through the codec as the message broker would, or return it as it is without codec.
+     */
+    private <T> T transfer(T message, MessageContentEncoding encoding, Class<T> type, LongConsumer sizeRecorder) throws IOException {
+        if (codec == null) {
+            return message;
+        }
+        byte[] data = codec.encode(message, encoding);
+        sizeRecorder.accept(data.length);
+        return codec.decode(data, encoding.getContentType(), type);
+    }
+
+    private static MessageContentEncoding getEncoding(CoreMessage message) {
+        MessageContentEncoding encoding = MessageContentEncoding.find(message.getContentEncoding());
+        return encoding != null ? encoding : MessageContentEncoding.JSON;
+    }
+
+    private ProxyMessage handle(String proxyId, CoreMessage message) {
+        ConnectorResponse response = handler.apply(message);
+        if (response == null) {
+            return null;
+        }
+        return ProxyMessage.builder()
+                .proxyId(proxyId)
+                .correlationId(message.getCorrelationId())
+                .messageType(message.getMessageType())
+                .timestamp(Instant.now())
+                .priority(message.getPriority())
+                .connectorResponse(response)
+                .build();
+    }
+
+}
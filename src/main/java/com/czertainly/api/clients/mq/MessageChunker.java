@@ -0,0 +1,141 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.mq.model.MessageChunk;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits bodies that do not fit into a single message into {@link MessageChunk}s.
+ *
+ * <p>The body is read from the stream lazily, one chunk at a time, so only a single chunk of the body is held
+ * in memory by the sender. The checksum is computed while reading and is sent in the last chunk.</p>
+ */
+public final class MessageChunker {
+
+    public static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private MessageChunker() {
+    }
+
+    /**
+     * Split the body into chunks.
+     *
+     * @param body      Body to be split
+     * @param chunkSize Maximum size of the chunk data in bytes
+     * @return Chunks of the body, at least one chunk even for empty body
+     */
+    public static Iterator<MessageChunk> split(byte[] body, int chunkSize) {
+        return split(new ByteArrayInputStream(body), body.length, chunkSize);
+    }
+
+    /**
+     * Split the body read from the stream into chunks. The stream is read when the chunks are iterated
+     * and is not closed.
+     *
+     * @param body      Stream of the body to be split
+     * @param totalSize Size of the body in bytes
+     * @param chunkSize Maximum size of the chunk data in bytes
+     * @return Chunks of the body, at least one chunk even for empty body. The iterator throws {@link UncheckedIOException}
+     * when the stream cannot be read or ends before the total size is read.
+     */
+    public static Iterator<MessageChunk> split(InputStream body, long totalSize, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        if (totalSize < 0) {
+            throw new IllegalArgumentException("Total size must not be negative.");
+        }
+        long chunks = Math.max(1, (totalSize + chunkSize - 1) / chunkSize);
+        if (chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Body of %d bytes cannot be split into chunks of %d bytes.".formatted(totalSize, chunkSize));
+        }
+        return new ChunkIterator(body, totalSize, chunkSize, (int) chunks);
+    }
+
+    /**
+     * Create the digest computing the checksum of the bodies.
+     */
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Checksum algorithm %s is not available.".formatted(CHECKSUM_ALGORITHM), e);
+        }
+    }
+
+    /**
+     * Format the computed digest as the checksum of the body.
+     */
+    static String toChecksum(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static final class ChunkIterator implements Iterator<MessageChunk> {
+
+        private final InputStream body;
+
+        private final long totalSize;
+
+        private final int chunkSize;
+
+        private final int totalChunks;
+
+        private final MessageDigest digest = createDigest();
+
+        private int sequenceNumber;
+
+        private long remaining;
+
+        private ChunkIterator(InputStream body, long totalSize, int chunkSize, int totalChunks) {
+            this.body = body;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = totalChunks;
+            this.remaining = totalSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return sequenceNumber < totalChunks;
+        }
+
+        @Override
+        public MessageChunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int length = (int) Math.min(chunkSize, remaining);
+            byte[] data;
+            try {
+                data = body.readNBytes(length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read chunk %d of the body: %s".formatted(sequenceNumber, e.getMessage()), e);
+            }
+            if (data.length < length) {
+                throw new UncheckedIOException(new IOException("Body ended after %d of %d bytes.".formatted(totalSize - remaining + data.length, totalSize)));
+            }
+            digest.update(data);
+            remaining -= length;
+
+            MessageChunk chunk = MessageChunk.builder()
+                    .sequenceNumber(sequenceNumber++)
+                    .totalChunks(totalChunks)
+                    .totalSize(totalSize)
+                    .data(data)
+                    .build();
+            if (chunk.isLast()) {
+                chunk.setChecksumAlgorithm(CHECKSUM_ALGORITHM);
+                chunk.setChecksum(toChecksum(digest));
+            }
+            return chunk;
+        }
+    }
+}
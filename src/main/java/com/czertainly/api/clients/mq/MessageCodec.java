@@ -0,0 +1,143 @@
+package com.czertainly.api.clients.mq;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Codec of the message queue envelopes ({@link com.czertainly.api.clients.mq.model.CoreMessage},
+ * {@link com.czertainly.api.clients.mq.model.ProxyMessage} and their batches) supporting
+ * the encodings of {@link MessageContentEncoding}.
+ *
+ * <p>The encoding of a message is negotiated, proxies advertise the supported encodings in the health check
+ * messages and core requests the encoding of the responses in the core messages. Proxies that support only JSON
+ * ignore the requested encoding and keep sending JSON. The encoding of a received message is taken from
+ * the content type of the message queue message, when it is not available, it is detected from the content.
+ * CBOR messages are written with the self-describe tag, so they are always distinguishable from JSON.</p>
+ */
+public class MessageCodec {
+
+    private static final int CBOR_SELF_DESCRIBE_TAG_FIRST_BYTE = 0xD9;
+
+    private final ObjectMapper jsonMapper;
+
+    private final ObjectMapper cborMapper;
+
+    public MessageCodec() {
+        this(new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    /**
+     * Create the codec based on the JSON object mapper. The CBOR mapper is a copy of the JSON mapper
+     * with its configuration and modules, so both encodings produce the same data model.
+     *
+     * @param jsonMapper Object mapper used for JSON encoding, must support {@link ObjectMapper#copyWith}
+     */
+    public MessageCodec(ObjectMapper jsonMapper) {
+        this(jsonMapper, jsonMapper.copyWith(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.WRITE_TYPE_HEADER)
+                .build()));
+    }
+
+    /**
+     * Create the codec with separately configured mappers.
+     *
+     * @param jsonMapper Object mapper used for JSON encoding
+     * @param cborMapper Object mapper used for CBOR encoding, its generator should write the self-describe tag
+     */
+    public MessageCodec(ObjectMapper jsonMapper, ObjectMapper cborMapper) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+    }
+
+    /**
+     * Encode the message.
+     *
+     * @param message  Message envelope
+     * @param encoding Encoding, JSON when null
+     * @return Encoded message
+     * @throws IOException When the message cannot be encoded
+     */
+    public byte[] encode(Object message, MessageContentEncoding encoding) throws IOException {
+        return getMapper(encoding).writeValueAsBytes(message);
+    }
+
+    /**
+     * Decode the message with encoding detected from the content.
+     *
+     * @param data Encoded message
+     * @param type Type of the message envelope
+     * @param <T>  Type of the message envelope
+     * @return Decoded message
+     * @throws IOException When the message cannot be decoded
+     */
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return getMapper(detect(data)).readValue(data, type);
+    }
+
+    /**
+     * Decode the message with encoding given by the content type of the message queue message.
+     * When the content type is missing or not known, the encoding is detected from the content.
+     *
+     * @param data        Encoded message
+     * @param contentType Content type of the message queue message
+     * @param type        Type of the message envelope
+     * @param <T>         Type of the message envelope
+     * @return Decoded message
+     * @throws IOException When the message cannot be decoded
+     */
+    public <T> T decode(byte[] data, String contentType, Class<T> type) throws IOException {
+        MessageContentEncoding encoding = MessageContentEncoding.find(contentType);
+        return getMapper(encoding != null ? encoding : detect(data)).readValue(data, type);
+    }
+
+    /**
+     * Detect the encoding of the message from its content.
+     *
+     * @param data Encoded message
+     * @return CBOR when the message starts with CBOR self-describe tag or CBOR map, JSON otherwise
+     */
+    public static MessageContentEncoding detect(byte[] data) {
+        if (data == null || data.length == 0) {
+            return MessageContentEncoding.JSON;
+        }
+        int first = data[0] & 0xFF;
+        // CBOR major type 5 (map) is encoded in the highest 3 bits, JSON object always starts with ASCII character
+        if (first == CBOR_SELF_DESCRIBE_TAG_FIRST_BYTE || (first >> 5) == 5) {
+            return MessageContentEncoding.CBOR;
+        }
+        return MessageContentEncoding.JSON;
+    }
+
+    /**
+     * Negotiate the encoding of the messages sent to the other side.
+     *
+     * @param preferred Preferred encoding
+     * @param supported Codes or content types of the encodings supported by the other side, may be null
+     * @return Preferred encoding when supported by the other side, JSON otherwise
+     */
+    public static MessageContentEncoding negotiate(MessageContentEncoding preferred, Collection<String> supported) {
+        if (preferred == null || preferred == MessageContentEncoding.JSON || supported == null) {
+            return MessageContentEncoding.JSON;
+        }
+        for (String value : supported) {
+            if (MessageContentEncoding.find(value) == preferred) {
+                return preferred;
+            }
+        }
+        return MessageContentEncoding.JSON;
+    }
+
+    private ObjectMapper getMapper(MessageContentEncoding encoding) {
+        return encoding == MessageContentEncoding.CBOR ? cborMapper : jsonMapper;
+    }
+}
@@ -0,0 +1,52 @@
+package com.czertainly.api.clients.mq;
+
+import java.util.Arrays;
+
+/**
+ * Encodings of the message queue envelopes exchanged between core and proxy.
+ *
+ * <p>JSON is supported by all proxies and is used whenever the other side did not advertise support
+ * for another encoding. CBOR is a binary encoding of the same data model, it is more compact,
+ * faster to parse and byte arrays are written as raw bytes instead of Base64 strings.</p>
+ */
+public enum MessageContentEncoding {
+    JSON("json", "application/json"),
+    CBOR("cbor", "application/cbor");
+
+    private final String code;
+
+    private final String contentType;
+
+    MessageContentEncoding(String code, String contentType) {
+        this.code = code;
+        this.contentType = contentType;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Get the MIME type of the encoding, to be used as content type of the message queue message.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Find the encoding by its code or content type.
+     *
+     * @param value Code or content type of the encoding, parameters of the content type are ignored
+     * @return Encoding, null when the value is null or the encoding is not known
+     */
+    public static MessageContentEncoding find(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.split(";", 2)[0].trim();
+        return Arrays.stream(values())
+                .filter(e -> e.code.equalsIgnoreCase(normalized) || e.contentType.equalsIgnoreCase(normalized))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.czertainly.api.clients.mq;
+
+import java.util.Arrays;
+
+/**
+ * Priority class of the requests sent to the connectors via proxy.
+ *
+ * <p>Requests of each priority are routed through a separate lane, so bulk traffic does not delay interactive
+ * requests queued behind it. Transports publish the messages to the lane of the request queue given by
+ * {@link #getLane(String)}, proxies consume the lanes separately. On the client side, requests waiting
+ * for credits of the proxy and received responses are dequeued by weighted fair queuing across the priorities.</p>
+ */
+public enum MessagePriority {
+
+    /**
+     * Requests of the users waiting for the result, e.g. certificate issuance.
+     */
+    INTERACTIVE("interactive"),
+
+    /**
+     * Background requests processed in large numbers, e.g. compliance checks of the inventory.
+     */
+    BULK("bulk");
+
+    private final String code;
+
+    MessagePriority(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Get the name of the lane of the queue or routing key for the messages of this priority.
+     *
+     * @param name Name of the queue or routing key
+     * @return Name of the lane, e.g. {@code core.proxy-001.bulk}
+     */
+    public String getLane(String name) {
+        return name + "." + code;
+    }
+
+    /**
+     * Find the priority by its code.
+     *
+     * @param code Code of the priority
+     * @return Priority, {@link #INTERACTIVE} when the code is null or not known
+     */
+    public static MessagePriority findByCode(String code) {
+        if (code == null) {
+            return INTERACTIVE;
+        }
+        return Arrays.stream(values())
+                .filter(p -> p.code.equalsIgnoreCase(code))
+                .findFirst()
+                .orElse(INTERACTIVE);
+    }
+}
@@ -0,0 +1,120 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.ConnectorClientMetrics;
+import com.czertainly.api.exception.ConnectorException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link ProxyClient} recording the requests sent via the proxies by {@link ConnectorClientMetrics}
+ * with the {@link ConnectorClientMetrics#TRANSPORT_MQ} transport.
+ *
+ * <p>Path of the request is recorded as the path template, path variables are passed separately.
+ * Fire-and-forget messages are not timed, their response is not awaited. Payload sizes are not measured here,
+ * messages are encoded by the transport, which reports the sizes of the encoded messages,
+ * see {@link ConnectorClientMetrics#bindProxyClient(DefaultProxyClient)}.</p>
+ */
+public class MeteredProxyClient implements ProxyClient {
+
+    private final ProxyClient delegate;
+
+    private final ConnectorClientMetrics metrics;
+
+    /**
+     * @param delegate Client sending the requests
+     * @param metrics  Metrics the requests are recorded by, can be shared with the REST clients
+     */
+    public MeteredProxyClient(ProxyClient delegate, ConnectorClientMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) throws ConnectorException {
+        return record(connector, path, method, () -> delegate.sendRequest(connector, path, method, body, responseType));
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) throws ConnectorException {
+        return record(connector, path, method, () -> delegate.sendRequest(connector, path, method, body, responseType, timeout));
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) throws ConnectorException {
+        return record(connector, path, method, () -> delegate.sendRequest(connector, path, method, body, responseType, priority));
+    }
+
+    @Override
+    public <T> T sendRequest(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType) throws ConnectorException {
+        return record(connector, path, method, () -> delegate.sendRequest(connector, path, method, pathVariables, body, responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType) {
+        return recordAsync(connector, path, method, () -> delegate.sendRequestAsync(connector, path, method, body, responseType));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, MessagePriority priority) {
+        return recordAsync(connector, path, method, () -> delegate.sendRequestAsync(connector, path, method, body, responseType, priority));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Object body, Class<T> responseType, Duration timeout) {
+        return recordAsync(connector, path, method, () -> delegate.sendRequestAsync(connector, path, method, body, responseType, timeout));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout) {
+        return recordAsync(connector, path, method, () -> delegate.sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> sendRequestAsync(ApiClientConnectorInfo connector, String path, String method, Map<String, String> pathVariables, Object body, Class<T> responseType, Duration timeout, MessagePriority priority) {
+        return recordAsync(connector, path, method, () -> delegate.sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout, priority));
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body) {
+        delegate.sendFireAndForget(connector, path, method, body);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType) {
+        delegate.sendFireAndForget(connector, path, method, body, messageType);
+    }
+
+    @Override
+    public void sendFireAndForget(ApiClientConnectorInfo connector, String path, String method, Object body, String messageType, MessagePriority priority) {
+        delegate.sendFireAndForget(connector, path, method, body, messageType, priority);
+    }
+
+    private <T> T record(ApiClientConnectorInfo connector, String path, String method, ProxyRequest<T> request) throws ConnectorException {
+        long start = System.nanoTime();
+        try {
+            T response = request.send();
+            metrics.recordRequest(connector, method, path, ConnectorClientMetrics.TRANSPORT_MQ, System.nanoTime() - start, ConnectorClientMetrics.OUTCOME_SUCCESS);
+            return response;
+        } catch (ConnectorException | RuntimeException e) {
+            metrics.recordRequest(connector, method, path, ConnectorClientMetrics.TRANSPORT_MQ, System.nanoTime() - start, ConnectorClientMetrics.outcome(e));
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> recordAsync(ApiClientConnectorInfo connector, String path, String method, Supplier<CompletableFuture<T>> request) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = request.get();
+        future.whenComplete((response, e) -> metrics.recordRequest(connector, method, path, ConnectorClientMetrics.TRANSPORT_MQ, System.nanoTime() - start, ConnectorClientMetrics.outcome(e)));
+        return future;
+    }
+
+    @FunctionalInterface
+    private interface ProxyRequest<T> {
+        T send() throws ConnectorException;
+    }
+
+}
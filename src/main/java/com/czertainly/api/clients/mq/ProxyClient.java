@@ -18,6 +18,9 @@ import java.util.concurrent.CompletableFuture;
  *
  * <p>Synchronous methods block until a response is received or timeout occurs.
  * Asynchronous methods return CompletableFuture that completes when response arrives.</p>
+ *
+ * <p>Requests are sent with a {@link MessagePriority}, requests without explicit priority are interactive.
+ * Implementations that do not support priorities send all requests the same way.</p>
  */
 public interface ProxyClient {
 
@@ -42,6 +45,31 @@ public interface ProxyClient {
             Class<T> responseType
     ) throws ConnectorException;
 
+    /**
+     * Send a request to the connector with priority and wait for response synchronously.
+     * Uses the default configured timeout.
+     *
+     * @param connector    Connector configuration with URL, auth, and proxyId
+     * @param path         Request path (e.g., "/v1/health")
+     * @param method       HTTP method (GET, POST, PUT, DELETE, PATCH)
+     * @param body         Request body (can be null for GET requests)
+     * @param responseType Expected response type class
+     * @param priority     Priority class of the request
+     * @param <T>          Response type
+     * @return Deserialized response object
+     * @throws ConnectorException If request fails or times out
+     */
+    default <T> T sendRequest(
+            ApiClientConnectorInfo connector,
+            String path,
+            String method,
+            Object body,
+            Class<T> responseType,
+            MessagePriority priority
+    ) throws ConnectorException {
+        return sendRequest(connector, path, method, body, responseType);
+    }
+
     /**
      * Send a request to the connector and wait for response synchronously with custom timeout.
      *
@@ -106,6 +134,30 @@ public interface ProxyClient {
             Class<T> responseType
     );
 
+    /**
+     * Send an asynchronous request to the connector with priority.
+     * Uses the default configured timeout.
+     *
+     * @param connector    Connector configuration with URL, auth, and proxyId
+     * @param path         Request path (e.g., "/v1/health")
+     * @param method       HTTP method (GET, POST, PUT, DELETE, PATCH)
+     * @param body         Request body (can be null for GET requests)
+     * @param responseType Expected response type class
+     * @param priority     Priority class of the request
+     * @param <T>          Response type
+     * @return CompletableFuture that completes with the response
+     */
+    default <T> CompletableFuture<T> sendRequestAsync(
+            ApiClientConnectorInfo connector,
+            String path,
+            String method,
+            Object body,
+            Class<T> responseType,
+            MessagePriority priority
+    ) {
+        return sendRequestAsync(connector, path, method, body, responseType);
+    }
+
     /**
      * Send an asynchronous request to the connector with custom timeout.
      *
@@ -150,6 +202,33 @@ public interface ProxyClient {
             Duration timeout
     );
 
+    /**
+     * Send an asynchronous request with path variables, custom timeout and priority.
+     *
+     * @param connector     Connector configuration with URL, auth, and proxyId
+     * @param path          Request path with variables (e.g., "/v1/authorities/{uuid}")
+     * @param method        HTTP method (GET, POST, PUT, DELETE, PATCH)
+     * @param pathVariables Map of path variable names to values
+     * @param body          Request body (can be null for GET requests)
+     * @param responseType  Expected response type class
+     * @param timeout       Custom timeout duration
+     * @param priority      Priority class of the request
+     * @param <T>           Response type
+     * @return CompletableFuture that completes with the response
+     */
+    default <T> CompletableFuture<T> sendRequestAsync(
+            ApiClientConnectorInfo connector,
+            String path,
+            String method,
+            Map<String, String> pathVariables,
+            Object body,
+            Class<T> responseType,
+            Duration timeout,
+            MessagePriority priority
+    ) {
+        return sendRequestAsync(connector, path, method, pathVariables, body, responseType, timeout);
+    }
+
     /**
      * Send a fire-and-forget request to the connector.
      *
@@ -192,4 +271,25 @@ public interface ProxyClient {
             String messageType
     );
 
+    /**
+     * Send a fire-and-forget request with custom message type and priority.
+     *
+     * @param connector   Connector configuration with URL, auth, and proxyId
+     * @param path        Request path (e.g., "/v1/notifications")
+     * @param method      HTTP method (GET, POST, PUT, DELETE, PATCH)
+     * @param body        Request body (can be null for GET requests)
+     * @param messageType Custom message type for handler routing (e.g., "discovery.trigger")
+     * @param priority    Priority class of the request
+     */
+    default void sendFireAndForget(
+            ApiClientConnectorInfo connector,
+            String path,
+            String method,
+            Object body,
+            String messageType,
+            MessagePriority priority
+    ) {
+        sendFireAndForget(connector, path, method, body, messageType);
+    }
+
 }
@@ -0,0 +1,96 @@
+package com.czertainly.api.clients.mq;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the {@link DefaultProxyClient}.
+ */
+@Getter
+@ToString
+@Builder(toBuilder = true)
+public class ProxyClientSettings {
+
+    /**
+     * Timeout of the requests sent without explicit timeout
+     */
+    @Builder.Default
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Requests in flight per proxy until the proxy advertises its credits, {@link ProxyCreditLimiter#UNLIMITED} for no limit
+     */
+    @Builder.Default
+    private int defaultCredits = ProxyCreditLimiter.UNLIMITED;
+
+    /**
+     * Maximum number of requests waiting for a credit per proxy
+     */
+    @Builder.Default
+    private int maxQueuedRequests = 10_000;
+
+    /**
+     * Behavior when the proxy has no credits left
+     */
+    @Builder.Default
+    private CreditExhaustedPolicy creditExhaustedPolicy = CreditExhaustedPolicy.WAIT;
+
+    /**
+     * Priority of the requests sent without explicit priority
+     */
+    @Builder.Default
+    private MessagePriority defaultPriority = MessagePriority.INTERACTIVE;
+
+    /**
+     * Weights of the priorities for the weighted fair queuing of the requests waiting for credits and of the received responses
+     */
+    @Builder.Default
+    private Map<MessagePriority, Integer> priorityWeights = Map.of(MessagePriority.INTERACTIVE, 4, MessagePriority.BULK, 1);
+
+    /**
+     * Number of threads completing the received responses by weighted fair queuing, 0 to complete them on the thread of the transport
+     */
+    @Builder.Default
+    private int responseDispatchThreads = 0;
+
+    /**
+     * Preferred encoding of the messages, used for the proxies that advertise it in their health check messages, JSON for the other proxies
+     */
+    @Builder.Default
+    private MessageContentEncoding contentEncoding = MessageContentEncoding.CBOR;
+
+    /**
+     * Maximum number of requests packed into a batch sent to the proxy as a single message, 1 to send requests separately
+     */
+    @Builder.Default
+    private int maxBatchSize = 1;
+
+    /**
+     * Maximum time a request waits for other requests to the same proxy before its batch is sent
+     */
+    @Builder.Default
+    private Duration batchLinger = Duration.ofMillis(5);
+
+    /**
+     * Maximum size of the data of a chunk in bytes, when a body is sent in chunks
+     */
+    @Builder.Default
+    private int chunkSize = 256 * 1024;
+
+    /**
+     * Maximum number of chunks of a received body buffered until they are read, the credits of the proxy for the chunks sent ahead of the reader
+     */
+    @Builder.Default
+    private int maxBufferedChunks = 16;
+
+    /**
+     * Maximum time to wait for the next chunk of a received body
+     */
+    @Builder.Default
+    private Duration chunkIdleTimeout = Duration.ofSeconds(30);
+
+}
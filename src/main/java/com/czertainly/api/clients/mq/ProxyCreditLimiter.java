@@ -0,0 +1,257 @@
+package com.czertainly.api.clients.mq;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Credit-based limiter of the requests in flight per proxy.
+ *
+ * <p>Each request sent to a proxy consumes one credit, the credit is released when the response arrives
+ * or the request times out. The number of credits is advertised by the proxy in its health check messages,
+ * until then the default number of credits is used. When the proxy has no credits left, requests are rejected
+ * or queued according to the {@link CreditExhaustedPolicy}. Queued requests get the released credits
+ * by weighted fair queuing across the {@link MessagePriority} lanes, in the order they were queued within a lane.</p>
+ */
+public class ProxyCreditLimiter {
+
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final int defaultCredits;
+
+    private final int maxQueued;
+
+    private final Map<MessagePriority, Integer> priorityWeights;
+
+    private final ConcurrentMap<String, ProxyCredits> proxies = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultCredits Credits of a proxy until it advertises its own, {@link #UNLIMITED} for no limit
+     * @param maxQueued      Maximum number of requests waiting for a credit per proxy, further requests are rejected
+     */
+    public ProxyCreditLimiter(int defaultCredits, int maxQueued) {
+        this(defaultCredits, maxQueued, Map.of());
+    }
+
+    /**
+     * @param defaultCredits  Credits of a proxy until it advertises its own, {@link #UNLIMITED} for no limit
+     * @param maxQueued       Maximum number of requests waiting for a credit per proxy, further requests are rejected
+     * @param priorityWeights Weights of the priorities of the queued requests, priorities without weight have weight 1
+     */
+    public ProxyCreditLimiter(int defaultCredits, int maxQueued, Map<MessagePriority, Integer> priorityWeights) {
+        this.defaultCredits = defaultCredits;
+        this.maxQueued = maxQueued;
+        this.priorityWeights = Map.copyOf(priorityWeights);
+    }
+
+    /**
+     * Acquire a credit for an interactive request to the proxy.
+     *
+     * @param proxyId ID of the proxy
+     * @param policy  Behavior when there are no credits left
+     * @return Future completed when the credit is acquired, failed with {@link RejectedExecutionException}
+     * when the request is rejected. Cancelling the future removes the request from the queue.
+     */
+    public CompletableFuture<Void> acquire(String proxyId, CreditExhaustedPolicy policy) {
+        return acquire(proxyId, policy, MessagePriority.INTERACTIVE);
+    }
+
+    /**
+     * Acquire a credit for a request to the proxy.
+     *
+     * @param proxyId  ID of the proxy
+     * @param policy   Behavior when there are no credits left
+     * @param priority Priority of the request, determines the lane the request waits in
+     * @return Future completed when the credit is acquired, failed with {@link RejectedExecutionException}
+     * when the request is rejected. Cancelling the future removes the request from the queue.
+     */
+    public CompletableFuture<Void> acquire(String proxyId, CreditExhaustedPolicy policy, MessagePriority priority) {
+        return getProxyCredits(proxyId).acquire(proxyId, policy, priority, maxQueued);
+    }
+
+    /**
+     * Release the credit acquired for a request to the proxy, the credit is passed to the first queued request.
+     *
+     * @param proxyId ID of the proxy
+     */
+    public void release(String proxyId) {
+        getProxyCredits(proxyId).release();
+    }
+
+    /**
+     * Update the credits advertised by the proxy. Queued requests are resumed when the credits grow.
+     *
+     * @param proxyId ID of the proxy
+     * @param credits Number of requests the proxy accepts in flight, {@link #UNLIMITED} or null for no limit
+     */
+    public void updateCredits(String proxyId, Integer credits) {
+        getProxyCredits(proxyId).setLimit(credits == null || credits < 0 ? UNLIMITED : credits);
+    }
+
+    public Set<String> getProxyIds() {
+        return Set.copyOf(proxies.keySet());
+    }
+
+    /**
+     * Get the number of credits of the proxy.
+     */
+    public int getCredits(String proxyId) {
+        ProxyCredits credits = proxies.get(proxyId);
+        return credits != null ? credits.getLimit() : defaultCredits;
+    }
+
+    /**
+     * Get the number of requests to the proxy in flight.
+     */
+    public int getInFlightCount(String proxyId) {
+        ProxyCredits credits = proxies.get(proxyId);
+        return credits != null ? credits.getInFlight() : 0;
+    }
+
+    /**
+     * Get the number of requests to the proxy waiting for a credit.
+     */
+    public int getQueuedCount(String proxyId) {
+        ProxyCredits credits = proxies.get(proxyId);
+        return credits != null ? credits.getQueued() : 0;
+    }
+
+    /**
+     * Get the number of requests of the priority to the proxy waiting for a credit.
+     */
+    public int getQueuedCount(String proxyId, MessagePriority priority) {
+        ProxyCredits credits = proxies.get(proxyId);
+        return credits != null ? credits.getQueued(priority) : 0;
+    }
+
+    /**
+     * Remove the accounting of the proxy, e.g. when the proxy is deleted. Queued requests are rejected.
+     *
+     * @param proxyId ID of the proxy
+     */
+    public void remove(String proxyId) {
+        ProxyCredits credits = proxies.remove(proxyId);
+        if (credits != null) {
+            credits.rejectQueued(proxyId);
+        }
+    }
+
+    private ProxyCredits getProxyCredits(String proxyId) {
+        ProxyCredits credits = proxies.get(proxyId);
+        return credits != null ? credits : proxies.computeIfAbsent(proxyId, k -> new ProxyCredits(defaultCredits, priorityWeights));
+    }
+
+    private static final class ProxyCredits {
+
+        // all fields guarded by this
+        private int limit;
+        private int inFlight;
+        private final WeightedFairQueue<CompletableFuture<Void>> waiters;
+
+        private ProxyCredits(int limit, Map<MessagePriority, Integer> priorityWeights) {
+            this.limit = limit;
+            this.waiters = new WeightedFairQueue<>(priorityWeights);
+        }
+
+        private CompletableFuture<Void> acquire(String proxyId, CreditExhaustedPolicy policy, MessagePriority priority, int maxQueued) {
+            synchronized (this) {
+                if (inFlight < limit) {
+                    inFlight++;
+                    return CompletableFuture.completedFuture(null);
+                }
+                if (policy == CreditExhaustedPolicy.WAIT && waiters.size() < maxQueued) {
+                    CompletableFuture<Void> waiter = new CompletableFuture<>();
+                    waiters.add(priority, waiter);
+                    waiter.whenComplete((v, e) -> {
+                        if (waiter.isCancelled()) {
+                            removeWaiter(waiter);
+                        }
+                    });
+                    return waiter;
+                }
+            }
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "No credits available for proxy %s, %d requests in flight.".formatted(proxyId, getInFlight())));
+        }
+
+        private void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = pollWaiter();
+                if (next == null) {
+                    inFlight = Math.max(inFlight - 1, 0);
+                    return;
+                }
+            }
+            // credit is passed to the waiter, waiters are completed outside the lock
+            // and the credit is released again when the waiter was cancelled in the meantime
+            if (!next.complete(null)) {
+                release();
+            }
+        }
+
+        private void setLimit(int newLimit) {
+            ArrayDeque<CompletableFuture<Void>> resumed = new ArrayDeque<>();
+            synchronized (this) {
+                limit = newLimit;
+                while (inFlight < limit) {
+                    CompletableFuture<Void> waiter = pollWaiter();
+                    if (waiter == null) {
+                        break;
+                    }
+                    inFlight++;
+                    resumed.add(waiter);
+                }
+            }
+            for (CompletableFuture<Void> waiter : resumed) {
+                if (!waiter.complete(null)) {
+                    release();
+                }
+            }
+        }
+
+        private synchronized void removeWaiter(CompletableFuture<Void> waiter) {
+            waiters.remove(waiter);
+        }
+
+        private void rejectQueued(String proxyId) {
+            List<CompletableFuture<Void>> rejected;
+            synchronized (this) {
+                rejected = waiters.clear();
+            }
+            rejected.forEach(w -> w.completeExceptionally(new RejectedExecutionException("Proxy %s was removed.".formatted(proxyId))));
+        }
+
+        // must be called holding the lock, skips waiters cancelled by their requests
+        private CompletableFuture<Void> pollWaiter() {
+            CompletableFuture<Void> waiter;
+            while ((waiter = waiters.poll()) != null) {
+                if (!waiter.isDone()) {
+                    return waiter;
+                }
+            }
+            return null;
+        }
+
+        private synchronized int getLimit() {
+            return limit;
+        }
+
+        private synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        private synchronized int getQueued() {
+            return waiters.size();
+        }
+
+        private synchronized int getQueued(MessagePriority priority) {
+            return waiters.size(priority);
+        }
+    }
+}
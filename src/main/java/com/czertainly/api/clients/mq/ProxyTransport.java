@@ -0,0 +1,91 @@
+package com.czertainly.api.clients.mq;
+
+import com.czertainly.api.clients.mq.model.CoreMessage;
+import com.czertainly.api.clients.mq.model.CoreMessageBatch;
+import com.czertainly.api.clients.mq.model.ProxyMessage;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Transport of the messages between core and proxies used by {@link DefaultProxyClient}.
+ *
+ * <p>Implementations bind the client to a message broker, they send the core messages to the request queue
+ * of the proxy and deliver the proxy messages received from the response queue to the consumer.
+ * Transports are responsible for the encoding of the messages, core messages should be encoded by {@link MessageCodec}
+ * in the encoding of {@link CoreMessage#getContentEncoding()}, which the client negotiated with the proxy. Batched responses are passed to the consumer
+ * as a single proxy message of type batch, see {@link ProxyMessage#isBatch()}.</p>
+ *
+ * <p>Core messages are published to the lane of their {@link MessagePriority}, see {@link MessagePriority#getLane(String)},
+ * so the proxy can consume interactive requests independently of the bulk requests queued before them.</p>
+ */
+public interface ProxyTransport extends AutoCloseable {
+
+    /**
+     * Start receiving the proxy messages.
+     *
+     * @param consumer Consumer of the received proxy messages, must be thread-safe and does not block
+     */
+    void start(Consumer<ProxyMessage> consumer);
+
+    /**
+     * Send the message to the lane of its priority of the proxy.
+     *
+     * @param proxyId ID of the proxy
+     * @param message Message to be sent
+     * @throws IOException When the message cannot be sent
+     */
+    void send(String proxyId, CoreMessage message) throws IOException;
+
+    /**
+     * Send the batch of messages to the lane of the priority of the batch of the proxy. Transports that support
+     * batching publish the batch as a single message, by default the messages are sent separately.
+     *
+     * @param proxyId ID of the proxy
+     * @param batch   Batch to be sent
+     * @throws IOException When the batch cannot be sent
+     */
+    default void sendBatch(String proxyId, CoreMessageBatch batch) throws IOException {
+        for (CoreMessage message : batch.getMessages()) {
+            send(proxyId, message);
+        }
+    }
+
+    /**
+     * Set the listener of the sizes of the encoded messages. Transports that do not encode the messages ignore the listener.
+     *
+     * @param listener Listener of the message sizes, null to stop reporting the sizes
+     */
+    default void setMessageSizeListener(MessageSizeListener listener) {
+    }
+
+    /**
+     * Stop receiving the proxy messages and release the resources of the transport.
+     */
+    @Override
+    void close();
+
+    /**
+     * Listener of the sizes of the messages as they are sent to and received from the message broker.
+     *
+     * <p>Received messages are reported before they are passed to the consumer. Messages sent or received
+     * in a batch are reported each with the size of the batch divided by the number of its messages.</p>
+     */
+    interface MessageSizeListener {
+
+        /**
+         * @param proxyId       ID of the proxy the message was sent to
+         * @param correlationId Correlation ID of the message
+         * @param bytes         Size of the encoded message in bytes
+         */
+        void messageSent(String proxyId, String correlationId, long bytes);
+
+        /**
+         * @param proxyId       ID of the proxy the message was received from
+         * @param correlationId Correlation ID of the message, null for messages without correlation ID
+         * @param bytes         Size of the encoded message in bytes
+         */
+        void messageReceived(String proxyId, String correlationId, long bytes);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.czertainly.api.clients.mq;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor running the tasks of the {@link MessagePriority} lanes by weighted fair queuing on a fixed number of threads.
+ *
+ * <p>Used to complete the received responses, so that a burst of bulk responses does not delay the completion
+ * of interactive responses received after them. The queue is not bounded, the number of queued tasks is bounded
+ * by the prefetch of the transport.</p>
+ */
+final class WeightedFairExecutor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeightedFairExecutor.class);
+
+    // guarded by itself
+    private final WeightedFairQueue<Runnable> queue;
+
+    private final Thread[] threads;
+
+    // guarded by queue
+    private boolean closed;
+
+    WeightedFairExecutor(int threadCount, Map<MessagePriority, Integer> weights, String threadName) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        this.queue = new WeightedFairQueue<>(weights);
+        this.threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(this::run, threadName + "-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Queue the task in the lane of the priority.
+     *
+     * @throws RejectedExecutionException When the executor is closed
+     */
+    void execute(MessagePriority priority, Runnable task) {
+        synchronized (queue) {
+            if (closed) {
+                throw new RejectedExecutionException("Executor is closed.");
+            }
+            queue.add(priority, task);
+            queue.notify();
+        }
+    }
+
+    int getQueuedCount() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Stop the threads, queued tasks are not executed.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            closed = true;
+            queue.clear();
+            queue.notifyAll();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            Runnable task;
+            synchronized (queue) {
+                while (!closed && queue.size() == 0) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                task = queue.poll();
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Task failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.czertainly.api.clients.mq;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queue with a lane per {@link MessagePriority}, dequeuing the lanes by smooth weighted round-robin.
+ *
+ * <p>When all lanes have elements, each lane gets the share of the polls given by its weight, e.g. with weights
+ * 4 and 1 the interactive lane is polled four times for each poll of the bulk lane, interleaved evenly.
+ * Empty lanes do not accumulate credit, so a lane that becomes busy does not starve the others.
+ * The queue is not thread-safe, callers guard it by their own lock.</p>
+ */
+final class WeightedFairQueue<E> {
+
+    private final Map<MessagePriority, Lane<E>> lanes = new EnumMap<>(MessagePriority.class);
+
+    private int size;
+
+    /**
+     * @param weights Weights of the priorities, priorities without weight have weight 1
+     */
+    WeightedFairQueue(Map<MessagePriority, Integer> weights) {
+        for (MessagePriority priority : MessagePriority.values()) {
+            Integer weight = weights.get(priority);
+            if (weight != null && weight < 1) {
+                throw new IllegalArgumentException("Weight of priority %s must be positive.".formatted(priority));
+            }
+            lanes.put(priority, new Lane<>(weight != null ? weight : 1));
+        }
+    }
+
+    void add(MessagePriority priority, E element) {
+        lanes.get(priority).elements.add(element);
+        size++;
+    }
+
+    /**
+     * Remove the next element by the weights of the lanes.
+     *
+     * @return Element, null when the queue is empty
+     */
+    E poll() {
+        if (size == 0) {
+            return null;
+        }
+        Lane<E> selected = null;
+        int totalWeight = 0;
+        for (Lane<E> lane : lanes.values()) {
+            if (lane.elements.isEmpty()) {
+                lane.current = 0;
+                continue;
+            }
+            lane.current += lane.weight;
+            totalWeight += lane.weight;
+            if (selected == null || lane.current > selected.current) {
+                selected = lane;
+            }
+        }
+        selected.current -= totalWeight;
+        size--;
+        return selected.elements.poll();
+    }
+
+    boolean remove(E element) {
+        for (Lane<E> lane : lanes.values()) {
+            if (lane.elements.remove(element)) {
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove all elements of the queue.
+     *
+     * @return Removed elements
+     */
+    List<E> clear() {
+        List<E> elements = new ArrayList<>(size);
+        for (Lane<E> lane : lanes.values()) {
+            elements.addAll(lane.elements);
+            lane.elements.clear();
+            lane.current = 0;
+        }
+        size = 0;
+        return elements;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int size(MessagePriority priority) {
+        return lanes.get(priority).elements.size();
+    }
+
+    private static final class Lane<E> {
+
+        private final int weight;
+
+        private final ArrayDeque<E> elements = new ArrayDeque<>();
+
+        private int current;
+
+        private Lane(int weight) {
+            this.weight = weight;
+        }
+    }
+}
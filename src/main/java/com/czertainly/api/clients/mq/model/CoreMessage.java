@@ -35,4 +35,23 @@ public class CoreMessage implements Serializable {
             requiredMode = Schema.RequiredMode.REQUIRED)
     private ConnectorRequest connectorRequest;
 
+    @Schema(description = "Encoding of the response requested by core. " +
+            "Proxies that do not support the encoding respond in JSON. JSON when empty.",
+            examples = {"json", "cbor"})
+    private String contentEncoding;
+
+    @Schema(description = "Chunk of the request body, when the body is transferred in multiple messages. " +
+            "Connector request or response is sent in the first message of the transfer only.")
+    private MessageChunk chunk;
+
+    @Schema(description = "Number of further chunks of the response body the proxy may send without waiting. " +
+            "Sent in the request with the initial window and in the messages acknowledging the chunks read by core, " +
+            "which contain no connector request. The transfer fails when the proxy sends more chunks than granted.",
+            examples = {"16"})
+    private Integer chunkCredits;
+
+    @Schema(description = "Priority class of the request, the message is routed through the lane of the priority. Interactive when empty.",
+            examples = {"interactive", "bulk"})
+    private String priority;
+
 }
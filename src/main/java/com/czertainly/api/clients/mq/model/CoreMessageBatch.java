@@ -0,0 +1,76 @@
+package com.czertainly.api.clients.mq.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batched message envelope for core-to-proxy communication.
+ * Packs multiple {@link CoreMessage}s addressed to the same proxy into a single message queue message.
+ *
+ * <p>Each message in the batch keeps its own correlation ID and is forwarded to the connector separately.
+ * Responses are returned by the proxy in a batch {@link ProxyMessage} or as separate {@link ProxyMessage}s,
+ * and are correlated per message using the correlation IDs. Batching is opt-in, only proxies that support
+ * the {@value #MESSAGE_TYPE} message type can receive batches. All messages of a batch have the priority
+ * of the batch, the batch is published to the lane of its priority.</p>
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CoreMessageBatch implements Serializable {
+
+    public static final String MESSAGE_TYPE = "batch";
+
+    @Schema(description = "Unique ID of the batch",
+            examples = {"550e8400-e29b-41d4-a716-446655440000"},
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private String batchId;
+
+    @Schema(description = "Message type identifier, always 'batch' for batched messages",
+            examples = {MESSAGE_TYPE},
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @Builder.Default
+    private String messageType = MESSAGE_TYPE;
+
+    @Schema(description = "Timestamp of batch creation (ISO8601)")
+    private Instant timestamp;
+
+    @Schema(description = "Priority class of the messages in the batch, the batch is routed through the lane of the priority. Interactive when empty.",
+            examples = {"interactive", "bulk"})
+    private String priority;
+
+    @Schema(description = "Messages in the batch, each with its own correlation ID",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<CoreMessage> messages;
+
+    /**
+     * Create a batch with new batch ID and current timestamp.
+     *
+     * @param messages Messages to be sent in the batch
+     * @param priority Code of the priority of the messages
+     * @return Batch of the messages
+     */
+    public static CoreMessageBatch of(List<CoreMessage> messages, String priority) {
+        return CoreMessageBatch.builder()
+                .batchId(UUID.randomUUID().toString())
+                .timestamp(Instant.now())
+                .priority(priority)
+                .messages(messages)
+                .build();
+    }
+
+    /**
+     * Get the number of messages in the batch.
+     */
+    public int size() {
+        return messages != null ? messages.size() : 0;
+    }
+
+}
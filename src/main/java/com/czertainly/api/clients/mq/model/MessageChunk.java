@@ -0,0 +1,59 @@
+package com.czertainly.api.clients.mq.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Chunk of a body transferred in multiple messages, when the body does not fit into a single message queue message.
+ *
+ * <p>Chunks of a body are sent in messages with the same correlation ID. The first message of the transfer
+ * contains the request or response without body, all messages contain the chunk. The body is the JSON document
+ * that would be sent in the body field, split into chunks of bytes. Chunks are numbered from 0, the receiver
+ * reassembles them in the order of sequence numbers and verifies the total size and the checksum of the body,
+ * which is sent in the last chunk.</p>
+ */
+@Getter
+@Setter
+@ToString(exclude = "data")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MessageChunk implements Serializable {
+
+    @Schema(description = "Sequence number of the chunk, starting from 0",
+            examples = {"0"},
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private int sequenceNumber;
+
+    @Schema(description = "Total number of chunks of the body",
+            examples = {"12"},
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private int totalChunks;
+
+    @Schema(description = "Total size of the body in bytes",
+            examples = {"3145728"},
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private long totalSize;
+
+    @Schema(description = "Checksum algorithm of the body",
+            examples = {"SHA-256"})
+    private String checksumAlgorithm;
+
+    @Schema(description = "Hex encoded checksum of the whole body. Sent in the last chunk only.",
+            examples = {"9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"})
+    private String checksum;
+
+    @Schema(description = "Data of the chunk. Base64 encoded in JSON, byte string in CBOR.",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private byte[] data;
+
+    /**
+     * Check if this is the last chunk of the body.
+     */
+    public boolean isLast() {
+        return sequenceNumber == totalChunks - 1;
+    }
+
+}
@@ -5,6 +5,7 @@ import lombok.*;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Message envelope for proxy-to-core communication.
@@ -16,6 +17,9 @@ import java.time.Instant;
  *   <li>Health checks: Contains only proxyId, messageType="health.check", and timestamp</li>
  *   <li>Connector registration: Contains connectorRegistrationRequest, messageType="connector.register"</li>
  * </ul>
+ *
+ * <p>Messages with messageType="batch" pack responses to the messages of a {@link CoreMessageBatch}, the responses
+ * are in the messages field and the other fields of the batch are empty except the proxy ID and the timestamp.</p>
  */
 @Getter
 @Setter
@@ -50,6 +54,29 @@ public class ProxyMessage implements Serializable {
     @Schema(description = "Connector registration request data. Null for non-registration messages.")
     private ConnectorRegistrationRequest connectorRegistrationRequest;
 
+    @Schema(description = "Encodings of the messages supported by the proxy, advertised in health check messages. " +
+            "Only JSON is supported when empty.",
+            examples = {"[\"json\", \"cbor\"]"})
+    private List<String> contentEncodings;
+
+    @Schema(description = "Number of requests the proxy accepts in flight, advertised in health check messages. " +
+            "Not limited when empty.",
+            examples = {"100"})
+    private Integer credits;
+
+    @Schema(description = "Chunk of the response body, when the body is transferred in multiple messages. " +
+            "Connector request or response is sent in the first message of the transfer only.")
+    private MessageChunk chunk;
+
+    @Schema(description = "Priority class of the request the message responds to, echoed by the proxy. Interactive when empty.",
+            examples = {"interactive", "bulk"})
+    private String priority;
+
+    @Schema(description = "Responses in the batch, each with correlation ID of its request. Only in messages of type 'batch'. " +
+            "Responses are not required to be in the order of the requests, a batch may contain only part of the responses " +
+            "of a core message batch, the remaining responses may arrive in other batches or as separate messages.")
+    private List<ProxyMessage> messages;
+
     /**
      * Check if this is a health check message.
      */
@@ -57,6 +84,13 @@ public class ProxyMessage implements Serializable {
         return "health.check".equals(messageType);
     }
 
+    /**
+     * Check if this message is a batch of connector responses, see {@link #getMessages()}.
+     */
+    public boolean isBatch() {
+        return CoreMessageBatch.MESSAGE_TYPE.equals(messageType);
+    }
+
     /**
      * Check if this message has a connector response.
      */
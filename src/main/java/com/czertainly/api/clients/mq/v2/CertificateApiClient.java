@@ -1,17 +1,29 @@
 package com.czertainly.api.clients.mq.v2;
 
 import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.BaseApiClient;
+import com.czertainly.api.clients.mq.MessagePriority;
 import com.czertainly.api.clients.mq.ProxyClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.exception.ValidationError;
 import com.czertainly.api.exception.ValidationException;
 import com.czertainly.api.interfaces.client.v2.CertificateSyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
 import com.czertainly.api.model.connector.v2.*;
+import com.czertainly.core.util.CertificateFingerprintUtils;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * MQ-based implementation of v2 Certificate API client.
@@ -47,12 +59,30 @@ public class CertificateApiClient implements CertificateSyncApiClient {
         return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateDataResponseDto.class);
     }
 
+    @Override
+    public CertificateBatchResponseDto issueCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchSignRequestDto requestDto) throws ConnectorException {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/issue/batch";
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchResponseDto.class);
+    }
+
+    @Override
+    public CertificateBatchResponseDto getCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, String batchUuid) throws ConnectorException {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/batch/" + batchUuid;
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_GET, null, CertificateBatchResponseDto.class);
+    }
+
     @Override
     public CertificateDataResponseDto renewCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateRenewRequestDto requestDto) throws ConnectorException {
         String path = BASE_PATH + "/" + authorityUuid + "/certificates/renew";
         return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateDataResponseDto.class);
     }
 
+    @Override
+    public CertificateBatchResponseDto renewCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto) throws ConnectorException {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/renew/batch";
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchResponseDto.class);
+    }
+
     @Override
     public List<BaseAttribute> listRevokeCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid) throws ConnectorException {
         String path = BASE_PATH + "/" + authorityUuid + "/certificates/revoke/attributes";
@@ -72,20 +102,198 @@ public class CertificateApiClient implements CertificateSyncApiClient {
         proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, Void.class);
     }
 
+    @Override
+    public CertificateBatchResponseDto revokeCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto) throws ConnectorException {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/revoke/batch";
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchResponseDto.class);
+    }
+
     @Override
     public CertificateIdentificationResponseDto identifyCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateIdentificationRequestDto requestDto) throws ValidationException, ConnectorException {
         String path = BASE_PATH + "/" + authorityUuid + "/certificates/identify";
         return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateIdentificationResponseDto.class);
     }
 
+    @Override
+    public CertificateBatchIdentificationResponseDto identifyCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchIdentificationRequestDto requestDto) throws ConnectorException {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/identify/batch";
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchIdentificationResponseDto.class);
+    }
+
     // Async variants
     public CompletableFuture<CertificateDataResponseDto> issueCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateSignRequestDto requestDto) {
         String path = BASE_PATH + "/" + authorityUuid + "/certificates/issue";
         return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, CertificateDataResponseDto.class);
     }
 
+    public CompletableFuture<CertificateBatchResponseDto> issueCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchSignRequestDto requestDto) {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/issue/batch";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchResponseDto.class, MessagePriority.BULK);
+    }
+
     public CompletableFuture<CertificateDataResponseDto> renewCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateRenewRequestDto requestDto) {
         String path = BASE_PATH + "/" + authorityUuid + "/certificates/renew";
         return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, CertificateDataResponseDto.class);
     }
+
+    public CompletableFuture<CertificateBatchResponseDto> renewCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto) {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/renew/batch";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchResponseDto.class, MessagePriority.BULK);
+    }
+
+    public CompletableFuture<CertificateBatchResponseDto> revokeCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto) {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/revoke/batch";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchResponseDto.class, MessagePriority.BULK);
+    }
+
+    /**
+     * Renew the certificates of the request split into batches of the given size with at most the given number
+     * of batches in flight. Batches failed as a whole are reported as failed items, results are in the order of the request.
+     */
+    public List<CertificateBatchResponseItemDto> pipelineRenewCertificates(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto, int batchSize, int maxInFlight) {
+        return pipelineCertificateBatches(requestDto.getCertificates(), batchSize, maxInFlight, CertificateBatchRenewItemDto::getId, certificates -> {
+            CertificateBatchRenewRequestDto batch = new CertificateBatchRenewRequestDto();
+            batch.setRaProfileAttributes(requestDto.getRaProfileAttributes());
+            batch.setCertificates(certificates);
+            return renewCertificateBatchAsync(connector, authorityUuid, batch);
+        });
+    }
+
+    /**
+     * Revoke the certificates of the request split into batches of the given size with at most the given number
+     * of batches in flight. Batches failed as a whole are reported as failed items, results are in the order of the request.
+     */
+    public List<CertificateBatchResponseItemDto> pipelineRevokeCertificates(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto, int batchSize, int maxInFlight) {
+        return pipelineCertificateBatches(requestDto.getCertificates(), batchSize, maxInFlight, CertificateBatchRevocationItemDto::getId, certificates -> {
+            CertificateBatchRevocationRequestDto batch = new CertificateBatchRevocationRequestDto();
+            batch.setReason(requestDto.getReason());
+            batch.setRaProfileAttributes(requestDto.getRaProfileAttributes());
+            batch.setAttributes(requestDto.getAttributes());
+            batch.setCertificates(certificates);
+            return revokeCertificateBatchAsync(connector, authorityUuid, batch);
+        });
+    }
+
+    public CompletableFuture<CertificateBatchIdentificationResponseDto> identifyCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchIdentificationRequestDto requestDto) {
+        String path = BASE_PATH + "/" + authorityUuid + "/certificates/identify/batch";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, CertificateBatchIdentificationResponseDto.class, MessagePriority.BULK);
+    }
+
+    /**
+     * Identify the certificates split into batches of the given size with at most the given number of batches in flight.
+     * Fingerprints are normalized to lowercase hex without separators, missing fingerprints are computed and certificates
+     * with fingerprint seen before are skipped. Certificates that are not valid Base64 are reported as failed items without fingerprint,
+     * with the index of the certificate in the given list.
+     */
+    public List<CertificateBatchIdentificationResponseItemDto> pipelineIdentifyCertificates(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> raProfileAttributes,
+                                                                                            List<CertificateBatchIdentificationItemDto> certificates, int batchSize, int maxInFlight) {
+        List<CertificateBatchIdentificationResponseItemDto> invalid = new ArrayList<>();
+        List<CertificateBatchIdentificationItemDto> unique = new ArrayList<>(certificates.size());
+        Set<String> fingerprints = new HashSet<>();
+        for (int i = 0; i < certificates.size(); i++) {
+            CertificateBatchIdentificationItemDto item = certificates.get(i);
+            String fingerprint = fingerprint(item);
+            if (fingerprint == null) {
+                invalid.add(new CertificateBatchIdentificationResponseItemDto(null, null,
+                        BaseApiClient.toProblemDetail(new ValidationException(ValidationError.create("Certificate content is not valid Base64."))), (long) i));
+            } else if (fingerprints.add(fingerprint)) {
+                unique.add(fingerprint.equals(item.getFingerprint()) ? item : new CertificateBatchIdentificationItemDto(fingerprint, item.getCertificate()));
+            }
+        }
+
+        List<CertificateBatchIdentificationResponseItemDto> results = pipelineBatches(unique, batchSize, maxInFlight, batch -> {
+            CertificateBatchIdentificationRequestDto requestDto = new CertificateBatchIdentificationRequestDto();
+            requestDto.setRaProfileAttributes(raProfileAttributes);
+            requestDto.setCertificates(batch);
+            return identifyCertificateBatchAsync(connector, authorityUuid, requestDto)
+                    .thenApply(response -> response != null ? response.getResults() : null);
+        }, (item, error) -> new CertificateBatchIdentificationResponseItemDto(item.getFingerprint(), null, error));
+        results.addAll(invalid);
+        return results;
+    }
+
+    /**
+     * @return Normalized fingerprint of the item, computed when missing, null when the certificate is not valid Base64
+     */
+    private static String fingerprint(CertificateBatchIdentificationItemDto item) {
+        if (item.getFingerprint() != null) {
+            return CertificateFingerprintUtils.normalizeFingerprint(item.getFingerprint());
+        }
+        if (item.getCertificate() == null) {
+            return null;
+        }
+        try {
+            return CertificateFingerprintUtils.computeFingerprint(item.getCertificate());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static <I> List<CertificateBatchResponseItemDto> pipelineCertificateBatches(List<I> items, int batchSize, int maxInFlight, Function<I, String> idFunction,
+                                                                                       Function<List<I>, CompletableFuture<CertificateBatchResponseDto>> sendBatch) {
+        return pipelineBatches(items, batchSize, maxInFlight,
+                batch -> sendBatch.apply(batch).thenApply(response -> response != null ? response.getResults() : null),
+                (item, error) -> new CertificateBatchResponseItemDto(idFunction.apply(item), null, error));
+    }
+
+    /**
+     * Send the items split into batches of the given size with at most the given number of batches in flight.
+     * Results are collected in the order of the batches, batch failed as a whole is reported as failure of each of its items.
+     *
+     * @param sendBatch  Sends the batch and returns its results, null results are treated as empty
+     * @param failedItem Creates the result of an item of the failed batch
+     */
+    private static <I, R> List<R> pipelineBatches(List<I> items, int batchSize, int maxInFlight,
+                                                  Function<List<I>, CompletableFuture<List<R>>> sendBatch, BiFunction<I, ProblemDetailExtended, R> failedItem) {
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and maximum number of batches in flight must be positive.");
+        }
+        List<R> results = new ArrayList<>(items.size());
+        Deque<InFlightBatch<I, R>> inFlight = new ArrayDeque<>();
+        try {
+            for (int from = 0; from < items.size(); from += batchSize) {
+                if (inFlight.size() >= maxInFlight) {
+                    inFlight.poll().collect(results, failedItem);
+                }
+                List<I> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+                inFlight.add(new InFlightBatch<>(batch, send(sendBatch, batch)));
+            }
+            while (!inFlight.isEmpty()) {
+                inFlight.poll().collect(results, failedItem);
+            }
+        } finally {
+            // batches still in flight when the pipeline fails are not awaited by anyone
+            inFlight.forEach(batch -> batch.response().cancel(false));
+        }
+        return results;
+    }
+
+    /**
+     * @return Results of the batch, failed when the batch could not be sent, e.g. circuit of the connector is open
+     */
+    private static <I, R> CompletableFuture<List<R>> send(Function<List<I>, CompletableFuture<List<R>>> sendBatch, List<I> batch) {
+        try {
+            return sendBatch.apply(batch);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private record InFlightBatch<I, R>(List<I> items, CompletableFuture<List<R>> response) {
+
+        void collect(List<R> results, BiFunction<I, ProblemDetailExtended, R> failedItem) {
+            try {
+                List<R> batchResults = response.join();
+                if (batchResults != null) {
+                    results.addAll(batchResults);
+                }
+            } catch (RuntimeException e) {
+                // batch failed as a whole, e.g. connector unavailable, is reported as failure of each of its items
+                ProblemDetailExtended error = BaseApiClient.toProblemDetail(e.getCause() != null ? e.getCause() : e);
+                for (I item : items) {
+                    results.add(failedItem.apply(item, error));
+                }
+            }
+        }
+    }
 }
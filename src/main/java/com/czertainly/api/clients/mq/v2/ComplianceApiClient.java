@@ -1,6 +1,9 @@
 package com.czertainly.api.clients.mq.v2;
 
 import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.BaseApiClient;
+import com.czertainly.api.clients.ComplianceRuleSetCache;
+import com.czertainly.api.clients.mq.MessagePriority;
 import com.czertainly.api.clients.mq.ProxyClient;
 import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.interfaces.client.v2.ComplianceSyncApiClient;
@@ -10,6 +13,7 @@ import com.czertainly.api.model.core.auth.Resource;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -25,8 +29,19 @@ public class ComplianceApiClient implements ComplianceSyncApiClient {
 
     private final ProxyClient proxyClient;
 
+    private final ComplianceRuleSetCache ruleSetCache;
+
     public ComplianceApiClient(ProxyClient proxyClient) {
+        this(proxyClient, BaseApiClient.getComplianceRuleSetCache());
+    }
+
+    /**
+     * @param proxyClient  Client sending the requests via the proxy
+     * @param ruleSetCache Cache of the resolved rule sets, shared with the REST client by default
+     */
+    public ComplianceApiClient(ProxyClient proxyClient, ComplianceRuleSetCache ruleSetCache) {
         this.proxyClient = proxyClient;
+        this.ruleSetCache = ruleSetCache;
     }
 
     @Override
@@ -60,6 +75,16 @@ public class ComplianceApiClient implements ComplianceSyncApiClient {
         return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, ComplianceRulesBatchResponseDto.class);
     }
 
+    @Override
+    public ComplianceRuleSetCache.RuleSet getComplianceRuleSet(ApiClientConnectorInfo connector, String kind, Collection<UUID> ruleUuids, Collection<UUID> groupUuids) throws ConnectorException {
+        ComplianceRuleSetCache.Key key = ComplianceRuleSetCache.Key.of(connector, kind, ruleUuids, groupUuids);
+        ComplianceRuleSetCache.RuleSet cached = ruleSetCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return ruleSetCache.put(key, getComplianceRulesBatch(connector, kind, key.toRequest()));
+    }
+
     @Override
     public List<ComplianceGroupResponseDto> getComplianceGroups(ApiClientConnectorInfo connector, String kind, Resource resource) throws ConnectorException {
         StringBuilder pathBuilder = new StringBuilder(BASE_PATH).append("/").append(kind).append("/groups");
@@ -89,12 +114,23 @@ public class ComplianceApiClient implements ComplianceSyncApiClient {
         return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, ComplianceResponseDto.class);
     }
 
+    @Override
+    public ComplianceBatchResponseDto checkComplianceBatch(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto) throws ConnectorException {
+        String path = BASE_PATH + "/" + kind + "/compliance/batch";
+        return proxyClient.sendRequest(connector, path, HTTP_METHOD_POST, requestDto, ComplianceBatchResponseDto.class, MessagePriority.BULK);
+    }
+
     // Async variants
     public CompletableFuture<ComplianceResponseDto> checkComplianceAsync(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto) {
         String path = BASE_PATH + "/" + kind + "/compliance";
         return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, ComplianceResponseDto.class);
     }
 
+    public CompletableFuture<ComplianceBatchResponseDto> checkComplianceBatchAsync(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto) {
+        String path = BASE_PATH + "/" + kind + "/compliance/batch";
+        return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, ComplianceBatchResponseDto.class, MessagePriority.BULK);
+    }
+
     public CompletableFuture<ComplianceRulesBatchResponseDto> getComplianceRulesBatchAsync(ApiClientConnectorInfo connector, String kind, ComplianceRulesBatchRequestDto requestDto) {
         String path = BASE_PATH + "/" + kind + "/rules";
         return proxyClient.sendRequestAsync(connector, path, HTTP_METHOD_POST, requestDto, ComplianceRulesBatchResponseDto.class);
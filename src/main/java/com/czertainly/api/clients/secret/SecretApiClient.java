@@ -21,16 +21,7 @@ public class SecretApiClient extends BaseApiClient {
     }
 
     public List<BaseAttribute> getSecretAttributes(ApiClientConnectorInfo connector, SecretType secretType) throws ConnectorException {
-        return processRequest(
-                type -> prepareRequest(HttpMethod.GET, connector, true)
-                        .uri(connector.getUrl() + SECRET_BASE_PATH + "/" + type.getCode() + "/attributes")
-                        .retrieve()
-                        .bodyToFlux(BaseAttribute.class)
-                        .collectList()
-                        .block(),
-                secretType,
-                connector
-        );
+        return blockRequest(processAttributeDefinitionsRequest(connector, null, secretType.getCode(), true, SECRET_BASE_PATH + "/{secretType}/attributes", secretType.getCode()).collectList());
     }
 
     public SecretContentResponseDto getSecretContent(ApiClientConnectorInfo connector, SecretRequestDto request, String version) throws ConnectorException {
@@ -94,16 +85,7 @@ public class SecretApiClient extends BaseApiClient {
     }
 
     public List<BaseAttribute> getRotateAttributes(ApiClientConnectorInfo connector) throws ConnectorException {
-        return processRequest(
-                c -> prepareRequest(HttpMethod.GET, c, true)
-                        .uri(c.getUrl() + SECRET_BASE_PATH + "/rotate/attributes")
-                        .retrieve()
-                        .bodyToFlux(BaseAttribute.class)
-                        .collectList()
-                        .block(),
-                connector,
-                connector
-        );
+        return blockRequest(processAttributeDefinitionsRequest(connector, null, "rotate", true, SECRET_BASE_PATH + "/rotate/attributes").collectList());
     }
 
     public SecretResponseDto rotateSecret(ApiClientConnectorInfo connector, SecretRequestDto request) throws ConnectorException {
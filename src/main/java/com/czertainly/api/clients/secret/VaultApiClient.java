@@ -3,6 +3,7 @@ package com.czertainly.api.clients.secret;
 import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v1.secret.VaultAsyncApiClient;
 import com.czertainly.api.interfaces.client.v1.secret.VaultSyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
@@ -11,8 +12,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.net.ssl.TrustManager;
 import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-public class VaultApiClient extends BaseApiClient implements VaultSyncApiClient {
+public class VaultApiClient extends BaseApiClient implements VaultSyncApiClient, VaultAsyncApiClient {
 
     private static final String VAULT_BASE_PATH = "/v1/secretProvider/vaults";
     private static final String VAULT_PROFILE_BASE_PATH = "/v1/secretProvider/vaultProfiles";
@@ -21,43 +24,48 @@ public class VaultApiClient extends BaseApiClient implements VaultSyncApiClient
         super(webClient, defaultTrustManagers);
     }
 
+    @Override
     public void checkVaultConnection(ApiClientConnectorInfo connector, List<RequestAttribute> attributes) throws ConnectorException {
-        processRequest(
-                attrs -> prepareRequest(HttpMethod.POST, connector, true)
-                        .uri(connector.getUrl() + VAULT_BASE_PATH)
-                        .bodyValue(attrs)
-                        .retrieve()
-                        .toBodilessEntity()
-                        .block(),
-                attributes,
-                connector
-        );
+        blockRequest(checkVaultConnectionAsync(connector, attributes));
     }
 
+    @Override
+    public Mono<Void> checkVaultConnectionAsync(ApiClientConnectorInfo connector, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + VAULT_BASE_PATH)
+                .bodyValue(attributes)
+                .retrieve()
+                .toBodilessEntity()
+                .then(),
+                connector);
+    }
+
+    @Override
     public List<BaseAttribute> listVaultAttributes(ApiClientConnectorInfo connector) throws ConnectorException {
-        return processRequest(
-                c -> prepareRequest(HttpMethod.GET, c, true)
-                        .uri(c.getUrl() + VAULT_BASE_PATH + "/attributes")
-                        .retrieve()
-                        .bodyToFlux(BaseAttribute.class)
-                        .collectList()
-                        .block(),
-                connector,
-                connector
-        );
+        return blockRequest(listVaultAttributesAsync(connector).collectList());
+    }
+
+    @Override
+    public Flux<BaseAttribute> listVaultAttributesAsync(ApiClientConnectorInfo connector) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + VAULT_BASE_PATH + "/attributes")
+                .retrieve()
+                .bodyToFlux(BaseAttribute.class),
+                connector);
     }
 
+    @Override
     public List<BaseAttribute> listVaultProfileAttributes(ApiClientConnectorInfo connector, List<RequestAttribute> attributes) throws ConnectorException {
-        return processRequest(
-                attrs -> prepareRequest(HttpMethod.POST, connector, true)
-                        .uri(connector.getUrl() + VAULT_PROFILE_BASE_PATH + "/attributes")
-                        .bodyValue(attrs)
-                        .retrieve()
-                        .bodyToFlux(BaseAttribute.class)
-                        .collectList()
-                        .block(),
-                attributes,
-                connector
-        );
+        return blockRequest(listVaultProfileAttributesAsync(connector, attributes).collectList());
+    }
+
+    @Override
+    public Flux<BaseAttribute> listVaultProfileAttributesAsync(ApiClientConnectorInfo connector, List<RequestAttribute> attributes) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + VAULT_PROFILE_BASE_PATH + "/attributes")
+                .bodyValue(attributes)
+                .retrieve()
+                .bodyToFlux(BaseAttribute.class),
+                connector);
     }
 }
@@ -3,34 +3,56 @@ package com.czertainly.api.clients.v2;
 import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.exception.ValidationError;
 import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.interfaces.client.v2.CertificateAsyncApiClient;
 import com.czertainly.api.interfaces.client.v2.CertificateSyncApiClient;
 import com.czertainly.api.model.client.attribute.RequestAttribute;
 import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
 import com.czertainly.api.model.connector.v2.*;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import com.czertainly.core.util.CertificateFingerprintUtils;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
-public class CertificateApiClient extends BaseApiClient implements CertificateSyncApiClient {
+public class CertificateApiClient extends BaseApiClient implements CertificateSyncApiClient, CertificateAsyncApiClient {
 
     private static final String CERTIFICATE_BASE_CONTEXT = "/v2/authorityProvider/authorities/{uuid}/certificates";
 
     private static final String CERTIFICATE_ISSUE_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/issue";
+    private static final String CERTIFICATE_ISSUE_BATCH_CONTEXT = CERTIFICATE_ISSUE_CONTEXT + "/batch";
     private static final String CERTIFICATE_ISSUE_ATTRIBUTES_CONTEXT = CERTIFICATE_ISSUE_CONTEXT + "/attributes";
     private static final String CERTIFICATE_ISSUE_ATTRIBUTES_VALIDATE_CONTEXT = CERTIFICATE_ISSUE_ATTRIBUTES_CONTEXT + "/validate";
 
+    private static final String CERTIFICATE_BATCH_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/batch/{batchUuid}";
+
     private static final String CERTIFICATE_RENEW_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/renew";
+    private static final String CERTIFICATE_RENEW_BATCH_CONTEXT = CERTIFICATE_RENEW_CONTEXT + "/batch";
 
     private static final String CERTIFICATE_REVOKE_ATTRIBUTES_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/revoke/attributes";
     private static final String CERTIFICATE_REVOKE_ATTRIBUTES_VALIDATE_CONTEXT = CERTIFICATE_REVOKE_ATTRIBUTES_CONTEXT + "/validate";
 
     private static final String CERTIFICATE_REVOKE_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/revoke";
+    private static final String CERTIFICATE_REVOKE_BATCH_CONTEXT = CERTIFICATE_REVOKE_CONTEXT + "/batch";
     private static final String CERTIFICATE_IDENTIFY_CONTEXT = CERTIFICATE_BASE_CONTEXT + "/identify";
+    private static final String CERTIFICATE_IDENTIFY_BATCH_CONTEXT = CERTIFICATE_IDENTIFY_CONTEXT + "/batch";
+
+    // bounds the memory of deduplication of streamed certificates, duplicates further apart are identified again
+    private static final int SEEN_FINGERPRINTS_LIMIT = 10_000;
 
     private static final ParameterizedTypeReference<List<RequestAttribute>> ATTRIBUTE_LIST_TYPE_REF = new ParameterizedTypeReference<>() {
     };
@@ -42,111 +64,313 @@ public class CertificateApiClient extends BaseApiClient implements CertificateSy
 
     @Override
     public List<BaseAttribute> listIssueCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+        return blockRequest(listIssueCertificateAttributesAsync(connector, authorityUuid).collectList());
+    }
 
-        return processRequest(r -> r
-                .uri(connector.getUrl() + CERTIFICATE_ISSUE_ATTRIBUTES_CONTEXT, authorityUuid)
-                .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
-                connector);
+    @Override
+    public Flux<BaseAttribute> listIssueCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid) {
+        return processAttributeDefinitionsRequest(connector, FunctionGroupCode.AUTHORITY_PROVIDER, "issue", true, CERTIFICATE_ISSUE_ATTRIBUTES_CONTEXT, authorityUuid);
     }
 
     @Override
     public Boolean validateIssueCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(validateIssueCertificateAttributesAsync(connector, authorityUuid, attributes));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<Boolean> validateIssueCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_ISSUE_ATTRIBUTES_VALIDATE_CONTEXT, authorityUuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Boolean.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Boolean.class),
                 connector);
     }
 
     @Override
     public CertificateDataResponseDto issueCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateSignRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(issueCertificateAsync(connector, authorityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<CertificateDataResponseDto> issueCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateSignRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_ISSUE_CONTEXT, authorityUuid)
                 .body(Mono.just(requestDto), CertificateSignRequestDto.class)
                 .retrieve()
-                .toEntity(CertificateDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(CertificateDataResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public CertificateBatchResponseDto issueCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchSignRequestDto requestDto) throws ConnectorException {
+        return blockRequest(issueCertificateBatchAsync(connector, authorityUuid, requestDto));
+    }
+
+    @Override
+    public Mono<CertificateBatchResponseDto> issueCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchSignRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + CERTIFICATE_ISSUE_BATCH_CONTEXT, authorityUuid)
+                .body(Mono.just(requestDto), CertificateBatchSignRequestDto.class)
+                .retrieve()
+                .bodyToMono(CertificateBatchResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public CertificateBatchResponseDto getCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, String batchUuid) throws ConnectorException {
+        return blockRequest(getCertificateBatchAsync(connector, authorityUuid, batchUuid));
+    }
+
+    @Override
+    public Mono<CertificateBatchResponseDto> getCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, String batchUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + CERTIFICATE_BATCH_CONTEXT, authorityUuid, batchUuid)
+                .retrieve()
+                .bodyToMono(CertificateBatchResponseDto.class),
                 connector);
     }
 
+    @Override
+    public Mono<CertificateBatchResponseDto> awaitCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchResponseDto batch, Duration pollInterval, Duration timeout) {
+        return Mono.defer(() -> {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            return Mono.just(batch)
+                    .expand(current -> {
+                        if (current.isCompleted()) {
+                            return Mono.empty();
+                        }
+                        if (System.nanoTime() + pollInterval.toNanos() - deadline > 0) {
+                            return Mono.error(new ConnectorException("Certificate batch " + current.getUuid() + " not completed within " + timeout, connector));
+                        }
+                        return Mono.delay(pollInterval).then(getCertificateBatchAsync(connector, authorityUuid, current.getUuid()));
+                    })
+                    .last();
+        });
+    }
+
     @Override
     public CertificateDataResponseDto renewCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateRenewRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(renewCertificateAsync(connector, authorityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<CertificateDataResponseDto> renewCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateRenewRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_RENEW_CONTEXT, authorityUuid)
                 .body(Mono.just(requestDto), CertificateRenewRequestDto.class)
                 .retrieve()
-                .toEntity(CertificateDataResponseDto.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(CertificateDataResponseDto.class),
                 connector);
     }
 
     @Override
-    public List<BaseAttribute> listRevokeCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
+    public CertificateBatchResponseDto renewCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto) throws ConnectorException {
+        return blockRequest(renewCertificateBatchAsync(connector, authorityUuid, requestDto));
+    }
 
-        return processRequest(r -> r
-                .uri(connector.getUrl() + CERTIFICATE_REVOKE_ATTRIBUTES_CONTEXT, authorityUuid)
+    @Override
+    public Mono<CertificateBatchResponseDto> renewCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + CERTIFICATE_RENEW_BATCH_CONTEXT, authorityUuid)
+                .body(Mono.just(requestDto), CertificateBatchRenewRequestDto.class)
                 .retrieve()
-                .toEntityList(BaseAttribute.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(CertificateBatchResponseDto.class),
                 connector);
     }
 
+    @Override
+    public Flux<CertificateBatchResponseItemDto> pipelineRenewCertificates(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto, int batchSize, int maxInFlight) {
+        return pipelineBatches(requestDto.getCertificates(), batchSize, maxInFlight, CertificateBatchRenewItemDto::getId, certificates -> {
+            CertificateBatchRenewRequestDto batch = new CertificateBatchRenewRequestDto();
+            batch.setRaProfileAttributes(requestDto.getRaProfileAttributes());
+            batch.setCertificates(certificates);
+            return renewCertificateBatchAsync(connector, authorityUuid, batch);
+        });
+    }
+
+    @Override
+    public List<BaseAttribute> listRevokeCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid) throws ConnectorException {
+        return blockRequest(listRevokeCertificateAttributesAsync(connector, authorityUuid).collectList());
+    }
+
+    @Override
+    public Flux<BaseAttribute> listRevokeCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid) {
+        return processAttributeDefinitionsRequest(connector, FunctionGroupCode.AUTHORITY_PROVIDER, "revoke", true, CERTIFICATE_REVOKE_ATTRIBUTES_CONTEXT, authorityUuid);
+    }
+
     @Override
     public Boolean validateRevokeCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        return blockRequest(validateRevokeCertificateAttributesAsync(connector, authorityUuid, attributes));
+    }
 
-        return processRequest(r -> r
+    @Override
+    public Mono<Boolean> validateRevokeCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_REVOKE_ATTRIBUTES_VALIDATE_CONTEXT, authorityUuid)
                 .body(Mono.just(attributes), ATTRIBUTE_LIST_TYPE_REF)
                 .retrieve()
-                .toEntity(Boolean.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Boolean.class),
                 connector);
     }
 
     @Override
     public void revokeCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertRevocationDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
+        blockRequest(revokeCertificateAsync(connector, authorityUuid, requestDto));
+    }
 
-        processRequest(r -> r
+    @Override
+    public Mono<Void> revokeCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertRevocationDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
                 .uri(connector.getUrl() + CERTIFICATE_REVOKE_CONTEXT, authorityUuid)
                 .body(Mono.just(requestDto), CertRevocationDto.class)
                 .retrieve()
-                .toEntity(Void.class)
-                .block().getBody(),
-                request,
+                .bodyToMono(Void.class),
                 connector);
     }
 
+    @Override
+    public CertificateBatchResponseDto revokeCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto) throws ConnectorException {
+        return blockRequest(revokeCertificateBatchAsync(connector, authorityUuid, requestDto));
+    }
+
+    @Override
+    public Mono<CertificateBatchResponseDto> revokeCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + CERTIFICATE_REVOKE_BATCH_CONTEXT, authorityUuid)
+                .body(Mono.just(requestDto), CertificateBatchRevocationRequestDto.class)
+                .retrieve()
+                .bodyToMono(CertificateBatchResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public Flux<CertificateBatchResponseItemDto> pipelineRevokeCertificates(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto, int batchSize, int maxInFlight) {
+        return pipelineBatches(requestDto.getCertificates(), batchSize, maxInFlight, CertificateBatchRevocationItemDto::getId, certificates -> {
+            CertificateBatchRevocationRequestDto batch = new CertificateBatchRevocationRequestDto();
+            batch.setReason(requestDto.getReason());
+            batch.setRaProfileAttributes(requestDto.getRaProfileAttributes());
+            batch.setAttributes(requestDto.getAttributes());
+            batch.setCertificates(certificates);
+            return revokeCertificateBatchAsync(connector, authorityUuid, batch);
+        });
+    }
+
     @Override
     public CertificateIdentificationResponseDto identifyCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateIdentificationRequestDto requestDto) throws ValidationException, ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + CERTIFICATE_IDENTIFY_CONTEXT, authorityUuid)
-                        .body(Mono.just(requestDto), CertificateSignRequestDto.class)
-                        .retrieve()
-                        .toEntity(CertificateIdentificationResponseDto.class)
-                        .block().getBody(),
-                request,
+        return blockRequest(identifyCertificateAsync(connector, authorityUuid, requestDto));
+    }
+
+    @Override
+    public Mono<CertificateIdentificationResponseDto> identifyCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateIdentificationRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + CERTIFICATE_IDENTIFY_CONTEXT, authorityUuid)
+                .body(Mono.just(requestDto), CertificateSignRequestDto.class)
+                .retrieve()
+                .bodyToMono(CertificateIdentificationResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public CertificateBatchIdentificationResponseDto identifyCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchIdentificationRequestDto requestDto) throws ConnectorException {
+        return blockRequest(identifyCertificateBatchAsync(connector, authorityUuid, requestDto));
+    }
+
+    @Override
+    public Mono<CertificateBatchIdentificationResponseDto> identifyCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchIdentificationRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + CERTIFICATE_IDENTIFY_BATCH_CONTEXT, authorityUuid)
+                .body(Mono.just(requestDto), CertificateBatchIdentificationRequestDto.class)
+                .retrieve()
+                .bodyToMono(CertificateBatchIdentificationResponseDto.class),
                 connector);
     }
+
+    @Override
+    public Flux<CertificateBatchIdentificationResponseItemDto> pipelineIdentifyCertificates(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> raProfileAttributes,
+                                                                                            Flux<CertificateBatchIdentificationItemDto> certificates, int batchSize, int maxInFlight) {
+        return Flux.defer(() -> {
+            Set<String> seenFingerprints = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > SEEN_FINGERPRINTS_LIMIT;
+                }
+            });
+            return certificates
+                    .index((index, item) -> new IndexedItem(index, withFingerprint(item)))
+                    // certificates without fingerprint are not valid and are never duplicates
+                    .filter(indexed -> indexed.item().getFingerprint() == null || seenFingerprints.add(indexed.item().getFingerprint()))
+                    .buffer(batchSize)
+                    .flatMap(batch -> identifyBatch(connector, authorityUuid, raProfileAttributes, batch), maxInFlight);
+        });
+    }
+
+    private Flux<CertificateBatchIdentificationResponseItemDto> identifyBatch(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> raProfileAttributes,
+                                                                             List<IndexedItem> batch) {
+        List<CertificateBatchIdentificationItemDto> valid = new ArrayList<>(batch.size());
+        List<CertificateBatchIdentificationResponseItemDto> invalid = new ArrayList<>();
+        for (IndexedItem indexed : batch) {
+            if (indexed.item().getFingerprint() != null) {
+                valid.add(indexed.item());
+            } else {
+                invalid.add(new CertificateBatchIdentificationResponseItemDto(null, null,
+                        toProblemDetail(new ValidationException(ValidationError.create("Certificate content is not valid Base64."))), indexed.index()));
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromIterable(invalid);
+        }
+        CertificateBatchIdentificationRequestDto requestDto = new CertificateBatchIdentificationRequestDto();
+        requestDto.setRaProfileAttributes(raProfileAttributes);
+        requestDto.setCertificates(valid);
+        return identifyCertificateBatchAsync(connector, authorityUuid, requestDto)
+                .flatMapIterable(CertificateBatchIdentificationResponseDto::getResults)
+                // batch failed as a whole, e.g. connector unavailable, is reported as failure of each of its items
+                .onErrorResume(e -> {
+                    ProblemDetailExtended error = toProblemDetail(e);
+                    return Flux.fromIterable(valid).map(item -> new CertificateBatchIdentificationResponseItemDto(item.getFingerprint(), null, error));
+                })
+                .concatWith(Flux.fromIterable(invalid));
+    }
+
+    /**
+     * @return Item with the fingerprint normalized or computed when missing, fingerprint is null when the certificate is not valid Base64
+     */
+    private static CertificateBatchIdentificationItemDto withFingerprint(CertificateBatchIdentificationItemDto item) {
+        if (item.getFingerprint() != null) {
+            String fingerprint = CertificateFingerprintUtils.normalizeFingerprint(item.getFingerprint());
+            return fingerprint.equals(item.getFingerprint()) ? item : new CertificateBatchIdentificationItemDto(fingerprint, item.getCertificate());
+        }
+        if (item.getCertificate() == null) {
+            return item;
+        }
+        String fingerprint = null;
+        try {
+            fingerprint = CertificateFingerprintUtils.computeFingerprint(item.getCertificate());
+        } catch (IllegalArgumentException e) {
+            // reported as failed item
+        }
+        return new CertificateBatchIdentificationItemDto(fingerprint, item.getCertificate());
+    }
+
+    private static <I> Flux<CertificateBatchResponseItemDto> pipelineBatches(List<I> items, int batchSize, int maxInFlight, Function<I, String> idFunction,
+                                                                            Function<List<I>, Mono<CertificateBatchResponseDto>> sendBatch) {
+        return Flux.fromIterable(items)
+                .buffer(batchSize)
+                // deferred so that a batch that cannot be sent fails only its own items
+                .flatMapSequential(batch -> Mono.defer(() -> sendBatch.apply(batch))
+                        .flatMapIterable(response -> response.getResults() != null ? response.getResults() : List.of())
+                        // batch failed as a whole, e.g. connector unavailable, is reported as failure of each of its items
+                        .onErrorResume(e -> {
+                            ProblemDetailExtended error = toProblemDetail(e);
+                            return Flux.fromIterable(batch).map(item -> new CertificateBatchResponseItemDto(idFunction.apply(item), null, error));
+                        }),
+                        maxInFlight);
+    }
+
+    /**
+     * Certificate to be identified with its position in the certificates of the pipeline
+     */
+    private record IndexedItem(long index, CertificateBatchIdentificationItemDto item) {
+    }
 }
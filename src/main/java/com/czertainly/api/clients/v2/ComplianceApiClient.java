@@ -2,22 +2,29 @@ package com.czertainly.api.clients.v2;
 
 import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
+import com.czertainly.api.clients.ComplianceRuleSetCache;
+import com.czertainly.api.clients.RequestCoalescer;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v2.ComplianceAsyncApiClient;
 import com.czertainly.api.interfaces.client.v2.ComplianceSyncApiClient;
 import com.czertainly.api.model.connector.compliance.v2.*;
 import com.czertainly.api.model.core.auth.Resource;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.net.ssl.TrustManager;
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
-public class ComplianceApiClient extends BaseApiClient implements ComplianceSyncApiClient {
+public class ComplianceApiClient extends BaseApiClient implements ComplianceSyncApiClient, ComplianceAsyncApiClient {
 
     private static final String COMPLIANCE_BASE_CONTEXT = "/v2/complianceProvider/{kind}";
     private static final String COMPLIANCE_RULES_GET_CONTEXT = COMPLIANCE_BASE_CONTEXT + "/rules";
@@ -26,6 +33,7 @@ public class ComplianceApiClient extends BaseApiClient implements ComplianceSync
     private static final String COMPLIANCE_GROUP_GET_CONTEXT = COMPLIANCE_BASE_CONTEXT + "/groups/{groupUuid}";
     private static final String COMPLIANCE_GROUP_RULES_CONTEXT = COMPLIANCE_BASE_CONTEXT + "/groups/{groupUuid}/rules";
     private static final String COMPLIANCE_CONTEXT = COMPLIANCE_BASE_CONTEXT + "/compliance";
+    private static final String COMPLIANCE_BATCH_CONTEXT = COMPLIANCE_CONTEXT + "/batch";
 
     private static final String RESOURCE_QUERY_HEADER = "resource";
     private static final String RESOURCE_TYPE_QUERY_HEADER = "type";
@@ -38,6 +46,11 @@ public class ComplianceApiClient extends BaseApiClient implements ComplianceSync
 
     @Override
     public List<ComplianceRuleResponseDto> getComplianceRules(ApiClientConnectorInfo connector, String kind, Resource resource, String type, String format) throws ConnectorException {
+        return blockRequest(getComplianceRulesAsync(connector, kind, resource, type, format).collectList());
+    }
+
+    @Override
+    public Flux<ComplianceRuleResponseDto> getComplianceRulesAsync(ApiClientConnectorInfo connector, String kind, Resource resource, String type, String format) {
         URI uri;
         UriBuilder uriBuilder = UriComponentsBuilder.fromUriString(connector.getUrl());
         uriBuilder.path(COMPLIANCE_RULES_GET_CONTEXT.replace("{kind}", kind));
@@ -52,45 +65,71 @@ public class ComplianceApiClient extends BaseApiClient implements ComplianceSync
             uriBuilder.queryParam(RESOURCE_FORMAT_QUERY_HEADER, format);
         }
         uri = uriBuilder.build();
-        WebClient.RequestBodySpec request = prepareRequest(HttpMethod.GET, connector, true).uri(uri);
 
-        return processRequest(r -> r
-                        .retrieve()
-                        .toEntityList(ComplianceRuleResponseDto.class)
-                        .block().getBody(),
-                request,
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true).uri(uri)
+                .retrieve()
+                .bodyToFlux(ComplianceRuleResponseDto.class),
                 connector);
     }
 
     @Override
     public ComplianceRuleResponseDto getComplianceRule(ApiClientConnectorInfo connector, String kind, UUID ruleUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + COMPLIANCE_RULE_GET_CONTEXT, kind, ruleUuid)
-                        .retrieve()
-                        .toEntity(ComplianceRuleResponseDto.class)
-                        .block().getBody(),
-                request,
+        return blockRequest(getComplianceRuleAsync(connector, kind, ruleUuid));
+    }
+
+    @Override
+    public Mono<ComplianceRuleResponseDto> getComplianceRuleAsync(ApiClientConnectorInfo connector, String kind, UUID ruleUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_RULE_GET_CONTEXT, kind, ruleUuid)
+                .retrieve()
+                .bodyToMono(ComplianceRuleResponseDto.class),
                 connector);
     }
 
     @Override
     public ComplianceRulesBatchResponseDto getComplianceRulesBatch(ApiClientConnectorInfo connector, String kind, ComplianceRulesBatchRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + COMPLIANCE_RULES_GET_CONTEXT, kind)
-                        .body(Mono.just(requestDto), ComplianceRulesBatchRequestDto.class)
-                        .retrieve()
-                        .toEntity(ComplianceRulesBatchResponseDto.class)
-                        .block().getBody(),
-                request,
+        return blockRequest(getComplianceRulesBatchAsync(connector, kind, requestDto));
+    }
+
+    @Override
+    public Mono<ComplianceRulesBatchResponseDto> getComplianceRulesBatchAsync(ApiClientConnectorInfo connector, String kind, ComplianceRulesBatchRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_RULES_GET_CONTEXT, kind)
+                .body(Mono.just(requestDto), ComplianceRulesBatchRequestDto.class)
+                .retrieve()
+                .bodyToMono(ComplianceRulesBatchResponseDto.class),
                 connector);
     }
 
+    @Override
+    public ComplianceRuleSetCache.RuleSet getComplianceRuleSet(ApiClientConnectorInfo connector, String kind, Collection<UUID> ruleUuids, Collection<UUID> groupUuids) throws ConnectorException {
+        return blockRequest(getComplianceRuleSetAsync(connector, kind, ruleUuids, groupUuids));
+    }
+
+    @Override
+    public Mono<ComplianceRuleSetCache.RuleSet> getComplianceRuleSetAsync(ApiClientConnectorInfo connector, String kind, Collection<UUID> ruleUuids, Collection<UUID> groupUuids) {
+        return Mono.defer(() -> {
+            ComplianceRuleSetCache cache = getComplianceRuleSetCache();
+            ComplianceRuleSetCache.Key key = ComplianceRuleSetCache.Key.of(connector, kind, ruleUuids, groupUuids);
+            ComplianceRuleSetCache.RuleSet cached = cache.get(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            ComplianceRulesBatchRequestDto requestDto = key.toRequest();
+            RequestCoalescer.RequestKey requestKey = RequestCoalescer.RequestKey.of(connector, HttpMethod.POST.name(), COMPLIANCE_RULES_GET_CONTEXT,
+                    Map.of("kind", kind), requestDto, ComplianceRulesBatchResponseDto.class);
+            return getRequestCoalescer().coalesce(requestKey, () -> getComplianceRulesBatchAsync(connector, kind, requestDto)
+                    .map(response -> cache.put(key, response)));
+        });
+    }
+
     @Override
     public List<ComplianceGroupResponseDto> getComplianceGroups(ApiClientConnectorInfo connector, String kind, Resource resource) throws ConnectorException {
+        return blockRequest(getComplianceGroupsAsync(connector, kind, resource).collectList());
+    }
+
+    @Override
+    public Flux<ComplianceGroupResponseDto> getComplianceGroupsAsync(ApiClientConnectorInfo connector, String kind, Resource resource) {
         URI uri;
         UriBuilder uriBuilder = UriComponentsBuilder.fromUriString(connector.getUrl());
         uriBuilder.path(COMPLIANCE_GROUPS_GET_CONTEXT.replace("{kind}", kind));
@@ -99,52 +138,79 @@ public class ComplianceApiClient extends BaseApiClient implements ComplianceSync
             uriBuilder.queryParam(RESOURCE_QUERY_HEADER, resource);
         }
         uri = uriBuilder.build();
-        WebClient.RequestBodySpec request = prepareRequest(HttpMethod.GET, connector, true).uri(uri);
-        return processRequest(r -> r
-                        .retrieve()
-                        .toEntityList(ComplianceGroupResponseDto.class)
-                        .block().getBody(),
-                request,
+
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true).uri(uri)
+                .retrieve()
+                .bodyToFlux(ComplianceGroupResponseDto.class),
                 connector);
     }
 
     @Override
     public ComplianceGroupResponseDto getComplianceGroup(ApiClientConnectorInfo connector, String kind, UUID groupUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + COMPLIANCE_GROUP_GET_CONTEXT, kind, groupUuid)
-                        .retrieve()
-                        .toEntity(ComplianceGroupResponseDto.class)
-                        .block().getBody(),
-                request,
+        return blockRequest(getComplianceGroupAsync(connector, kind, groupUuid));
+    }
+
+    @Override
+    public Mono<ComplianceGroupResponseDto> getComplianceGroupAsync(ApiClientConnectorInfo connector, String kind, UUID groupUuid) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_GROUP_GET_CONTEXT, kind, groupUuid)
+                .retrieve()
+                .bodyToMono(ComplianceGroupResponseDto.class),
                 connector);
     }
 
     @Override
     public List<ComplianceRuleResponseDto> getComplianceGroupRules(ApiClientConnectorInfo connector, String kind, UUID groupUuid) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + COMPLIANCE_GROUP_RULES_CONTEXT, kind, groupUuid)
-                        .retrieve()
-                        .toEntityList(ComplianceRuleResponseDto.class)
-                        .block().getBody(),
-                request,
+        return blockRequest(getComplianceGroupRulesAsync(connector, kind, groupUuid).collectList());
+    }
+
+    @Override
+    public Flux<ComplianceRuleResponseDto> getComplianceGroupRulesAsync(ApiClientConnectorInfo connector, String kind, UUID groupUuid) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_GROUP_RULES_CONTEXT, kind, groupUuid)
+                .retrieve()
+                .bodyToFlux(ComplianceRuleResponseDto.class),
                 connector);
     }
 
     @Override
     public ComplianceResponseDto checkCompliance(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.POST, connector, true);
-
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + COMPLIANCE_CONTEXT, kind)
-                        .body(Mono.just(requestDto), ComplianceRequestDto.class)
-                        .retrieve()
-                        .toEntity(ComplianceResponseDto.class)
-                        .block().getBody(),
-                request,
+        return blockRequest(checkComplianceAsync(connector, kind, requestDto));
+    }
+
+    @Override
+    public Mono<ComplianceResponseDto> checkComplianceAsync(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_CONTEXT, kind)
+                .body(Mono.just(requestDto), ComplianceRequestDto.class)
+                .retrieve()
+                .bodyToMono(ComplianceResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public ComplianceBatchResponseDto checkComplianceBatch(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto) throws ConnectorException {
+        return blockRequest(checkComplianceBatchAsync(connector, kind, requestDto));
+    }
+
+    @Override
+    public Mono<ComplianceBatchResponseDto> checkComplianceBatchAsync(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_BATCH_CONTEXT, kind)
+                .body(Mono.just(requestDto), ComplianceBatchRequestDto.class)
+                .retrieve()
+                .bodyToMono(ComplianceBatchResponseDto.class),
+                connector);
+    }
+
+    @Override
+    public Flux<ComplianceBatchResponseItemDto> streamComplianceBatch(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto) {
+        return processRequestFlux(() -> prepareRequest(HttpMethod.POST, connector, true)
+                .uri(connector.getUrl() + COMPLIANCE_BATCH_CONTEXT, kind)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(Mono.just(requestDto), ComplianceBatchRequestDto.class)
+                .retrieve()
+                .bodyToFlux(ComplianceBatchResponseItemDto.class),
                 connector);
     }
 }
@@ -3,14 +3,16 @@ package com.czertainly.api.clients.v2;
 import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v2.HealthAsyncApiClient;
 import com.czertainly.api.interfaces.client.v2.HealthSyncApiClient;
 import com.czertainly.api.model.client.connector.v2.HealthInfo;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.net.ssl.TrustManager;
+import reactor.core.publisher.Mono;
 
-public class HealthApiClient extends BaseApiClient implements HealthSyncApiClient {
+public class HealthApiClient extends BaseApiClient implements HealthSyncApiClient, HealthAsyncApiClient {
 
     public HealthApiClient(WebClient webClient, TrustManager[] defaultTrustManagers) {
         super(webClient, defaultTrustManagers);
@@ -18,37 +20,46 @@ public class HealthApiClient extends BaseApiClient implements HealthSyncApiClien
 
     @Override
     public HealthInfo checkHealth(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-        return processRequest(r -> r
+        return blockRequest(checkHealthAsync(connector));
+    }
+
+    @Override
+    public Mono<HealthInfo> checkHealthAsync(ApiClientConnectorInfo connector) {
+        return processIdempotentRequestAsync(HttpMethod.GET, "/v2/health", null, HealthInfo.class,
+                () -> prepareRequest(HttpMethod.GET, connector, true)
                         .uri(connector.getUrl() + "/v2/health")
                         .retrieve()
-                        .bodyToMono(HealthInfo.class)
-                        .block(),
-                request,
+                        .bodyToMono(HealthInfo.class),
                 connector);
     }
 
     @Override
     public HealthInfo checkHealthLiveness(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-        return processRequest(r -> r
+        return blockRequest(checkHealthLivenessAsync(connector));
+    }
+
+    @Override
+    public Mono<HealthInfo> checkHealthLivenessAsync(ApiClientConnectorInfo connector) {
+        return processIdempotentRequestAsync(HttpMethod.GET, "/v2/health/liveness", null, HealthInfo.class,
+                () -> prepareRequest(HttpMethod.GET, connector, true)
                         .uri(connector.getUrl() + "/v2/health/liveness")
                         .retrieve()
-                        .bodyToMono(HealthInfo.class)
-                        .block(),
-                request,
+                        .bodyToMono(HealthInfo.class),
                 connector);
     }
 
     @Override
     public HealthInfo checkHealthReadiness(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-        return processRequest(r -> r
+        return blockRequest(checkHealthReadinessAsync(connector));
+    }
+
+    @Override
+    public Mono<HealthInfo> checkHealthReadinessAsync(ApiClientConnectorInfo connector) {
+        return processIdempotentRequestAsync(HttpMethod.GET, "/v2/health/readiness", null, HealthInfo.class,
+                () -> prepareRequest(HttpMethod.GET, connector, true)
                         .uri(connector.getUrl() + "/v2/health/readiness")
                         .retrieve()
-                        .bodyToMono(HealthInfo.class)
-                        .block(),
-                request,
+                        .bodyToMono(HealthInfo.class),
                 connector);
     }
 }
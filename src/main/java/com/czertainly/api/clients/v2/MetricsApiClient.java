@@ -3,13 +3,15 @@ package com.czertainly.api.clients.v2;
 import com.czertainly.api.clients.ApiClientConnectorInfo;
 import com.czertainly.api.clients.BaseApiClient;
 import com.czertainly.api.exception.ConnectorException;
+import com.czertainly.api.interfaces.client.v2.MetricsAsyncApiClient;
 import com.czertainly.api.interfaces.client.v2.MetricsSyncApiClient;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import javax.net.ssl.TrustManager;
+import reactor.core.publisher.Mono;
 
-public class MetricsApiClient extends BaseApiClient implements MetricsSyncApiClient {
+public class MetricsApiClient extends BaseApiClient implements MetricsSyncApiClient, MetricsAsyncApiClient {
 
     public MetricsApiClient(WebClient webClient, TrustManager[] defaultTrustManagers) {
         super(webClient, defaultTrustManagers);
@@ -17,13 +19,15 @@ public class MetricsApiClient extends BaseApiClient implements MetricsSyncApiCli
 
     @Override
     public String getMetrics(ApiClientConnectorInfo connector) throws ConnectorException {
-        WebClient.RequestBodyUriSpec request = prepareRequest(HttpMethod.GET, connector, true);
-        return processRequest(r -> r
-                        .uri(connector.getUrl() + "/v1/metrics")
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block(),
-                request,
+        return blockRequest(getMetricsAsync(connector));
+    }
+
+    @Override
+    public Mono<String> getMetricsAsync(ApiClientConnectorInfo connector) {
+        return processRequestAsync(() -> prepareRequest(HttpMethod.GET, connector, true)
+                .uri(connector.getUrl() + "/v1/metrics")
+                .retrieve()
+                .bodyToMono(String.class),
                 connector);
     }
 }
@@ -6,23 +6,22 @@ import com.czertainly.api.model.common.attribute.v3.content.BaseAttributeContent
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
+import java.util.Set;
 
 public class AttributeContentDeserializer extends JsonDeserializer<AttributeContent> {
 
     private static final String CONTENT_TYPE = "contentType";
+    private static final Set<String> TYPE_PROPERTIES = Set.of(CONTENT_TYPE);
 
     @Override
     public AttributeContent deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-        JsonNode node = jsonParser.getCodec().readTree(jsonParser);
+        BufferedTypeProperties typeProperties = BufferedTypeProperties.read(jsonParser, deserializationContext, TYPE_PROPERTIES);
 
-        boolean hasContentType = node.has(CONTENT_TYPE);
-
-        if (hasContentType && !node.get(CONTENT_TYPE).isNull()) {
-            return jsonParser.getCodec().treeToValue(node, BaseAttributeContentV3.class);
+        if (typeProperties.get(CONTENT_TYPE) != null) {
+            return typeProperties.readValue(jsonParser, deserializationContext, BaseAttributeContentV3.class);
         }
-        else return jsonParser.getCodec().treeToValue(node, BaseAttributeContentV2.class);
+        else return typeProperties.readValue(jsonParser, deserializationContext, BaseAttributeContentV2.class);
     }
 }
@@ -7,17 +7,22 @@ import com.czertainly.api.model.common.attribute.v3.*;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
+import java.util.Set;
 
 public class BaseAttributeDeserializer extends JsonDeserializer<BaseAttribute> {
+
+    private static final String VERSION = "version";
+    private static final String TYPE = "type";
+    private static final Set<String> TYPE_PROPERTIES = Set.of(VERSION, TYPE);
+
     @Override
     public BaseAttribute deserialize(JsonParser jp, DeserializationContext deserializationContext) throws IOException {
-        JsonNode node = jp.getCodec().readTree(jp);
+        BufferedTypeProperties typeProperties = BufferedTypeProperties.read(jp, deserializationContext, TYPE_PROPERTIES);
 
-        String version = node.has("version") ? node.get("version").asText() : "2";
-        String attributeTypeCode = node.has("type") ? node.get("type").asText() : null;
+        String version = typeProperties.has(VERSION) ? String.valueOf(typeProperties.get(VERSION)) : "2";
+        String attributeTypeCode = typeProperties.has(TYPE) ? String.valueOf(typeProperties.get(TYPE)) : null;
 
         if (attributeTypeCode == null || version == null) {
             throw new IllegalArgumentException("Missing required fields: type or version");
@@ -49,6 +54,6 @@ public class BaseAttributeDeserializer extends JsonDeserializer<BaseAttribute> {
         }
 
 
-        return jp.getCodec().treeToValue(node, valueType);
+        return typeProperties.readValue(jp, deserializationContext, valueType);
     }
 }
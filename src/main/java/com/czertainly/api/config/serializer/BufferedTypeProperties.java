@@ -0,0 +1,111 @@
+package com.czertainly.api.config.serializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties of a JSON object that determine the type the object is deserialized to.
+ *
+ * <p>Fields of the object are read and buffered only until all type properties are found, the rest of the object
+ * is read directly from the original parser when the object is deserialized. The object is parsed once
+ * and is not materialized as a {@link com.fasterxml.jackson.databind.JsonNode} tree.</p>
+ */
+final class BufferedTypeProperties {
+
+    private final Map<String, String> values;
+
+    private final TokenBuffer buffer;
+
+    private final boolean endOfObject;
+
+    private BufferedTypeProperties(Map<String, String> values, TokenBuffer buffer, boolean endOfObject) {
+        this.values = values;
+        this.buffer = buffer;
+        this.endOfObject = endOfObject;
+    }
+
+    /**
+     * Read the fields of the object the parser points to until all type properties are found or the object ends.
+     *
+     * @param parser         Parser pointing to the start of the object or its first field
+     * @param context        Deserialization context
+     * @param typeProperties Names of the type properties
+     * @return Read type properties
+     * @throws IOException When the object cannot be read
+     */
+    static BufferedTypeProperties read(JsonParser parser, DeserializationContext context, Set<String> typeProperties) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            context.handleUnexpectedToken(Object.class, parser);
+        }
+
+        Map<String, String> values = new HashMap<>();
+        TokenBuffer buffer = context.bufferForInputBuffering(parser);
+        buffer.writeStartObject();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (typeProperties.contains(name) && !values.containsKey(name)) {
+                values.put(name, getText(parser, valueToken));
+            }
+            buffer.writeFieldName(name);
+            buffer.copyCurrentStructure(parser);
+            if (values.size() == typeProperties.size()) {
+                return new BufferedTypeProperties(values, buffer, false);
+            }
+        }
+        buffer.writeEndObject();
+        return new BufferedTypeProperties(values, buffer, true);
+    }
+
+    /**
+     * @param name Name of the type property
+     * @return True when the property is present in the object, even if its value is null
+     */
+    boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * @param name Name of the type property
+     * @return Text of the property value, null when the value is null or the property is not present
+     */
+    String get(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * Deserialize the whole object, buffered fields followed by the remaining fields of the original parser.
+     *
+     * @param parser    Original parser
+     * @param context   Deserialization context
+     * @param valueType Type to deserialize the object to
+     * @param <T>       Type to deserialize the object to
+     * @return Deserialized object
+     * @throws IOException When the object cannot be deserialized
+     */
+    <T> T readValue(JsonParser parser, DeserializationContext context, Class<T> valueType) throws IOException {
+        JsonParser objectParser = endOfObject
+                ? buffer.asParser(parser)
+                : JsonParserSequence.createFlattened(false, buffer.asParser(parser), parser);
+        objectParser.nextToken();
+        return context.readValue(objectParser, valueType);
+    }
+
+    private static String getText(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return valueToken.isScalarValue() ? parser.getText() : "";
+    }
+}
@@ -6,16 +6,20 @@ import com.czertainly.api.model.common.attribute.v3.MetadataAttributeV3;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.IOException;
+import java.util.Set;
 
 public class MetadataAttributeDeserializer extends JsonDeserializer<MetadataAttribute> {
+
+    private static final String VERSION = "version";
+    private static final Set<String> TYPE_PROPERTIES = Set.of(VERSION);
+
     @Override
     public MetadataAttribute deserialize(JsonParser jp, DeserializationContext deserializationContext) throws IOException {
-        JsonNode node = jp.getCodec().readTree(jp);
+        BufferedTypeProperties typeProperties = BufferedTypeProperties.read(jp, deserializationContext, TYPE_PROPERTIES);
 
-        String version = node.has("version") ? node.get("version").asText() : "2";
+        String version = typeProperties.has(VERSION) ? String.valueOf(typeProperties.get(VERSION)) : "2";
 
         Class<? extends MetadataAttribute> valueType = null;
         if (version.equals("2")) {
@@ -25,6 +29,6 @@ public class MetadataAttributeDeserializer extends JsonDeserializer<MetadataAttr
             valueType = MetadataAttributeV3.class;
         }
 
-        return jp.getCodec().treeToValue(node, valueType);
+        return typeProperties.readValue(jp, deserializationContext, valueType);
     }
 }
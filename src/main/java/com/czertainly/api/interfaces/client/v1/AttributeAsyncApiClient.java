@@ -0,0 +1,26 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.common.attribute.common.callback.AttributeCallback;
+import com.czertainly.api.model.common.attribute.common.callback.RequestAttributeCallback;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link AttributeSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface AttributeAsyncApiClient {
+
+    Flux<BaseAttribute> listAttributeDefinitionsAsync(ApiClientConnectorInfo connector, FunctionGroupCode functionGroupCode, String kind);
+
+    Mono<Void> validateAttributesAsync(ApiClientConnectorInfo connector, FunctionGroupCode functionGroupCode, List<RequestAttribute> attributes, String functionGroupType);
+
+    Mono<Object> attributeCallbackAsync(ApiClientConnectorInfo connector, AttributeCallback callback, RequestAttributeCallback callbackRequest);
+}
@@ -0,0 +1,41 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.authority.AuthorityProviderInstanceDto;
+import com.czertainly.api.model.connector.authority.AuthorityProviderInstanceRequestDto;
+import com.czertainly.api.model.connector.authority.CaCertificatesRequestDto;
+import com.czertainly.api.model.connector.authority.CaCertificatesResponseDto;
+import com.czertainly.api.model.connector.authority.CertificateRevocationListRequestDto;
+import com.czertainly.api.model.connector.authority.CertificateRevocationListResponseDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link AuthorityInstanceSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface AuthorityInstanceAsyncApiClient {
+
+    Flux<AuthorityProviderInstanceDto> listAuthorityInstancesAsync(ApiClientConnectorInfo connector);
+
+    Mono<AuthorityProviderInstanceDto> getAuthorityInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<AuthorityProviderInstanceDto> createAuthorityInstanceAsync(ApiClientConnectorInfo connector, AuthorityProviderInstanceRequestDto requestDto);
+
+    Mono<AuthorityProviderInstanceDto> updateAuthorityInstanceAsync(ApiClientConnectorInfo connector, String uuid, AuthorityProviderInstanceRequestDto requestDto);
+
+    Mono<Void> removeAuthorityInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Flux<BaseAttribute> listRAProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Boolean> validateRAProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Mono<CertificateRevocationListResponseDto> getCrlAsync(ApiClientConnectorInfo connector, String uuid, CertificateRevocationListRequestDto requestDto);
+
+    Mono<CaCertificatesResponseDto> getCaCertificatesAsync(ApiClientConnectorInfo connector, String uuid, CaCertificatesRequestDto requestDto);
+}
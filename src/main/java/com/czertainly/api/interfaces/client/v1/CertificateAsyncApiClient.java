@@ -0,0 +1,19 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.core.authority.CertRevocationDto;
+import com.czertainly.api.model.core.authority.CertificateSignRequestDto;
+import com.czertainly.api.model.core.authority.CertificateSignResponseDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CertificateSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface CertificateAsyncApiClient {
+
+    Mono<CertificateSignResponseDto> issueCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, CertificateSignRequestDto requestDto);
+
+    Mono<Void> revokeCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, CertRevocationDto requestDto);
+}
@@ -0,0 +1,27 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.connector.compliance.ComplianceGroupsResponseDto;
+import com.czertainly.api.model.connector.compliance.ComplianceRequestDto;
+import com.czertainly.api.model.connector.compliance.ComplianceResponseDto;
+import com.czertainly.api.model.connector.compliance.ComplianceRulesResponseDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link ComplianceSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface ComplianceAsyncApiClient {
+
+    Flux<ComplianceRulesResponseDto> getComplianceRulesAsync(ApiClientConnectorInfo connector, String kind, List<String> certificateType);
+
+    Flux<ComplianceGroupsResponseDto> getComplianceGroupsAsync(ApiClientConnectorInfo connector, String kind);
+
+    Flux<ComplianceRulesResponseDto> getComplianceGroupRulesAsync(ApiClientConnectorInfo connector, String kind, String uuid);
+
+    Mono<ComplianceResponseDto> checkComplianceAsync(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto);
+}
@@ -0,0 +1,15 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.connector.InfoResponse;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link ConnectorSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface ConnectorAsyncApiClient {
+
+    Flux<InfoResponse> listSupportedFunctionsAsync(ApiClientConnectorInfo connector);
+}
@@ -0,0 +1,47 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.cryptography.operations.*;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link CryptographicOperationsSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface CryptographicOperationsAsyncApiClient {
+
+    Mono<EncryptDataResponseDto> encryptDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, CipherDataRequestDto requestDto);
+
+    Mono<DecryptDataResponseDto> decryptDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, CipherDataRequestDto requestDto);
+
+    Mono<SignDataResponseDto> signDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, SignDataRequestDto requestDto);
+
+    Mono<VerifyDataResponseDto> verifyDataAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid, VerifyDataRequestDto requestDto);
+
+    Mono<BatchOperationResponseDto> batchOperationsAsync(ApiClientConnectorInfo connector, String uuid, BatchOperationRequestDto requestDto);
+
+    /**
+     * Execute the operations using the single Key endpoints, keeping up to {@code maxInFlight} requests in flight.
+     * Results are emitted in the order the operations complete and failed operations are emitted
+     * as results with error, so that one failure does not cancel the other operations.
+     *
+     * @param connector   Connector configuration
+     * @param uuid        Token instance UUID
+     * @param operations  Operations to execute
+     * @param maxInFlight Maximum number of concurrently executed operations
+     * @return Flux of operation results
+     */
+    Flux<BatchOperationResponseItemDto> pipelineOperations(ApiClientConnectorInfo connector, String uuid, Flux<BatchOperationRequestItemDto> operations, int maxInFlight);
+
+    Flux<BaseAttribute> listRandomAttributesAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Void> validateRandomAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Mono<RandomDataResponseDto> randomDataAsync(ApiClientConnectorInfo connector, String uuid, RandomDataRequestDto requestDto);
+}
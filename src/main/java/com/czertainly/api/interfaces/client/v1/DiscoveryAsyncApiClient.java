@@ -0,0 +1,47 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.connector.discovery.DiscoveryDataRequestDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryRequestDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link DiscoverySyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface DiscoveryAsyncApiClient {
+
+    Mono<DiscoveryProviderDto> discoverCertificatesAsync(ApiClientConnectorInfo connector, DiscoveryRequestDto requestDto);
+
+    Mono<DiscoveryProviderDto> getDiscoveryDataAsync(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid);
+
+    /**
+     * Get all pages of discovery data. Next page is requested with the continuation token of the previous page
+     * once the previous page is consumed, the pages are retrieved until the connector returns no continuation token.
+     * The flux fails with {@link com.czertainly.api.exception.ConnectorException} when the connector returns
+     * a continuation token that was already requested.
+     *
+     * @param connector  Connector configuration
+     * @param requestDto Discovery data request with the first page and page size
+     * @param uuid       Discovery UUID at the connector
+     * @return Flux of discovery data pages
+     */
+    Flux<DiscoveryProviderDto> getDiscoveryDataPagesAsync(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid);
+
+    /**
+     * Stream discovered certificates from the connector as newline delimited JSON.
+     * Certificates are emitted as they are decoded, the whole result is never buffered in memory.
+     *
+     * @param connector  Connector configuration
+     * @param requestDto Discovery data request, optionally with continuation token to resume from
+     * @param uuid       Discovery UUID at the connector
+     * @return Flux of discovered certificates
+     */
+    Flux<DiscoveryProviderCertificateDataDto> streamDiscoveryCertificates(ApiClientConnectorInfo connector, DiscoveryDataRequestDto requestDto, String uuid);
+
+    Mono<Void> removeDiscoveryAsync(ApiClientConnectorInfo connector, String uuid);
+}
@@ -0,0 +1,28 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.core.authority.AddEndEntityRequestDto;
+import com.czertainly.api.model.core.authority.EditEndEntityRequestDto;
+import com.czertainly.api.model.core.authority.EndEntityDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EndEntitySyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface EndEntityAsyncApiClient {
+
+    Flux<EndEntityDto> listEntitiesAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName);
+
+    Mono<EndEntityDto> getEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName);
+
+    Mono<Void> createEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, AddEndEntityRequestDto requestDto);
+
+    Mono<Void> updateEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName, EditEndEntityRequestDto requestDto);
+
+    Mono<Void> revokeAndDeleteEndEntityAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName);
+
+    Mono<Void> resetPasswordAsync(ApiClientConnectorInfo connector, String authorityUuid, String endEntityProfileName, String endEntityName);
+}
@@ -0,0 +1,19 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.common.NameAndIdDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link EndEntityProfileSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface EndEntityProfileAsyncApiClient {
+
+    Flux<NameAndIdDto> listEndEntityProfilesAsync(ApiClientConnectorInfo connector, String authorityUuid);
+
+    Flux<NameAndIdDto> listCertificateProfilesAsync(ApiClientConnectorInfo connector, String authorityUuid, int endEntityProfileId);
+
+    Flux<NameAndIdDto> listCAsInProfileAsync(ApiClientConnectorInfo connector, String authorityUuid, int endEntityProfileId);
+}
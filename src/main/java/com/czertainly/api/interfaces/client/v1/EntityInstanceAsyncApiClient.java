@@ -0,0 +1,33 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.entity.EntityInstanceDto;
+import com.czertainly.api.model.connector.entity.EntityInstanceRequestDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link EntityInstanceSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface EntityInstanceAsyncApiClient {
+
+    Flux<EntityInstanceDto> listEntityInstancesAsync(ApiClientConnectorInfo connector);
+
+    Mono<EntityInstanceDto> getEntityInstanceAsync(ApiClientConnectorInfo connector, String entityUuid);
+
+    Mono<EntityInstanceDto> createEntityInstanceAsync(ApiClientConnectorInfo connector, EntityInstanceRequestDto requestDto);
+
+    Mono<EntityInstanceDto> updateEntityInstanceAsync(ApiClientConnectorInfo connector, String entityUuid, EntityInstanceRequestDto requestDto);
+
+    Mono<Void> removeEntityInstanceAsync(ApiClientConnectorInfo connector, String entityUuid);
+
+    Flux<BaseAttribute> listLocationAttributesAsync(ApiClientConnectorInfo connector, String entityUuid);
+
+    Mono<Void> validateLocationAttributesAsync(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> attributes);
+}
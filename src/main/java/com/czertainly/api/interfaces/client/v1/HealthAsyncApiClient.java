@@ -0,0 +1,15 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.common.HealthDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link HealthSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface HealthAsyncApiClient {
+
+    Mono<HealthDto> checkHealthAsync(ApiClientConnectorInfo connector);
+}
@@ -0,0 +1,38 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.cryptography.key.CreateKeyRequestDto;
+import com.czertainly.api.model.connector.cryptography.key.KeyDataResponseDto;
+import com.czertainly.api.model.connector.cryptography.key.KeyPairDataResponseDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link KeyManagementSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface KeyManagementAsyncApiClient {
+
+    Flux<BaseAttribute> listCreateSecretKeyAttributesAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Void> validateCreateSecretKeyAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Mono<KeyDataResponseDto> createSecretKeyAsync(ApiClientConnectorInfo connector, String uuid, CreateKeyRequestDto requestDto);
+
+    Flux<BaseAttribute> listCreateKeyPairAttributesAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Void> validateCreateKeyPairAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Mono<KeyPairDataResponseDto> createKeyPairAsync(ApiClientConnectorInfo connector, String uuid, CreateKeyRequestDto requestDto);
+
+    Flux<KeyDataResponseDto> listKeysAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<KeyDataResponseDto> getKeyAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid);
+
+    Mono<Void> destroyKeyAsync(ApiClientConnectorInfo connector, String uuid, String keyUuid);
+}
@@ -0,0 +1,41 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.entity.GenerateCsrRequestDto;
+import com.czertainly.api.model.connector.entity.GenerateCsrResponseDto;
+import com.czertainly.api.model.connector.entity.LocationDetailRequestDto;
+import com.czertainly.api.model.connector.entity.LocationDetailResponseDto;
+import com.czertainly.api.model.connector.entity.PushCertificateRequestDto;
+import com.czertainly.api.model.connector.entity.PushCertificateResponseDto;
+import com.czertainly.api.model.connector.entity.RemoveCertificateRequestDto;
+import com.czertainly.api.model.connector.entity.RemoveCertificateResponseDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link LocationSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface LocationAsyncApiClient {
+
+    Mono<LocationDetailResponseDto> getLocationDetailAsync(ApiClientConnectorInfo connector, String entityUuid, LocationDetailRequestDto requestDto);
+
+    Mono<PushCertificateResponseDto> pushCertificateToLocationAsync(ApiClientConnectorInfo connector, String entityUuid, PushCertificateRequestDto requestDto);
+
+    Flux<BaseAttribute> listPushCertificateAttributesAsync(ApiClientConnectorInfo connector, String entityUuid);
+
+    Mono<Void> validatePushCertificateAttributesAsync(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> pushAttributes);
+
+    Mono<RemoveCertificateResponseDto> removeCertificateFromLocationAsync(ApiClientConnectorInfo connector, String entityUuid, RemoveCertificateRequestDto requestDto);
+
+    Mono<GenerateCsrResponseDto> generateCsrLocationAsync(ApiClientConnectorInfo connector, String entityUuid, GenerateCsrRequestDto requestDto);
+
+    Flux<BaseAttribute> listGenerateCsrAttributesAsync(ApiClientConnectorInfo connector, String entityUuid);
+
+    Mono<Void> validateGenerateCsrAttributesAsync(ApiClientConnectorInfo connector, String entityUuid, List<RequestAttribute> pushAttributes);
+}
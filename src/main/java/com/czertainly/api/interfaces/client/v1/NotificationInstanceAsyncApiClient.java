@@ -0,0 +1,31 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.common.attribute.common.DataAttribute;
+import com.czertainly.api.model.connector.notification.NotificationProviderInstanceDto;
+import com.czertainly.api.model.connector.notification.NotificationProviderInstanceRequestDto;
+import com.czertainly.api.model.connector.notification.NotificationProviderNotifyRequestDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link NotificationInstanceSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface NotificationInstanceAsyncApiClient {
+
+    Flux<NotificationProviderInstanceDto> listNotificationInstancesAsync(ApiClientConnectorInfo connector);
+
+    Mono<NotificationProviderInstanceDto> getNotificationInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<NotificationProviderInstanceDto> createNotificationInstanceAsync(ApiClientConnectorInfo connector, NotificationProviderInstanceRequestDto requestDto);
+
+    Mono<NotificationProviderInstanceDto> updateNotificationInstanceAsync(ApiClientConnectorInfo connector, String uuid, NotificationProviderInstanceRequestDto requestDto);
+
+    Mono<Void> removeNotificationInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Void> sendNotificationAsync(ApiClientConnectorInfo connector, String uuid, NotificationProviderNotifyRequestDto requestDto);
+
+    Flux<DataAttribute> listMappingAttributesAsync(ApiClientConnectorInfo connector, String kind);
+}
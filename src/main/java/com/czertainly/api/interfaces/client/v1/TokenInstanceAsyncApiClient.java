@@ -0,0 +1,44 @@
+package com.czertainly.api.interfaces.client.v1;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.cryptography.token.TokenInstanceDto;
+import com.czertainly.api.model.connector.cryptography.token.TokenInstanceRequestDto;
+import com.czertainly.api.model.connector.cryptography.token.TokenInstanceStatusDto;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TokenInstanceSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface TokenInstanceAsyncApiClient {
+
+    Flux<TokenInstanceDto> listTokenInstancesAsync(ApiClientConnectorInfo connector);
+
+    Mono<TokenInstanceDto> getTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<TokenInstanceDto> createTokenInstanceAsync(ApiClientConnectorInfo connector, TokenInstanceRequestDto requestDto);
+
+    Mono<TokenInstanceDto> updateTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid, TokenInstanceRequestDto requestDto);
+
+    Mono<Void> removeTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<TokenInstanceStatusDto> getTokenInstanceStatusAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Flux<BaseAttribute> listTokenProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Void> validateTokenProfileAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Flux<BaseAttribute> listTokenInstanceActivationAttributesAsync(ApiClientConnectorInfo connector, String uuid);
+
+    Mono<Void> validateTokenInstanceActivationAttributesAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Mono<Void> activateTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid, List<RequestAttribute> attributes);
+
+    Mono<Void> deactivateTokenInstanceAsync(ApiClientConnectorInfo connector, String uuid);
+}
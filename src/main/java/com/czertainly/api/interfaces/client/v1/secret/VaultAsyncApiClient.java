@@ -0,0 +1,23 @@
+package com.czertainly.api.interfaces.client.v1.secret;
+
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link VaultSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface VaultAsyncApiClient {
+
+    Mono<Void> checkVaultConnectionAsync(ApiClientConnectorInfo connector, List<RequestAttribute> attributes);
+
+    Flux<BaseAttribute> listVaultAttributesAsync(ApiClientConnectorInfo connector);
+
+    Flux<BaseAttribute> listVaultProfileAttributesAsync(ApiClientConnectorInfo connector, List<RequestAttribute> attributes);
+}
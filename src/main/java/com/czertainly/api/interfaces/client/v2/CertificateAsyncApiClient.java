@@ -0,0 +1,76 @@
+package com.czertainly.api.interfaces.client.v2;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.connector.v2.*;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link CertificateSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface CertificateAsyncApiClient {
+
+    Flux<BaseAttribute> listIssueCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid);
+
+    Mono<Boolean> validateIssueCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes);
+
+    Mono<CertificateDataResponseDto> issueCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateSignRequestDto requestDto);
+
+    Mono<CertificateBatchResponseDto> issueCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchSignRequestDto requestDto);
+
+    Mono<CertificateBatchResponseDto> getCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, String batchUuid);
+
+    /**
+     * Poll the batch in progress until it is completed.
+     *
+     * @param batch        Batch returned by the connector, returned as is when already completed
+     * @param pollInterval Delay between the requests of the batch
+     * @param timeout      Maximum time to wait for the completion, the batch fails with {@link com.czertainly.api.exception.ConnectorException} when exceeded
+     * @return Completed batch
+     */
+    Mono<CertificateBatchResponseDto> awaitCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchResponseDto batch, Duration pollInterval, Duration timeout);
+
+    Mono<CertificateDataResponseDto> renewCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateRenewRequestDto requestDto);
+
+    Mono<CertificateBatchResponseDto> renewCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto);
+
+    /**
+     * Renew the certificates of the request split into batches of the given size with at most the given number
+     * of batches in flight. Batches failed as a whole are reported as failed items, results are in the order of the request.
+     */
+    Flux<CertificateBatchResponseItemDto> pipelineRenewCertificates(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto, int batchSize, int maxInFlight);
+
+    Flux<BaseAttribute> listRevokeCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid);
+
+    Mono<Boolean> validateRevokeCertificateAttributesAsync(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes);
+
+    Mono<Void> revokeCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertRevocationDto requestDto);
+
+    Mono<CertificateBatchResponseDto> revokeCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto);
+
+    /**
+     * Revoke the certificates of the request split into batches of the given size with at most the given number
+     * of batches in flight. Batches failed as a whole are reported as failed items, results are in the order of the request.
+     */
+    Flux<CertificateBatchResponseItemDto> pipelineRevokeCertificates(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto, int batchSize, int maxInFlight);
+
+    Mono<CertificateIdentificationResponseDto> identifyCertificateAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateIdentificationRequestDto requestDto);
+
+    Mono<CertificateBatchIdentificationResponseDto> identifyCertificateBatchAsync(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchIdentificationRequestDto requestDto);
+
+    /**
+     * Identify the certificates split into batches of the given size with at most the given number of batches in flight.
+     * Fingerprints are normalized to lowercase hex without separators and fingerprints missing in the items are computed.
+     * Certificates with fingerprint among the recently seen fingerprints are skipped. Results are emitted as the batches complete, certificates that are not valid Base64 are reported as failed items without fingerprint,
+     * with the index of the certificate in the given certificates.
+     */
+    Flux<CertificateBatchIdentificationResponseItemDto> pipelineIdentifyCertificates(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> raProfileAttributes,
+                                                                                     Flux<CertificateBatchIdentificationItemDto> certificates, int batchSize, int maxInFlight);
+}
@@ -21,13 +21,27 @@ public interface CertificateSyncApiClient {
 
     CertificateDataResponseDto issueCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateSignRequestDto requestDto) throws ConnectorException;
 
+    /**
+     * Issue certificates of the CSRs with shared RA profile attributes. When asynchronous completion is requested,
+     * the batch can be returned in progress and its results are retrieved by {@link #getCertificateBatch}.
+     */
+    CertificateBatchResponseDto issueCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchSignRequestDto requestDto) throws ConnectorException;
+
+    CertificateBatchResponseDto getCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, String batchUuid) throws ConnectorException;
+
     CertificateDataResponseDto renewCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateRenewRequestDto requestDto) throws ConnectorException;
 
+    CertificateBatchResponseDto renewCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRenewRequestDto requestDto) throws ConnectorException;
+
     List<BaseAttribute> listRevokeCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid) throws ConnectorException;
 
     Boolean validateRevokeCertificateAttributes(ApiClientConnectorInfo connector, String authorityUuid, List<RequestAttribute> attributes) throws ValidationException, ConnectorException;
 
     void revokeCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertRevocationDto requestDto) throws ConnectorException;
 
+    CertificateBatchResponseDto revokeCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchRevocationRequestDto requestDto) throws ConnectorException;
+
     CertificateIdentificationResponseDto identifyCertificate(ApiClientConnectorInfo connector, String authorityUuid, CertificateIdentificationRequestDto requestDto) throws ValidationException, ConnectorException;
+
+    CertificateBatchIdentificationResponseDto identifyCertificateBatch(ApiClientConnectorInfo connector, String authorityUuid, CertificateBatchIdentificationRequestDto requestDto) throws ConnectorException;
 }
@@ -0,0 +1,43 @@
+package com.czertainly.api.interfaces.client.v2;
+
+import com.czertainly.api.model.connector.compliance.v2.*;
+import com.czertainly.api.model.core.auth.Resource;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.ComplianceRuleSetCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link ComplianceSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface ComplianceAsyncApiClient {
+
+    Flux<ComplianceRuleResponseDto> getComplianceRulesAsync(ApiClientConnectorInfo connector, String kind, Resource resource, String type, String format);
+
+    Mono<ComplianceRuleResponseDto> getComplianceRuleAsync(ApiClientConnectorInfo connector, String kind, UUID ruleUuid);
+
+    Mono<ComplianceRulesBatchResponseDto> getComplianceRulesBatchAsync(ApiClientConnectorInfo connector, String kind, ComplianceRulesBatchRequestDto requestDto);
+
+    Flux<ComplianceGroupResponseDto> getComplianceGroupsAsync(ApiClientConnectorInfo connector, String kind, Resource resource);
+
+    Mono<ComplianceGroupResponseDto> getComplianceGroupAsync(ApiClientConnectorInfo connector, String kind, UUID groupUuid);
+
+    Flux<ComplianceRuleResponseDto> getComplianceGroupRulesAsync(ApiClientConnectorInfo connector, String kind, UUID groupUuid);
+
+    Mono<ComplianceRuleSetCache.RuleSet> getComplianceRuleSetAsync(ApiClientConnectorInfo connector, String kind, Collection<UUID> ruleUuids, Collection<UUID> groupUuids);
+
+    Mono<ComplianceResponseDto> checkComplianceAsync(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto);
+
+    Mono<ComplianceBatchResponseDto> checkComplianceBatchAsync(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto);
+
+    /**
+     * Streams results of the compliance check of multiple resource objects as they are checked by the connector.
+     * Results are not ordered and are matched to the request objects by their identifier.
+     */
+    Flux<ComplianceBatchResponseItemDto> streamComplianceBatch(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto);
+}
@@ -4,7 +4,9 @@ import com.czertainly.api.exception.ConnectorException;
 import com.czertainly.api.model.connector.compliance.v2.*;
 import com.czertainly.api.model.core.auth.Resource;
 import com.czertainly.api.clients.ApiClientConnectorInfo;
+import com.czertainly.api.clients.ComplianceRuleSetCache;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -82,6 +84,19 @@ public interface ComplianceSyncApiClient {
      */
     List<ComplianceRuleResponseDto> getComplianceGroupRules(ApiClientConnectorInfo connector, String kind, UUID groupUuid) throws ConnectorException;
 
+    /**
+     * Get the rule set of the selected rules and groups with the rules of the groups resolved.
+     * Rule sets are cached by {@link ComplianceRuleSetCache}, so repeated selections do not call the connector.
+     *
+     * @param connector Connector to use
+     * @param kind Kind of compliance provider
+     * @param ruleUuids UUIDs of the selected rules
+     * @param groupUuids UUIDs of the selected groups
+     * @return Compiled rule set shared by the callers, its maps and lists are unmodifiable
+     * @throws ConnectorException If there is an error communicating with the connector
+     */
+    ComplianceRuleSetCache.RuleSet getComplianceRuleSet(ApiClientConnectorInfo connector, String kind, Collection<UUID> ruleUuids, Collection<UUID> groupUuids) throws ConnectorException;
+
     /**
      * Check compliance of a resource against defined rules.
      *
@@ -92,4 +107,15 @@ public interface ComplianceSyncApiClient {
      * @throws ConnectorException If there is an error communicating with the connector
      */
     ComplianceResponseDto checkCompliance(ApiClientConnectorInfo connector, String kind, ComplianceRequestDto requestDto) throws ConnectorException;
+
+    /**
+     * Check compliance of multiple resource objects against the same rules in a single request.
+     *
+     * @param connector Connector to use for compliance check
+     * @param kind Kind of compliance provider
+     * @param requestDto Compliance check request containing the rules and the data of the resource objects
+     * @return Compliance results of the objects in the order of the request, failed objects contain error
+     * @throws ConnectorException If there is an error communicating with the connector
+     */
+    ComplianceBatchResponseDto checkComplianceBatch(ApiClientConnectorInfo connector, String kind, ComplianceBatchRequestDto requestDto) throws ConnectorException;
 }
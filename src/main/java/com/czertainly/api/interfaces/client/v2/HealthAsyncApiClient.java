@@ -0,0 +1,19 @@
+package com.czertainly.api.interfaces.client.v2;
+
+import com.czertainly.api.model.client.connector.v2.HealthInfo;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link HealthSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface HealthAsyncApiClient {
+
+    Mono<HealthInfo> checkHealthAsync(ApiClientConnectorInfo connector);
+
+    Mono<HealthInfo> checkHealthLivenessAsync(ApiClientConnectorInfo connector);
+
+    Mono<HealthInfo> checkHealthReadinessAsync(ApiClientConnectorInfo connector);
+}
@@ -0,0 +1,15 @@
+package com.czertainly.api.interfaces.client.v2;
+
+import com.czertainly.api.model.client.connector.v2.InfoResponse;
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link InfoSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface InfoAsyncApiClient {
+
+    Mono<InfoResponse> getConnectorInfoAsync(ApiClientConnectorInfo connector);
+}
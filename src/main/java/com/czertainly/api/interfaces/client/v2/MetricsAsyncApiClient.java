@@ -0,0 +1,14 @@
+package com.czertainly.api.interfaces.client.v2;
+
+import com.czertainly.api.clients.ApiClientConnectorInfo;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link MetricsSyncApiClient}.
+ * Requests are sent on subscription and failures are signalled with the same
+ * {@link com.czertainly.api.exception.ConnectorException} subtypes as the synchronous client throws.
+ */
+public interface MetricsAsyncApiClient {
+
+    Mono<String> getMetricsAsync(ApiClientConnectorInfo connector);
+}
@@ -15,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -36,14 +37,19 @@ public interface AttributesController extends AuthProtectedConnectorController {
     @Operation(
             summary = "List available Attributes",
             parameters = {
-                    @Parameter(name = "functionalGroup", description = "Function Group", in = ParameterIn.PATH, schema = @Schema(implementation = FunctionGroupCode.class))
+                    @Parameter(name = "functionalGroup", description = "Function Group", in = ParameterIn.PATH, schema = @Schema(implementation = FunctionGroupCode.class)),
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, description = "Entity tag of the Attributes cached by the client", in = ParameterIn.HEADER)
             }
     )
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
-                            description = "Attributes retrieved"
+                            description = "Attributes retrieved, entity tag of the Attributes in the ETag header"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Attributes not modified since the entity tag in the If-None-Match header"
                     )
             }
     )
@@ -3,6 +3,7 @@ package com.czertainly.api.interfaces.connector;
 import com.czertainly.api.exception.NotFoundException;
 import com.czertainly.api.interfaces.AuthProtectedConnectorController;
 import com.czertainly.api.model.connector.discovery.DiscoveryDataRequestDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
 import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
 import com.czertainly.api.model.connector.discovery.DiscoveryRequestDto;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +17,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
 
@@ -73,6 +75,28 @@ public interface DiscoveryController extends AuthProtectedConnectorController {
     )
     DiscoveryProviderDto getDiscovery(@Parameter(description = "Discovery UUID") @PathVariable String uuid, @RequestBody DiscoveryDataRequestDto request) throws IOException, NotFoundException;
 
+    @PostMapping(
+            path = "/discover/{uuid}/certificates",
+            consumes = {"application/json"},
+            produces = {"application/x-ndjson"}
+    )
+    @Operation(
+            summary = "Stream discovered certificates",
+            description = "Certificates are streamed as newline delimited JSON, one certificate per line. " +
+                    "When continuation token is provided, streaming starts after the page it was returned with. " +
+                    "Page number and items per page of the request are ignored."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Discovered certificates streamed",
+                            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = DiscoveryProviderCertificateDataDto.class))
+                    )
+            }
+    )
+    Flux<DiscoveryProviderCertificateDataDto> streamDiscoveryCertificates(@Parameter(description = "Discovery UUID") @PathVariable String uuid, @RequestBody DiscoveryDataRequestDto request) throws IOException, NotFoundException;
+
     @DeleteMapping(
             path = "/discover/{uuid}",
             produces = {"application/json"}
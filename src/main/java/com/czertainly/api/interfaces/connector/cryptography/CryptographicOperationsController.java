@@ -159,6 +159,41 @@ public interface CryptographicOperationsController extends AuthProtectedConnecto
             @RequestBody VerifyDataRequestDto request
     ) throws NotFoundException;
 
+    /////////////////////////////////////////////////////////////////////////////////
+    // batch operations
+    /////////////////////////////////////////////////////////////////////////////////
+
+    @Operation(
+            summary = "Execute batch of cryptographic operations",
+            description = "Operations can use different Keys of the Token instance. " +
+                    "Each operation has its own result and failed operations do not fail the whole batch."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch executed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")}
+                            ))
+            })
+    @PostMapping(
+            path = "/batch",
+            consumes = {"application/json"},
+            produces = {"application/json"}
+    )
+    /**
+     * @throws NotFoundException Token instance not found
+     */
+    BatchOperationResponseDto batchOperations(
+            @Parameter(description = "Token instance UUID") @PathVariable String uuid,
+            @RequestBody BatchOperationRequestDto request
+    ) throws NotFoundException;
+
     /////////////////////////////////////////////////////////////////////////////////
     // generate random operations
     /////////////////////////////////////////////////////////////////////////////////
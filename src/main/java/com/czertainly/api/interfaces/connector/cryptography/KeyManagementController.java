@@ -10,6 +10,7 @@ import com.czertainly.api.model.connector.cryptography.key.KeyDataResponseDto;
 import com.czertainly.api.model.connector.cryptography.key.KeyPairDataResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -17,6 +18,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,13 +32,20 @@ import java.util.List;
 public interface KeyManagementController extends AuthProtectedConnectorController {
 
     @Operation(
-            summary = "List of Attributes to create a Secret Key"
+            summary = "List of Attributes to create a Secret Key",
+            parameters = {
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, description = "Entity tag of the Attributes cached by the client", in = ParameterIn.HEADER)
+            }
     )
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
-                            description = "List of Attributes retrieved"
+                            description = "List of Attributes retrieved, entity tag of the Attributes in the ETag header"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Attributes not modified since the entity tag in the If-None-Match header"
                     )
             })
     @GetMapping(
@@ -113,13 +122,20 @@ public interface KeyManagementController extends AuthProtectedConnectorControlle
     ) throws NotFoundException;
 
     @Operation(
-            summary = "List of Attributes to create a Key Pair"
+            summary = "List of Attributes to create a Key Pair",
+            parameters = {
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, description = "Entity tag of the Attributes cached by the client", in = ParameterIn.HEADER)
+            }
     )
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
-                            description = "List of Attributes retrieved"
+                            description = "List of Attributes retrieved, entity tag of the Attributes in the ETag header"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Attributes not modified since the entity tag in the If-None-Match header"
                     )
             })
     @GetMapping(
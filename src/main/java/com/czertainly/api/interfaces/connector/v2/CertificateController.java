@@ -10,6 +10,7 @@ import com.czertainly.api.model.common.attribute.common.BaseAttribute;
 import com.czertainly.api.model.connector.v2.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -17,7 +18,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,13 +30,20 @@ import java.util.List;
 public interface CertificateController extends AuthProtectedConnectorController {
 
     @Operation(
-            summary = "List of Attributes to issue Certificate"
+            summary = "List of Attributes to issue Certificate",
+            parameters = {
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, description = "Entity tag of the Attributes cached by the client", in = ParameterIn.HEADER)
+            }
     )
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
-                            description = "Issue certificate attribute list retrieved"
+                            description = "Issue certificate attribute list retrieved, entity tag of the Attributes in the ETag header"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Attributes not modified since the entity tag in the If-None-Match header"
                     )
             })
     @GetMapping(path = "/issue/attributes", produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -82,6 +92,56 @@ public interface CertificateController extends AuthProtectedConnectorController
             @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
             @RequestBody CertificateSignRequestDto request) throws NotFoundException, CertificateOperationException, CertificateRequestException;
 
+    @Operation(
+            summary = "Issue multiple Certificates",
+            description = "CSRs of the batch share the RA profile Attributes. Failed CSRs contain error and do not fail the whole batch. " +
+                    "When asynchronous completion is requested, Connector can accept the batch in progress and complete it later, " +
+                    "the results are then retrieved by the UUID of the batch."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "202",
+                            description = "Batch accepted for asynchronous completion"
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")}
+                            ))
+            })
+    @PostMapping(path = "/issue/batch", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    ResponseEntity<CertificateBatchResponseDto> issueCertificateBatch(
+            @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
+            @RequestBody CertificateBatchSignRequestDto request) throws NotFoundException, CertificateOperationException;
+
+    @Operation(
+            summary = "Get Certificate batch",
+            description = "Returns the status and the results of the batch completed asynchronously"
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch retrieved"
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Batch not found",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")}
+                            ))
+            })
+    @GetMapping(path = "/batch/{batchUuid}", produces = {MediaType.APPLICATION_JSON_VALUE})
+    CertificateBatchResponseDto getCertificateBatch(
+            @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
+            @Parameter(description = "Batch UUID") @PathVariable String batchUuid) throws NotFoundException;
+
     @Operation(
             summary = "Renew Certificate"
     )
@@ -104,13 +164,43 @@ public interface CertificateController extends AuthProtectedConnectorController
             @RequestBody CertificateRenewRequestDto request) throws NotFoundException, CertificateOperationException, CertificateRequestException;
 
     @Operation(
-            summary = "List of Attributes to revoke Certificate"
+            summary = "Renew multiple Certificates",
+            description = "Certificates of the batch share the RA profile Attributes. Failed Certificates contain error and do not fail the whole batch. " +
+                    "Certificates with idempotency key already renewed return the previously renewed Certificate."
     )
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
-                            description = "Revoke certificate attribute list retrieved"
+                            description = "Batch completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")}
+                            ))
+            })
+    @PostMapping(path = "/renew/batch", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    CertificateBatchResponseDto renewCertificateBatch(
+            @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
+            @RequestBody CertificateBatchRenewRequestDto request) throws NotFoundException, CertificateOperationException;
+
+    @Operation(
+            summary = "List of Attributes to revoke Certificate",
+            parameters = {
+                    @Parameter(name = HttpHeaders.IF_NONE_MATCH, description = "Entity tag of the Attributes cached by the client", in = ParameterIn.HEADER)
+            }
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Revoke certificate attribute list retrieved, entity tag of the Attributes in the ETag header"
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Attributes not modified since the entity tag in the If-None-Match header"
                     ),
                     @ApiResponse(
                             responseCode = "422",
@@ -165,6 +255,29 @@ public interface CertificateController extends AuthProtectedConnectorController
             @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
             @RequestBody CertRevocationDto request) throws NotFoundException, CertificateOperationException;
 
+    @Operation(
+            summary = "Revoke multiple Certificates",
+            description = "Certificates of the batch share the RA profile and revocation Attributes. Failed Certificates contain error and do not fail the whole batch. " +
+                    "Certificates with idempotency key already revoked return the result of the previous revocation."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")}
+                            ))
+            })
+    @PostMapping(path = "/revoke/batch", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    CertificateBatchResponseDto revokeCertificateBatch(
+            @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
+            @RequestBody CertificateBatchRevocationRequestDto request) throws NotFoundException, CertificateOperationException;
+
     @Operation(
             summary = "Identify Certificate"
     )
@@ -191,4 +304,27 @@ public interface CertificateController extends AuthProtectedConnectorController
     CertificateIdentificationResponseDto identifyCertificate(
             @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
             @RequestBody CertificateIdentificationRequestDto request) throws NotFoundException, ValidationException;
+
+    @Operation(
+            summary = "Identify multiple Certificates",
+            description = "Certificates of the batch share the RA profile Attributes and are keyed by their fingerprint. " +
+                    "Unknown Certificates and Certificates not valid according to supplied RA attributes contain error and do not fail the whole batch."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable Entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")}
+                            ))
+            })
+    @PostMapping(path = "/identify/batch", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+    CertificateBatchIdentificationResponseDto identifyCertificateBatch(
+            @Parameter(description = "Authority Instance UUID") @PathVariable String uuid,
+            @RequestBody CertificateBatchIdentificationRequestDto request) throws NotFoundException, ValidationException;
 }
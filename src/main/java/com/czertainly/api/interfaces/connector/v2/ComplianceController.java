@@ -2,6 +2,9 @@ package com.czertainly.api.interfaces.connector.v2;
 
 import com.czertainly.api.exception.NotFoundException;
 import com.czertainly.api.interfaces.AuthProtectedConnectorController;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceBatchRequestDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceBatchResponseDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceBatchResponseItemDto;
 import com.czertainly.api.model.connector.compliance.v2.ComplianceRequestDto;
 import com.czertainly.api.model.connector.compliance.v2.ComplianceResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
 
@@ -57,4 +61,60 @@ public interface ComplianceController extends AuthProtectedConnectorController {
     )
     ComplianceResponseDto checkCompliance(@Parameter(description = "Connector Kind") @PathVariable String kind,
                                           @RequestBody @Valid ComplianceRequestDto request) throws IOException, NotFoundException;
+
+    @PostMapping(
+            path = "/compliance/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE}
+    )
+    @Operation(
+            summary = "Check compliance of multiple resource objects",
+            description = "Rules and groups of the request are applied to each of the resource objects. " +
+                    "Results are returned in the order of the request objects. " +
+                    "Objects that could not be checked contain error and do not fail the whole batch."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Compliance check completed"
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")})
+                    )
+            }
+    )
+    ComplianceBatchResponseDto checkComplianceBatch(@Parameter(description = "Connector Kind") @PathVariable String kind,
+                                                    @RequestBody @Valid ComplianceBatchRequestDto request) throws IOException, NotFoundException;
+
+    @PostMapping(
+            path = "/compliance/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(
+            summary = "Stream compliance of multiple resource objects",
+            description = "Results are streamed as newline delimited JSON, one result per line, as soon as the resource object is checked. " +
+                    "Results are not required to follow the order of the request objects and are matched by the identifier of the object."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Compliance check results streamed",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ComplianceBatchResponseItemDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Unprocessable entity",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)),
+                                    examples = {@ExampleObject(value = "[\"Error Message 1\",\"Error Message 2\"]")})
+                    )
+            }
+    )
+    Flux<ComplianceBatchResponseItemDto> streamComplianceBatch(@Parameter(description = "Connector Kind") @PathVariable String kind,
+                                                               @RequestBody @Valid ComplianceBatchRequestDto request) throws IOException, NotFoundException;
 }
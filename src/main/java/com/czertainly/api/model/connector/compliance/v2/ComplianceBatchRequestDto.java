@@ -0,0 +1,57 @@
+package com.czertainly.api.model.connector.compliance.v2;
+
+import com.czertainly.api.model.core.auth.Resource;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+Contains the parameters of compliance check of multiple resource objects against the same rules.
+Rules and groups are sent once for the whole batch and applied to each of the objects, so the Core
+can check the compliance of many certificates in a single request to the connector.
+ */
+@Getter
+@Setter
+@ToString
+@Schema(name = "ComplianceBatchRequestDtoV2", description = "Request for Compliance Check of multiple resource objects V2")
+public class ComplianceBatchRequestDto {
+
+    @Schema(description = "Resource of rules to be checked", requiredMode = Schema.RequiredMode.NOT_REQUIRED, examples = {Resource.Codes.CERTIFICATE})
+    private Resource resource;
+
+    @Schema(description = "Type of the resource objects that are sent to compliance check", requiredMode = Schema.RequiredMode.NOT_REQUIRED, examples = {"X.509"})
+    private String type;
+
+    @Schema(description = "Format of the resource objects data that are sent to compliance check", requiredMode = Schema.RequiredMode.NOT_REQUIRED, examples = {"pkcs7"})
+    private String format;
+
+    @NotNull
+    @Schema(description = "List of Compliance rules applied to each of the objects", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<ComplianceRuleRequestDto> rules = new ArrayList<>();
+
+    @NotNull
+    @Schema(description = "List of UUIDs of Compliance groups applied to each of the objects", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<UUID> groups = new ArrayList<>();
+
+    @Valid
+    @NotEmpty
+    @Schema(description = "Resource objects to be checked", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<ComplianceBatchRequestItemDto> objects = new ArrayList<>();
+
+    @JsonIgnore
+    @AssertTrue(message = "If type or format is specified, resource is required.")
+    public boolean isValid() {
+        return (type == null && format == null) || resource != null;
+    }
+
+}
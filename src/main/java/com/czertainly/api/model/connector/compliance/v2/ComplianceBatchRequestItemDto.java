@@ -0,0 +1,23 @@
+package com.czertainly.api.model.connector.compliance.v2;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Schema(name = "ComplianceBatchRequestItemDtoV2", description = "Resource object of Compliance Check batch V2")
+public class ComplianceBatchRequestItemDto {
+
+    @NotNull
+    @Schema(description = "Identifier of the object, unique within the batch request", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String id;
+
+    @NotNull
+    @Schema(description = "Base64 encoded content of resource object", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String data;
+
+}
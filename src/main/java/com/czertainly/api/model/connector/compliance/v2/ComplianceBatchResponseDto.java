@@ -0,0 +1,23 @@
+package com.czertainly.api.model.connector.compliance.v2;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Schema(name = "ComplianceBatchResponseDtoV2", description = "Response of Compliance Check of multiple resource objects V2")
+public class ComplianceBatchResponseDto {
+
+    @Schema(
+            description = "Results of the compliance checks in the order of the request objects. " +
+                    "Objects that could not be checked contain error and do not fail the whole batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<ComplianceBatchResponseItemDto> results;
+
+}
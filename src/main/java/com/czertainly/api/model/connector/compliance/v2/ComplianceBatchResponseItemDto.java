@@ -0,0 +1,32 @@
+package com.czertainly.api.model.connector.compliance.v2;
+
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "ComplianceBatchResponseItemDtoV2", description = "Result of Compliance Check of a resource object in batch V2")
+public class ComplianceBatchResponseItemDto {
+
+    @Schema(description = "Identifier of the object from the batch request", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String id;
+
+    @Schema(description = "Result of the compliance check. Present only when the object was checked")
+    private ComplianceResponseDto result;
+
+    @Schema(description = "Error of the compliance check. Present only when the object could not be checked")
+    private ProblemDetailExtended error;
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.czertainly.api.model.connector.cryptography.enums;
+
+import com.czertainly.api.exception.ValidationError;
+import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.model.common.enums.IPlatformEnum;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Arrays;
+
+@Schema(enumAsRef = true)
+public enum CryptographicOperation implements IPlatformEnum {
+    ENCRYPT("encrypt", "Encrypt", "Encrypt data using a Key"),
+    DECRYPT("decrypt", "Decrypt", "Decrypt data using a Key"),
+    SIGN("sign", "Sign", "Sign data using a Key"),
+    VERIFY("verify", "Verify", "Verify signatures using a Key");
+
+    private static final CryptographicOperation[] VALUES;
+
+    static {
+        VALUES = values();
+    }
+
+    private final String code;
+    private final String label;
+    private final String description;
+
+    CryptographicOperation(String code, String label, String description) {
+        this.code = code;
+        this.label = label;
+        this.description = description;
+    }
+
+    @JsonCreator
+    public static CryptographicOperation findByCode(String code) {
+        return Arrays.stream(VALUES)
+                .filter(k -> k.code.equals(code))
+                .findFirst()
+                .orElseThrow(() ->
+                        new ValidationException(ValidationError.create("Unknown cryptographic operation {}", code)));
+    }
+
+    @Override
+    @JsonValue
+    public String getCode() {
+        return this.code;
+    }
+
+    @Override
+    public String getLabel() {
+        return this.label;
+    }
+
+    @Override
+    public String getDescription() {
+        return this.description;
+    }
+}
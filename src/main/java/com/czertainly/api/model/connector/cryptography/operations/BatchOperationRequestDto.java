@@ -0,0 +1,21 @@
+package com.czertainly.api.model.connector.cryptography.operations;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class BatchOperationRequestDto {
+
+    @Schema(
+            description = "Operations to be executed. Operations can use different Keys of the Token instance",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<BatchOperationRequestItemDto> operations;
+
+}
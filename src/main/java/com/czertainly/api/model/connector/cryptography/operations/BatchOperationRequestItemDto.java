@@ -0,0 +1,49 @@
+package com.czertainly.api.model.connector.cryptography.operations;
+
+import com.czertainly.api.model.connector.cryptography.enums.CryptographicOperation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOperationRequestItemDto {
+
+    @Schema(
+            description = "Identifier of the operation within the batch, returned with the operation result",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String id;
+
+    @Schema(
+            description = "Key UUID",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String keyUuid;
+
+    @Schema(
+            description = "Cryptographic operation",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private CryptographicOperation operation;
+
+    @Schema(
+            description = "Data to be encrypted or decrypted. Required for encrypt and decrypt operations"
+    )
+    private CipherDataRequestDto cipherRequest;
+
+    @Schema(
+            description = "Data to be signed. Required for sign operation"
+    )
+    private SignDataRequestDto signRequest;
+
+    @Schema(
+            description = "Signatures to be verified. Required for verify operation"
+    )
+    private VerifyDataRequestDto verifyRequest;
+
+}
@@ -0,0 +1,22 @@
+package com.czertainly.api.model.connector.cryptography.operations;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class BatchOperationResponseDto {
+
+    @Schema(
+            description = "Results of the operations in the order of the request. " +
+                    "Failed operations contain error and do not fail the whole batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<BatchOperationResponseItemDto> results;
+
+}
@@ -0,0 +1,56 @@
+package com.czertainly.api.model.connector.cryptography.operations;
+
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
+import com.czertainly.api.model.connector.cryptography.enums.CryptographicOperation;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOperationResponseItemDto {
+
+    @Schema(
+            description = "Identifier of the operation from the batch request",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String id;
+
+    @Schema(
+            description = "Key UUID",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String keyUuid;
+
+    @Schema(
+            description = "Cryptographic operation",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private CryptographicOperation operation;
+
+    @Schema(description = "Result of encrypt operation")
+    private EncryptDataResponseDto encryptResponse;
+
+    @Schema(description = "Result of decrypt operation")
+    private DecryptDataResponseDto decryptResponse;
+
+    @Schema(description = "Result of sign operation")
+    private SignDataResponseDto signResponse;
+
+    @Schema(description = "Result of verify operation")
+    private VerifyDataResponseDto verifyResponse;
+
+    @Schema(description = "Error of the operation. Present only when the operation failed")
+    private ProblemDetailExtended error;
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+}
@@ -14,7 +14,7 @@ public class DiscoveryDataRequestDto {
             requiredMode = Schema.RequiredMode.REQUIRED)
     private String kind;
 
-    @Schema(description = "Page number for the retrieved certificates",
+    @Schema(description = "Page number for the retrieved certificates. Ignored when continuation token is provided",
             requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer pageNumber;
 
@@ -22,6 +22,10 @@ public class DiscoveryDataRequestDto {
             requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer itemsPerPage;
 
+    @Schema(description = "Continuation token returned with the previous page of certificates. " +
+            "When provided, certificates following the previous page are retrieved instead of the page specified by page number")
+    private String continuationToken;
+
     public String getName() {
         return name;
     }
@@ -54,6 +58,14 @@ public class DiscoveryDataRequestDto {
         this.itemsPerPage = itemsPerPage;
     }
 
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
@@ -61,6 +73,7 @@ public class DiscoveryDataRequestDto {
                 .append("kind", kind)
                 .append("pageNumber", pageNumber)
                 .append("itemsPerPage", itemsPerPage)
+                .append("continuationToken", continuationToken)
                 .toString();
     }
 }
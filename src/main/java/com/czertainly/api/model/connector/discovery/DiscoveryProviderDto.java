@@ -31,10 +31,15 @@ public class DiscoveryProviderDto extends NameAndUuidDto {
 			requiredMode = Schema.RequiredMode.REQUIRED)
 	private List<MetadataAttribute> meta;
 
+	@Schema(description = "Continuation token to retrieve the next page of certificates. " +
+			"Not present when there are no more certificates or the connector does not support continuation tokens")
+	private String nextContinuationToken;
+
 
 	@Override
 	public String toString() {
 		return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE).append("id", uuid)
-				.append("totalCertificatesDiscovered", totalCertificatesDiscovered).toString();
+				.append("totalCertificatesDiscovered", totalCertificatesDiscovered)
+				.append("nextContinuationToken", nextContinuationToken).toString();
 	}
 }
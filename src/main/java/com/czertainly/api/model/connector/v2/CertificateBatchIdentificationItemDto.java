@@ -0,0 +1,41 @@
+package com.czertainly.api.model.connector.v2;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Class representing a certificate of the batch identification request
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateBatchIdentificationItemDto {
+
+    @NotNull
+    @Schema(
+            description = "Fingerprint of the Certificate, SHA-256 hash of the DER encoded Certificate",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String fingerprint;
+
+    @NotNull
+    @Schema(
+            description = "Base64 Certificate content. (certificate to be identified)",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String certificate;
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("fingerprint", fingerprint)
+                .toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.czertainly.api.model.connector.v2;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of the batch identification of certificates
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class CertificateBatchIdentificationResponseDto {
+
+    @Schema(
+            description = "Results of the identification keyed by the fingerprint of the Certificate. " +
+                    "Failed identifications contain error and do not fail the whole batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<CertificateBatchIdentificationResponseItemDto> results = new ArrayList<>();
+
+}
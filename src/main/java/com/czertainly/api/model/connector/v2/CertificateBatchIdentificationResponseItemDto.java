@@ -0,0 +1,48 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Result of the identification of a single certificate of the batch
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CertificateBatchIdentificationResponseItemDto {
+
+    @Schema(
+            description = "Fingerprint of the Certificate from the batch request",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String fingerprint;
+
+    @Schema(description = "Identified Certificate. Present only when the Certificate was identified")
+    private CertificateIdentificationResponseDto identification;
+
+    @Schema(description = "Error of the identification, with status 404 when the Certificate is unknown " +
+            "and 422 when it is not valid according to supplied RA attributes. Present only when the identification failed")
+    private ProblemDetailExtended error;
+
+    @Schema(description = "Position of the Certificate in the certificates to be identified. " +
+            "Present only when the Certificate was rejected by the client without fingerprint, e.g. its content is not valid Base64")
+    private Long index;
+
+    public CertificateBatchIdentificationResponseItemDto(String fingerprint, CertificateIdentificationResponseDto identification, ProblemDetailExtended error) {
+        this.fingerprint = fingerprint;
+        this.identification = identification;
+        this.error = error;
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+}
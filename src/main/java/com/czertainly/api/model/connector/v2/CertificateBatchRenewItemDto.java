@@ -0,0 +1,76 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.common.attribute.common.MetadataAttribute;
+import com.czertainly.api.model.core.enums.CertificateRequestFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.List;
+
+/**
+ * Class representing a certificate of the batch renew request
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateBatchRenewItemDto {
+
+    @NotNull
+    @Schema(
+            description = "Identifier of the Certificate, unique within the batch request",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String id;
+
+    @NotNull
+    @Schema(
+            description = "Certificate signing request encoded as Base64 string",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String request;
+
+    @Schema(
+            description = "Certificate signing request format",
+            defaultValue = "pkcs10"
+    )
+    private CertificateRequestFormat format;
+
+    @NotNull
+    @Schema(
+            description = "Base64 Certificate content. (Certificate to be renewed)",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String certificate;
+
+    @Schema(
+            description = "Metadata for the Certificate",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private List<MetadataAttribute> meta;
+
+    @Schema(
+            description = "Idempotency key of the renewal. Connector returns the Certificate renewed with the same key " +
+                    "instead of renewing again, so failed batches can be retried safely",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String idempotencyKey;
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("id", id)
+                .append("request", request)
+                .append("format", format)
+                .append("certificate", certificate)
+                .append("meta", meta)
+                .append("idempotencyKey", idempotencyKey)
+                .toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing a request to renew multiple certificates with the same RA profile
+ */
+@Setter
+@Getter
+public class CertificateBatchRenewRequestDto {
+
+    @Schema(
+            description = "List of RA Profiles attributes, shared by all Certificates of the batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<RequestAttribute> raProfileAttributes;
+
+    @Valid
+    @NotEmpty
+    @Schema(
+            description = "Certificates to be renewed",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<CertificateBatchRenewItemDto> certificates = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("raProfileAttributes", raProfileAttributes)
+                .append("certificates", certificates)
+                .toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of the certificate batch. Batch completed asynchronously is returned in progress
+ * and its results are retrieved by its UUID until it is completed.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class CertificateBatchResponseDto {
+
+    @Schema(
+            description = "UUID of the batch. Required when the batch is in progress",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String uuid;
+
+    @Schema(
+            description = "Status of the batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private CertificateBatchStatus status;
+
+    @Schema(
+            description = "Results of the completed items. Failed items contain error and do not fail the whole batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<CertificateBatchResponseItemDto> results = new ArrayList<>();
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return status != CertificateBatchStatus.IN_PROGRESS;
+    }
+
+}
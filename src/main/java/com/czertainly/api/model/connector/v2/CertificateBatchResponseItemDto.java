@@ -0,0 +1,37 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.common.error.ProblemDetailExtended;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Result of a single item of the certificate batch
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CertificateBatchResponseItemDto {
+
+    @Schema(
+            description = "Identifier of the item from the batch request",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String id;
+
+    @Schema(description = "Issued or renewed Certificate. Present only when the item succeeded and the operation returns Certificate")
+    private CertificateDataResponseDto certificate;
+
+    @Schema(description = "Error of the item. Present only when the item failed")
+    private ProblemDetailExtended error;
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.core.authority.CertificateRevocationReason;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Class representing a certificate of the batch revocation request
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateBatchRevocationItemDto {
+
+    @NotNull
+    @Schema(
+            description = "Identifier of the Certificate, unique within the batch request",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String id;
+
+    @NotNull
+    @Schema(
+            description = "Base64 Certificate content. (Certificate to be revoked)",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String certificate;
+
+    @Schema(
+            description = "Revocation reason. When not provided, reason of the batch is used",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private CertificateRevocationReason reason;
+
+    @Schema(
+            description = "Idempotency key of the revocation. Connector returns the result of the previous revocation " +
+                    "with the same key instead of revoking again, so failed batches can be retried safely",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String idempotencyKey;
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("id", id)
+                .append("reason", reason)
+                .append("idempotencyKey", idempotencyKey)
+                .toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.core.authority.CertificateRevocationReason;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing a request to revoke multiple certificates with the same RA profile
+ */
+@Setter
+@Getter
+public class CertificateBatchRevocationRequestDto {
+
+    @Schema(
+            description = "Revocation reason, used for Certificates without their own reason",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private CertificateRevocationReason reason;
+
+    @Schema(
+            description = "List of RA Profiles attributes, shared by all Certificates of the batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<RequestAttribute> raProfileAttributes;
+
+    @Schema(
+            description = "List of Attributes to revoke Certificate, shared by all Certificates of the batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<RequestAttribute> attributes;
+
+    @Valid
+    @NotEmpty
+    @Schema(
+            description = "Certificates to be revoked",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<CertificateBatchRevocationItemDto> certificates = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("reason", reason)
+                .append("raProfileAttributes", raProfileAttributes)
+                .append("attributes", attributes)
+                .append("certificates", certificates)
+                .toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class representing a request to sign multiple CSRs with the same RA profile
+ */
+@Setter
+@Getter
+public class CertificateBatchSignRequestDto {
+
+    @Schema(
+            description = "List of RA Profiles attributes, shared by all CSRs of the batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<RequestAttribute> raProfileAttributes;
+
+    @Schema(
+            description = "List of Attributes to issue Certificate, used for CSRs without their own Attributes",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private List<RequestAttribute> attributes;
+
+    @Valid
+    @NotEmpty
+    @Schema(
+            description = "Certificate signing requests of the batch",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private List<CertificateBatchSignRequestItemDto> requests = new ArrayList<>();
+
+    @Schema(
+            description = "Request asynchronous completion. Connector can accept the batch and complete it later, " +
+                    "the results are then retrieved by the UUID of the batch",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            defaultValue = "false"
+    )
+    private boolean async;
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("raProfileAttributes", raProfileAttributes)
+                .append("attributes", attributes)
+                .append("requests", requests)
+                .append("async", async)
+                .toString();
+    }
+}
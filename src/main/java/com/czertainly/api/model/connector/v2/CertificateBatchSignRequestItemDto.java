@@ -0,0 +1,60 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.model.client.attribute.RequestAttribute;
+import com.czertainly.api.model.core.enums.CertificateRequestFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.List;
+
+/**
+ * Class representing a CSR of the batch sign request
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateBatchSignRequestItemDto {
+
+    @NotNull
+    @Schema(
+            description = "Identifier of the CSR, unique within the batch request",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String id;
+
+    @NotNull
+    @Schema(
+            description = "Certificate signing request encoded as Base64 string",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private String request;
+
+    @Schema(
+            description = "Certificate signing request format",
+            defaultValue = "pkcs10"
+    )
+    private CertificateRequestFormat format;
+
+    @Schema(
+            description = "List of Attributes to issue Certificate. When not provided, Attributes of the batch are used",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private List<RequestAttribute> attributes;
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("id", id)
+                .append("request", request)
+                .append("format", format)
+                .append("attributes", attributes)
+                .toString();
+    }
+}
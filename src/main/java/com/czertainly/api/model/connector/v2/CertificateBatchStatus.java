@@ -0,0 +1,61 @@
+package com.czertainly.api.model.connector.v2;
+
+import com.czertainly.api.exception.ValidationError;
+import com.czertainly.api.exception.ValidationException;
+import com.czertainly.api.model.common.enums.IPlatformEnum;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Arrays;
+
+@Schema(enumAsRef = true)
+public enum CertificateBatchStatus implements IPlatformEnum {
+
+    IN_PROGRESS("inProgress", "In Progress", "Batch is being processed, results contain the items completed so far"),
+    COMPLETED("completed", "Completed", "All items of the batch are completed, results contain all items")
+    ;
+
+    private static final CertificateBatchStatus[] VALUES;
+
+    static {
+        VALUES = values();
+    }
+
+    @Schema(description = "Certificate batch status",
+            examples = {"completed"}, requiredMode = Schema.RequiredMode.REQUIRED)
+    private final String code;
+    private final String label;
+    private final String description;
+
+    CertificateBatchStatus(String code, String label, String description) {
+        this.code = code;
+        this.label = label;
+        this.description = description;
+    }
+
+    @Override
+    @JsonValue
+    public String getCode() {
+        return this.code;
+    }
+
+    @Override
+    public String getLabel() {
+        return this.label;
+    }
+
+    @Override
+    public String getDescription() {
+        return this.description;
+    }
+
+    @JsonCreator
+    public static CertificateBatchStatus findByCode(String code) {
+        return Arrays.stream(VALUES)
+                .filter(k -> k.code.equals(code))
+                .findFirst()
+                .orElseThrow(() ->
+                        new ValidationException(ValidationError.create("Unknown certificate batch status {}", code)));
+    }
+}
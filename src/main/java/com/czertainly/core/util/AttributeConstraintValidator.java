@@ -0,0 +1,235 @@
+package com.czertainly.core.util;
+
+import com.czertainly.api.exception.ValidationError;
+import com.czertainly.api.model.common.attribute.common.AttributeContent;
+import com.czertainly.api.model.common.attribute.common.DataAttribute;
+import com.czertainly.api.model.common.attribute.common.constraint.BaseAttributeConstraint;
+import com.czertainly.api.model.common.attribute.common.constraint.data.DateTimeAttributeConstraintData;
+import com.czertainly.api.model.common.attribute.common.constraint.data.RangeAttributeConstraintData;
+import com.czertainly.api.model.common.attribute.common.content.AttributeContentType;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Validator of the constraints of a data attribute definition.
+ *
+ * <p>Constraints are compiled when the validator is created, regular expressions are compiled, range bounds are
+ * converted to the type of the content and datetime bounds are converted to zoned datetime. Validators are cached
+ * by the definition UUID, version and the content of its constraints, so a changed definition gets a new validator.
+ * The cache is bounded, when it is full, arbitrary entries are evicted.</p>
+ */
+public final class AttributeConstraintValidator {
+
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private static final ConcurrentMap<String, AttributeConstraintValidator> CACHE = new ConcurrentHashMap<>();
+
+    private final List<ConstraintCheck> checks;
+
+    private AttributeConstraintValidator(List<ConstraintCheck> checks) {
+        this.checks = checks;
+    }
+
+    /**
+     * Get the validator of the constraints of the attribute definition.
+     *
+     * @param definition Data attribute definition
+     * @return Cached or newly compiled validator
+     */
+    public static AttributeConstraintValidator of(DataAttribute definition) {
+        String label = definition.getProperties() != null ? definition.getProperties().getLabel() : null;
+        String key = getCacheKey(definition, label);
+
+        AttributeConstraintValidator validator = CACHE.get(key);
+        if (validator == null) {
+            validator = compile(definition.getConstraints(), definition.getContentType(), label);
+            evictIfFull();
+            CACHE.putIfAbsent(key, validator);
+        }
+        return validator;
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    /**
+     * Validate the content against the constraints.
+     *
+     * @param contents Attribute content
+     * @param errors   List the validation errors are added to
+     */
+    public void validate(List<? extends AttributeContent> contents, List<ValidationError> errors) {
+        for (ConstraintCheck check : checks) {
+            check.validate(contents, errors);
+        }
+    }
+
+    private static void evictIfFull() {
+        Iterator<String> keys = CACHE.keySet().iterator();
+        while (CACHE.size() >= MAX_CACHE_SIZE && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String getCacheKey(DataAttribute definition, String label) {
+        StringBuilder key = new StringBuilder()
+                .append(definition.getUuid()).append('|')
+                .append(definition.getVersion()).append('|')
+                .append(definition.getContentType()).append('|')
+                .append(label);
+        if (definition.getConstraints() != null) {
+            for (BaseAttributeConstraint<?> constraint : definition.getConstraints()) {
+                key.append('|').append(constraint.getType()).append('=').append(constraint.getData());
+            }
+        }
+        return key.toString();
+    }
+
+    private static AttributeConstraintValidator compile(List<BaseAttributeConstraint<?>> constraints, AttributeContentType contentType, String label) {
+        List<ConstraintCheck> checks = new ArrayList<>();
+        if (constraints != null) {
+            for (BaseAttributeConstraint<?> constraint : constraints) {
+                switch (constraint.getType()) {
+                    case REGEXP -> checks.add(compileRegexpConstraint(constraint, contentType, label));
+                    case RANGE -> checks.add(compileRangeConstraint(constraint, contentType, label));
+                    case DATETIME -> checks.add(compileDateTimeConstraint(constraint, contentType, label));
+                }
+            }
+        }
+        return new AttributeConstraintValidator(List.copyOf(checks));
+    }
+
+    private static ConstraintCheck compileRegexpConstraint(BaseAttributeConstraint<?> constraint, AttributeContentType contentType, String label) {
+        boolean invalidContentType = !contentType.equals(AttributeContentType.STRING);
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile((String) constraint.getData());
+        } catch (Exception e) {
+            return (contents, errors) -> {
+                if (invalidContentType) {
+                    errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. Regexp can be associated for STRING type only"));
+                }
+                errors.add(couldNotValidateError(label, e));
+            };
+        }
+
+        return (contents, errors) -> {
+            if (invalidContentType) {
+                errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. Regexp can be associated for STRING type only"));
+            }
+            try {
+                for (AttributeContent value : contents) {
+                    if (!pattern.matcher(value.getData()).matches()) {
+                        errors.add(ValidationError.create(
+                                "Value {} of attribute {} doesn't match regex {}",
+                                value.getData(),
+                                label,
+                                constraint.getData()));
+                    }
+                }
+            } catch (Exception e) {
+                errors.add(couldNotValidateError(label, e));
+            }
+        };
+    }
+
+    private static ConstraintCheck compileRangeConstraint(BaseAttributeConstraint<?> constraint, AttributeContentType contentType, String label) {
+        RangeAttributeConstraintData constraintData = (RangeAttributeConstraintData) constraint.getData();
+        Integer from = constraintData.getFrom();
+        Integer to = constraintData.getTo();
+
+        if (contentType.equals(AttributeContentType.INTEGER)) {
+            int intFrom = from != null ? from : Integer.MIN_VALUE;
+            int intTo = to != null ? to : Integer.MAX_VALUE;
+            return (contents, errors) -> {
+                for (AttributeContent value : contents) {
+                    Integer data = value.getData();
+                    if (from != null && data < intFrom) {
+                        errors.add(ValidationError.create("Value {} of attribute {} should be higher than {}", data, label, from));
+                    }
+                    if (to != null && data > intTo) {
+                        errors.add(ValidationError.create("Value {} of attribute {} should be lower than {}", data, label, to));
+                    }
+                }
+            };
+        } else if (contentType.equals(AttributeContentType.FLOAT)) {
+            float floatFrom = from != null ? from.floatValue() : Float.NEGATIVE_INFINITY;
+            float floatTo = to != null ? to.floatValue() : Float.POSITIVE_INFINITY;
+            return (contents, errors) -> {
+                for (AttributeContent value : contents) {
+                    Float data = value.getData();
+                    if (from != null && data < floatFrom) {
+                        errors.add(ValidationError.create("Value {} of attribute {} should be higher than {}", data, label, from));
+                    }
+                    if (to != null && data > floatTo) {
+                        errors.add(ValidationError.create("Value {} of attribute {} should be lower than {}", data, label, to));
+                    }
+                }
+            };
+        } else {
+            return (contents, errors) -> errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. Range can be validated only for INTEGER and FLOAT"));
+        }
+    }
+
+    private static ConstraintCheck compileDateTimeConstraint(BaseAttributeConstraint<?> constraint, AttributeContentType contentType, String label) {
+        boolean invalidContentType = !contentType.equals(AttributeContentType.DATETIME);
+        DateTimeAttributeConstraintData constraintData;
+        try {
+            constraintData = (DateTimeAttributeConstraintData) constraint.getData();
+        } catch (Exception e) {
+            return (contents, errors) -> {
+                if (invalidContentType) {
+                    errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. DateTime can be associated for DATETIME type only"));
+                }
+                errors.add(couldNotValidateError(label, e));
+            };
+        }
+        ZonedDateTime from = constraintData.getFrom() != null ? constraintData.getFrom().atZone(ZoneId.systemDefault()) : null;
+        ZonedDateTime to = constraintData.getTo() != null ? constraintData.getTo().atZone(ZoneId.systemDefault()) : null;
+
+        return (contents, errors) -> {
+            if (invalidContentType) {
+                errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. DateTime can be associated for DATETIME type only"));
+            }
+            try {
+                for (AttributeContent value : contents) {
+                    ZonedDateTime data = value.getData();
+                    if (from != null && data.isBefore(from)) {
+                        errors.add(ValidationError.create("Value {} of attribute {} should be after {}", data, label, constraintData.getFrom()));
+                    }
+                    if (to != null && data.isAfter(to)) {
+                        errors.add(ValidationError.create("Value {} of attribute {} should be before {}", data, label, constraintData.getTo()));
+                    }
+                }
+            } catch (Exception e) {
+                errors.add(couldNotValidateError(label, e));
+            }
+        };
+    }
+
+    private static ValidationError couldNotValidateError(String label, Exception e) {
+        return ValidationError.create(
+                "Could not validate value of field {} due to error {}",
+                label,
+                ExceptionUtils.getRootCauseMessage(e));
+    }
+
+    @FunctionalInterface
+    private interface ConstraintCheck {
+        void validate(List<? extends AttributeContent> contents, List<ValidationError> errors);
+    }
+}
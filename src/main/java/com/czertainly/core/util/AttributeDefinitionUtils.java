@@ -16,9 +16,6 @@ import com.czertainly.api.model.common.attribute.common.callback.AttributeCallba
 import com.czertainly.api.model.common.attribute.common.callback.AttributeCallbackMapping;
 import com.czertainly.api.model.common.attribute.common.callback.AttributeValueTarget;
 import com.czertainly.api.model.common.attribute.common.callback.RequestAttributeCallback;
-import com.czertainly.api.model.common.attribute.common.constraint.BaseAttributeConstraint;
-import com.czertainly.api.model.common.attribute.common.constraint.data.DateTimeAttributeConstraintData;
-import com.czertainly.api.model.common.attribute.common.constraint.data.RangeAttributeConstraintData;
 import com.czertainly.api.model.common.attribute.v2.content.*;
 import com.czertainly.api.model.common.attribute.common.content.data.CredentialAttributeContentData;
 import com.czertainly.api.model.common.attribute.v3.DataAttributeV3;
@@ -30,7 +27,6 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -38,8 +34,6 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class AttributeDefinitionUtils {
@@ -56,9 +50,21 @@ public class AttributeDefinitionUtils {
             .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
             .build();
 
+    // types of the content classes of each AttributeContentType and of their data classes resolved once,
+    // so converted values do not construct the type every time
+    private static final ClassValue<JavaType> CONTENT_TYPES = new ClassValue<>() {
+        @Override
+        protected JavaType computeValue(Class<?> type) {
+            return ATTRIBUTES_OBJECT_MAPPER.constructType(type);
+        }
+    };
+
     private static final Logger logger = LoggerFactory.getLogger(AttributeDefinitionUtils.class);
 
     static <T extends BaseAttribute> T getAttributeDefinition(String name, List<T> attributes) {
+        if (attributes instanceof IndexedAttributeList<T> indexedAttributes) {
+            return indexedAttributes.get(name);
+        }
         return attributes.stream().filter(x -> x.getName().equals(name)).findFirst().orElse(null);
     }
 
@@ -73,6 +79,12 @@ public class AttributeDefinitionUtils {
         if (attributes.isEmpty()) {
             return null;
         }
+        if (attributes instanceof IndexedAttributeList<?> indexedAttributes) {
+            // the caller chooses T as the element type of the list, which is the type the index returns
+            @SuppressWarnings("unchecked")
+            T attribute = (T) indexedAttributes.get(name);
+            return attribute;
+        }
         if (attributes.get(0) instanceof RequestAttribute) {
             List<RequestAttribute> reloadedAttributes = (List<RequestAttribute>) attributes;
             return (T) reloadedAttributes.stream().filter(x -> x.getName().equals(name)).findFirst().orElse(null);
@@ -127,6 +139,16 @@ public class AttributeDefinitionUtils {
         }
     }
 
+    /**
+     * Get the content of the attribute converted to the given class. Content items are always converted,
+     * so modifying the returned items does not modify the attribute.
+     *
+     * @param name       Name of the attribute
+     * @param attributes Request, response or definition attributes
+     * @param clazz      Class of the content items
+     * @param <T>        Type of the content items
+     * @return Content items, null when the attribute is not found or has no content
+     */
     public static <T> List<T> getAttributeContent(String name, List<?> attributes, Class<T> clazz) {
         if (attributes == null || attributes.size() == 0) {
             return null;
@@ -136,19 +158,19 @@ public class AttributeDefinitionUtils {
             if (definition == null || definition.getContent() == null) {
                 return null;
             }
-            return ATTRIBUTES_OBJECT_MAPPER.convertValue(definition.getContent(), ATTRIBUTES_OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, clazz));
+            return convertContentList(definition.getContent(), clazz);
         } else if (attributes.get(0) instanceof BaseAttribute) {
             BaseAttribute definition = getRequestAttributes(name, attributes);
             if (definition == null || definition.getContent() == null) {
                 return null;
             }
-            return ATTRIBUTES_OBJECT_MAPPER.convertValue(definition.getContent(), ATTRIBUTES_OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, clazz));
+            return convertContentList(definition.getContent(), clazz);
         } else if (attributes.get(0) instanceof ResponseAttribute) {
             ResponseAttribute definition = getRequestAttributes(name, attributes);
             if (definition == null || definition.getContent() == null) {
                 return null;
             }
-            return ATTRIBUTES_OBJECT_MAPPER.convertValue(definition.getContent(), ATTRIBUTES_OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, clazz));
+            return convertContentList(definition.getContent(), clazz);
         } else {
             throw new IllegalArgumentException("Invalid Object to get Attribute value");
         }
@@ -251,11 +273,12 @@ public class AttributeDefinitionUtils {
             return List.of();
         }
 
+        IndexedAttributeList<BaseAttribute> indexedDefinitions = IndexedAttributeList.of(definitions);
         List<BaseAttribute> attributeDefinitions = clientAttributeConverter(attributes);
         return attributeDefinitions.stream()
                 .map(a -> {
                     if (a.getVersion() == 2) {
-                        DataAttributeV2 definition = (DataAttributeV2) getAttributeDefinition(a.getName(), definitions);
+                        DataAttributeV2 definition = (DataAttributeV2) indexedDefinitions.get(a.getName());
                         if (definition == null) {
                             return a;
                         }
@@ -265,7 +288,7 @@ public class AttributeDefinitionUtils {
                         return extended;
                     }
                     if (a.getVersion() == 3) {
-                        DataAttributeV3 definition = (DataAttributeV3) getAttributeDefinition(a.getName(), definitions);
+                        DataAttributeV3 definition = (DataAttributeV3) indexedDefinitions.get(a.getName());
                         if (definition == null) {
                             return a;
                         }
@@ -282,21 +305,23 @@ public class AttributeDefinitionUtils {
     //TODO - Rework
     public static void validateAttributes(List<? extends BaseAttribute> definitions, List<RequestAttribute> attributes) throws ValidationException {
         List<ValidationError> errors = new ArrayList<>();
+        IndexedAttributeList<BaseAttribute> indexedDefinitions = IndexedAttributeList.of(definitions);
+        IndexedAttributeList<RequestAttribute> indexedAttributes = IndexedAttributeList.of(attributes);
 
         // When the Group Attribute contains a group of other attributes, we currently do not have the definition of them
         // without executing the same sequence of callbacks or storing the definition in the database. Therefore,
         // we will need to skip the validation of Attributes that are unknown and rely on proper validation by the
         // connector.
         // TODO: Validation of Attributes that has unknown definition
-        for (RequestAttribute attribute : attributes) {
-            if (!containsAttributeDefinition(attribute.getName(), definitions)) {
+        for (RequestAttribute attribute : indexedAttributes) {
+            if (!indexedDefinitions.containsName(attribute.getName())) {
                 // do not throw error in case the definition is not found, warn only
                 logger.warn("Cannot validate Attribute '{}' as it has unknown definition", attribute.getName());
             }
         }
 
-        for (BaseAttribute definition : definitions) {
-            validateSingleAttribute(attributes, definition, errors);
+        for (BaseAttribute definition : indexedDefinitions) {
+            validateSingleAttribute(indexedAttributes, definition, errors);
         }
 
 
@@ -367,10 +392,10 @@ public class AttributeDefinitionUtils {
 
     private static Object getAttributeContent(int version, Object attributeContent, RequestAttribute attribute, AttributeContentType contentType) {
         if (version == 2) {
-            attributeContent = ATTRIBUTES_OBJECT_MAPPER.convertValue(attribute.getContent(), ATTRIBUTES_OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, contentType.getContentV2Class()));
+            attributeContent = convertContentList(attribute.getContent(), contentType.getContentV2Class());
         }
         if (version == 3) {
-            attributeContent = ATTRIBUTES_OBJECT_MAPPER.convertValue(attribute.getContent(), ATTRIBUTES_OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, contentType.getContentV3Class()));
+            attributeContent = convertContentList(attribute.getContent(), contentType.getContentV3Class());
         }
         return attributeContent;
     }
@@ -392,142 +417,17 @@ public class AttributeDefinitionUtils {
     }
 
     public static List<ValidationError> validateConstraints(BaseAttribute attribute, List<? extends AttributeContent> contents) {
-        List<BaseAttributeConstraint<?>> constraints;
-        AttributeContentType contentType;
-        String label = null;
-
-        if (attribute.getType().equals(AttributeType.DATA)) {
-            DataAttribute dataAttribute = (DataAttribute) attribute;
-            constraints = dataAttribute.getConstraints();
-            contentType = dataAttribute.getContentType();
-            if (dataAttribute.getProperties() != null) label = dataAttribute.getProperties().getLabel();
-        } else {
+        if (!attribute.getType().equals(AttributeType.DATA)) {
             return new ArrayList<>();
         }
-        if (constraints == null) return new ArrayList<>();
+        DataAttribute dataAttribute = (DataAttribute) attribute;
+        if (dataAttribute.getConstraints() == null) return new ArrayList<>();
 
         List<ValidationError> errors = new ArrayList<>();
-        for (BaseAttributeConstraint<?> constraint : constraints) {
-            switch (constraint.getType()) {
-                case REGEXP -> validateRegexpConstraint(contents, constraint, contentType, errors, label);
-                case RANGE -> validateRangeConstraint(contents, constraint, contentType, errors, label);
-                case DATETIME -> validateDateTimeConstraint(contents, constraint, contentType, errors, label);
-            }
-        }
+        AttributeConstraintValidator.of(dataAttribute).validate(contents, errors);
         return errors;
     }
 
-    private static void validateRangeConstraint(List<? extends AttributeContent> contents, BaseAttributeConstraint<?> constraint, AttributeContentType contentType, List<ValidationError> errors, String label) {
-        RangeAttributeConstraintData constraintData = (RangeAttributeConstraintData) constraint.getData();
-        if (contentType.equals(AttributeContentType.INTEGER)) {
-            validateIntegerRangeConstraint(contents, errors, label, constraintData);
-        } else if (contentType.equals(AttributeContentType.FLOAT)) {
-            validateFloatRangeConstraint(contents, errors, label, constraintData);
-        } else {
-            errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. Range can be validated only for INTEGER and FLOAT"));
-        }
-    }
-
-    private static void validateFloatRangeConstraint(List<? extends AttributeContent> contents, List<ValidationError> errors, String label, RangeAttributeConstraintData constraintData) {
-        for (AttributeContent value : contents) {
-            if (constraintData.getFrom() != null && (Float) value.getData() < constraintData.getFrom()) {
-                    errors.add(ValidationError.create(
-                            "Value {} of attribute {} should be higher than {}",
-                            value.getData(),
-                            label,
-                            constraintData.getFrom()));
-                }
-
-            if (constraintData.getTo() != null && (Float) value.getData() > constraintData.getTo()) {
-                    errors.add(ValidationError.create(
-                            "Value {} of attribute {} should be lower than {}",
-                            value.getData(),
-                            label,
-                            constraintData.getTo()));
-                }
-
-        }
-    }
-
-    private static void validateIntegerRangeConstraint(List<? extends AttributeContent> contents, List<ValidationError> errors, String label, RangeAttributeConstraintData constraintData) {
-        for (AttributeContent value : contents) {
-            if (constraintData.getFrom() != null && (Integer) value.getData() < constraintData.getFrom()) {
-                    errors.add(ValidationError.create(
-                            "Value {} of attribute {} should be higher than {}",
-                            value.getData(),
-                            label,
-                            constraintData.getFrom()));
-                }
-
-            if (constraintData.getTo() != null && (Integer) value.getData() > constraintData.getTo()) {
-                errors.add(ValidationError.create(
-                        "Value {} of attribute {} should be lower than {}",
-                        value.getData(),
-                        label,
-                        constraintData.getTo()));
-            }
-        }
-    }
-
-    private static void validateDateTimeConstraint(List<? extends AttributeContent> contents, BaseAttributeConstraint<?> constraint, AttributeContentType contentType, List<ValidationError> errors, String label) {
-        if (!contentType.equals(AttributeContentType.DATETIME)) {
-            errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. DateTime can be associated for DATETIME type only"));
-        }
-        try {
-            DateTimeAttributeConstraintData constraintData = (DateTimeAttributeConstraintData) constraint.getData();
-            for (AttributeContent value : contents) {
-                ZonedDateTime data = value.getData();
-                if (constraintData.getFrom() != null && data.isBefore(constraintData.getFrom().atZone(ZoneId.systemDefault()))) {
-                        errors.add(ValidationError.create(
-                                "Value {} of attribute {} should be after {}",
-                                data,
-                                label,
-                                constraintData.getFrom()));
-                    }
-
-                if (constraintData.getTo() != null && data.isAfter(constraintData.getTo().atZone(ZoneId.systemDefault()))) {
-                        errors.add(ValidationError.create(
-                                "Value {} of attribute {} should be before {}",
-                                data,
-                                label,
-                                constraintData.getTo()));
-                    }
-
-            }
-        } catch (Exception e) {
-            errors.add(ValidationError.create(
-                    "Could not validate value of field {} due to error {}",
-                    label,
-                    ExceptionUtils.getRootCauseMessage(e)));
-        }
-    }
-
-    private static void validateRegexpConstraint(List<? extends AttributeContent> contents, BaseAttributeConstraint<?> constraint, AttributeContentType contentType, List<ValidationError> errors, String label) {
-        if (!contentType.equals(AttributeContentType.STRING)) {
-            errors.add(ValidationError.create("Invalid Attribute Constraint Type and Attribute Content Type. Regexp can be associated for STRING type only"));
-        }
-        Pattern pattern;
-        try {
-            pattern = Pattern.compile((String) constraint.getData());
-            for (AttributeContent value : contents) {
-                Matcher matcher = pattern.matcher(value.getData());
-                if (!matcher.matches()) {
-                    errors.add(ValidationError.create(
-                            "Value {} of attribute {} doesn't match regex {}",
-                            value.getData(),
-                            label,
-                            constraint.getData()));
-                }
-            }
-
-        } catch (Exception e) {
-            errors.add(ValidationError.create(
-                    "Could not validate value of field {} due to error {}",
-                    label,
-                    ExceptionUtils.getRootCauseMessage(e)));
-        }
-    }
-
     public static void validateAttributeContent(BaseAttribute definition, RequestAttribute attributeContent, List<ValidationError> errors) {
 
         if (definition.getType() == null) {
@@ -571,7 +471,7 @@ public class AttributeDefinitionUtils {
             AttributeType type,
             List<ValidationError> errors
     ) {
-        AttributeContent content = (AttributeContent) ATTRIBUTES_OBJECT_MAPPER.convertValue(baseAttributeContent, targetClass);
+        AttributeContent content = (AttributeContent) convertContent(baseAttributeContent, targetClass);
 
         ValidationError wrongValueError = ValidationError.create(
                 "Wrong value of Attribute {} {}.", label, type
@@ -583,7 +483,7 @@ public class AttributeDefinitionUtils {
         }
 
         if (targetClass == CredentialAttributeContentV2.class) {
-            CredentialDto credentialDto = ATTRIBUTES_OBJECT_MAPPER.convertValue(content.getData(), CredentialDto.class);
+            CredentialDto credentialDto = convertContent(content.getData(), CredentialDto.class);
             if (credentialDto == null) {
                 errors.add(wrongValueError);
             }
@@ -711,6 +611,41 @@ public class AttributeDefinitionUtils {
     }
 
 
+    /**
+     * Convert the attribute content to the given class. Content that is already an instance of the class
+     * is converted as well, so the returned content is a copy and changes of it do not change the attribute.
+     *
+     * @param content Attribute content or its data
+     * @param clazz   Target class
+     * @param <T>     Target type
+     * @return Converted content
+     */
+    private static <T> T convertContent(Object content, Class<T> clazz) {
+        if (content == null) {
+            return null;
+        }
+        return ATTRIBUTES_OBJECT_MAPPER.convertValue(content, CONTENT_TYPES.get(clazz));
+    }
+
+    /**
+     * Read the content item whose data is converted afterwards. The item is not returned to the caller,
+     * so the item that is already an instance of the class is used without conversion.
+     */
+    private static <T> T readContentItem(Object content, Class<T> clazz) {
+        return clazz.isInstance(content) ? clazz.cast(content) : convertContent(content, clazz);
+    }
+
+    private static <T> List<T> convertContentList(List<?> content, Class<T> clazz) {
+        if (content == null) {
+            return null;
+        }
+        List<T> converted = new ArrayList<>(content.size());
+        for (Object item : content) {
+            converted.add(convertContent(item, clazz));
+        }
+        return converted;
+    }
+
     public static List<BaseAttribute> clientAttributeConverter(List<RequestAttribute> attributes) {
         if (attributes == null) {
             return new ArrayList<>();
@@ -884,11 +819,11 @@ public class AttributeDefinitionUtils {
     }
 
     public static <T> List<T> getObjectAttributeContentData(String attributeName, List<?> attributes, Class<T> clazz) {
-        List<ObjectAttributeContentV2> content = AttributeDefinitionUtils.getAttributeContent(attributeName, attributes, ObjectAttributeContentV2.class);
+        List<?> content = attributes == null ? null : getAttributeContent(attributeName, attributes, false);
         List<T> response = new ArrayList<>();
         if (content != null) {
-            for (ObjectAttributeContentV2 intContent : content) {
-                response.add(ATTRIBUTES_OBJECT_MAPPER.convertValue(intContent.getData(), clazz));
+            for (Object item : content) {
+                response.add(convertContent(readContentItem(item, ObjectAttributeContentV2.class).getData(), clazz));
             }
             return response;
         }
@@ -901,7 +836,7 @@ public class AttributeDefinitionUtils {
         if (list != null) {
             List<T> listContent = new ArrayList<>();
             for (Object item : list) {
-                BaseAttributeContentV2<?> ac = (BaseAttributeContentV2<?>) ATTRIBUTES_OBJECT_MAPPER.convertValue(item, clazz);
+                BaseAttributeContentV2<?> ac = (BaseAttributeContentV2<?>) convertContent(item, clazz);
                 listContent.add((T) ac.getData());
             }
             return listContent;
@@ -915,8 +850,8 @@ public class AttributeDefinitionUtils {
         if (list != null) {
             List<T> listContent = new ArrayList<>();
             for (Object item : list) {
-                ObjectAttributeContentV2 ac = ATTRIBUTES_OBJECT_MAPPER.convertValue(item, ObjectAttributeContentV2.class);
-                listContent.add((T) ATTRIBUTES_OBJECT_MAPPER.convertValue(ac.getData(), clazz));
+                ObjectAttributeContentV2 ac = readContentItem(item, ObjectAttributeContentV2.class);
+                listContent.add((T) convertContent(ac.getData(), clazz));
             }
             return listContent;
         }
@@ -931,8 +866,10 @@ public class AttributeDefinitionUtils {
      * @return True if attribute is equal and false if attribute is not equal
      */
     public static boolean checkAttributeEquality(List<RequestAttribute> requestAttributes, List<DataAttribute> attributes) {
+        requestAttributes = IndexedAttributeList.of(requestAttributes);
+        attributes = IndexedAttributeList.of(attributes);
         for (RequestAttributeDto requestAttribute : requestAttributes) {
-            DataAttribute attribute = attributes.stream().filter(x -> x.getName().equals(requestAttribute.getName())).findFirst().orElse(null);
+            DataAttribute attribute = getAttributeDefinition(requestAttribute.getName(), attributes);
             if (attribute == null) return false;
             if (requestAttribute.getVersion() == AttributeVersion.V2 && compareV2Equality(requestAttributes, attributes, requestAttribute, attribute)) return false;
 
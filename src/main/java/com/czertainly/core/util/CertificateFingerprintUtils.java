@@ -0,0 +1,47 @@
+package com.czertainly.core.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class CertificateFingerprintUtils {
+
+    private static final Pattern PEM_ARMOR_OR_WHITESPACE = Pattern.compile("-----(BEGIN|END) [A-Z0-9 ]+-----|\\s");
+
+    private static final Pattern FINGERPRINT_SEPARATOR = Pattern.compile("[:\\s]");
+
+    private CertificateFingerprintUtils() {
+    }
+
+    /**
+     * Compute the fingerprint of the certificate as lowercase hex of SHA-256 hash of its DER encoding,
+     * the same fingerprint the certificates are identified by in the inventory.
+     *
+     * @param certificate Base64 encoded DER certificate, PEM armor and line breaks are ignored
+     * @return Fingerprint of the certificate
+     * @throws IllegalArgumentException When the certificate is not valid Base64
+     */
+    public static String computeFingerprint(String certificate) {
+        String base64 = PEM_ARMOR_OR_WHITESPACE.matcher(certificate).replaceAll("");
+        byte[] der = Base64.getDecoder().decode(base64);
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(der));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+        }
+    }
+
+    /**
+     * Normalize the fingerprint to the form returned by {@link #computeFingerprint(String)},
+     * e.g. {@code AB:CD:EF} is normalized to {@code abcdef}.
+     *
+     * @param fingerprint Hex encoded fingerprint, possibly uppercase or with colon separated bytes
+     * @return Lowercase hex fingerprint without separators
+     */
+    public static String normalizeFingerprint(String fingerprint) {
+        return FINGERPRINT_SEPARATOR.matcher(fingerprint).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
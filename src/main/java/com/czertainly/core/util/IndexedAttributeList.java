@@ -0,0 +1,88 @@
+package com.czertainly.core.util;
+
+import com.czertainly.api.model.client.attribute.RequestAttributeDto;
+import com.czertainly.api.model.client.attribute.ResponseAttributeDto;
+import com.czertainly.api.model.common.attribute.common.BaseAttributeDto;
+
+import java.util.*;
+
+/**
+ * Immutable list of attributes indexed by attribute name.
+ *
+ * <p>The list keeps the original ordering of the attributes and can be passed everywhere a list of attributes
+ * is expected. Methods of {@link AttributeDefinitionUtils} find attributes in the indexed list by name
+ * in constant time instead of scanning the whole list. When more attributes have the same name,
+ * the first one is found, same as with the plain list.</p>
+ *
+ * @param <T> Type of the attributes, request attributes, response attributes or attribute definitions
+ */
+public final class IndexedAttributeList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final IndexedAttributeList<?> EMPTY = new IndexedAttributeList<>(List.of());
+
+    private final List<T> attributes;
+
+    private final Map<String, T> index;
+
+    private IndexedAttributeList(List<T> attributes) {
+        this.attributes = attributes;
+        this.index = new HashMap<>(attributes.size() * 4 / 3 + 1);
+        for (T attribute : attributes) {
+            index.putIfAbsent(getName(attribute), attribute);
+        }
+    }
+
+    /**
+     * Create the indexed list of attributes. When the attributes are already indexed, the same instance is returned.
+     *
+     * @param attributes List of attributes
+     * @param <T>        Type of the attributes
+     * @return Indexed list of attributes, empty list when the attributes are null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IndexedAttributeList<T> of(List<? extends T> attributes) {
+        if (attributes instanceof IndexedAttributeList<?> indexed) {
+            return (IndexedAttributeList<T>) indexed;
+        }
+        if (attributes == null || attributes.isEmpty()) {
+            return (IndexedAttributeList<T>) EMPTY;
+        }
+        return new IndexedAttributeList<>(Collections.unmodifiableList(new ArrayList<>(attributes)));
+    }
+
+    /**
+     * Get the attribute by name.
+     *
+     * @param name Name of the attribute
+     * @return Attribute with the name, null when there is no such attribute
+     */
+    public T get(String name) {
+        return index.get(name);
+    }
+
+    public boolean containsName(String name) {
+        return index.containsKey(name);
+    }
+
+    @Override
+    public T get(int i) {
+        return attributes.get(i);
+    }
+
+    @Override
+    public int size() {
+        return attributes.size();
+    }
+
+    private static String getName(Object attribute) {
+        if (attribute instanceof RequestAttributeDto requestAttribute) {
+            return requestAttribute.getName();
+        } else if (attribute instanceof BaseAttributeDto baseAttribute) {
+            return baseAttribute.getName();
+        } else if (attribute instanceof ResponseAttributeDto responseAttribute) {
+            return responseAttribute.getName();
+        } else {
+            throw new IllegalArgumentException("Invalid Object to get Attribute value");
+        }
+    }
+}
@@ -1,23 +1,66 @@
 package com.czertainly.api;
 
+import com.czertainly.api.clients.ApiClientConnectionSettings;
 import com.czertainly.api.clients.AttributeApiClient;
+import com.czertainly.api.clients.AttributeDefinitionCache;
 import com.czertainly.api.clients.BaseApiClient;
+import com.czertainly.api.clients.ComplianceRuleSetCache;
+import com.czertainly.api.clients.ConnectionPoolMetricsRegistry;
+import com.czertainly.api.clients.ConnectorClientMetrics;
+import com.czertainly.api.clients.DiscoveryApiClient;
+import com.czertainly.api.clients.cryptography.CryptographicOperationsApiClient;
+import com.czertainly.api.clients.v2.CertificateApiClient;
+import com.czertainly.api.clients.v2.ComplianceApiClient;
 import com.czertainly.api.exception.*;
+import com.czertainly.api.model.common.attribute.common.BaseAttribute;
+import com.czertainly.api.model.common.error.ErrorCode;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceBatchRequestDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceBatchRequestItemDto;
+import com.czertainly.api.model.connector.compliance.v2.ComplianceBatchResponseItemDto;
+import com.czertainly.api.model.connector.cryptography.enums.CryptographicOperation;
+import com.czertainly.api.model.connector.cryptography.operations.BatchOperationRequestItemDto;
+import com.czertainly.api.model.connector.cryptography.operations.BatchOperationResponseItemDto;
+import com.czertainly.api.model.connector.cryptography.operations.SignDataRequestDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryDataRequestDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderCertificateDataDto;
+import com.czertainly.api.model.connector.discovery.DiscoveryProviderDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchIdentificationItemDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchIdentificationResponseItemDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchResponseDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchResponseItemDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchRevocationItemDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchRevocationRequestDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchSignRequestDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchSignRequestItemDto;
+import com.czertainly.api.model.connector.v2.CertificateBatchStatus;
+import com.czertainly.api.model.core.compliance.ComplianceStatus;
 import com.czertainly.api.model.core.connector.ConnectorDto;
 import com.czertainly.api.model.core.connector.ConnectorStatus;
 import com.czertainly.api.model.core.connector.FunctionGroupCode;
+import com.czertainly.core.util.CertificateFingerprintUtils;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 
 import java.net.ConnectException;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 class ApiClientTest {
 
@@ -104,6 +147,33 @@ class ApiClientTest {
         Assertions.assertEquals(connector, cause.getConnector());
     }
 
+    @Test
+    void testGetAttributesAsync_clientNotFoundError() {
+        String bodyString = new NotFoundException("Attribute", 1).getMessage();
+
+        mockServer.stubFor(WireMock.get("/v1/credentialProvider/certificate/attributes")
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(404)
+                        .withBody(bodyString)));
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, () ->
+                // tested method
+                attributeApiClient.listAttributeDefinitionsAsync(
+                        connector,
+                        FunctionGroupCode.CREDENTIAL_PROVIDER,
+                        "certificate").collectList().block()
+        );
+
+        ConnectorEntityNotFoundException cause = Assertions.assertInstanceOf(ConnectorEntityNotFoundException.class, Exceptions.unwrap(e));
+        Assertions.assertEquals(bodyString, cause.getMessage());
+        Assertions.assertEquals(connector, cause.getConnector());
+    }
+
     @Test
     void testGetAttributes_clientError() {
         String bodyString = "Bad client request";
@@ -159,6 +229,154 @@ class ApiClientTest {
     }
 
 
+    @Test
+    void testGetAttributes_connectionPoolMetrics() throws ConnectorException {
+        mockServer.stubFor(WireMock.get("/v1/credentialProvider/certificate/attributes")
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")));
+
+        ConnectionPoolMetricsRegistry metricsRegistry = new ConnectionPoolMetricsRegistry();
+        ApiClientConnectionSettings settings = ApiClientConnectionSettings.builder()
+                .maxConnections(4)
+                .responseTimeout(Duration.ofSeconds(5))
+                .metricsRegistry(metricsRegistry)
+                .build();
+        AttributeApiClient client = new AttributeApiClient(BaseApiClient.prepareWebClient(settings), null);
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        Assertions.assertTrue(client.listAttributeDefinitions(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "certificate").isEmpty());
+
+        List<ConnectionPoolMetricsRegistry.ConnectionPoolStats> stats = metricsRegistry.getPoolStats();
+        Assertions.assertEquals(1, stats.size());
+        Assertions.assertEquals(4, stats.get(0).maxAllocated());
+        Assertions.assertEquals(1, stats.get(0).allocated());
+    }
+
+    @Test
+    void testGetAttributesAsync_identicalRequestsCoalesced() {
+        mockServer.stubFor(WireMock.get("/v1/credentialProvider/certificate/attributes")
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")));
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid("b1d7e2a4-3c5f-4e6a-9b8c-7d6e5f4a3b2c");
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        List<List<BaseAttribute>> results = Flux.range(0, 10)
+                .flatMap(i -> attributeApiClient.listAttributeDefinitionsAsync(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "certificate").collectList())
+                .collectList()
+                .block();
+
+        Assertions.assertEquals(10, results.size());
+        mockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/v1/credentialProvider/certificate/attributes")));
+        Assertions.assertEquals(0, BaseApiClient.getRequestCoalescer().getInFlightCount());
+
+        // completed requests are not cached
+        attributeApiClient.listAttributeDefinitionsAsync(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "certificate").collectList().block();
+        mockServer.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/v1/credentialProvider/certificate/attributes")));
+    }
+
+    @Test
+    void testGetAttributesAsync_revalidatedByEtag() {
+        String path = "/v1/credentialProvider/etag/attributes";
+        String body = "[{\"uuid\":\"6e9146a6-da8a-403f-99cb-d5d64d93ce1c\",\"name\":\"info\",\"type\":\"info\",\"contentType\":\"string\"}]";
+        mockServer.stubFor(WireMock.get(path)
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody(body)));
+        mockServer.stubFor(WireMock.get(path)
+                .withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.aResponse().withStatus(304)));
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid("3a1c5e7f-9b2d-4f6a-8c0e-1d3f5a7b9c2e");
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        AttributeDefinitionCache cache = BaseApiClient.getAttributeDefinitionCache();
+        cache.updateConnectorVersion(connector.getUuid(), "1");
+        long hits = cache.getHitCount();
+
+        List<BaseAttribute> first = attributeApiClient.listAttributeDefinitionsAsync(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "etag").collectList().block();
+        List<BaseAttribute> second = attributeApiClient.listAttributeDefinitionsAsync(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "etag").collectList().block();
+
+        Assertions.assertEquals(1, first.size());
+        Assertions.assertEquals("info", second.get(0).getName());
+        Assertions.assertNotSame(first.get(0), second.get(0));
+        Assertions.assertEquals(hits + 1, cache.getHitCount());
+        mockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(path)).withHeader("If-None-Match", WireMock.equalTo("\"v1\"")));
+
+        // new version of the connector drops the cached definitions
+        cache.updateConnectorVersion(connector.getUuid(), "2");
+        attributeApiClient.listAttributeDefinitionsAsync(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "etag").collectList().block();
+        mockServer.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(path)).withoutHeader("If-None-Match"));
+        cache.invalidate(connector.getUuid());
+    }
+
+    @Test
+    void testRequestsAreRecordedByMetrics() {
+        mockServer.stubFor(WireMock.get("/v1/credentialProvider/metrics/attributes")
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")));
+        mockServer.stubFor(WireMock.post("/v1/credentialProvider/metrics/attributes/validate")
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(404)
+                        .withBody("Kind not found")));
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid("9f4e2d1c-7b6a-4c5d-8e9f-0a1b2c3d4e5f");
+        connector.setName("metrics-connector");
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(registry);
+        try {
+            attributeApiClient.listAttributeDefinitionsAsync(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, "metrics").collectList().block();
+            Assertions.assertThrows(ConnectorEntityNotFoundException.class, () -> attributeApiClient.validateAttributes(connector, FunctionGroupCode.CREDENTIAL_PROVIDER, List.of(), "metrics"));
+
+            Timer listed = registry.get(ConnectorClientMetrics.REQUESTS)
+                    .tag(ConnectorClientMetrics.TAG_CONNECTOR_UUID, connector.getUuid())
+                    .tag(ConnectorClientMetrics.TAG_CONNECTOR_NAME, connector.getName())
+                    .tag(ConnectorClientMetrics.TAG_FUNCTION_GROUP, FunctionGroupCode.CREDENTIAL_PROVIDER.getCode())
+                    .tag(ConnectorClientMetrics.TAG_METHOD, "GET")
+                    .tag(ConnectorClientMetrics.TAG_URI, "/v1/{functionGroup}/{kind}/attributes")
+                    .tag(ConnectorClientMetrics.TAG_TRANSPORT, ConnectorClientMetrics.TRANSPORT_REST)
+                    .tag(ConnectorClientMetrics.TAG_OUTCOME, ConnectorClientMetrics.OUTCOME_SUCCESS)
+                    .timer();
+            Assertions.assertEquals(1, listed.count());
+            Assertions.assertEquals(2, registry.get(ConnectorClientMetrics.RESPONSE_SIZE).tag(ConnectorClientMetrics.TAG_CONNECTOR_UUID, connector.getUuid()).tag(ConnectorClientMetrics.TAG_METHOD, "GET").summary().totalAmount());
+
+            Timer validated = registry.get(ConnectorClientMetrics.REQUESTS)
+                    .tag(ConnectorClientMetrics.TAG_CONNECTOR_UUID, connector.getUuid())
+                    .tag(ConnectorClientMetrics.TAG_METHOD, "POST")
+                    .tag(ConnectorClientMetrics.TAG_OUTCOME, ConnectorEntityNotFoundException.class.getSimpleName())
+                    .timer();
+            Assertions.assertEquals(1, validated.count());
+            Assertions.assertEquals(2, registry.get(ConnectorClientMetrics.REQUEST_SIZE).tag(ConnectorClientMetrics.TAG_CONNECTOR_UUID, connector.getUuid()).tag(ConnectorClientMetrics.TAG_METHOD, "POST").summary().totalAmount());
+        } finally {
+            Metrics.globalRegistry.remove(registry);
+        }
+    }
+
     @Test
     void testGetAttributes_waitingForApproval() {
 
@@ -172,4 +390,305 @@ class ApiClientTest {
                 new ArrayList<>(),
                 "certificate"));
     }
+
+    @Test
+    void testStreamDiscoveryCertificates() {
+        mockServer.stubFor(WireMock.post("/v1/discoveryProvider/discover/abc/certificates")
+                .withHeader("Accept", WireMock.containing("application/x-ndjson"))
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/x-ndjson")
+                        .withBody("{\"uuid\":\"1\",\"base64Content\":\"AAA=\"}\n{\"uuid\":\"2\",\"base64Content\":\"BBB=\"}\n")));
+
+        DiscoveryApiClient client = new DiscoveryApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        List<DiscoveryProviderCertificateDataDto> certificates = client.streamDiscoveryCertificates(connector, new DiscoveryDataRequestDto(), "abc")
+                .collectList()
+                .block();
+
+        Assertions.assertNotNull(certificates);
+        Assertions.assertEquals(List.of("1", "2"), certificates.stream().map(DiscoveryProviderCertificateDataDto::getUuid).toList());
+    }
+
+    @Test
+    void testStreamComplianceBatch() {
+        mockServer.stubFor(WireMock.post("/v2/complianceProvider/x509/compliance/batch")
+                .withHeader("Accept", WireMock.containing("application/x-ndjson"))
+                .withRequestBody(WireMock.matchingJsonPath("$.objects.length()", WireMock.equalTo("2")))
+                .withRequestBody(WireMock.matchingJsonPath("$.groups[0]", WireMock.equalTo("e1c3b1a0-5b6e-4f4e-9c6b-2f1d8a0b7c11")))
+                .willReturn(WireMock
+                        .aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/x-ndjson")
+                        .withBody("{\"id\":\"2\",\"error\":{\"title\":\"Invalid certificate\",\"status\":422}}\n{\"id\":\"1\",\"result\":{\"status\":\"ok\",\"rules\":[]}}\n")));
+
+        ComplianceApiClient client = new ComplianceApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        ComplianceBatchRequestDto request = new ComplianceBatchRequestDto();
+        request.setGroups(List.of(UUID.fromString("e1c3b1a0-5b6e-4f4e-9c6b-2f1d8a0b7c11")));
+        request.setObjects(List.of(new ComplianceBatchRequestItemDto("1", "AAA="), new ComplianceBatchRequestItemDto("2", "BBB=")));
+        Map<String, ComplianceBatchResponseItemDto> results = client.streamComplianceBatch(connector, "x509", request)
+                .collectMap(ComplianceBatchResponseItemDto::getId)
+                .block();
+
+        Assertions.assertNotNull(results);
+        Assertions.assertTrue(results.get("1").isSuccessful());
+        Assertions.assertEquals(ComplianceStatus.OK, results.get("1").getResult().getStatus());
+        Assertions.assertFalse(results.get("2").isSuccessful());
+        Assertions.assertEquals(422, results.get("2").getError().getStatus());
+    }
+
+    @Test
+    void testGetComplianceRuleSet_cachedUntilConnectorVersionChanges() throws ConnectorException {
+        String group = "e1c3b1a0-5b6e-4f4e-9c6b-2f1d8a0b7c11";
+        mockServer.stubFor(WireMock.post("/v2/complianceProvider/x509/rules")
+                .withRequestBody(WireMock.matchingJsonPath("$.withGroupRules", WireMock.equalTo("true")))
+                .willReturn(WireMock.okJson("{\"rules\":[{\"uuid\":\"0b2c7a3e-2d1f-4c5a-8e9b-1a2b3c4d5e6f\",\"name\":\"r1\"}]," +
+                        "\"groups\":[{\"uuid\":\"" + group + "\",\"name\":\"g1\",\"rules\":[" +
+                        "{\"uuid\":\"7f3e9d2c-1b4a-4c6d-9e8f-0a1b2c3d4e5f\",\"groupUuid\":\"" + group + "\",\"name\":\"r2\"}]}]}")));
+
+        ComplianceApiClient client = new ComplianceApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid("5d1e3f7a-9b2c-4d6e-8f0a-1b3c5d7e9f20");
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+        UUID rule = UUID.fromString("0b2c7a3e-2d1f-4c5a-8e9b-1a2b3c4d5e6f");
+        UUID otherRule = UUID.fromString("1c2d3e4f-5a6b-4c7d-8e9f-0a1b2c3d4e5f");
+        ComplianceRuleSetCache cache = BaseApiClient.getComplianceRuleSetCache();
+        cache.updateConnectorVersion(connector.getUuid(), "1");
+
+        ComplianceRuleSetCache.RuleSet ruleSet = client.getComplianceRuleSet(connector, "x509", List.of(rule, otherRule), List.of(UUID.fromString(group)));
+        Assertions.assertEquals(2, ruleSet.rules().size());
+        Assertions.assertEquals("r2", ruleSet.getGroupRules(UUID.fromString(group)).get(0).getName());
+
+        // order of the selection does not matter, the compiled rule set is shared and unmodifiable
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        ComplianceRuleSetCache.RuleSet cached = client.getComplianceRuleSet(connector, "x509", List.of(otherRule, rule), List.of(UUID.fromString(group)));
+        Assertions.assertSame(ruleSet, cached);
+        Assertions.assertEquals(hits + 1, cache.getHitCount());
+        Assertions.assertEquals(misses, cache.getMissCount());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cached.getGroupRules(UUID.fromString(group)).clear());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cached.getRule(rule).getAttributes().add(null));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> cached.rules().remove(rule));
+        mockServer.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/v2/complianceProvider/x509/rules")));
+
+        cache.updateConnectorVersion(connector.getUuid(), "2");
+        client.getComplianceRuleSet(connector, "x509", List.of(rule, otherRule), List.of(UUID.fromString(group)));
+        mockServer.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/v2/complianceProvider/x509/rules")));
+        Assertions.assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    void testIssueCertificateBatch_asyncCompletion() {
+        mockServer.stubFor(WireMock.post("/v2/authorityProvider/authorities/ca/certificates/issue/batch")
+                .withRequestBody(WireMock.matchingJsonPath("$.requests.length()", WireMock.equalTo("2")))
+                .withRequestBody(WireMock.matchingJsonPath("$.async", WireMock.equalTo("true")))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(202)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"uuid\":\"b1\",\"status\":\"inProgress\",\"results\":[]}")));
+        mockServer.stubFor(WireMock.get("/v2/authorityProvider/authorities/ca/certificates/batch/b1")
+                .willReturn(WireMock.okJson("{\"uuid\":\"b1\",\"status\":\"completed\",\"results\":[" +
+                        "{\"id\":\"1\",\"certificate\":{\"certificateData\":\"AAA=\"}}," +
+                        "{\"id\":\"2\",\"error\":{\"title\":\"Invalid CSR\",\"status\":422}}]}")));
+
+        CertificateApiClient client = new CertificateApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        CertificateBatchSignRequestDto request = new CertificateBatchSignRequestDto();
+        request.setRaProfileAttributes(List.of());
+        request.setRequests(List.of(new CertificateBatchSignRequestItemDto("1", "AAA=", null, null), new CertificateBatchSignRequestItemDto("2", "BBB=", null, null)));
+        request.setAsync(true);
+        CertificateBatchResponseDto batch = client.issueCertificateBatchAsync(connector, "ca", request)
+                .flatMap(accepted -> client.awaitCertificateBatchAsync(connector, "ca", accepted, Duration.ofMillis(10), Duration.ofSeconds(5)))
+                .block();
+
+        Assertions.assertNotNull(batch);
+        Assertions.assertEquals(CertificateBatchStatus.COMPLETED, batch.getStatus());
+        Assertions.assertEquals("AAA=", batch.getResults().get(0).getCertificate().getCertificateData());
+        Assertions.assertFalse(batch.getResults().get(1).isSuccessful());
+        mockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/v2/authorityProvider/authorities/ca/certificates/batch/b1")));
+    }
+
+    @Test
+    void testAwaitCertificateBatch_timeout() {
+        mockServer.stubFor(WireMock.get("/v2/authorityProvider/authorities/ca/certificates/batch/b1")
+                .willReturn(WireMock.okJson("{\"uuid\":\"b1\",\"status\":\"inProgress\",\"results\":[]}")));
+
+        CertificateApiClient client = new CertificateApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        CertificateBatchResponseDto accepted = new CertificateBatchResponseDto();
+        accepted.setUuid("b1");
+        accepted.setStatus(CertificateBatchStatus.IN_PROGRESS);
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, () ->
+                client.awaitCertificateBatchAsync(connector, "ca", accepted, Duration.ofMillis(20), Duration.ofMillis(100)).block());
+
+        Assertions.assertInstanceOf(ConnectorException.class, Exceptions.unwrap(e));
+        mockServer.verify(WireMock.moreThanOrExactly(1), WireMock.getRequestedFor(WireMock.urlEqualTo("/v2/authorityProvider/authorities/ca/certificates/batch/b1")));
+    }
+
+    @Test
+    void testPipelineRevokeCertificates_partialFailure() {
+        String path = "/v2/authorityProvider/authorities/ca/certificates/revoke/batch";
+        mockServer.stubFor(WireMock.post(path)
+                .withRequestBody(WireMock.matchingJsonPath("$.certificates[0].id", WireMock.equalTo("1")))
+                .willReturn(WireMock.okJson("{\"status\":\"completed\",\"results\":[{\"id\":\"1\"},{\"id\":\"2\",\"error\":{\"title\":\"Already revoked\",\"status\":422}}]}")));
+        mockServer.stubFor(WireMock.post(path)
+                .withRequestBody(WireMock.matchingJsonPath("$.certificates[0].id", WireMock.equalTo("3")))
+                .willReturn(WireMock.aResponse().withStatus(503).withHeader("Content-Type", "application/json").withBody("[\"Unavailable\"]")));
+        mockServer.stubFor(WireMock.post(path)
+                .withRequestBody(WireMock.matchingJsonPath("$.certificates[0].id", WireMock.equalTo("5")))
+                .withRequestBody(WireMock.matchingJsonPath("$.certificates[0].idempotencyKey", WireMock.equalTo("k5")))
+                .willReturn(WireMock.okJson("{\"status\":\"completed\",\"results\":[{\"id\":\"5\"}]}")));
+
+        CertificateApiClient client = new CertificateApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        CertificateBatchRevocationRequestDto request = new CertificateBatchRevocationRequestDto();
+        List<CertificateBatchRevocationItemDto> certificates = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            certificates.add(new CertificateBatchRevocationItemDto(String.valueOf(i), "AAA=", null, "k" + i));
+        }
+        request.setCertificates(certificates);
+        List<CertificateBatchResponseItemDto> results = client.pipelineRevokeCertificates(connector, "ca", request, 2, 3)
+                .collectList()
+                .block();
+
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(List.of("1", "2", "3", "4", "5"), results.stream().map(CertificateBatchResponseItemDto::getId).toList());
+        Assertions.assertEquals(List.of(true, false, false, false, true), results.stream().map(CertificateBatchResponseItemDto::isSuccessful).toList());
+        // failure of the whole batch is reported for each of its items
+        Assertions.assertEquals(503, results.get(2).getError().getStatus());
+        Assertions.assertEquals(503, results.get(3).getError().getStatus());
+        mockServer.verify(3, WireMock.postRequestedFor(WireMock.urlEqualTo(path)));
+    }
+
+    @Test
+    void testPipelineIdentifyCertificates_duplicatesSkipped() {
+        String fingerprintA = CertificateFingerprintUtils.computeFingerprint("AAA=");
+        String fingerprintB = CertificateFingerprintUtils.computeFingerprint("-----BEGIN CERTIFICATE-----\nBBB=\n-----END CERTIFICATE-----");
+        mockServer.stubFor(WireMock.post("/v2/authorityProvider/authorities/ca/certificates/identify/batch")
+                .withRequestBody(WireMock.matchingJsonPath("$.certificates.length()", WireMock.equalTo("2")))
+                .willReturn(WireMock.okJson("{\"results\":[{\"fingerprint\":\"" + fingerprintA + "\",\"identification\":{\"meta\":[]}}," +
+                        "{\"fingerprint\":\"" + fingerprintB + "\",\"error\":{\"title\":\"Certificate unknown\",\"status\":404}}]}")));
+
+        CertificateApiClient client = new CertificateApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        // fingerprint supplied by the caller in uppercase with colon separated bytes is a duplicate as well
+        String suppliedFingerprintA = fingerprintA.toUpperCase().replaceAll("(..)(?!$)", "$1:");
+        Flux<CertificateBatchIdentificationItemDto> certificates = Flux.just("AAA=", "AAA=", "BBB=", "not base64!")
+                .map(certificate -> new CertificateBatchIdentificationItemDto(null, certificate))
+                .concatWithValues(new CertificateBatchIdentificationItemDto(suppliedFingerprintA, "AAA="));
+        List<CertificateBatchIdentificationResponseItemDto> results = client.pipelineIdentifyCertificates(connector, "ca", List.of(), certificates, 10, 2)
+                .collectList()
+                .block();
+
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(3, results.size());
+        Map<String, CertificateBatchIdentificationResponseItemDto> identified = results.stream()
+                .filter(result -> result.getFingerprint() != null)
+                .collect(Collectors.toMap(CertificateBatchIdentificationResponseItemDto::getFingerprint, Function.identity()));
+        Assertions.assertTrue(identified.get(fingerprintA).isSuccessful());
+        Assertions.assertEquals(404, identified.get(fingerprintB).getError().getStatus());
+        // certificate without fingerprint is reported with its position in the certificates
+        CertificateBatchIdentificationResponseItemDto invalid = results.stream().filter(result -> result.getFingerprint() == null).findFirst().orElseThrow();
+        Assertions.assertEquals(3L, invalid.getIndex());
+        Assertions.assertNull(identified.get(fingerprintA).getIndex());
+        mockServer.verify(1, WireMock.postRequestedFor(WireMock.urlEqualTo("/v2/authorityProvider/authorities/ca/certificates/identify/batch")));
+    }
+
+    @Test
+    void testGetDiscoveryDataPages_continuationToken() {
+        mockServer.stubFor(WireMock.post("/v1/discoveryProvider/discover/abc")
+                .withRequestBody(WireMock.matchingJsonPath("$.continuationToken", WireMock.absent()))
+                .willReturn(WireMock.okJson("{\"uuid\":\"abc\",\"name\":\"d\",\"certificateData\":[{\"uuid\":\"1\"}],\"nextContinuationToken\":\"t1\"}")));
+        mockServer.stubFor(WireMock.post("/v1/discoveryProvider/discover/abc")
+                .withRequestBody(WireMock.matchingJsonPath("$.continuationToken", WireMock.equalTo("t1")))
+                .willReturn(WireMock.okJson("{\"uuid\":\"abc\",\"name\":\"d\",\"certificateData\":[{\"uuid\":\"2\"}]}")));
+
+        DiscoveryApiClient client = new DiscoveryApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        DiscoveryDataRequestDto request = new DiscoveryDataRequestDto();
+        request.setItemsPerPage(1);
+        List<DiscoveryProviderDto> pages = client.getDiscoveryDataPagesAsync(connector, request, "abc")
+                .collectList()
+                .block();
+
+        Assertions.assertNotNull(pages);
+        Assertions.assertEquals(2, pages.size());
+        Assertions.assertEquals("2", pages.get(1).getCertificateData().get(0).getUuid());
+    }
+
+    @Test
+    void testGetDiscoveryDataPages_repeatedContinuationToken() {
+        mockServer.stubFor(WireMock.post("/v1/discoveryProvider/discover/abc")
+                .willReturn(WireMock.okJson("{\"uuid\":\"abc\",\"name\":\"d\",\"certificateData\":[{\"uuid\":\"1\"}],\"nextContinuationToken\":\"t1\"}")));
+
+        DiscoveryApiClient client = new DiscoveryApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        DiscoveryDataRequestDto request = new DiscoveryDataRequestDto();
+        request.setItemsPerPage(1);
+        List<DiscoveryProviderDto> pages = new ArrayList<>();
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class, () ->
+                client.getDiscoveryDataPagesAsync(connector, request, "abc").doOnNext(pages::add).blockLast()
+        );
+
+        ConnectorException cause = Assertions.assertInstanceOf(ConnectorException.class, Exceptions.unwrap(e));
+        Assertions.assertTrue(cause.getMessage().contains("t1"));
+        Assertions.assertEquals(2, pages.size());
+        mockServer.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/v1/discoveryProvider/discover/abc")));
+    }
+
+    @Test
+    void testPipelineOperations_partialFailure() {
+        mockServer.stubFor(WireMock.post("/v1/cryptographyProvider/tokens/t1/keys/k1/sign")
+                .willReturn(WireMock.okJson("{\"signatures\":[{\"data\":\"c2lnbmF0dXJl\"}]}")));
+        mockServer.stubFor(WireMock.post("/v1/cryptographyProvider/tokens/t1/keys/k2/sign")
+                .willReturn(WireMock.aResponse().withStatus(404).withBody("Key not found")));
+
+        CryptographicOperationsApiClient client = new CryptographicOperationsApiClient(BaseApiClient.prepareWebClient(), null);
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUrl("http://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+
+        Flux<BatchOperationRequestItemDto> operations = Flux.just("k1", "k2").map(keyUuid ->
+                new BatchOperationRequestItemDto(keyUuid, keyUuid, CryptographicOperation.SIGN, null, new SignDataRequestDto(), null))
+                .concatWithValues(new BatchOperationRequestItemDto("k3", "k3", null, null, null, null));
+
+        Map<String, BatchOperationResponseItemDto> results = client.pipelineOperations(connector, "t1", operations, 2)
+                .collect(Collectors.toMap(BatchOperationResponseItemDto::getId, Function.identity()))
+                .block();
+
+        Assertions.assertNotNull(results);
+        Assertions.assertTrue(results.get("k1").isSuccessful());
+        Assertions.assertEquals(1, results.get("k1").getSignResponse().getSignatures().size());
+        Assertions.assertFalse(results.get("k2").isSuccessful());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND.value(), results.get("k2").getError().getStatus());
+        Assertions.assertFalse(results.get("k3").isSuccessful());
+        Assertions.assertEquals(ErrorCode.VALIDATION_FAILED, results.get("k3").getError().getErrorCode());
+    }
 }
@@ -0,0 +1,175 @@
+package com.czertainly.api;
+
+import com.czertainly.api.clients.ConnectorCircuitBreaker;
+import com.czertainly.api.clients.ConnectorRequestGuard;
+import com.czertainly.api.clients.ConnectorRequestGuardSettings;
+import com.czertainly.api.exception.ConnectorClientException;
+import com.czertainly.api.exception.ConnectorCommunicationException;
+import com.czertainly.api.model.core.connector.ConnectorDto;
+import com.czertainly.api.model.core.connector.ConnectorStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ConnectorRequestGuardTest {
+
+    private static ConnectorDto connector() {
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid("c3a9e0f1-4b5d-4e7a-9f2c-8d1b6a3e5f70");
+        connector.setName("hanging-ca");
+        connector.setUrl("http://localhost:3666");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+        return connector;
+    }
+
+    private static Throwable blockError(Mono<?> response) {
+        return Exceptions.unwrap(Assertions.assertThrows(RuntimeException.class, response::block));
+    }
+
+    @Test
+    void testCircuitOpensAndClosesAfterHalfOpenProbe() {
+        AtomicLong now = new AtomicLong();
+        ConnectorRequestGuard guard = new ConnectorRequestGuard(ConnectorRequestGuardSettings.builder()
+                .failureThreshold(3)
+                .openDuration(Duration.ofMillis(200))
+                .build(), now::get);
+        ConnectorDto connector = connector();
+        AtomicInteger sent = new AtomicInteger();
+        Mono<String> failing = guard.guard(() -> {
+            sent.incrementAndGet();
+            return Mono.error(new ConnectorCommunicationException("Connection refused", connector));
+        }, connector);
+
+        // errors reported by a responsive connector do not open the circuit
+        for (int i = 0; i < 5; i++) {
+            Mono<String> rejected = guard.guard(() -> Mono.error(new ConnectorClientException("Invalid request", HttpStatus.BAD_REQUEST)), connector);
+            Assertions.assertInstanceOf(ConnectorClientException.class, blockError(rejected));
+        }
+        Assertions.assertEquals(ConnectorCircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState(connector.getUuid()));
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertInstanceOf(ConnectorCommunicationException.class, blockError(failing));
+        }
+        Assertions.assertEquals(ConnectorCircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState(connector.getUuid()));
+
+        // open circuit fails fast without sending the request
+        ConnectorCommunicationException e = Assertions.assertInstanceOf(ConnectorCommunicationException.class, blockError(failing));
+        Assertions.assertTrue(e.getMessage().contains("is open"));
+        Assertions.assertEquals(3, sent.get());
+
+        // circuit stays open until the open duration elapses
+        now.addAndGet(Duration.ofMillis(150).toNanos());
+        Assertions.assertInstanceOf(ConnectorCommunicationException.class, blockError(failing));
+        Assertions.assertEquals(3, sent.get());
+
+        // failed probe opens the circuit again
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        Assertions.assertInstanceOf(ConnectorCommunicationException.class, blockError(failing));
+        Assertions.assertEquals(4, sent.get());
+        Assertions.assertEquals(ConnectorCircuitBreaker.State.OPEN, guard.getCircuitBreaker().getState(connector.getUuid()));
+
+        // successful probe closes the circuit
+        now.addAndGet(Duration.ofMillis(250).toNanos());
+        Assertions.assertEquals("ok", guard.guard(() -> Mono.just("ok"), connector).block());
+        Assertions.assertEquals(ConnectorCircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState(connector.getUuid()));
+        Assertions.assertEquals(0, guard.getConcurrencyLimiter().getInFlight(connector.getUuid()));
+    }
+
+    @Test
+    void testConcurrencyLimitRejectsExcessRequestsAndBacksOff() throws ConnectorCommunicationException {
+        ConnectorRequestGuard guard = new ConnectorRequestGuard(ConnectorRequestGuardSettings.builder()
+                .initialLimit(4)
+                .failureThreshold(100)
+                .maxQueuedRequests(0)
+                .build());
+        ConnectorDto connector = connector();
+
+        ConnectorRequestGuard.Permit[] permits = new ConnectorRequestGuard.Permit[4];
+        for (int i = 0; i < permits.length; i++) {
+            permits[i] = guard.acquire(connector);
+        }
+        ConnectorCommunicationException e = Assertions.assertThrows(ConnectorCommunicationException.class, () -> guard.acquire(connector));
+        Assertions.assertTrue(e.getMessage().contains("Concurrency limit 4"));
+
+        // timed out requests decrease the limit multiplicatively
+        permits[0].complete(new ConnectorCommunicationException("Read timed out", connector));
+        permits[1].complete(new ConnectorCommunicationException("Read timed out", connector));
+        Assertions.assertEquals(3, guard.getConcurrencyLimiter().getLimit(connector.getUuid()));
+        Assertions.assertEquals(2, guard.getConcurrencyLimiter().getInFlight(connector.getUuid()));
+
+        // completing a permit twice has no effect
+        permits[2].cancel();
+        permits[2].complete(null);
+        permits[3].complete(null);
+        Assertions.assertEquals(0, guard.getConcurrencyLimiter().getInFlight(connector.getUuid()));
+    }
+
+    @Test
+    void testRequestsExceedingConcurrencyLimitWaitForPermit() {
+        ConnectorRequestGuard guard = new ConnectorRequestGuard(ConnectorRequestGuardSettings.builder()
+                .initialLimit(4)
+                .maxLimit(4)
+                .build());
+        ConnectorDto connector = connector();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // pipeline wider than the limit, the excess requests are queued instead of rejected
+        List<Integer> responses = Flux.range(0, 32)
+                .flatMap(i -> guard.guard(() -> Mono.fromRunnable(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .then(Mono.delay(Duration.ofMillis(5)))
+                        .doOnNext(d -> inFlight.decrementAndGet())
+                        .thenReturn(i), connector), 16)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(32, responses.size());
+        Assertions.assertTrue(maxInFlight.get() <= 4, "Requests in flight exceeded the limit: " + maxInFlight.get());
+        Assertions.assertEquals(0, guard.getConcurrencyLimiter().getInFlight(connector.getUuid()));
+        Assertions.assertEquals(0, guard.getConcurrencyLimiter().getQueued(connector.getUuid()));
+        Assertions.assertEquals(ConnectorCircuitBreaker.State.CLOSED, guard.getCircuitBreaker().getState(connector.getUuid()));
+    }
+
+    @Test
+    void testQueuedRequestIsRejectedAfterQueueTimeout() throws ConnectorCommunicationException {
+        ConnectorRequestGuard guard = new ConnectorRequestGuard(ConnectorRequestGuardSettings.builder()
+                .initialLimit(1)
+                .maxLimit(1)
+                .queueTimeout(Duration.ofMillis(50))
+                .build());
+        ConnectorDto connector = connector();
+
+        ConnectorRequestGuard.Permit permit = guard.acquire(connector);
+        ConnectorCommunicationException e = Assertions.assertInstanceOf(ConnectorCommunicationException.class,
+                blockError(guard.guard(() -> Mono.just("late"), connector)));
+        Assertions.assertTrue(e.getMessage().contains("was not sent within 50 ms"));
+        Assertions.assertEquals(0, guard.getConcurrencyLimiter().getQueued(connector.getUuid()));
+
+        // released permit is granted to the next request, not to the one that timed out
+        permit.complete(null);
+        Assertions.assertEquals(1, guard.getConcurrencyLimiter().getLimit(connector.getUuid()));
+        Assertions.assertEquals("ok", guard.guard(() -> Mono.just("ok"), connector).block());
+        Assertions.assertEquals(0, guard.getConcurrencyLimiter().getInFlight(connector.getUuid()));
+    }
+
+    @Test
+    void testChangedSettingsResetGuard() throws ConnectorCommunicationException {
+        ConnectorRequestGuard guard = new ConnectorRequestGuard();
+        ConnectorDto connector = connector();
+        guard.acquire(connector).complete(new ConnectorCommunicationException("Connection refused", connector));
+        Assertions.assertEquals(18, guard.getConcurrencyLimiter().getLimit(connector.getUuid()));
+
+        guard.setSettings(ConnectorRequestGuardSettings.builder().initialLimit(64).build());
+        Assertions.assertEquals(64, guard.getSettings().getInitialLimit());
+        Assertions.assertEquals(64, guard.getConcurrencyLimiter().getLimit(connector.getUuid()));
+    }
+}
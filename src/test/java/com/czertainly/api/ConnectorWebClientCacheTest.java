@@ -0,0 +1,142 @@
+package com.czertainly.api;
+
+import com.czertainly.api.clients.AttributeApiClient;
+import com.czertainly.api.clients.BaseApiClient;
+import com.czertainly.api.clients.ConnectorWebClientCache;
+import com.czertainly.api.model.client.attribute.ResponseAttribute;
+import com.czertainly.api.model.client.attribute.ResponseAttributeV2;
+import com.czertainly.api.model.common.attribute.v2.content.BaseAttributeContentV2;
+import com.czertainly.api.model.common.attribute.v2.content.StringAttributeContentV2;
+import com.czertainly.api.model.core.connector.AuthType;
+import com.czertainly.api.model.core.connector.ConnectorDto;
+import com.czertainly.api.model.core.connector.ConnectorStatus;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import javax.net.ssl.TrustManagerFactory;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConnectorWebClientCacheTest {
+
+    @Test
+    void testWebClientIsReusedUntilAuthAttributesChange() {
+        ConnectorWebClientCache cache = new ConnectorWebClientCache();
+        AtomicInteger builds = new AtomicInteger();
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid(UUID.randomUUID().toString());
+        connector.setUrl("https://localhost:3665");
+        connector.setAuthType(AuthType.CERTIFICATE);
+        connector.setAuthAttributes(createAuthAttributes("PKCS12"));
+
+        WebClient first = cache.getOrCreate(connector, provider -> {
+            builds.incrementAndGet();
+            return BaseApiClient.prepareWebClient();
+        });
+        WebClient second = cache.getOrCreate(connector, provider -> {
+            builds.incrementAndGet();
+            return BaseApiClient.prepareWebClient();
+        });
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, builds.get());
+        Assertions.assertEquals(1, cache.size());
+
+        connector.setAuthAttributes(createAuthAttributes("JKS"));
+        WebClient third = cache.getOrCreate(connector, provider -> {
+            builds.incrementAndGet();
+            return BaseApiClient.prepareWebClient();
+        });
+
+        Assertions.assertNotSame(first, third);
+        Assertions.assertEquals(2, builds.get());
+        Assertions.assertEquals(1, cache.size());
+
+        cache.invalidate(connector.getUuid());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRequestInFlightCompletesWhenWebClientIsRetired() throws Exception {
+        WireMockServer mockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        mockServer.start();
+        try {
+            mockServer.stubFor(WireMock.get("/slow").willReturn(WireMock.ok("done").withFixedDelay(300)));
+            ConnectorWebClientCache cache = new ConnectorWebClientCache();
+
+            ConnectorDto connector = new ConnectorDto();
+            connector.setUuid(UUID.randomUUID().toString());
+            connector.setUrl(mockServer.baseUrl());
+            connector.setAuthType(AuthType.CERTIFICATE);
+            connector.setAuthAttributes(createAuthAttributes("PKCS12"));
+
+            CompletableFuture<String> response = cache.getOrCreate(connector, ConnectorWebClientCacheTest::createWebClient)
+                    .get()
+                    .uri(connector.getUrl() + "/slow")
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .toFuture();
+
+            connector.setAuthAttributes(createAuthAttributes("JKS"));
+            cache.getOrCreate(connector, ConnectorWebClientCacheTest::createWebClient);
+
+            Assertions.assertEquals("done", response.get(5, TimeUnit.SECONDS));
+            cache.clear();
+        } finally {
+            mockServer.stop();
+        }
+    }
+
+    @Test
+    void testCertificateAuthRequestUsesCachedWebClient() throws Exception {
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init((KeyStore) null);
+        AttributeApiClient client = new AttributeApiClient(BaseApiClient.prepareWebClient(), trustManagerFactory.getTrustManagers());
+        ConnectorWebClientCache cache = BaseApiClient.getCertificateAuthWebClientCache();
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid(UUID.randomUUID().toString());
+        connector.setUrl("https://localhost:3665");
+        connector.setStatus(ConnectorStatus.CONNECTED);
+        connector.setAuthType(AuthType.CERTIFICATE);
+        connector.setAuthAttributes(createAuthAttributes("PKCS12"));
+
+        int size = cache.size();
+        Assertions.assertNotNull(client.prepareRequest(HttpMethod.GET, connector, true));
+        Assertions.assertNotNull(client.prepareRequest(HttpMethod.POST, connector, true));
+        Assertions.assertEquals(size + 1, cache.size());
+
+        cache.invalidate(connector.getUuid());
+        Assertions.assertEquals(size, cache.size());
+    }
+
+    private static WebClient createWebClient(HttpClient httpClient) {
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    private static List<ResponseAttribute> createAuthAttributes(String keyStoreType) {
+        List<BaseAttributeContentV2<?>> content = new ArrayList<>();
+        content.add(new StringAttributeContentV2(keyStoreType));
+
+        ResponseAttributeV2 attribute = new ResponseAttributeV2();
+        attribute.setName(BaseApiClient.ATTRIBUTE_KEYSTORE_TYPE);
+        attribute.setContent(content);
+
+        List<ResponseAttribute> attributes = new ArrayList<>();
+        attributes.add(attribute);
+        return attributes;
+    }
+}
@@ -0,0 +1,44 @@
+package com.czertainly.api;
+
+import com.czertainly.api.clients.mq.CoreMessageBatcher;
+import com.czertainly.api.clients.mq.model.CoreMessage;
+import com.czertainly.api.clients.mq.model.CoreMessageBatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class CoreMessageBatcherTest {
+
+    @Test
+    void testBatchesAreSentWhenFullOrAfterLinger() throws InterruptedException {
+        LinkedBlockingQueue<CoreMessageBatch> sent = new LinkedBlockingQueue<>();
+        try (CoreMessageBatcher batcher = new CoreMessageBatcher(3, Duration.ofMillis(100), (proxyId, batch) -> {
+            Assertions.assertEquals("proxy-001", proxyId);
+            sent.add(batch);
+        })) {
+            for (int i = 0; i < 4; i++) {
+                batcher.add("proxy-001", CoreMessage.builder().correlationId("id-" + i).messageType("GET.v1.health").build());
+            }
+
+            // full batch is sent immediately
+            CoreMessageBatch full = sent.poll();
+            Assertions.assertNotNull(full);
+            Assertions.assertEquals(CoreMessageBatch.MESSAGE_TYPE, full.getMessageType());
+            Assertions.assertEquals(List.of("id-0", "id-1", "id-2"), full.getMessages().stream().map(CoreMessage::getCorrelationId).toList());
+            Assertions.assertEquals(1, batcher.getPendingCount());
+
+            // remaining message is sent after linger
+            CoreMessageBatch lingered = sent.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(lingered);
+            Assertions.assertEquals(1, lingered.size());
+            Assertions.assertEquals("id-3", lingered.getMessages().get(0).getCorrelationId());
+            Assertions.assertNotEquals(full.getBatchId(), lingered.getBatchId());
+            Assertions.assertEquals(0, batcher.getPendingCount());
+        }
+        Assertions.assertTrue(sent.isEmpty());
+    }
+}
@@ -0,0 +1,451 @@
+package com.czertainly.api;
+
+import com.czertainly.api.clients.ConnectorClientMetrics;
+import com.czertainly.api.clients.mq.CoalescingProxyClient;
+import com.czertainly.api.clients.mq.CreditExhaustedPolicy;
+import com.czertainly.api.clients.mq.DefaultProxyClient;
+import com.czertainly.api.clients.mq.HealthApiClient;
+import com.czertainly.api.clients.mq.InMemoryProxyTransport;
+import com.czertainly.api.clients.mq.MessageChunker;
+import com.czertainly.api.clients.mq.MessageCodec;
+import com.czertainly.api.clients.mq.MessageContentEncoding;
+import com.czertainly.api.clients.mq.MessagePriority;
+import com.czertainly.api.clients.mq.MeteredProxyClient;
+import com.czertainly.api.clients.mq.ProxyClientSettings;
+import com.czertainly.api.clients.mq.model.ConnectorResponse;
+import com.czertainly.api.clients.mq.model.CoreMessageBatch;
+import com.czertainly.api.clients.mq.model.MessageChunk;
+import com.czertainly.api.clients.mq.model.ProxyMessage;
+import com.czertainly.api.exception.ConnectorCommunicationException;
+import com.czertainly.api.exception.ConnectorEntityNotFoundException;
+import com.czertainly.api.model.common.HealthDto;
+import com.czertainly.api.model.common.HealthStatus;
+import com.czertainly.api.model.core.connector.AuthType;
+import com.czertainly.api.model.core.connector.ConnectorDto;
+import com.czertainly.api.model.core.proxy.ProxyDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class DefaultProxyClientTest {
+
+    @Test
+    void testRequestsAreCorrelatedWithResponses() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> switch (message.getConnectorRequest().getPath()) {
+            case "/v1/health" -> ConnectorResponse.builder().statusCode(200).body(Map.of("status", "ok", "description", message.getCorrelationId())).build();
+            case "/v1/lost" -> null;
+            default -> ConnectorResponse.builder().statusCode(404).error("Not found").build();
+        }, executor);
+
+        try (DefaultProxyClient client = new DefaultProxyClient(transport)) {
+            ConnectorDto connector = createConnector();
+
+            HealthDto health = new HealthApiClient(client).checkHealth(connector);
+            Assertions.assertEquals(HealthStatus.OK, health.getStatus());
+
+            List<CompletableFuture<HealthDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class));
+            }
+            for (CompletableFuture<HealthDto> future : futures) {
+                Assertions.assertEquals(HealthStatus.OK, future.get().getStatus());
+            }
+            Assertions.assertEquals(1000, futures.stream().map(f -> f.join().getDescription()).distinct().count());
+
+            Assertions.assertThrows(ConnectorEntityNotFoundException.class, () -> client.sendRequest(connector, "/v1/unknown", "GET", null, HealthDto.class));
+
+            CompletableFuture<HealthDto> lost = client.sendRequestAsync(connector, "/v1/lost", "GET", null, HealthDto.class, Duration.ofMillis(50));
+            ExecutionException timeout = Assertions.assertThrows(ExecutionException.class, lost::get);
+            Assertions.assertInstanceOf(ConnectorCommunicationException.class, timeout.getCause());
+            Assertions.assertEquals(0, client.getPendingCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRequestsAreSentAndReceivedInBatches() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> ConnectorResponse.builder().statusCode(200)
+                .body(Map.of("status", "ok", "description", message.getCorrelationId())).build(), executor);
+
+        ProxyClientSettings settings = ProxyClientSettings.builder().maxBatchSize(10).batchLinger(Duration.ofMillis(200)).build();
+        try (DefaultProxyClient client = new DefaultProxyClient(transport, settings)) {
+            ConnectorDto connector = createConnector();
+
+            List<CompletableFuture<HealthDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class));
+            }
+            // full batches are sent immediately, the rest after the linger time
+            Assertions.assertEquals(2, transport.getSentBatchCount());
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(3, transport.getSentBatchCount());
+            Assertions.assertEquals(25, transport.getSentCount());
+            Assertions.assertEquals(25, futures.stream().map(f -> f.join().getDescription()).distinct().count());
+            Assertions.assertEquals(0, client.getPendingCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBatchesDoNotMixPriorities() throws Exception {
+        List<CoreMessageBatch> batches = new CopyOnWriteArrayList<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> ConnectorResponse.builder().statusCode(200).build(), Runnable::run) {
+            @Override
+            public void sendBatch(String proxyId, CoreMessageBatch batch) throws IOException {
+                batches.add(batch);
+                super.sendBatch(proxyId, batch);
+            }
+        };
+
+        ProxyClientSettings settings = ProxyClientSettings.builder().maxBatchSize(10).batchLinger(Duration.ofMillis(50)).build();
+        try (DefaultProxyClient client = new DefaultProxyClient(transport, settings)) {
+            ConnectorDto connector = createConnector();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                MessagePriority priority = i % 2 == 0 ? MessagePriority.BULK : MessagePriority.INTERACTIVE;
+                futures.add(client.sendRequestAsync(connector, "/v1/complianceProvider/x509/compliance", "POST", null, null, Void.class, Duration.ofSeconds(5), priority));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+            Assertions.assertEquals(2, batches.size());
+            for (CoreMessageBatch batch : batches) {
+                Assertions.assertTrue(batch.getMessages().stream().allMatch(m -> batch.getPriority().equals(m.getPriority())), batch.getPriority());
+            }
+            Map<String, Integer> sizes = batches.stream().collect(Collectors.toMap(CoreMessageBatch::getPriority, CoreMessageBatch::size));
+            Assertions.assertEquals(Map.of("bulk", 3, "interactive", 2), sizes);
+        }
+    }
+
+    @Test
+    void testMessagesAreEncodedInNegotiatedEncoding() throws Exception {
+        byte[] certificate = new byte[512];
+        new Random(42).nextBytes(certificate);
+        List<String> encodings = new CopyOnWriteArrayList<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> {
+            encodings.add(message.getContentEncoding());
+            return ConnectorResponse.builder().statusCode(200).body(message.getConnectorRequest().getBody()).build();
+        }, Runnable::run, new MessageCodec());
+
+        try (DefaultProxyClient client = new DefaultProxyClient(transport)) {
+            ConnectorDto connector = createConnector();
+            Assertions.assertArrayEquals(certificate, client.sendRequest(connector, "/v1/certificates", "POST", certificate, byte[].class));
+
+            transport.publish(ProxyMessage.builder().proxyId("proxy-001").messageType("health.check").contentEncodings(List.of("json", "cbor")).build());
+            Assertions.assertEquals(MessageContentEncoding.CBOR, client.getContentEncoding("proxy-001"));
+            Assertions.assertArrayEquals(certificate, client.sendRequest(connector, "/v1/certificates", "POST", certificate, byte[].class));
+
+            // proxy that stopped advertising CBOR is sent JSON again
+            transport.publish(ProxyMessage.builder().proxyId("proxy-001").messageType("health.check").build());
+            Assertions.assertArrayEquals(certificate, client.sendRequest(connector, "/v1/certificates", "POST", certificate, byte[].class));
+            Assertions.assertEquals(List.of("json", "cbor", "json"), encodings);
+        }
+    }
+
+    @Test
+    void testSizesOfEncodedMessagesAreRecorded() throws Exception {
+        byte[] certificate = new byte[3000];
+        new Random(42).nextBytes(certificate);
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> ConnectorResponse.builder().statusCode(200).body(message.getConnectorRequest().getBody()).build(),
+                Runnable::run, new MessageCodec());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectorClientMetrics metrics = new ConnectorClientMetrics(registry);
+
+        try (DefaultProxyClient delegate = new DefaultProxyClient(transport)) {
+            metrics.bindProxyClient(delegate);
+            MeteredProxyClient client = new MeteredProxyClient(delegate, metrics);
+            ConnectorDto connector = createConnector();
+
+            client.sendRequest(connector, "/v1/certificates", "POST", certificate, byte[].class);
+            transport.publish(ProxyMessage.builder().proxyId("proxy-001").messageType("health.check").contentEncodings(List.of("cbor")).build());
+            client.sendRequest(connector, "/v1/certificates", "POST", certificate, byte[].class);
+
+            // sizes of the messages as encoded by the transport, the certificate is Base64 encoded in JSON and raw bytes in CBOR
+            for (String name : List.of(ConnectorClientMetrics.REQUEST_SIZE, ConnectorClientMetrics.RESPONSE_SIZE)) {
+                DistributionSummary sizes = registry.get(name)
+                        .tag(ConnectorClientMetrics.TAG_CONNECTOR_UUID, connector.getUuid())
+                        .tag(ConnectorClientMetrics.TAG_METHOD, "POST")
+                        .tag(ConnectorClientMetrics.TAG_URI, "/v1/certificates")
+                        .tag(ConnectorClientMetrics.TAG_TRANSPORT, ConnectorClientMetrics.TRANSPORT_MQ)
+                        .summary();
+                Assertions.assertEquals(2, sizes.count());
+                Assertions.assertTrue(sizes.max() > 4000, name);
+                double cborSize = sizes.totalAmount() - sizes.max();
+                Assertions.assertTrue(cborSize > 3000 && cborSize < 4000, name);
+            }
+            Assertions.assertEquals(2, registry.get(ConnectorClientMetrics.REQUESTS).tag(ConnectorClientMetrics.TAG_TRANSPORT, ConnectorClientMetrics.TRANSPORT_MQ).timer().count());
+        }
+    }
+
+    @Test
+    void testCreditsLimitRequestsInFlight() throws Exception {
+        BlockingQueue<Runnable> proxyQueue = new LinkedBlockingQueue<>();
+        List<String> sendingThreads = new CopyOnWriteArrayList<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> ConnectorResponse.builder().statusCode(200).build(), task -> {
+            sendingThreads.add(Thread.currentThread().getName());
+            proxyQueue.add(task);
+        });
+
+        try (DefaultProxyClient client = new DefaultProxyClient(transport)) {
+            ConnectorDto connector = createConnector();
+            transport.publish(ProxyMessage.builder().proxyId("proxy-001").messageType("health.check").credits(2).build());
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, Void.class));
+            }
+            Assertions.assertEquals(2, transport.getSentCount());
+            Assertions.assertEquals(2, client.getCreditLimiter().getInFlightCount("proxy-001"));
+            Assertions.assertEquals(1, client.getCreditLimiter().getQueuedCount("proxy-001"));
+
+            // responses of the first requests release credits for the queued request, which is sent on a worker thread
+            proxyQueue.take().run();
+            proxyQueue.take().run();
+            Runnable queued = proxyQueue.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(queued);
+            Assertions.assertEquals(3, transport.getSentCount());
+            Assertions.assertEquals(0, client.getCreditLimiter().getQueuedCount("proxy-001"));
+            Assertions.assertTrue(sendingThreads.get(2).startsWith("proxy-client-worker"));
+            queued.run();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+            Assertions.assertEquals(0, client.getCreditLimiter().getInFlightCount("proxy-001"));
+        }
+
+        try (DefaultProxyClient client = new DefaultProxyClient(transport, ProxyClientSettings.builder().defaultCredits(0).creditExhaustedPolicy(CreditExhaustedPolicy.REJECT).build())) {
+            ConnectorDto connector = createConnector();
+            CompletableFuture<Void> rejected = client.sendRequestAsync(connector, "/v1/health", "GET", null, Void.class);
+            Assertions.assertInstanceOf(ConnectorCommunicationException.class, Assertions.assertThrows(ExecutionException.class, rejected::get).getCause());
+            Assertions.assertThrows(RejectedExecutionException.class, () -> client.sendFireAndForget(connector, "/v1/discovery", "POST", null));
+            Assertions.assertEquals(0, client.getPendingCount());
+        }
+    }
+
+    @Test
+    void testInteractiveRequestsOvertakeQueuedBulkRequests() throws Exception {
+        BlockingQueue<Runnable> proxyQueue = new LinkedBlockingQueue<>();
+        List<String> received = new ArrayList<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> {
+            received.add(message.getPriority());
+            return ConnectorResponse.builder().statusCode(200).build();
+        }, proxyQueue::add);
+
+        ProxyClientSettings settings = ProxyClientSettings.builder().defaultCredits(1).responseDispatchThreads(1).build();
+        try (DefaultProxyClient client = new DefaultProxyClient(transport, settings)) {
+            ConnectorDto connector = createConnector();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(client.sendRequestAsync(connector, "/v1/complianceProvider/x509/compliance", "POST", null, null, Void.class, Duration.ofSeconds(5), MessagePriority.BULK));
+            }
+            for (int i = 0; i < 2; i++) {
+                futures.add(client.sendRequestAsync(connector, "/v1/authorityProvider/authorities", "GET", null, Void.class));
+            }
+            Assertions.assertEquals(5, client.getCreditLimiter().getQueuedCount("proxy-001", MessagePriority.BULK));
+            Assertions.assertEquals(2, client.getCreditLimiter().getQueuedCount("proxy-001", MessagePriority.INTERACTIVE));
+
+            for (int i = 0; i < futures.size(); i++) {
+                // credit of the response is released on the dispatcher thread and the next request is sent on a worker thread
+                Runnable request = proxyQueue.poll(5, TimeUnit.SECONDS);
+                Assertions.assertNotNull(request, "Request %d was not sent".formatted(i));
+                request.run();
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(List.of("bulk", "interactive", "interactive", "bulk", "bulk", "bulk", "bulk", "bulk"), received);
+        }
+    }
+
+    @Test
+    void testIdenticalRequestsInFlightAreCoalesced() throws Exception {
+        List<Runnable> proxyQueue = new ArrayList<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> ConnectorResponse.builder().statusCode(200).body(Map.of("status", "ok")).build(), proxyQueue::add);
+
+        try (DefaultProxyClient delegate = new DefaultProxyClient(transport)) {
+            CoalescingProxyClient client = new CoalescingProxyClient(delegate);
+            ConnectorDto connector = createConnector();
+
+            List<CompletableFuture<HealthDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class));
+            }
+            client.sendRequestAsync(connector, "/v1/complianceProvider/x509/compliance", "POST", Map.of("rules", List.of()), Void.class);
+            client.sendRequestAsync(connector, "/v1/complianceProvider/x509/compliance", "POST", Map.of("rules", List.of()), Void.class);
+            Assertions.assertEquals(3, transport.getSentCount());
+            Assertions.assertEquals(4, client.getCoalescer().getCoalescedCount());
+
+            new ArrayList<>(proxyQueue).forEach(Runnable::run);
+            for (CompletableFuture<HealthDto> future : futures) {
+                Assertions.assertEquals(HealthStatus.OK, future.get().getStatus());
+            }
+            Assertions.assertEquals(0, client.getCoalescer().getInFlightCount());
+        }
+    }
+
+    @Test
+    void testRequestsWithDifferentPriorityOrTimeoutAreNotCoalesced() throws Exception {
+        List<Runnable> proxyQueue = new ArrayList<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> ConnectorResponse.builder().statusCode(200).body(Map.of("status", "ok")).build(), proxyQueue::add);
+
+        try (DefaultProxyClient delegate = new DefaultProxyClient(transport)) {
+            CoalescingProxyClient client = new CoalescingProxyClient(delegate);
+            ConnectorDto connector = createConnector();
+
+            List<CompletableFuture<HealthDto>> futures = new ArrayList<>();
+            futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class));
+            futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class, MessagePriority.BULK));
+            futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class, MessagePriority.BULK));
+            futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class, Duration.ofSeconds(5)));
+            futures.add(client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class, Duration.ofSeconds(10)));
+            Assertions.assertEquals(4, transport.getSentCount());
+            Assertions.assertEquals(1, client.getCoalescer().getCoalescedCount());
+
+            new ArrayList<>(proxyQueue).forEach(Runnable::run);
+            for (CompletableFuture<HealthDto> future : futures) {
+                Assertions.assertEquals(HealthStatus.OK, future.get().getStatus());
+            }
+        }
+    }
+
+    @Test
+    void testBodiesAreTransferredInChunks() throws Exception {
+        byte[] payload = new byte[10_000];
+        new Random(42).nextBytes(payload);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        BlockingQueue<String> correlationIds = new LinkedBlockingQueue<>();
+        Map<String, Semaphore> chunkCredits = new ConcurrentHashMap<>();
+        InMemoryProxyTransport transport = new InMemoryProxyTransport(message -> {
+            if (message.getChunkCredits() != null) {
+                chunkCredits.computeIfAbsent(message.getCorrelationId(), id -> new Semaphore(0)).release(message.getChunkCredits());
+                if (message.getConnectorRequest() == null) {
+                    return null;
+                }
+            }
+            if (message.getChunk() == null) {
+                correlationIds.add(message.getCorrelationId());
+                return null;
+            }
+            received.writeBytes(message.getChunk().getData());
+            return message.getChunk().isLast()
+                    ? ConnectorResponse.builder().statusCode(200).body(Map.of("status", "ok", "description", message.getChunk().getChecksum())).build()
+                    : null;
+        }, Runnable::run);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ProxyClientSettings settings = ProxyClientSettings.builder().chunkSize(1024).maxBufferedChunks(2).chunkIdleTimeout(Duration.ofSeconds(5)).build();
+        try (DefaultProxyClient client = new DefaultProxyClient(transport, settings)) {
+            ConnectorDto connector = createConnector();
+
+            HealthDto uploaded = client.sendStreamingRequestAsync(connector, "/v1/upload", "POST", null, new ByteArrayInputStream(payload), payload.length, HealthDto.class, Duration.ofSeconds(5)).get();
+            Assertions.assertArrayEquals(payload, received.toByteArray());
+            Assertions.assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload)), uploaded.getDescription());
+            Assertions.assertEquals(10, transport.getSentCount());
+
+            // stream is handed out on the first chunk, the rest is published as the reader grants credits for further chunks
+            CompletableFuture<InputStream> download = client.sendRequestAsync(connector, "/v1/download", "GET", null, InputStream.class);
+            String correlationId = correlationIds.take();
+            Future<Integer> downloadPublisher = executor.submit(() -> publishChunks(transport, correlationId, MessageChunker.split(payload, 512), chunkCredits.get(correlationId)));
+            try (InputStream stream = download.get()) {
+                Assertions.assertArrayEquals(payload, stream.readAllBytes());
+            }
+            Assertions.assertEquals(20, downloadPublisher.get(5, TimeUnit.SECONDS));
+
+            byte[] json = "{\"status\":\"ok\",\"description\":\"chunked\"}".getBytes(StandardCharsets.UTF_8);
+            CompletableFuture<HealthDto> health = client.sendRequestAsync(connector, "/v1/health", "GET", null, HealthDto.class);
+            String healthCorrelationId = correlationIds.take();
+            publishChunks(transport, healthCorrelationId, MessageChunker.split(json, 8), chunkCredits.get(healthCorrelationId));
+            Assertions.assertEquals("chunked", health.get().getDescription());
+
+            CompletableFuture<InputStream> corrupted = client.sendRequestAsync(connector, "/v1/download", "GET", null, InputStream.class);
+            String corruptedCorrelationId = correlationIds.take();
+            List<MessageChunk> corruptedChunks = new ArrayList<>();
+            MessageChunker.split(json, 8).forEachRemaining(corruptedChunks::add);
+            MessageChunk lastChunk = corruptedChunks.get(corruptedChunks.size() - 1);
+            lastChunk.setChecksum(lastChunk.getChecksum().replace(lastChunk.getChecksum().charAt(0), lastChunk.getChecksum().charAt(0) == 'a' ? 'b' : 'a'));
+            Future<Integer> corruptedPublisher = executor.submit(() -> publishChunks(transport, corruptedCorrelationId, corruptedChunks.iterator(), chunkCredits.get(corruptedCorrelationId)));
+            try (InputStream stream = corrupted.get()) {
+                Assertions.assertThrows(IOException.class, stream::readAllBytes);
+            }
+            Assertions.assertEquals(corruptedChunks.size(), corruptedPublisher.get(5, TimeUnit.SECONDS));
+
+            // proxy ignoring the credits fails the transfer, the receiving thread does not wait for the reader
+            CompletableFuture<InputStream> overflow = client.sendRequestAsync(connector, "/v1/download", "GET", null, InputStream.class);
+            String overflowCorrelationId = correlationIds.take();
+            MessageChunker.split(json, 8).forEachRemaining(chunk -> transport.publish(chunkMessage(overflowCorrelationId, chunk)));
+            try (InputStream stream = overflow.get()) {
+                IOException exceeded = Assertions.assertThrows(IOException.class, stream::readAllBytes);
+                Assertions.assertTrue(exceeded.getMessage().contains("exceeds the 2 chunks granted"), exceeded.getMessage());
+            }
+            Assertions.assertEquals(0, client.getPendingCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Publish the chunks as the proxy would, each chunk waits for a credit granted by the client.
+     *
+     * @return Number of published chunks
+     */
+    private static int publishChunks(InMemoryProxyTransport transport, String correlationId, Iterator<MessageChunk> chunks, Semaphore credits) throws InterruptedException {
+        int published = 0;
+        while (chunks.hasNext()) {
+            Assertions.assertTrue(credits.tryAcquire(5, TimeUnit.SECONDS), "No credit granted for chunk %d".formatted(published));
+            transport.publish(chunkMessage(correlationId, chunks.next()));
+            published++;
+        }
+        return published;
+    }
+
+    private static ProxyMessage chunkMessage(String correlationId, MessageChunk chunk) {
+        return ProxyMessage.builder()
+                .proxyId("proxy-001")
+                .correlationId(correlationId)
+                .messageType("GET.v1.download")
+                .connectorResponse(chunk.getSequenceNumber() == 0 ? ConnectorResponse.builder().statusCode(200).build() : null)
+                .chunk(chunk)
+                .build();
+    }
+
+    private static ConnectorDto createConnector() {
+        ProxyDto proxy = new ProxyDto();
+        proxy.setCode("proxy-001");
+
+        ConnectorDto connector = new ConnectorDto();
+        connector.setUuid(UUID.randomUUID().toString());
+        connector.setName("testConnector");
+        connector.setUrl("http://connector:8080");
+        connector.setAuthType(AuthType.NONE);
+        connector.setProxy(proxy);
+        return connector;
+    }
+}
@@ -0,0 +1,45 @@
+package com.czertainly.api;
+
+import com.czertainly.api.clients.mq.MessageCodec;
+import com.czertainly.api.clients.mq.MessageContentEncoding;
+import com.czertainly.api.clients.mq.model.ConnectorRequest;
+import com.czertainly.api.clients.mq.model.CoreMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+class MessageCodecTest {
+
+    @Test
+    void testEncodeDecodeAndNegotiate() throws IOException {
+        MessageCodec codec = new MessageCodec();
+        CoreMessage message = CoreMessage.builder()
+                .correlationId("550e8400-e29b-41d4-a716-446655440000")
+                .messageType("POST.v1.authorityProvider.authorities")
+                .timestamp(Instant.parse("2025-01-01T10:00:00Z"))
+                .connectorRequest(ConnectorRequest.builder().method("POST").path("/v1/authorityProvider/authorities").body(Map.of("name", "test")).build())
+                .contentEncoding(MessageContentEncoding.CBOR.getCode())
+                .build();
+
+        byte[] json = codec.encode(message, MessageContentEncoding.JSON);
+        byte[] cbor = codec.encode(message, MessageContentEncoding.CBOR);
+        Assertions.assertEquals(MessageContentEncoding.JSON, MessageCodec.detect(json));
+        Assertions.assertEquals(MessageContentEncoding.CBOR, MessageCodec.detect(cbor));
+        Assertions.assertTrue(cbor.length < json.length);
+
+        CoreMessage decoded = codec.decode(cbor, CoreMessage.class);
+        Assertions.assertEquals(message.getCorrelationId(), decoded.getCorrelationId());
+        Assertions.assertEquals(message.getTimestamp(), decoded.getTimestamp());
+        Assertions.assertEquals(Map.of("name", "test"), decoded.getConnectorRequest().getBody());
+        Assertions.assertEquals(message.getCorrelationId(), codec.decode(json, "application/json; charset=UTF-8", CoreMessage.class).getCorrelationId());
+
+        // proxies that did not advertise CBOR get JSON
+        Assertions.assertEquals(MessageContentEncoding.CBOR, MessageCodec.negotiate(MessageContentEncoding.CBOR, List.of("json", "cbor")));
+        Assertions.assertEquals(MessageContentEncoding.JSON, MessageCodec.negotiate(MessageContentEncoding.CBOR, List.of("json", "smile")));
+        Assertions.assertEquals(MessageContentEncoding.JSON, MessageCodec.negotiate(MessageContentEncoding.CBOR, null));
+    }
+}
@@ -20,9 +20,13 @@ import com.czertainly.api.model.common.attribute.common.content.AttributeContent
 import com.czertainly.api.model.common.attribute.common.content.data.CredentialAttributeContentData;
 import com.czertainly.api.model.common.attribute.common.properties.DataAttributeProperties;
 import com.czertainly.api.model.common.attribute.v2.DataAttributeV2;
+import com.czertainly.api.model.common.attribute.v3.DataAttributeV3;
+import com.czertainly.api.model.common.attribute.v3.content.IntegerAttributeContentV3;
 import com.czertainly.api.model.common.attribute.common.constraint.AttributeConstraintType;
 import com.czertainly.api.model.common.attribute.v2.content.*;
+import com.czertainly.core.util.AttributeConstraintValidator;
 import com.czertainly.core.util.AttributeDefinitionUtils;
+import com.czertainly.core.util.IndexedAttributeList;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -48,6 +52,22 @@ class AttributeDefinitionUtilsTest {
     }
 
 
+    @Test
+    void testGetAttribute_indexed() {
+        RequestAttributeV2 first = new RequestAttributeV2(UUID.randomUUID(), "testAttribute", AttributeContentType.INTEGER, List.of(new IntegerAttributeContentV2(1)));
+        RequestAttributeV2 duplicate = new RequestAttributeV2(UUID.randomUUID(), "testAttribute", AttributeContentType.INTEGER, List.of(new IntegerAttributeContentV2(2)));
+        RequestAttributeV2 other = new RequestAttributeV2(UUID.randomUUID(), "otherAttribute", AttributeContentType.INTEGER, List.of(new IntegerAttributeContentV2(3)));
+
+        IndexedAttributeList<RequestAttribute> attributes = IndexedAttributeList.of(List.of(first, duplicate, other));
+        Assertions.assertSame(attributes, IndexedAttributeList.of(attributes));
+        Assertions.assertEquals(List.of(first, duplicate, other), attributes);
+        Assertions.assertSame(first, getRequestAttributes("testAttribute", attributes));
+        Assertions.assertSame(other, getRequestAttributes("otherAttribute", attributes));
+        Assertions.assertNull(getRequestAttributes("unknownAttribute", attributes));
+        Assertions.assertEquals(List.of(new IntegerAttributeContentV2(3)), getAttributeContent("otherAttribute", attributes, IntegerAttributeContentV2.class));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> attributes.add(other));
+    }
+
     @Test
     void testGetAttributeContent() {
         String attribute1Name = "testAttribute1";
@@ -382,6 +402,29 @@ class AttributeDefinitionUtilsTest {
         Assertions.assertEquals(1, exception.getErrors().size());
     }
 
+    @Test
+    void testValidateConstraints_compiledValidatorCached() {
+        RegexpAttributeConstraint constraint = new RegexpAttributeConstraint();
+        constraint.setData("^\\d{4}$");
+
+        DataAttributeV2 definition = new DataAttributeV2();
+        definition.setName("testAttribute1");
+        definition.setUuid("9379ca2c-aa51-42c8-8afd-2a2d16c99c57");
+        definition.setType(AttributeType.DATA);
+        definition.setContentType(AttributeContentType.STRING);
+        definition.setConstraints(List.of(constraint));
+
+        AttributeConstraintValidator validator = AttributeConstraintValidator.of(definition);
+        Assertions.assertSame(validator, AttributeConstraintValidator.of(definition));
+        Assertions.assertTrue(validateConstraints(definition, List.of(new StringAttributeContentV2("1234"))).isEmpty());
+        Assertions.assertEquals(1, validateConstraints(definition, List.of(new StringAttributeContentV2("12345"))).size());
+
+        // changed constraint must not be validated by the cached validator
+        constraint.setData("^\\d{5}$");
+        Assertions.assertNotSame(validator, AttributeConstraintValidator.of(definition));
+        Assertions.assertTrue(validateConstraints(definition, List.of(new StringAttributeContentV2("12345"))).isEmpty());
+    }
+
     @Test
     void testValidateAttributes_regexPass() {
         String attributeName = "testAttribute1";
@@ -817,6 +860,48 @@ class AttributeDefinitionUtilsTest {
         Assertions.assertEquals("Item", data.getReference());
     }
 
+    @Test
+    void testDeserialize_typePropertiesInAnyOrder() {
+        String attrData = """
+                [
+                  {
+                    "name": "first",
+                    "content": [
+                      {
+                        "data": 5,
+                        "contentType": "integer"
+                      }
+                    ],
+                    "contentType": "integer",
+                    "version": 3,
+                    "type": "data",
+                    "description": "after type properties"
+                  },
+                  {
+                    "type": "data",
+                    "name": "second",
+                    "content": [
+                      {
+                        "data": "Item"
+                      }
+                    ]
+                  }
+                ]
+                """;
+
+        List<BaseAttribute> attrs = deserialize(attrData, BaseAttribute.class);
+
+        Assertions.assertEquals(2, attrs.size());
+        DataAttributeV3 first = Assertions.assertInstanceOf(DataAttributeV3.class, attrs.get(0));
+        Assertions.assertEquals("after type properties", first.getDescription());
+        Assertions.assertInstanceOf(IntegerAttributeContentV3.class, first.getContent().get(0));
+        Assertions.assertEquals(5, (Integer) first.getContent().get(0).getData());
+
+        DataAttributeV2 second = Assertions.assertInstanceOf(DataAttributeV2.class, attrs.get(1));
+        Assertions.assertEquals("second", second.getName());
+        Assertions.assertEquals("Item", second.getContent().get(0).getData());
+    }
+
     @Test
     void testGetAttributeStringContent_success() {
         String attrData = """
@@ -842,6 +927,22 @@ class AttributeDefinitionUtilsTest {
         Assertions.assertEquals("Item", data.getData());
     }
 
+    @Test
+    void testGetAttributeContent_typedContentCopied() {
+        StringAttributeContentV2 content = new StringAttributeContentV2("Item");
+        List<RequestAttribute> attributes = List.of(new RequestAttributeV2(UUID.randomUUID(), "testAttribute", AttributeContentType.STRING, List.of(content)));
+
+        StringAttributeContentV2 converted = getAttributeContent("testAttribute", attributes, StringAttributeContentV2.class).get(0);
+        Assertions.assertNotSame(content, converted);
+        Assertions.assertEquals(content, converted);
+        Assertions.assertEquals("Item", getAttributeContent("testAttribute", attributes, BaseAttributeContentV2.class).get(0).getData());
+
+        // modifying the returned content does not modify the attribute
+        converted.setData("Changed");
+        Assertions.assertEquals("Item", content.getData());
+        Assertions.assertEquals(List.of("Item"), getAttributeContentValueList("testAttribute", attributes, StringAttributeContentV2.class));
+    }
+
     @Test
     void testGetAttributeIntegerContent_success() {
         String attrData = """